@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2016 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,7 +17,10 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.eclipse.core.runtime.CoreException;
@@ -75,4 +78,48 @@ public class OSGiLessAnalysisTests {
 		baseline.dispose();
 		current.dispose();
 	}
+
+	/**
+	 * Tests that a parallel API usage scan reports the same problems as a
+	 * sequential one
+	 */
+	@Test
+	public void testParallelUsageScan() throws CoreException {
+		IApiBaseline baseline = TestSuiteHelper.createTestingBaseline("test-plugins"); //$NON-NLS-1$
+		assertNotNull("the testing baseline should exist", baseline); //$NON-NLS-1$
+		try {
+			IApiComponent[] components = baseline.getApiComponents();
+			assertTrue("Missing API components", components.length > 0); //$NON-NLS-1$
+			for (IApiComponent component : components) {
+				if (component.isSystemComponent()) {
+					continue;
+				}
+				List<String> sequential = analyzeUsage(baseline, component, false);
+				List<String> parallel = analyzeUsage(baseline, component, true);
+				assertEquals("Different problems for " + component.getSymbolicName(), sequential, parallel); //$NON-NLS-1$
+			}
+		} finally {
+			baseline.dispose();
+		}
+	}
+
+	/**
+	 * Analyzes the given component against its own baseline and returns its
+	 * problems in the order they are reported
+	 */
+	private List<String> analyzeUsage(IApiBaseline baseline, IApiComponent component, boolean parallel) {
+		BaseApiAnalyzer analyzer = new BaseApiAnalyzer();
+		try {
+			analyzer.setParallelUsageScan(parallel);
+			analyzer.analyzeComponent(null, null, null, baseline, component, new BuildContext(), new NullProgressMonitor());
+			List<String> problems = new ArrayList<>();
+			for (IApiProblem problem : analyzer.getProblems()) {
+				problems.add(problem.getId() + " " + problem.getTypeName() + " " + problem.getLineNumber() + " " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+						+ problem.getCharStart() + " " + Arrays.toString(problem.getMessageArguments())); //$NON-NLS-1$
+			}
+			return problems;
+		} finally {
+			analyzer.dispose();
+		}
+	}
 }
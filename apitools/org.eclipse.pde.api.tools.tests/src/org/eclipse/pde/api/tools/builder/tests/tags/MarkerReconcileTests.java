@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.builder.tests.tags;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IncrementalProjectBuilder;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.pde.api.tools.internal.builder.BuilderMessages;
+import org.eclipse.pde.api.tools.internal.problems.ApiProblemFactory;
+import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
+import org.eclipse.pde.api.tools.internal.provisional.IApiMarkerConstants;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IElementDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.problems.IApiProblem;
+
+import junit.framework.Test;
+
+/**
+ * Tests that the builder keeps the markers of problems that are reported
+ * again, and only creates and deletes the markers of problems that were added
+ * or removed
+ */
+public class MarkerReconcileTests extends TagTest {
+
+	private static final String TYPE_NAME = "Reconcile"; //$NON-NLS-1$
+	private static final String PRIVATE_TAG = "@noreference"; //$NON-NLS-1$
+	private static final String PRIVATE_NO_TAG = "@noref-ence"; //$NON-NLS-1$
+
+	public MarkerReconcileTests(String name) {
+		super(name);
+	}
+
+	/**
+	 * @return the tests for this class
+	 */
+	public static Test suite() {
+		return buildTestSuite(MarkerReconcileTests.class);
+	}
+
+	@Override
+	protected int getDefaultProblemId() {
+		return ApiProblemFactory.createProblemId(IApiProblem.CATEGORY_USAGE, IElementDescriptor.TYPE, IApiProblem.UNSUPPORTED_TAG_USE, IApiProblem.NO_FLAGS);
+	}
+
+	/**
+	 * Returns the source of the test type, the tag of the private member type
+	 * is given, the one of the package default member type is always
+	 * <code>@noreference</code>
+	 */
+	private String getSource(String privateTag) {
+		return "package a.b.c;\n" + //$NON-NLS-1$
+				"public class " + TYPE_NAME + " {\n" + //$NON-NLS-1$ //$NON-NLS-2$
+				"\t/**\n" + //$NON-NLS-1$
+				"\t * " + privateTag + "\n" + //$NON-NLS-1$ //$NON-NLS-2$
+				"\t */\n" + //$NON-NLS-1$
+				"\tprivate class Inner1 {}\n" + //$NON-NLS-1$
+				"\t/**\n" + //$NON-NLS-1$
+				"\t * @noreference\n" + //$NON-NLS-1$
+				"\t */\n" + //$NON-NLS-1$
+				"\tclass Inner2 {}\n" + //$NON-NLS-1$
+				"}\n"; //$NON-NLS-1$
+	}
+
+	private IPath addType(String privateTag) {
+		IPath root = getEnv().getProject(getTestingProjectName()).getFullPath().append(SRC_ROOT);
+		// added files are deleted when the workspace is reverted
+		return getEnv().addClass(root.append("a/b/c"), TYPE_NAME, getSource(privateTag)); //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns the unsupported tag markers of the given file by their message
+	 * arguments
+	 */
+	private Map<String, IMarker> getMarkers(IPath path) throws CoreException {
+		IFile file = getEnv().getWorkspace().getRoot().getFile(path);
+		Map<String, IMarker> markers = new TreeMap<>();
+		for (IMarker marker : file.findMarkers(IApiMarkerConstants.UNSUPPORTED_TAG_PROBLEM_MARKER, false, IResource.DEPTH_ZERO)) {
+			String args = marker.getAttribute(IApiMarkerConstants.MARKER_ATTR_MESSAGE_ARGUMENTS, null);
+			assertNull("duplicate marker for " + args, markers.put(args, marker)); //$NON-NLS-1$
+		}
+		return markers;
+	}
+
+	private static String getArgs(String context) {
+		return PRIVATE_TAG + '#' + context;
+	}
+
+	/**
+	 * Tests that the markers of problems that are reported again by a rebuild
+	 * are kept
+	 */
+	public void testKeptMarkers() throws Exception {
+		IPath path = addType(PRIVATE_TAG);
+		incrementalBuild();
+		Map<String, IMarker> markers = getMarkers(path);
+		assertEquals("wrong number of markers", 2, markers.size()); //$NON-NLS-1$
+
+		// the same problems are reported for the changed file
+		addType(PRIVATE_TAG);
+		incrementalBuild();
+		Map<String, IMarker> rebuilt = getMarkers(path);
+		assertEquals("wrong number of markers", 2, rebuilt.size()); //$NON-NLS-1$
+		for (Map.Entry<String, IMarker> entry : markers.entrySet()) {
+			assertEquals("marker should be kept", entry.getValue().getId(), rebuilt.get(entry.getKey()).getId()); //$NON-NLS-1$
+		}
+
+		fullBuild();
+		assertEquals("marker should be kept by a full build", markers.keySet(), getMarkers(path).keySet()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that the marker of a removed problem is deleted, the marker of an
+	 * added problem is created and the other markers are kept
+	 */
+	public void testCreatedAndDeletedMarkers() throws Exception {
+		IPath path = addType(PRIVATE_TAG);
+		incrementalBuild();
+		Map<String, IMarker> markers = getMarkers(path);
+		String privateArgs = getArgs(BuilderMessages.TagValidator_a_private_class);
+		String defaultArgs = getArgs(BuilderMessages.TagValidator_a_package_default_class);
+		assertTrue("missing marker", markers.containsKey(privateArgs)); //$NON-NLS-1$
+		assertTrue("missing marker", markers.containsKey(defaultArgs)); //$NON-NLS-1$
+
+		// remove the problem of the private type, the positions don't change
+		addType(PRIVATE_NO_TAG);
+		incrementalBuild();
+		Map<String, IMarker> rebuilt = getMarkers(path);
+		assertEquals("wrong number of markers", 1, rebuilt.size()); //$NON-NLS-1$
+		assertFalse("marker should be deleted", markers.get(privateArgs).exists()); //$NON-NLS-1$
+		assertEquals("marker should be kept", markers.get(defaultArgs).getId(), rebuilt.get(defaultArgs).getId()); //$NON-NLS-1$
+
+		// add it back
+		addType(PRIVATE_TAG);
+		incrementalBuild();
+		rebuilt = getMarkers(path);
+		assertEquals("wrong number of markers", 2, rebuilt.size()); //$NON-NLS-1$
+		assertTrue("marker should be created", rebuilt.get(privateArgs).getId() != markers.get(privateArgs).getId()); //$NON-NLS-1$
+		assertEquals("marker should be kept", markers.get(defaultArgs).getId(), rebuilt.get(defaultArgs).getId()); //$NON-NLS-1$
+		assertEquals("wrong message arguments", privateArgs, rebuilt.get(privateArgs).getAttribute(IApiMarkerConstants.MARKER_ATTR_MESSAGE_ARGUMENTS, null)); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that a canceled build does not duplicate markers, and that the
+	 * markers of the next builds match the problems of the changed type
+	 */
+	public void testCanceledBuild() throws Exception {
+		IPath path = addType(PRIVATE_TAG);
+		incrementalBuild();
+		assertEquals("wrong number of markers", 2, getMarkers(path).size()); //$NON-NLS-1$
+
+		addType(PRIVATE_NO_TAG);
+		NullProgressMonitor monitor = new NullProgressMonitor();
+		monitor.setCanceled(true);
+		try {
+			getEnv().getProject(getTestingProjectName()).build(IncrementalProjectBuilder.INCREMENTAL_BUILD, ApiPlugin.BUILDER_ID, null, monitor);
+		} catch (OperationCanceledException e) {
+			// the build may be canceled before the builder runs
+		}
+		// stale markers are deleted, but never duplicated
+		assertTrue("too many markers", getMarkers(path).size() <= 2); //$NON-NLS-1$
+
+		fullBuild();
+		Map<String, IMarker> markers = getMarkers(path);
+		assertEquals("wrong number of markers", 1, markers.size()); //$NON-NLS-1$
+		assertTrue("missing marker", markers.containsKey(getArgs(BuilderMessages.TagValidator_a_package_default_class))); //$NON-NLS-1$
+
+		addType(PRIVATE_TAG);
+		incrementalBuild();
+		assertEquals("wrong number of markers", 2, getMarkers(path).size()); //$NON-NLS-1$
+	}
+}
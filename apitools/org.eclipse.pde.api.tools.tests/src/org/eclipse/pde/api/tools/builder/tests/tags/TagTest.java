@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2018 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -79,6 +79,7 @@ public abstract class TagTest extends ApiBuilderTest {
 		classes.add(ValidAnnotationTagTests.class);
 		classes.add(InvalidAnnotationTagTests.class);
 		classes.add(InvalidDuplicateTagsTests.class);
+		classes.add(MarkerReconcileTests.class);
 		if (ProjectUtils.isJava8Compatible()) {
 			classes.add(ValidJava8InterfaceTagTests.class);
 			classes.add(InvalidJava8InterfaceTagTests.class);
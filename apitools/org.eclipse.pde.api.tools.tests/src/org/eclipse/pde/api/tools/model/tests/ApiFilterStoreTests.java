@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2018 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -245,6 +245,37 @@ public class ApiFilterStoreTests extends AbstractApiTest {
 		assertFalse("src/x/y/z/C4.java should not have a filter", store.isFiltered(problem)); //$NON-NLS-1$
 	}
 
+	/**
+	 * Tests that a filter with qualified message arguments matches a problem
+	 * with the simple names of the arguments, and that only the problem with
+	 * the same arguments is filtered
+	 *
+	 * @throws CoreException
+	 */
+	@Test
+	public void testFilterMessageArguments() throws CoreException {
+		IApiComponent component = getProjectApiComponent(TESTING_PLUGIN_PROJECT_NAME);
+		assertNotNull("the testing project api component must exist", component); //$NON-NLS-1$
+		String path = "src/x/y/z/C4.java"; //$NON-NLS-1$
+		IApiProblem filtered = ApiProblemFactory.newApiProblem(path, "x.y.z.C4", new String[] { "x.y.z.C4", "m()" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				null, null, -1, -1, -1, IApiProblem.CATEGORY_USAGE, IElementDescriptor.METHOD, IApiProblem.ILLEGAL_OVERRIDE, IApiProblem.NO_FLAGS);
+		IApiFilterStore store = component.getFilterStore();
+		store.addFilters(new IApiProblemFilter[] {
+				ApiProblemFactory.newProblemFilter(component.getSymbolicName(), filtered, null) });
+		try {
+			IApiProblem problem = ApiProblemFactory.newApiProblem(path, "x.y.z.C4", new String[] { "C4", "m()" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					null, null, -1, -1, -1, IApiProblem.CATEGORY_USAGE, IElementDescriptor.METHOD, IApiProblem.ILLEGAL_OVERRIDE, IApiProblem.NO_FLAGS);
+			assertTrue("the problem with simple names should be filtered", store.isFiltered(problem)); //$NON-NLS-1$
+			problem = ApiProblemFactory.newApiProblem(path, "x.y.z.C4", new String[] { "x.y.z.C4", "n()" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					null, null, -1, -1, -1, IApiProblem.CATEGORY_USAGE, IElementDescriptor.METHOD, IApiProblem.ILLEGAL_OVERRIDE, IApiProblem.NO_FLAGS);
+			assertFalse("the problem with other arguments should not be filtered", store.isFiltered(problem)); //$NON-NLS-1$
+		} finally {
+			store.removeFilters(new IApiProblemFilter[] {
+					ApiProblemFactory.newProblemFilter(component.getSymbolicName(), filtered, null) });
+		}
+		assertFalse("the removed filter should not filter the problem", store.isFiltered(filtered)); //$NON-NLS-1$
+	}
+
 	/**
 	 * Tests that a filter store will not be annotated from a bundle
 	 *
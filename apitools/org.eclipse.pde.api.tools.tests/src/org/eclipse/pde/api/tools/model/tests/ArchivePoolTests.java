@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.model.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.ZipFile;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.pde.api.tools.internal.model.ArchivePool;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ArchivePool}
+ */
+public class ArchivePoolTests {
+
+	private String getSampleJar() {
+		IPath path = TestSuiteHelper.getPluginDirectoryPath().append("test-jars").append("sample.jar"); //$NON-NLS-1$ //$NON-NLS-2$
+		File file = path.toFile();
+		assertTrue("Missing jar file", file.exists()); //$NON-NLS-1$
+		return path.toOSString();
+	}
+
+	/**
+	 * Tests that an archive is opened once and shared while it is pooled
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testAcquireShared() throws Exception {
+		ArchivePool pool = new ArchivePool(4);
+		String location = getSampleJar();
+		ZipFile first = pool.acquire(location);
+		ZipFile second = pool.acquire(location);
+		assertSame("The archive should be shared", first, second); //$NON-NLS-1$
+		pool.release(location, first);
+		pool.release(location, second);
+		ZipFile third = pool.acquire(location);
+		assertSame("The released archive should stay open", first, third); //$NON-NLS-1$
+		assertNotNull("The archive should still be readable", third.getEntry("META-INF/MANIFEST.MF")); //$NON-NLS-1$ //$NON-NLS-2$
+		pool.release(location, third);
+		assertEquals("wrong number of opened archives", 1, pool.getOpenCount()); //$NON-NLS-1$
+		assertEquals("wrong number of misses", 1, pool.getMissCount()); //$NON-NLS-1$
+		assertEquals("wrong number of hits", 2, pool.getHitCount()); //$NON-NLS-1$
+		pool.clear();
+		assertEquals("The pool should be empty", 0, pool.size()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that an evicted archive stays usable until it is released and is
+	 * reopened on the next request
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testEvictWhileInUse() throws Exception {
+		ArchivePool pool = new ArchivePool(4);
+		String location = getSampleJar();
+		ZipFile zipFile = pool.acquire(location);
+		pool.evict(location);
+		assertEquals("An archive in use must not be closed", 1, pool.size()); //$NON-NLS-1$
+		assertNotNull("The archive should still be readable", zipFile.getEntry("META-INF/MANIFEST.MF")); //$NON-NLS-1$ //$NON-NLS-2$
+		pool.release(location, zipFile);
+		assertEquals("The evicted archive should have been closed", 0, pool.size()); //$NON-NLS-1$
+		ZipFile reopened = pool.acquire(location);
+		assertTrue("The evicted archive should have been reopened", reopened != zipFile); //$NON-NLS-1$
+		pool.release(location, reopened);
+		assertEquals("wrong number of opened archives", 2, pool.getOpenCount()); //$NON-NLS-1$
+		pool.clear();
+	}
+
+	/**
+	 * Tests that an archive evicted while it has several holders is closed
+	 * only when the last of them releases it, even after it was replaced by a
+	 * newer archive
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testEvictReplaceAndRelease() throws Exception {
+		ArchivePool pool = new ArchivePool(4);
+		String location = getSampleJar();
+		ZipFile evicted = pool.acquire(location);
+		assertSame("The archive should be shared", evicted, pool.acquire(location)); //$NON-NLS-1$
+		assertSame("The archive should be shared", evicted, pool.acquire(location)); //$NON-NLS-1$
+		pool.evict(location);
+		ZipFile replacement = pool.acquire(location);
+		assertTrue("The evicted archive should have been replaced", replacement != evicted); //$NON-NLS-1$
+		assertEquals("Both archives are open", 2, pool.size()); //$NON-NLS-1$
+		pool.release(location, evicted);
+		assertNotNull("The evicted archive is still in use", evicted.getEntry("META-INF/MANIFEST.MF")); //$NON-NLS-1$ //$NON-NLS-2$
+		pool.release(location, evicted);
+		assertNotNull("The evicted archive is still in use", evicted.getEntry("META-INF/MANIFEST.MF")); //$NON-NLS-1$ //$NON-NLS-2$
+		pool.release(location, evicted);
+		assertEquals("The evicted archive should have been closed", 1, pool.size()); //$NON-NLS-1$
+		try {
+			evicted.getEntry("META-INF/MANIFEST.MF"); //$NON-NLS-1$
+			fail("The evicted archive should have been closed"); //$NON-NLS-1$
+		} catch (IllegalStateException e) {
+			// closed
+		}
+		assertNotNull("The replacement should be readable", replacement.getEntry("META-INF/MANIFEST.MF")); //$NON-NLS-1$ //$NON-NLS-2$
+		pool.release(location, replacement);
+		assertSame("The replacement should stay pooled", replacement, pool.acquire(location)); //$NON-NLS-1$
+		pool.release(location, replacement);
+		pool.clear();
+		assertEquals("The pool should be empty", 0, pool.size()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that unreferenced archives are closed when the pool is full
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testSizeBound() throws Exception {
+		ArchivePool pool = new ArchivePool(0);
+		String location = getSampleJar();
+		ZipFile zipFile = pool.acquire(location);
+		assertEquals("An archive in use must be kept", 1, pool.size()); //$NON-NLS-1$
+		pool.release(location, zipFile);
+		assertEquals("The unreferenced archive should have been closed", 0, pool.size()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that the archives in use count towards the size of the pool, only
+	 * as many archives as the pool size stay open once they are released
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testSizeBoundWithArchivesInUse() throws Exception {
+		ArchivePool pool = new ArchivePool(1);
+		String first = getSampleJar();
+		Path copy = Files.createTempFile("sample", ".jar"); //$NON-NLS-1$ //$NON-NLS-2$
+		try {
+			Files.copy(new File(first).toPath(), copy, StandardCopyOption.REPLACE_EXISTING);
+			String second = copy.toString();
+			ZipFile firstZip = pool.acquire(first);
+			ZipFile secondZip = pool.acquire(second);
+			assertEquals("Archives in use must be kept", 2, pool.size()); //$NON-NLS-1$
+			pool.release(first, firstZip);
+			assertEquals("The released archive should have been closed", 1, pool.size()); //$NON-NLS-1$
+			pool.release(second, secondZip);
+			assertEquals("The last released archive should stay open", 1, pool.size()); //$NON-NLS-1$
+			pool.clear();
+		} finally {
+			Files.deleteIfExists(copy);
+		}
+	}
+}
@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.model.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import org.eclipse.osgi.service.resolver.BundleDescription;
+import org.eclipse.pde.api.tools.internal.BaselineSnapshot;
+import org.eclipse.pde.api.tools.internal.BaselineSnapshot.ComponentEntry;
+import org.eclipse.pde.api.tools.internal.model.ApiBaseline;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.junit.Test;
+
+/**
+ * Tests the {@link BaselineSnapshot}
+ */
+public class BaselineSnapshotTests {
+
+	/**
+	 * Tests that a written snapshot restores the components and package index
+	 * of the baseline
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testWriteAndOpen() throws Exception {
+		IApiBaseline baseline = TestSuiteHelper.createTestingBaseline("test-plugins"); //$NON-NLS-1$
+		assertNotNull("the testing baseline should exist", baseline); //$NON-NLS-1$
+		File file = File.createTempFile("snapshot", BaselineSnapshot.SNAPSHOT_FILE_EXTENSION); //$NON-NLS-1$
+		try {
+			BaselineSnapshot.write(baseline, file);
+			try (BaselineSnapshot snapshot = BaselineSnapshot.open(file)) {
+				assertEquals("wrong name", baseline.getName(), snapshot.getName()); //$NON-NLS-1$
+				assertEquals("wrong execution environment", baseline.getExecutionEnvironment(), snapshot.getExecutionEnvironment()); //$NON-NLS-1$
+				int expected = 0;
+				for (IApiComponent component : baseline.getApiComponents()) {
+					if (!component.isSystemComponent()) {
+						expected++;
+					}
+				}
+				assertEquals("wrong number of components", expected, snapshot.getComponents().length); //$NON-NLS-1$
+				ComponentEntry[] exporting = snapshot.getComponentsExporting("component.a.internal"); //$NON-NLS-1$
+				assertEquals("wrong number of exporting components", 1, exporting.length); //$NON-NLS-1$
+				assertEquals("wrong exporting component", "component.a", exporting[0].getSymbolicName()); //$NON-NLS-1$ //$NON-NLS-2$
+				assertEquals("wrong version", "1.0.0", exporting[0].getVersion()); //$NON-NLS-1$ //$NON-NLS-2$
+				assertEquals("package should not be exported", 0, snapshot.getComponentsExporting("component.b").length); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		} finally {
+			baseline.dispose();
+			file.delete();
+		}
+	}
+
+	/**
+	 * Tests that a baseline restored from a snapshot only creates a requested
+	 * component and the components it may be wired to, and resolves them as
+	 * a baseline with all of its components
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testRestoreOnDemand() throws Exception {
+		ApiBaseline baseline = (ApiBaseline) TestSuiteHelper.createTestingBaseline("test-plugins"); //$NON-NLS-1$
+		assertNotNull("the testing baseline should exist", baseline); //$NON-NLS-1$
+		File file = File.createTempFile("snapshot", BaselineSnapshot.SNAPSHOT_FILE_EXTENSION); //$NON-NLS-1$
+		ApiBaseline restored = null;
+		try {
+			BaselineSnapshot.write(baseline, file);
+			restored = new ApiBaseline("restored", TestSuiteHelper.getEEDescriptionFile()); //$NON-NLS-1$
+			restored.restore(BaselineSnapshot.open(file));
+			assertNotNull("component.b should be restored", restored.getApiComponent("component.b")); //$NON-NLS-1$ //$NON-NLS-2$
+			BundleDescription required = restored.getState().getBundle("component.a", null); //$NON-NLS-1$
+			assertNotNull("the required component should be restored", required); //$NON-NLS-1$
+			assertNull("an unrelated component should not be restored", restored.getState().getBundle("component_c", null)); //$NON-NLS-1$ //$NON-NLS-2$
+			for (BundleDescription bundle : restored.getState().getBundles()) {
+				BundleDescription expected = baseline.getState().getBundle(bundle.getSymbolicName(), bundle.getVersion());
+				assertNotNull("unexpected bundle " + bundle.getSymbolicName(), expected); //$NON-NLS-1$
+				assertEquals("wrong resolution of " + bundle.getSymbolicName(), expected.isResolved(), bundle.isResolved()); //$NON-NLS-1$
+			}
+			assertEquals("wrong number of components", baseline.getApiComponents().length, restored.getApiComponents().length); //$NON-NLS-1$
+			for (BundleDescription bundle : baseline.getState().getBundles()) {
+				BundleDescription actual = restored.getState().getBundle(bundle.getSymbolicName(), bundle.getVersion());
+				assertNotNull("missing bundle " + bundle.getSymbolicName(), actual); //$NON-NLS-1$
+				assertEquals("wrong resolution of " + bundle.getSymbolicName(), bundle.isResolved(), actual.isResolved()); //$NON-NLS-1$
+			}
+		} finally {
+			if (restored != null) {
+				restored.dispose();
+			}
+			baseline.dispose();
+			file.delete();
+		}
+	}
+
+	/**
+	 * Tests that disposing a baseline restored from a snapshot closes the
+	 * snapshot so that its file can be replaced
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testDisposeClosesSnapshot() throws Exception {
+		IApiBaseline baseline = TestSuiteHelper.createTestingBaseline("test-plugins"); //$NON-NLS-1$
+		assertNotNull("the testing baseline should exist", baseline); //$NON-NLS-1$
+		File file = File.createTempFile("snapshot", BaselineSnapshot.SNAPSHOT_FILE_EXTENSION); //$NON-NLS-1$
+		try {
+			BaselineSnapshot.write(baseline, file);
+			BaselineSnapshot snapshot = BaselineSnapshot.open(file);
+			List<ComponentEntry> entries = snapshot.getComponents("component.a"); //$NON-NLS-1$
+			assertEquals("wrong number of versions", 1, entries.size()); //$NON-NLS-1$
+			assertNull("component.a is not a fragment", entries.get(0).getHost()); //$NON-NLS-1$
+			ApiBaseline restored = new ApiBaseline("restored", TestSuiteHelper.getEEDescriptionFile()); //$NON-NLS-1$
+			restored.restore(snapshot);
+			assertNotNull("component.a should be restored", restored.getApiComponent("component.a")); //$NON-NLS-1$ //$NON-NLS-2$
+			restored.dispose();
+			try {
+				snapshot.getComponentsExporting("component.a.internal"); //$NON-NLS-1$
+				fail("the snapshot should be closed"); //$NON-NLS-1$
+			} catch (IOException e) {
+				// expected
+			}
+			// the file can be replaced
+			BaselineSnapshot.write(baseline, file);
+			try (BaselineSnapshot replaced = BaselineSnapshot.open(file)) {
+				assertEquals("wrong exporting component", 1, replaced.getComponentsExporting("component.a.internal").length); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		} finally {
+			baseline.dispose();
+			assertTrue("the snapshot file should not be in use", file.delete()); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Tests that a file that is not a snapshot is rejected
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testOpenInvalid() throws Exception {
+		File file = File.createTempFile("snapshot", BaselineSnapshot.SNAPSHOT_FILE_EXTENSION); //$NON-NLS-1$
+		try {
+			try (FileOutputStream out = new FileOutputStream(file)) {
+				out.write(new byte[] { 1, 2, 3 });
+			}
+			BaselineSnapshot.open(file);
+			fail("an invalid snapshot should not be opened"); //$NON-NLS-1$
+		} catch (IOException e) {
+			// expected
+		} finally {
+			file.delete();
+		}
+	}
+}
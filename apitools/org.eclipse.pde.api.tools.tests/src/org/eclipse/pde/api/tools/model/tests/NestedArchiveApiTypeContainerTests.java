@@ -0,0 +1,215 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.model.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.eclipse.pde.api.tools.internal.model.NestedArchiveApiTypeContainer;
+import org.eclipse.pde.api.tools.internal.provisional.model.ApiTypeContainerVisitor;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeContainer;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
+import org.eclipse.pde.api.tools.internal.util.Util;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link NestedArchiveApiTypeContainer} for a nested
+ * <code>Bundle-ClassPath</code> jar of a jar'd bundle, both stored and
+ * compressed in the bundle jar
+ */
+public class NestedArchiveApiTypeContainerTests {
+
+	private static final String NESTED_JAR = "a.jar"; //$NON-NLS-1$
+	private static final String MANIFEST = "META-INF/MANIFEST.MF"; //$NON-NLS-1$
+
+	private File fDirectory;
+
+	/**
+	 * The class files of the nested jar of the test bundle by entry name
+	 */
+	private Map<String, byte[]> fClassFiles;
+
+	@Before
+	public void setUp() throws Exception {
+		fDirectory = Files.createTempDirectory("nested").toFile(); //$NON-NLS-1$
+		fClassFiles = new LinkedHashMap<>();
+		try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(readSourceEntry(NESTED_JAR)))) {
+			for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+				if (entry.getName().endsWith(Util.DOT_CLASS_SUFFIX)) {
+					fClassFiles.put(entry.getName(), Util.getInputStreamAsByteArray(in, -1));
+				}
+			}
+		}
+		assertTrue("Missing class files", fClassFiles.size() > 1); //$NON-NLS-1$
+	}
+
+	@After
+	public void tearDown() {
+		TestSuiteHelper.delete(fDirectory);
+	}
+
+	private byte[] readSourceEntry(String name) throws IOException {
+		File bundle = TestSuiteHelper.getPluginDirectoryPath().append("test-nested-jars").append("component.a_1.0.0.jar").toFile(); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue("Missing test bundle", bundle.isFile()); //$NON-NLS-1$
+		try (ZipFile zipFile = new ZipFile(bundle)) {
+			ZipEntry entry = zipFile.getEntry(name);
+			assertNotNull("Missing entry " + name, entry); //$NON-NLS-1$
+			try (InputStream stream = zipFile.getInputStream(entry)) {
+				return Util.getInputStreamAsByteArray(stream, -1);
+			}
+		}
+	}
+
+	/**
+	 * Writes the test bundle with its nested jar added with the given method,
+	 * the class files of the nested jar are alternately stored and compressed
+	 */
+	private File createBundle(int method) throws IOException {
+		ByteArrayOutputStream nested = new ByteArrayOutputStream();
+		try (ZipOutputStream out = new ZipOutputStream(nested)) {
+			int index = 0;
+			for (Map.Entry<String, byte[]> entry : fClassFiles.entrySet()) {
+				addEntry(out, entry.getKey(), entry.getValue(), index++ % 2 == 0 ? ZipEntry.STORED : ZipEntry.DEFLATED);
+			}
+		}
+		File bundle = new File(fDirectory, "component.a_1.0.0.jar"); //$NON-NLS-1$
+		try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(bundle))) {
+			addEntry(out, MANIFEST, readSourceEntry(MANIFEST), ZipEntry.DEFLATED);
+			addEntry(out, NESTED_JAR, nested.toByteArray(), method);
+		}
+		return bundle;
+	}
+
+	private static void addEntry(ZipOutputStream out, String name, byte[] bytes, int method) throws IOException {
+		ZipEntry entry = new ZipEntry(name);
+		entry.setMethod(method);
+		if (method == ZipEntry.STORED) {
+			CRC32 crc = new CRC32();
+			crc.update(bytes);
+			entry.setCrc(crc.getValue());
+			entry.setSize(bytes.length);
+			entry.setCompressedSize(bytes.length);
+		}
+		out.putNextEntry(entry);
+		out.write(bytes);
+		out.closeEntry();
+	}
+
+	private NestedArchiveApiTypeContainer createContainer(File bundle) throws IOException {
+		try (ZipFile zipFile = new ZipFile(bundle)) {
+			return new NestedArchiveApiTypeContainer(null, bundle.getAbsolutePath(), zipFile.getEntry(NESTED_JAR));
+		}
+	}
+
+	/**
+	 * Tests reading the class files of a nested jar stored without compression
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testStoredNestedArchive() throws Exception {
+		assertContainer(createContainer(createBundle(ZipEntry.STORED)));
+	}
+
+	/**
+	 * Tests reading the class files of a compressed nested jar
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testDeflatedNestedArchive() throws Exception {
+		assertContainer(createContainer(createBundle(ZipEntry.DEFLATED)));
+	}
+
+	/**
+	 * Tests that the type structures of a component with a nested
+	 * <code>Bundle-ClassPath</code> jar are read in place, for a stored and a
+	 * compressed nested jar
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testNestedArchiveComponent() throws Exception {
+		for (int method : new int[] { ZipEntry.STORED, ZipEntry.DEFLATED }) {
+			createBundle(method);
+			IApiBaseline baseline = TestSuiteHelper.createBaseline("nested", fDirectory); //$NON-NLS-1$
+			try {
+				IApiComponent component = baseline.getApiComponent("component.a"); //$NON-NLS-1$
+				assertNotNull("Missing component.a", component); //$NON-NLS-1$
+				IApiTypeRoot root = component.findTypeRoot("component.a.A"); //$NON-NLS-1$
+				assertNotNull("Missing class file", root); //$NON-NLS-1$
+				assertArrayEquals("Wrong contents", fClassFiles.get("component/a/A.class"), root.getContents()); //$NON-NLS-1$ //$NON-NLS-2$
+				IApiType type = root.getStructure();
+				assertNotNull("Missing type structure", type); //$NON-NLS-1$
+				assertEquals("Wrong type name", "component.a.A", type.getName()); //$NON-NLS-1$ //$NON-NLS-2$
+			} finally {
+				baseline.dispose();
+			}
+		}
+	}
+
+	private void assertContainer(NestedArchiveApiTypeContainer container) throws Exception {
+		assertEquals("Wrong container type", IApiTypeContainer.ARCHIVE, container.getContainerType()); //$NON-NLS-1$
+		assertArrayEquals("Wrong packages", new String[] { "component.a" }, container.getPackageNames()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNull("No such type", container.findTypeRoot("component.a.Missing")); //$NON-NLS-1$ //$NON-NLS-2$
+		List<String> visited = new ArrayList<>();
+		container.accept(new ApiTypeContainerVisitor() {
+			@Override
+			public void visit(String packageName, IApiTypeRoot typeroot) {
+				visited.add(typeroot.getTypeName());
+			}
+		});
+		assertEquals("Wrong number of visited types", fClassFiles.size(), visited.size()); //$NON-NLS-1$
+		assertContents(container);
+		// the nested jar is read again after it was closed
+		container.close();
+		assertContents(container);
+		container.close();
+	}
+
+	private void assertContents(NestedArchiveApiTypeContainer container) throws Exception {
+		for (Map.Entry<String, byte[]> entry : fClassFiles.entrySet()) {
+			String name = entry.getKey();
+			String typeName = name.substring(0, name.length() - Util.DOT_CLASS_SUFFIX.length()).replace('/', '.');
+			IApiTypeRoot root = container.findTypeRoot(typeName);
+			assertNotNull("Missing class file " + name, root); //$NON-NLS-1$
+			assertArrayEquals("Wrong contents of " + name, entry.getValue(), root.getContents()); //$NON-NLS-1$
+		}
+	}
+}
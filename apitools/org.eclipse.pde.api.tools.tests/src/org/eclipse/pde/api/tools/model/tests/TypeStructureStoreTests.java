@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.model.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+
+import org.eclipse.pde.api.tools.internal.model.TypeStructureStore;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiField;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiMethod;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
+import org.junit.Test;
+
+/**
+ * Tests the {@link TypeStructureStore}
+ */
+public class TypeStructureStoreTests {
+
+	/**
+	 * Tests that a stored structure is read again by a new store, only for the
+	 * same CRC, and that the segments of a component are merged
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testStoreAndRead() throws Exception {
+		IApiBaseline baseline = TestSuiteHelper.createTestingBaseline("test-plugins"); //$NON-NLS-1$
+		assertNotNull("the testing baseline should exist", baseline); //$NON-NLS-1$
+		File location = Files.createTempDirectory("types").toFile(); //$NON-NLS-1$
+		try {
+			IApiComponent component = baseline.getApiComponent("component.a"); //$NON-NLS-1$
+			assertNotNull("missing component.a", component); //$NON-NLS-1$
+			IApiTypeRoot root = component.findTypeRoot("component.a.A"); //$NON-NLS-1$
+			assertNotNull("missing class file", root); //$NON-NLS-1$
+			IApiType type = root.getStructure();
+
+			TypeStructureStore store = new TypeStructureStore(location);
+			store.storeTypeStructure(component, 42, type);
+			store.close();
+
+			TypeStructureStore restored = new TypeStructureStore(location);
+			assertNull("the CRC should not match", restored.getTypeStructure(component, type.getName(), 43, root)); //$NON-NLS-1$
+			assertTypeEquals(type, restored.getTypeStructure(component, type.getName(), 42, root));
+			restored.storeTypeStructure(component, 43, type);
+			restored.close();
+
+			TypeStructureStore merged = new TypeStructureStore(location);
+			assertTypeEquals(type, merged.getTypeStructure(component, type.getName(), 43, root));
+			assertNull("the structure should be replaced", merged.getTypeStructure(component, type.getName(), 42, root)); //$NON-NLS-1$
+			File[] segments = new File(location, "component.a_1.0.0").listFiles((dir, name) -> name.endsWith(TypeStructureStore.SEGMENT_FILE_EXTENSION)); //$NON-NLS-1$
+			assertEquals("the segments should be merged", 1, segments.length); //$NON-NLS-1$
+			merged.close();
+		} finally {
+			baseline.dispose();
+			delete(location);
+		}
+	}
+
+	/**
+	 * Tests that a closed store maps its segments again when it is used, after
+	 * another store merged and deleted them
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testUseAfterClose() throws Exception {
+		IApiBaseline baseline = TestSuiteHelper.createTestingBaseline("test-plugins"); //$NON-NLS-1$
+		File location = Files.createTempDirectory("types").toFile(); //$NON-NLS-1$
+		try {
+			IApiComponent component = baseline.getApiComponent("component.a"); //$NON-NLS-1$
+			IApiTypeRoot root = component.findTypeRoot("component.a.A"); //$NON-NLS-1$
+			IApiType type = root.getStructure();
+
+			TypeStructureStore store = new TypeStructureStore(location);
+			store.storeTypeStructure(component, 42, type);
+			store.save();
+			store.storeTypeStructure(component, 43, type);
+			store.close();
+
+			TypeStructureStore other = new TypeStructureStore(location);
+			assertTypeEquals(type, other.getTypeStructure(component, type.getName(), 43, root));
+			other.close();
+
+			assertTypeEquals(type, store.getTypeStructure(component, type.getName(), 43, root));
+			assertNull("the structure should be replaced", store.getTypeStructure(component, type.getName(), 42, root)); //$NON-NLS-1$
+			store.close();
+		} finally {
+			baseline.dispose();
+			delete(location);
+		}
+	}
+
+	/**
+	 * Tests that a corrupt segment is ignored
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testCorruptSegment() throws Exception {
+		IApiBaseline baseline = TestSuiteHelper.createTestingBaseline("test-plugins"); //$NON-NLS-1$
+		File location = Files.createTempDirectory("types").toFile(); //$NON-NLS-1$
+		try {
+			IApiComponent component = baseline.getApiComponent("component.a"); //$NON-NLS-1$
+			File directory = new File(location, "component.a_1.0.0"); //$NON-NLS-1$
+			directory.mkdirs();
+			try (FileOutputStream out = new FileOutputStream(new File(directory, "0" + TypeStructureStore.SEGMENT_FILE_EXTENSION))) { //$NON-NLS-1$
+				out.write(new byte[] { 1, 2, 3 });
+			}
+			TypeStructureStore store = new TypeStructureStore(location);
+			assertNull("no structure should be read", store.getTypeStructure(component, "component.a.A", 42, null)); //$NON-NLS-1$ //$NON-NLS-2$
+		} finally {
+			baseline.dispose();
+			delete(location);
+		}
+	}
+
+	private void assertTypeEquals(IApiType expected, IApiType actual) {
+		assertNotNull("the structure should be read", actual); //$NON-NLS-1$
+		assertEquals("wrong name", expected.getName(), actual.getName()); //$NON-NLS-1$
+		assertEquals("wrong modifiers", expected.getModifiers(), actual.getModifiers()); //$NON-NLS-1$
+		assertEquals("wrong generic signature", expected.getGenericSignature(), actual.getGenericSignature()); //$NON-NLS-1$
+		assertEquals("wrong superclass", expected.getSuperclassName(), actual.getSuperclassName()); //$NON-NLS-1$
+		assertArrayEquals("wrong super interfaces", expected.getSuperInterfaceNames(), actual.getSuperInterfaceNames()); //$NON-NLS-1$
+		IApiMethod[] methods = expected.getMethods();
+		assertEquals("wrong number of methods", methods.length, actual.getMethods().length); //$NON-NLS-1$
+		for (IApiMethod method : methods) {
+			IApiMethod read = actual.getMethod(method.getName(), method.getSignature());
+			assertNotNull("missing method " + method.getName(), read); //$NON-NLS-1$
+			assertEquals("wrong method modifiers", method.getModifiers(), read.getModifiers()); //$NON-NLS-1$
+			assertArrayEquals("wrong exceptions", method.getExceptionNames(), read.getExceptionNames()); //$NON-NLS-1$
+		}
+		IApiField[] fields = expected.getFields();
+		assertEquals("wrong number of fields", fields.length, actual.getFields().length); //$NON-NLS-1$
+		for (IApiField field : fields) {
+			IApiField read = actual.getField(field.getName());
+			assertNotNull("missing field " + field.getName(), read); //$NON-NLS-1$
+			assertEquals("wrong field modifiers", field.getModifiers(), read.getModifiers()); //$NON-NLS-1$
+			assertEquals("wrong constant value", field.getConstantValue(), read.getConstantValue()); //$NON-NLS-1$
+		}
+	}
+
+	private void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+}
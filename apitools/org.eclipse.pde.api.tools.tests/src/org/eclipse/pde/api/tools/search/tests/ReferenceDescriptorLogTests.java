@@ -0,0 +1,225 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.search.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.pde.api.tools.internal.provisional.Factory;
+import org.eclipse.pde.api.tools.internal.provisional.VisibilityModifiers;
+import org.eclipse.pde.api.tools.internal.provisional.builder.IReference;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IComponentDescriptor;
+import org.eclipse.pde.api.tools.internal.search.IReferenceDescriptor;
+import org.eclipse.pde.api.tools.internal.search.ReferenceDescriptorLog;
+import org.eclipse.pde.api.tools.internal.search.UseScanParser;
+import org.eclipse.pde.api.tools.internal.search.UseScanVisitor;
+import org.eclipse.pde.api.tools.internal.search.XmlSearchReporter;
+import org.eclipse.pde.api.tools.internal.util.Util;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ReferenceDescriptorLog}
+ */
+public class ReferenceDescriptorLogTests {
+
+	IComponentDescriptor fOrigin = Factory.componentDescriptor("origin", "1.0.0"); //$NON-NLS-1$ //$NON-NLS-2$
+	IComponentDescriptor fTarget = Factory.componentDescriptor("target", "2.0.0"); //$NON-NLS-1$ //$NON-NLS-2$
+
+	IReferenceDescriptor[] getReferences() {
+		return new IReferenceDescriptor[] {
+				Factory.referenceDescriptor(fOrigin, Factory.typeDescriptor("a.A"), 10, fTarget, Factory.typeDescriptor("b.B"), IReference.REF_EXTENDS, 0, VisibilityModifiers.API, null), //$NON-NLS-1$ //$NON-NLS-2$
+				Factory.referenceDescriptor(fOrigin, Factory.methodDescriptor("a.A", "m", "()V"), 12, fTarget, Factory.fieldDescriptor("b.B", "f"), IReference.REF_GETFIELD, IReference.F_ILLEGAL, VisibilityModifiers.PRIVATE, new String[] { "b.B", "f" }), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+				Factory.referenceDescriptor(fOrigin, Factory.fieldDescriptor("a.A", "g"), 14, fTarget, Factory.methodDescriptor("b.B", "n", "(I)V"), IReference.REF_VIRTUALMETHOD, 0, VisibilityModifiers.API, null) //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+		};
+	}
+
+	/**
+	 * Tests that appended references are read back in order, across several
+	 * appends to the same log
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testAppendAndRead() throws Exception {
+		File file = File.createTempFile("references", ".log"); //$NON-NLS-1$ //$NON-NLS-2$
+		file.delete();
+		try {
+			IReferenceDescriptor[] references = getReferences();
+			ReferenceDescriptorLog log = new ReferenceDescriptorLog(file);
+			log.append(new IReferenceDescriptor[] { references[0] });
+			log.close();
+			log.append(new IReferenceDescriptor[] { references[1], references[2] });
+			log.close();
+			List<IReferenceDescriptor> read = ReferenceDescriptorLog.read(file);
+			assertEquals("wrong number of references", references.length, read.size()); //$NON-NLS-1$
+			for (int i = 0; i < references.length; i++) {
+				assertEquals("wrong reference", references[i], read.get(i)); //$NON-NLS-1$
+				assertEquals("wrong flags", references[i].getReferenceFlags(), read.get(i).getReferenceFlags()); //$NON-NLS-1$
+			}
+			assertArrayEquals("wrong messages", references[1].getProblemMessages(), read.get(1).getProblemMessages()); //$NON-NLS-1$
+		} finally {
+			file.delete();
+		}
+	}
+
+	/**
+	 * Tests that a record truncated by an interrupted scan is ignored
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testTruncatedRecord() throws Exception {
+		File file = File.createTempFile("references", ".log"); //$NON-NLS-1$ //$NON-NLS-2$
+		file.delete();
+		try {
+			ReferenceDescriptorLog log = new ReferenceDescriptorLog(file);
+			log.append(getReferences());
+			log.close();
+			try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) { //$NON-NLS-1$
+				raf.setLength(raf.length() - 3);
+			}
+			assertEquals("wrong number of references", 2, ReferenceDescriptorLog.read(file).size()); //$NON-NLS-1$
+		} finally {
+			file.delete();
+		}
+	}
+
+	/**
+	 * Tests that strings longer than the 65535 bytes of modified UTF-8 are
+	 * written and read back
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testLongMessage() throws Exception {
+		File file = File.createTempFile("references", ".log"); //$NON-NLS-1$ //$NON-NLS-2$
+		file.delete();
+		try {
+			StringBuilder buffer = new StringBuilder();
+			while (buffer.length() < 100000) {
+				buffer.append("\u00e9long message "); //$NON-NLS-1$
+			}
+			String[] messages = new String[] { buffer.toString() };
+			IReferenceDescriptor reference = Factory.referenceDescriptor(fOrigin, Factory.typeDescriptor("a.A"), 10, fTarget, Factory.typeDescriptor("b.B"), IReference.REF_EXTENDS, 0, VisibilityModifiers.API, messages); //$NON-NLS-1$ //$NON-NLS-2$
+			ReferenceDescriptorLog log = new ReferenceDescriptorLog(file);
+			log.append(new IReferenceDescriptor[] { reference });
+			log.close();
+			List<IReferenceDescriptor> read = ReferenceDescriptorLog.read(file);
+			assertEquals("wrong number of references", 1, read.size()); //$NON-NLS-1$
+			assertArrayEquals("wrong messages", messages, read.get(0).getProblemMessages()); //$NON-NLS-1$
+		} finally {
+			file.delete();
+		}
+	}
+
+	/**
+	 * Tests that the references are read back in batches of the requested
+	 * size
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testReadBatches() throws Exception {
+		File file = File.createTempFile("references", ".log"); //$NON-NLS-1$ //$NON-NLS-2$
+		file.delete();
+		try {
+			IReferenceDescriptor[] references = getReferences();
+			ReferenceDescriptorLog log = new ReferenceDescriptorLog(file);
+			log.append(references);
+			log.close();
+			try (ReferenceDescriptorLog.Reader reader = new ReferenceDescriptorLog.Reader(file)) {
+				IReferenceDescriptor[] batch = reader.next(2);
+				assertArrayEquals("wrong first batch", new IReferenceDescriptor[] { references[0], references[1] }, batch); //$NON-NLS-1$
+				batch = reader.next(2);
+				assertArrayEquals("wrong second batch", new IReferenceDescriptor[] { references[2] }, batch); //$NON-NLS-1$
+				assertEquals("log should be at its end", 0, reader.next(2).length); //$NON-NLS-1$
+			}
+		} finally {
+			file.delete();
+		}
+	}
+
+	/**
+	 * Tests that the log of a streaming scan is collated into the XML files of
+	 * the report and deleted, and that the references are visited once
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testCollate() throws Exception {
+		File scan = Files.createTempDirectory("scan").toFile(); //$NON-NLS-1$
+		try {
+			File file = new File(scan, ReferenceDescriptorLog.LOG_FILE);
+			ReferenceDescriptorLog log = new ReferenceDescriptorLog(file);
+			log.append(getReferences());
+			log.close();
+			assertEquals("wrong references of the log", getReferences().length, parse(scan).size()); //$NON-NLS-1$
+			new XmlSearchReporter(scan.getAbsolutePath(), false, true).reportCounts();
+			assertFalse("the log should have been deleted", file.exists()); //$NON-NLS-1$
+			assertTrue("the referenced component should have been written", new File(scan, fTarget.getId() + " (" + fTarget.getVersion() + ")").isDirectory()); //$NON-NLS-1$ //$NON-NLS-2$
+			assertEquals("wrong references of the report", getReferences().length, parse(scan).size()); //$NON-NLS-1$
+		} finally {
+			Util.delete(scan);
+		}
+	}
+
+	/**
+	 * Tests that a collation that fails partway leaves the report untouched
+	 * and keeps the log, so that the references are not visited twice
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testFailedCollation() throws Exception {
+		File scan = Files.createTempDirectory("scan").toFile(); //$NON-NLS-1$
+		try {
+			File file = new File(scan, ReferenceDescriptorLog.LOG_FILE);
+			ReferenceDescriptorLog log = new ReferenceDescriptorLog(file);
+			log.append(getReferences());
+			log.close();
+			// a negative string length
+			try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) { //$NON-NLS-1$
+				raf.seek(raf.length());
+				raf.writeInt(-1);
+			}
+			new XmlSearchReporter(scan.getAbsolutePath(), false, true).reportCounts();
+			assertTrue("the log should have been kept", file.exists()); //$NON-NLS-1$
+			File[] directories = scan.listFiles(File::isDirectory);
+			assertEquals("no references should have been written", 0, directories.length); //$NON-NLS-1$
+			assertEquals("the scan directory should have been cleaned up", 0, scan.getParentFile().listFiles((dir, name) -> name.startsWith(scan.getName() + ".collate")).length); //$NON-NLS-1$
+		} finally {
+			Util.delete(scan);
+		}
+	}
+
+	private List<IReferenceDescriptor> parse(File scan) throws Exception {
+		List<IReferenceDescriptor> visited = new ArrayList<>();
+		new UseScanParser().parse(scan.getAbsolutePath(), new NullProgressMonitor(), new UseScanVisitor() {
+			@Override
+			public void visitReference(IReferenceDescriptor reference) {
+				visited.add(reference);
+			}
+		});
+		return visited;
+	}
+}
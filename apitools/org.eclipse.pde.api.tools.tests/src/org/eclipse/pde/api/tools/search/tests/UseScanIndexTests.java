@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.search.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.pde.api.tools.internal.provisional.Factory;
+import org.eclipse.pde.api.tools.internal.provisional.VisibilityModifiers;
+import org.eclipse.pde.api.tools.internal.provisional.builder.IReference;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IComponentDescriptor;
+import org.eclipse.pde.api.tools.internal.search.IReferenceDescriptor;
+import org.eclipse.pde.api.tools.internal.search.ReferenceDescriptorLog;
+import org.eclipse.pde.api.tools.internal.search.UseScanIndex;
+import org.eclipse.pde.api.tools.internal.search.UseScanReferences;
+import org.junit.Test;
+
+/**
+ * Tests the {@link UseScanIndex}
+ */
+public class UseScanIndexTests {
+
+	IComponentDescriptor fOrigin = Factory.componentDescriptor("origin", "1.0.0"); //$NON-NLS-1$ //$NON-NLS-2$
+	IComponentDescriptor fTarget = Factory.componentDescriptor("target", "2.0.0"); //$NON-NLS-1$ //$NON-NLS-2$
+	IComponentDescriptor fOther = Factory.componentDescriptor("other", "3.0.0"); //$NON-NLS-1$ //$NON-NLS-2$
+
+	IReferenceDescriptor[] getReferences() {
+		return new IReferenceDescriptor[] {
+				Factory.referenceDescriptor(fOrigin, Factory.typeDescriptor("a.A"), 10, fTarget, Factory.typeDescriptor("b.B"), IReference.REF_EXTENDS, 0, VisibilityModifiers.API, null), //$NON-NLS-1$ //$NON-NLS-2$
+				Factory.referenceDescriptor(fOrigin, Factory.methodDescriptor("a.A", "m", "()V"), 12, fTarget, Factory.fieldDescriptor("b.B", "f"), IReference.REF_GETFIELD, 0, VisibilityModifiers.API, null), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+				Factory.referenceDescriptor(fOrigin, Factory.fieldDescriptor("a.A", "g"), 14, fTarget, Factory.methodDescriptor("b.C$D", "n", "(I)V"), IReference.REF_VIRTUALMETHOD, 0, VisibilityModifiers.API, null), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+				Factory.referenceDescriptor(fOrigin, Factory.typeDescriptor("a.A"), 16, fOther, Factory.typeDescriptor("c.E"), IReference.REF_IMPLEMENTS, 0, VisibilityModifiers.API, null) //$NON-NLS-1$ //$NON-NLS-2$
+		};
+	}
+
+	/**
+	 * Tests that the references of a scan are looked up by referenced
+	 * component and type, and that the index is only opened for the scan it
+	 * was built for
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testBuildAndCollect() throws Exception {
+		File scan = Files.createTempDirectory("scan").toFile(); //$NON-NLS-1$
+		File file = File.createTempFile("scan", UseScanIndex.INDEX_FILE_EXTENSION); //$NON-NLS-1$
+		try {
+			IReferenceDescriptor[] references = getReferences();
+			ReferenceDescriptorLog log = new ReferenceDescriptorLog(new File(scan, ReferenceDescriptorLog.LOG_FILE));
+			log.append(references);
+			log.close();
+			long fingerprint = UseScanIndex.getFingerprint(scan);
+			UseScanIndex index = UseScanIndex.build(file, scan.getAbsolutePath(), fingerprint, scan.getAbsolutePath(), new NullProgressMonitor());
+
+			UseScanReferences collected = new UseScanReferences();
+			index.collect("target", new String[] { "b.B" }, collected); //$NON-NLS-1$ //$NON-NLS-2$
+			assertTrue("missing references to b.B", collected.hasReferencesTo("b.B")); //$NON-NLS-1$ //$NON-NLS-2$
+			assertFalse("references to b.C should not be read", collected.hasReferencesTo("b.C")); //$NON-NLS-1$ //$NON-NLS-2$
+			assertEquals("wrong references", new HashSet<>(Arrays.asList(references[0], references[1])), new HashSet<>(Arrays.asList(collected.getAllExternalDependencies()))); //$NON-NLS-1$
+
+			UseScanIndex opened = UseScanIndex.open(file, scan.getAbsolutePath(), fingerprint);
+			assertNotNull("the index should be opened", opened); //$NON-NLS-1$
+			collected = new UseScanReferences();
+			opened.collect("target", null, collected); //$NON-NLS-1$
+			assertEquals("wrong number of references", 3, collected.getAllExternalDependencies().length); //$NON-NLS-1$
+			assertEquals("wrong references to the member type", references[2], collected.getExternalDependenciesTo(new String[] { "b.C" })[0]); //$NON-NLS-1$ //$NON-NLS-2$
+
+			assertNull("the index of another scan should not be opened", UseScanIndex.open(file, scan.getAbsolutePath(), fingerprint + 1)); //$NON-NLS-1$
+		} finally {
+			file.delete();
+			new File(scan, ReferenceDescriptorLog.LOG_FILE).delete();
+			scan.delete();
+		}
+	}
+
+	/**
+	 * Tests that rewriting a report in place changes the fingerprint of the
+	 * scan, even though no directory is modified
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testFingerprint() throws Exception {
+		File scan = Files.createTempDirectory("scan").toFile(); //$NON-NLS-1$
+		File component = new File(scan, "target (2.0.0)"); //$NON-NLS-1$
+		File report = new File(component, "type_references.xml"); //$NON-NLS-1$
+		try {
+			assertTrue("the component directory should be created", component.mkdir()); //$NON-NLS-1$
+			Files.write(report.toPath(), "<references/>".getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+			long fingerprint = UseScanIndex.getFingerprint(scan);
+			assertEquals("the fingerprint of an unchanged scan should not change", fingerprint, UseScanIndex.getFingerprint(scan)); //$NON-NLS-1$
+
+			long directoryModified = component.lastModified();
+			Files.write(report.toPath(), "<references></references>".getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+			report.setLastModified(report.lastModified() + 2000);
+			component.setLastModified(directoryModified);
+			assertNotEquals("a rewritten report should change the fingerprint", fingerprint, UseScanIndex.getFingerprint(scan)); //$NON-NLS-1$
+		} finally {
+			report.delete();
+			component.delete();
+			scan.delete();
+		}
+	}
+
+	/**
+	 * Tests that a corrupt index is not opened
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testCorruptIndex() throws Exception {
+		File scan = Files.createTempDirectory("scan").toFile(); //$NON-NLS-1$
+		File file = File.createTempFile("scan", UseScanIndex.INDEX_FILE_EXTENSION); //$NON-NLS-1$
+		try {
+			ReferenceDescriptorLog log = new ReferenceDescriptorLog(new File(scan, ReferenceDescriptorLog.LOG_FILE));
+			log.append(getReferences());
+			log.close();
+			long fingerprint = UseScanIndex.getFingerprint(scan);
+			UseScanIndex.build(file, scan.getAbsolutePath(), fingerprint, scan.getAbsolutePath(), new NullProgressMonitor());
+			try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) { //$NON-NLS-1$
+				raf.setLength(raf.length() - 3);
+			}
+			assertNull("a corrupt index should not be opened", UseScanIndex.open(file, scan.getAbsolutePath(), fingerprint)); //$NON-NLS-1$
+		} finally {
+			file.delete();
+			new File(scan, ReferenceDescriptorLog.LOG_FILE).delete();
+			scan.delete();
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2019 IBM Corporation and others.
+ * Copyright (c) 2010, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -363,6 +363,10 @@ public class ApiUseScanPreferencePage extends PreferencePage implements IWorkben
 
 		Object[] newCheckedLocations = fTableViewer.getCheckedElements();
 		boolean hasLocationChanges = hasLocationsChanges(locations.toString());
+		if (hasLocationChanges) {
+			// the next build checks the scans for changes again
+			UseScanManager.getInstance().clearCache();
+		}
 		if (hasLocationChanges && newCheckedLocations.length != 0) {
 			IProject[] projects = Util.getApiProjects();
 			// If there are API projects in the workspace, ask the user if they
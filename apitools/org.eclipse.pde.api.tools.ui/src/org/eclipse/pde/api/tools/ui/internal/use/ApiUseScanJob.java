@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2018 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -146,7 +146,7 @@ public class ApiUseScanJob extends Job {
 					scrubReportLocation(new File(xmlPath), localmonitor.split(1));
 				}
 				UseMetadata data = new UseMetadata(kinds, this.configuration.getAttribute(ApiUseLaunchDelegate.TARGET_SCOPE, (String) null), this.configuration.getAttribute(ApiUseLaunchDelegate.SEARCH_SCOPE, (String) null), baseline.getLocation(), xmlPath, sapi, sinternal, sjars, this.configuration.getAttribute(ApiUseLaunchDelegate.FILTER_ROOT, (String) null), DateFormat.getDateTimeInstance().format(Calendar.getInstance().getTime()), this.configuration.getAttribute(ApiUseLaunchDelegate.DESCRIPTION, (String) null));
-				IApiSearchReporter reporter = new XmlSearchReporter(xmlPath, false);
+				IApiSearchReporter reporter = new XmlSearchReporter(xmlPath, false, true);
 				try {
 					ApiSearchEngine engine = new ApiSearchEngine();
 					engine.search(baseline, requestor, reporter, localmonitor.split(6));
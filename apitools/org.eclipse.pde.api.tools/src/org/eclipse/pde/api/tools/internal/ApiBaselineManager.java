@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2017 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -112,6 +112,13 @@ public final class ApiBaselineManager implements IApiBaselineManager, ISaveParti
 
 	private HashSet<String> hasinfos = null;
 
+	/**
+	 * Baselines restored from a snapshot by name. They are not written again
+	 * while they are the cached baseline of their name and both of their
+	 * files exist.
+	 */
+	private HashMap<String, ApiBaseline> snapshotbaselines = null;
+
 	/**
 	 * The current default {@link IApiBaseline}
 	 */
@@ -190,6 +197,7 @@ public final class ApiBaselineManager implements IApiBaselineManager, ISaveParti
 			IApiBaseline baseline = baselinecache.remove(name);
 			if (baseline != null) {
 				baseline.dispose();
+				releaseSnapshot(name, null);
 				boolean success = true;
 				if (savelocation == null) {
 					return success;
@@ -199,6 +207,10 @@ public final class ApiBaselineManager implements IApiBaselineManager, ISaveParti
 				if (file.exists()) {
 					success &= file.delete();
 				}
+				file = savelocation.append(name + BaselineSnapshot.SNAPSHOT_FILE_EXTENSION).toFile();
+				if (file.exists()) {
+					success &= file.delete();
+				}
 				fNeedsSaving = true;
 
 				// flush the model cache
@@ -209,9 +221,27 @@ public final class ApiBaselineManager implements IApiBaselineManager, ISaveParti
 		return false;
 	}
 
+	/**
+	 * Releases the snapshot mapped by a baseline restored from the snapshot
+	 * file of the given name, unless it is the given baseline, so that the
+	 * file can be replaced or deleted.
+	 *
+	 * @param name the baseline name
+	 * @param keep the baseline to keep restoring from its snapshot or
+	 *            <code>null</code>
+	 */
+	private void releaseSnapshot(String name, IApiBaseline keep) {
+		ApiBaseline restored = snapshotbaselines.get(name);
+		if (restored != null && restored != keep) {
+			snapshotbaselines.remove(name);
+			restored.releaseSnapshot();
+		}
+	}
+
 	/**
 	 * Loads the infos for the given baseline from persisted storage (the
-	 * *.profile file)
+	 * *.baseline snapshot or, if there is none or it is older, the *.profile
+	 * file)
 	 *
 	 * @param baseline the given baseline
 	 * @throws CoreException if an exception occurs while loading baseline infos
@@ -224,6 +254,20 @@ public final class ApiBaselineManager implements IApiBaselineManager, ISaveParti
 		String filename = handlecache.get(baseline.getName());
 		if (filename != null) {
 			File file = new File(filename);
+			if (file.exists() && filename.endsWith(BaselineSnapshot.SNAPSHOT_FILE_EXTENSION) && baseline instanceof ApiBaseline) {
+				try {
+					restoreBaseline((ApiBaseline) baseline, BaselineSnapshot.open(file));
+					snapshotbaselines.put(baseline.getName(), (ApiBaseline) baseline);
+					hasinfos.add(baseline.getName());
+					return;
+				} catch (IOException e) {
+					// fall back to the XML description if there is one
+					ApiPlugin.log(e);
+				}
+			}
+			if (filename.endsWith(BaselineSnapshot.SNAPSHOT_FILE_EXTENSION)) {
+				file = savelocation.append(baseline.getName() + BASELINE_FILE_EXTENSION).toFile();
+			}
 			if (file.exists()) {
 				FileInputStream inputStream = null;
 				try {
@@ -257,18 +301,25 @@ public final class ApiBaselineManager implements IApiBaselineManager, ISaveParti
 		if (baselinecache == null) {
 			handlecache = new HashMap<>(8);
 			hasinfos = new HashSet<>(8);
+			snapshotbaselines = new HashMap<>(8);
 			baselinecache = new LinkedHashMap<>(8);
 			if (!ApiPlugin.isRunningInFramework()) {
 				return;
 			}
-			File[] baselines = savelocation.toFile().listFiles((FileFilter) pathname -> pathname.getName().endsWith(BASELINE_FILE_EXTENSION));
+			File[] baselines = savelocation.toFile().listFiles((FileFilter) pathname -> pathname.getName().endsWith(BASELINE_FILE_EXTENSION) || pathname.getName().endsWith(BaselineSnapshot.SNAPSHOT_FILE_EXTENSION));
 			if (baselines != null) {
-				IApiBaseline newbaseline = null;
 				for (File baseline : baselines) {
 					if (baseline.exists()) {
-						newbaseline = new ApiBaseline(new Path(baseline.getName()).removeFileExtension().toString());
-						handlecache.put(newbaseline.getName(), baseline.getAbsolutePath());
-						baselinecache.put(newbaseline.getName(), newbaseline);
+						String name = new Path(baseline.getName()).removeFileExtension().toString();
+						// prefer the snapshot unless an older version wrote
+						// the XML description after it
+						String existing = handlecache.get(name);
+						if (existing == null || isNewer(baseline, new File(existing))) {
+							handlecache.put(name, baseline.getAbsolutePath());
+						}
+						if (!baselinecache.containsKey(name)) {
+							baselinecache.put(name, new ApiBaseline(name));
+						}
 					}
 				}
 			}
@@ -281,6 +332,21 @@ public final class ApiBaselineManager implements IApiBaselineManager, ISaveParti
 		}
 	}
 
+	/**
+	 * Returns whether the given file of a baseline should be restored rather
+	 * than the given other file of the same baseline.
+	 *
+	 * @param file a *.baseline or *.profile file
+	 * @param other the other file of the baseline
+	 * @return whether to restore the file rather than the other file
+	 */
+	private static boolean isNewer(File file, File other) {
+		if (file.getName().endsWith(BaselineSnapshot.SNAPSHOT_FILE_EXTENSION)) {
+			return file.lastModified() >= other.lastModified();
+		}
+		return file.lastModified() > other.lastModified();
+	}
+
 	/**
 	 * @return the default API baseline saved in the preferences, or
 	 *         <code>null</code> if there isn't one
@@ -291,8 +357,9 @@ public final class ApiBaselineManager implements IApiBaselineManager, ISaveParti
 	}
 
 	/**
-	 * Persists all of the cached elements to individual xml files named with
-	 * the id of the API baseline
+	 * Persists all of the cached elements to individual xml files and binary
+	 * snapshot files named with the id of the API baseline. The xml files
+	 * remain readable by older versions.
 	 *
 	 * @throws IOException
 	 */
@@ -313,7 +380,6 @@ public final class ApiBaselineManager implements IApiBaselineManager, ISaveParti
 			}
 			String id = null;
 			File file = null;
-			FileOutputStream fout = null;
 			IApiBaseline baseline = null;
 			for (Entry<String, IApiBaseline> entry : baselinecache.entrySet()) {
 				id = entry.getKey();
@@ -321,21 +387,25 @@ public final class ApiBaselineManager implements IApiBaselineManager, ISaveParti
 				if (!hasinfos.contains(baseline.getName())) {
 					continue;
 				}
-				file = savelocation.append(id + BASELINE_FILE_EXTENSION).toFile();
-				if (!file.exists()) {
-					file.createNewFile();
+				long start = System.currentTimeMillis();
+				file = savelocation.append(id + BaselineSnapshot.SNAPSHOT_FILE_EXTENSION).toFile();
+				File description = savelocation.append(id + BASELINE_FILE_EXTENSION).toFile();
+				if (snapshotbaselines.get(id) == baseline && file.exists() && description.exists()) {
+					// restored and unchanged
+					continue;
 				}
-				try {
-					fout = new FileOutputStream(file);
+				// the snapshot file must not be mapped when it is replaced
+				releaseSnapshot(id, baseline);
+				try (FileOutputStream fout = new FileOutputStream(description)) {
 					writeBaselineDescription(baseline, fout);
-					// need to save the api baseline state in order to be able
-					// to reload it later
-					handlecache.put(baseline.getName(), file.getAbsolutePath());
-					fout.flush();
-				} finally {
-					if (fout != null) {
-						fout.close();
-					}
+				}
+				// written last to be restored rather than the description
+				BaselineSnapshot.write(baseline, file);
+				// need to save the api baseline state in order to be able
+				// to reload it later
+				handlecache.put(baseline.getName(), file.getAbsolutePath());
+				if (ApiPlugin.DEBUG_BASELINE_MANAGER) {
+					System.out.println("Time to write baseline snapshot " + id + ": " + (System.currentTimeMillis() - start) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 				}
 			}
 		}
@@ -343,12 +413,15 @@ public final class ApiBaselineManager implements IApiBaselineManager, ISaveParti
 
 	/**
 	 * Writes out the current state of the {@link IApiBaseline} as XML to the
-	 * given output stream
+	 * given output stream. The XML description is the exchange format of
+	 * baselines, the manager itself persists baselines as
+	 * {@link BaselineSnapshot}s.
 	 *
-	 * @param stream
-	 * @throws CoreException
+	 * @param baseline the baseline to describe
+	 * @param stream the stream to write to
+	 * @throws CoreException if the description cannot be written
 	 */
-	private void writeBaselineDescription(IApiBaseline baseline, OutputStream stream) throws CoreException {
+	public void writeBaselineDescription(IApiBaseline baseline, OutputStream stream) throws CoreException {
 		String xml = getProfileXML(baseline);
 		try {
 			stream.write(xml.getBytes(StandardCharsets.UTF_8));
@@ -416,13 +489,15 @@ public final class ApiBaselineManager implements IApiBaselineManager, ISaveParti
 	}
 
 	/**
-	 * Restore a baseline from the given input stream (persisted baseline).
+	 * Restore a baseline from the given input stream containing an XML
+	 * description written by
+	 * {@link #writeBaselineDescription(IApiBaseline, OutputStream)}.
 	 *
 	 * @param baseline the given baseline to restore
 	 * @param stream the given input stream
 	 * @throws CoreException if unable to restore the baseline
 	 */
-	private void restoreBaseline(IApiBaseline baseline, InputStream stream) throws CoreException {
+	public void restoreBaseline(IApiBaseline baseline, InputStream stream) throws CoreException {
 		long start = System.currentTimeMillis();
 		DocumentBuilder parser = null;
 		try {
@@ -500,6 +575,35 @@ public final class ApiBaselineManager implements IApiBaselineManager, ISaveParti
 		}
 	}
 
+	/**
+	 * Restore a baseline from the given snapshot. The components of the
+	 * baseline are created from the snapshot when they are requested, the
+	 * baseline closes the snapshot when all of them have been created or when
+	 * it is disposed.
+	 *
+	 * @param baseline the given baseline to restore
+	 * @param snapshot the snapshot of the baseline
+	 * @throws IOException if the snapshot is corrupt, the snapshot is closed
+	 */
+	private void restoreBaseline(ApiBaseline baseline, BaselineSnapshot snapshot) throws IOException {
+		long start = System.currentTimeMillis();
+		try {
+			// validate the component table before the baseline depends on it
+			snapshot.getComponents();
+		} catch (IOException e) {
+			snapshot.close();
+			throw e;
+		}
+		String baselineLocation = snapshot.getLocation();
+		if (baselineLocation != null && !baselineLocation.equals(Util.EMPTY_STRING)) {
+			baseline.setLocation(Path.fromPortableString(baselineLocation).toOSString());
+		}
+		baseline.restore(snapshot);
+		if (ApiPlugin.DEBUG_BASELINE_MANAGER) {
+			System.out.println("Time to restore a baseline snapshot : " + (System.currentTimeMillis() - start) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
 	@Override
 	public void saving(ISaveContext context) throws CoreException {
 		if (!fNeedsSaving) {
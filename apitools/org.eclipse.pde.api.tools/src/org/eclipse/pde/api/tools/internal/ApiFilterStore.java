@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2017 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -88,6 +88,63 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 	boolean fTriggeredChange = false;
 	HashMap<IResource, Map<String, Set<IApiProblemFilter>>> fFilterMap;
 
+	/**
+	 * Index of the filters in {@link #fFilterMap} used by
+	 * {@link #isFiltered(IApiProblem)}. The index is never modified, it is
+	 * discarded whenever the filters change and built again on the next check,
+	 * so that checks do not need to lock the store.
+	 */
+	private volatile Map<FilterKey, IndexedFilter[]> fFilterIndex;
+
+	/**
+	 * Key of the filters in the index: the full path of the filtered resource,
+	 * the problem id and a hash of the simple names of the message arguments.
+	 * Problems are only matched by filters with the same key, see
+	 * {@link #problemsMatch(IApiProblem, IApiProblem)}.
+	 */
+	private static final class FilterKey {
+		private final IPath path;
+		private final int id;
+		private final int arguments;
+
+		FilterKey(IPath path, IApiProblem problem) {
+			this.path = path;
+			this.id = problem.getId();
+			int hash = 1;
+			for (String argument : problem.getMessageArguments()) {
+				hash = 31 * hash + argument.substring(argument.lastIndexOf('.') + 1).hashCode();
+			}
+			this.arguments = hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj instanceof FilterKey) {
+				FilterKey key = (FilterKey) obj;
+				return id == key.id && arguments == key.arguments && path.equals(key.path);
+			}
+			return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return (path.hashCode() * 31 + id) * 31 + arguments;
+		}
+	}
+
+	/**
+	 * A filter in the index with the resource it is stored for
+	 */
+	private static final class IndexedFilter {
+		final IResource resource;
+		final IApiProblemFilter filter;
+
+		IndexedFilter(IResource resource, IApiProblemFilter filter) {
+			this.resource = resource;
+			this.filter = filter;
+		}
+	}
+
 	/**
 	 * Constructor
 	 *
@@ -227,6 +284,7 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 			}
 			fNeedsSaving |= pfilters.add(filter);
 		}
+		fFilterIndex = null;
 		persistApiFilters();
 	}
 
@@ -264,33 +322,25 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 	}
 
 	@Override
-	public synchronized boolean isFiltered(IApiProblem problem) {
-		initializeApiFilters();
+	public boolean isFiltered(IApiProblem problem) {
 		String resourcePath = problem.getResourcePath();
 		if (resourcePath == null) {
 			return false;
 		}
-		IResource resource = fProject.getProject().findMember(new Path(resourcePath));
-		if (resource == null) {
-			if (ApiPlugin.DEBUG_FILTER_STORE) {
-				System.out.println("no resource exists: [" + resourcePath + "]"); //$NON-NLS-1$ //$NON-NLS-2$
-			}
-			return false;
-		}
-		IApiProblemFilter[] filters = this.getFilters(resource);
-		if (filters == null) {
-			if (ApiPlugin.DEBUG_FILTER_STORE) {
-				System.out.println("no filters defined for [" + resourcePath + "] return not filtered"); //$NON-NLS-1$ //$NON-NLS-2$
-			}
-			return false;
+		Map<FilterKey, IndexedFilter[]> index = fFilterIndex;
+		if (index == null) {
+			index = getFilterIndex();
 		}
-		for (IApiProblemFilter filter : filters) {
-			if (problemsMatch(filter.getUnderlyingProblem(), problem)) {
-				if (ApiPlugin.DEBUG_FILTER_STORE) {
-					System.out.println("recording filter used: [" + filter.toString() + "]"); //$NON-NLS-1$ //$NON-NLS-2$
+		IndexedFilter[] filters = index.get(new FilterKey(fProject.getProject().getFullPath().append(resourcePath), problem));
+		if (filters != null) {
+			for (IndexedFilter indexed : filters) {
+				if (problemsMatch(indexed.filter.getUnderlyingProblem(), problem) && indexed.resource.exists()) {
+					if (ApiPlugin.DEBUG_FILTER_STORE) {
+						System.out.println("recording filter used: [" + indexed.filter.toString() + "]"); //$NON-NLS-1$ //$NON-NLS-2$
+					}
+					recordFilterUsed(indexed.resource, indexed.filter);
+					return true;
 				}
-				recordFilterUsed(resource, filter);
-				return true;
 			}
 		}
 		if (ApiPlugin.DEBUG_FILTER_STORE) {
@@ -299,6 +349,36 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 		return false;
 	}
 
+	/**
+	 * Returns the index of the filters, building it if the filters changed
+	 * since it was last built.
+	 *
+	 * @return the index of the filters
+	 */
+	private synchronized Map<FilterKey, IndexedFilter[]> getFilterIndex() {
+		Map<FilterKey, IndexedFilter[]> index = fFilterIndex;
+		if (index != null) {
+			return index;
+		}
+		initializeApiFilters();
+		Map<FilterKey, List<IndexedFilter>> filters = new HashMap<>();
+		for (Entry<IResource, Map<String, Set<IApiProblemFilter>>> entry : fFilterMap.entrySet()) {
+			IResource resource = entry.getKey();
+			IPath path = resource.getFullPath();
+			for (Set<IApiProblemFilter> values : entry.getValue().values()) {
+				for (IApiProblemFilter filter : values) {
+					filters.computeIfAbsent(new FilterKey(path, filter.getUnderlyingProblem()), key -> new ArrayList<>(1)).add(new IndexedFilter(resource, filter));
+				}
+			}
+		}
+		index = new HashMap<>(filters.size());
+		for (Entry<FilterKey, List<IndexedFilter>> entry : filters.entrySet()) {
+			index.put(entry.getKey(), entry.getValue().toArray(new IndexedFilter[entry.getValue().size()]));
+		}
+		fFilterIndex = index;
+		return index;
+	}
+
 	@Override
 	public void dispose() {
 		// if the store is about to be disposed and has pending changes save
@@ -370,6 +450,7 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 				success &= false;
 			}
 		}
+		fFilterIndex = null;
 		persistApiFilters();
 		return success;
 	}
@@ -506,6 +587,7 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 			System.out.println("initializing api filter map for project [" + fProject.getElementName() + "]"); //$NON-NLS-1$ //$NON-NLS-2$
 		}
 		fFilterMap = new LinkedHashMap<>(5);
+		fFilterIndex = null;
 		IPath filepath = getFilterFilePath(true);
 		IResource file = ResourcesPlugin.getWorkspace().getRoot().findMember(filepath, true);
 		if (file == null) {
@@ -571,6 +653,7 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 			}
 			fNeedsSaving |= filters.add(filter);
 		}
+		fFilterIndex = null;
 	}
 
 	/**
@@ -634,7 +717,7 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 	 * @param resource
 	 * @param filter
 	 */
-	private void recordFilterUsed(IResource resource, IApiProblemFilter filter) {
+	private synchronized void recordFilterUsed(IResource resource, IApiProblemFilter filter) {
 		if (fUnusedFilters != null) {
 			Set<IApiProblemFilter> unused = fUnusedFilters.get(resource);
 			if (unused != null) {
@@ -779,6 +862,7 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 				}
 				if (fFilterMap != null) {
 					fFilterMap.clear();
+					fFilterIndex = null;
 					needsbuild = fProject.getProject().isAccessible();
 				}
 			} else if (leafdelta.getKind() == IResourceDelta.ADDED || (leafdelta.getFlags() & IResourceDelta.CONTENT) != 0 || (leafdelta.getFlags() & IResourceDelta.REPLACED) != 0) {
@@ -815,5 +899,6 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 			fFilterMap.clear();
 			fFilterMap = null;
 		}
+		fFilterIndex = null;
 	}
 }
@@ -0,0 +1,568 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.osgi.service.resolver.BundleDescription;
+import org.eclipse.osgi.service.resolver.ExportPackageDescription;
+import org.eclipse.osgi.service.resolver.GenericDescription;
+import org.eclipse.osgi.service.resolver.HostSpecification;
+import org.eclipse.pde.api.tools.internal.model.BundleComponent;
+import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.util.Util;
+
+/**
+ * A compact binary snapshot of an {@link IApiBaseline}: its name, location,
+ * execution environment, the execution environments its components require,
+ * the location, fragment host and generic capabilities of each of its
+ * components and an index of exported packages to the components exporting
+ * them.
+ * <p>
+ * A snapshot is read through a memory mapped file. Only the header is decoded
+ * when it is opened, the component table is decoded on request and package
+ * lookups binary search the sorted package table in place. The mapping is
+ * released when the snapshot is closed, the snapshot file must not be
+ * replaced before.
+ * </p>
+ * <p>
+ * Layout (big endian, strings are an int byte length followed by UTF-8
+ * bytes, <code>-1</code> for <code>null</code>):
+ *
+ * <pre>
+ * int magic, int version
+ * string name, string location, string execution environment
+ * int count, count * string required execution environment
+ * int component count, int offset of package table
+ * component count * (string id, string version, string portable location,
+ *     string fragment host id, int n, n * string capability namespace)
+ * int package count, package count * int offset
+ * package count * (string name, int n, n * int component index)
+ * </pre>
+ * </p>
+ */
+public final class BaselineSnapshot implements Closeable {
+
+	/**
+	 * Constant representing the file extension for a baseline snapshot file.
+	 * Value is: <code>.baseline</code>
+	 */
+	public static final String SNAPSHOT_FILE_EXTENSION = ".baseline"; //$NON-NLS-1$
+
+	private static final int MAGIC = 0x41504942; // APIB
+	private static final int VERSION = 2;
+
+	/**
+	 * A component recorded in a snapshot
+	 */
+	public static final class ComponentEntry {
+		private final String fId;
+		private final String fVersion;
+		private final String fLocation;
+		private final String fHost;
+		private final String[] fCapabilities;
+
+		ComponentEntry(String id, String version, String location, String host, String[] capabilities) {
+			fId = id;
+			fVersion = version;
+			fLocation = location;
+			fHost = host;
+			fCapabilities = capabilities;
+		}
+
+		/**
+		 * @return the symbolic name of the component
+		 */
+		public String getSymbolicName() {
+			return fId;
+		}
+
+		/**
+		 * @return the version of the component
+		 */
+		public String getVersion() {
+			return fVersion;
+		}
+
+		/**
+		 * @return the location of the component in portable path format
+		 */
+		public String getLocation() {
+			return fLocation;
+		}
+
+		/**
+		 * @return the symbolic name of the host of the component if it is a
+		 *         fragment, <code>null</code> otherwise
+		 */
+		public String getHost() {
+			return fHost;
+		}
+
+		/**
+		 * @return the namespaces of the generic capabilities the component
+		 *         provides
+		 */
+		public String[] getCapabilities() {
+			return fCapabilities.clone();
+		}
+	}
+
+	private MappedByteBuffer fBuffer;
+	private final String fName;
+	private final String fLocation;
+	private final String fExecutionEnvironment;
+	private final String[] fRequiredExecutionEnvironments;
+	private final int fComponentCount;
+	private final int fComponentsOffset;
+	private final int fPackagesOffset;
+	private ComponentEntry[] fComponents;
+	/**
+	 * Symbolic name, host symbolic name and capability namespace -> components,
+	 * built with {@link #fComponents}
+	 */
+	private Map<String, List<ComponentEntry>> fComponentsById;
+	private Map<String, List<ComponentEntry>> fFragmentsByHost;
+	private Map<String, List<ComponentEntry>> fComponentsByCapability;
+
+	private BaselineSnapshot(MappedByteBuffer buffer) throws IOException {
+		fBuffer = buffer;
+		try {
+			if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+				throw new IOException("Unsupported baseline snapshot"); //$NON-NLS-1$
+			}
+			fName = readString(buffer);
+			fLocation = readString(buffer);
+			fExecutionEnvironment = readString(buffer);
+			int count = buffer.getInt();
+			if (count < 0 || count > buffer.remaining() / 4) {
+				throw new IOException("Corrupt baseline snapshot"); //$NON-NLS-1$
+			}
+			fRequiredExecutionEnvironments = new String[count];
+			for (int i = 0; i < count; i++) {
+				fRequiredExecutionEnvironments[i] = readString(buffer);
+			}
+			fComponentCount = buffer.getInt();
+			fPackagesOffset = buffer.getInt();
+			fComponentsOffset = buffer.position();
+			if (fComponentCount < 0 || fPackagesOffset < fComponentsOffset || fPackagesOffset > buffer.limit()) {
+				throw new IOException("Corrupt baseline snapshot"); //$NON-NLS-1$
+			}
+		} catch (BufferUnderflowException | IllegalArgumentException e) {
+			throw new IOException("Truncated baseline snapshot", e); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Opens the snapshot in the given file. The file is mapped into memory
+	 * until the snapshot is closed.
+	 *
+	 * @param file the snapshot file
+	 * @return the snapshot
+	 * @throws IOException if the file cannot be read or is not a valid snapshot
+	 */
+	public static BaselineSnapshot open(File file) throws IOException {
+		MappedByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		try {
+			return new BaselineSnapshot(buffer);
+		} catch (IOException e) {
+			Util.unmap(buffer);
+			throw e;
+		}
+	}
+
+	/**
+	 * Writes a snapshot of the given baseline to the given file. The file is
+	 * replaced atomically so a concurrent reader never sees a partial snapshot,
+	 * a snapshot opened on the file must be closed before. System components
+	 * are not written, they are computed from the required execution
+	 * environments when the baseline is restored.
+	 *
+	 * @param baseline the baseline to write
+	 * @param file the snapshot file
+	 * @throws CoreException if the snapshot cannot be written
+	 */
+	public static void write(IApiBaseline baseline, File file) throws CoreException {
+		List<IApiComponent> components = getPersistedComponents(baseline);
+		Map<String, List<Integer>> packages = new TreeMap<>();
+		Set<String> environments = new LinkedHashSet<>();
+		ByteArrayOutputStream table = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(table)) {
+			for (int i = 0; i < components.size(); i++) {
+				IApiComponent component = components.get(i);
+				writeString(out, component.getSymbolicName());
+				writeString(out, component.getVersion());
+				writeString(out, new Path(component.getLocation()).toPortableString());
+				writeString(out, getHost(component));
+				List<String> capabilities = getCapabilities(component);
+				out.writeInt(capabilities.size());
+				for (String capability : capabilities) {
+					writeString(out, capability);
+				}
+				Collections.addAll(environments, component.getExecutionEnvironments());
+				for (String pkg : getExportedPackages(component)) {
+					packages.computeIfAbsent(pkg, p -> new ArrayList<>()).add(Integer.valueOf(i));
+				}
+			}
+		} catch (IOException e) {
+			abort("Error writing baseline snapshot", e); //$NON-NLS-1$
+		}
+		ByteArrayOutputStream header = new ByteArrayOutputStream();
+		ByteArrayOutputStream index = new ByteArrayOutputStream();
+		try (DataOutputStream hout = new DataOutputStream(header); DataOutputStream iout = new DataOutputStream(index)) {
+			hout.writeInt(MAGIC);
+			hout.writeInt(VERSION);
+			writeString(hout, baseline.getName());
+			writeString(hout, baseline.getLocation() == null ? null : new Path(baseline.getLocation()).toPortableString());
+			writeString(hout, baseline.getExecutionEnvironment());
+			hout.writeInt(environments.size());
+			for (String environment : environments) {
+				writeString(hout, environment);
+			}
+			hout.writeInt(components.size());
+			// offset of the package table, after this int and the component table
+			int packagesOffset = hout.size() + 4 + table.size();
+			hout.writeInt(packagesOffset);
+			// offsets are absolute: package count, offset table, then entries
+			int entriesOffset = packagesOffset + 4 + packages.size() * 4;
+			ByteArrayOutputStream entries = new ByteArrayOutputStream();
+			DataOutputStream eout = new DataOutputStream(entries);
+			iout.writeInt(packages.size());
+			for (Entry<String, List<Integer>> entry : packages.entrySet()) {
+				iout.writeInt(entriesOffset + eout.size());
+				writeString(eout, entry.getKey());
+				eout.writeInt(entry.getValue().size());
+				for (Integer component : entry.getValue()) {
+					eout.writeInt(component.intValue());
+				}
+			}
+			eout.flush();
+			entries.writeTo(iout);
+		} catch (IOException e) {
+			abort("Error writing baseline snapshot", e); //$NON-NLS-1$
+		}
+		File tmp = new File(file.getParentFile(), file.getName() + ".tmp"); //$NON-NLS-1$
+		try {
+			try (BufferedOutputStream out = new BufferedOutputStream(new FileOutputStream(tmp))) {
+				header.writeTo(out);
+				table.writeTo(out);
+				index.writeTo(out);
+			}
+			Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			tmp.delete();
+			abort("Error writing baseline snapshot", e); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Returns the components of the given baseline to persist, including all
+	 * versions of components with multiple versions and excluding system
+	 * components.
+	 *
+	 * @param baseline the baseline
+	 * @return the components to persist
+	 */
+	private static List<IApiComponent> getPersistedComponents(IApiBaseline baseline) {
+		Set<IApiComponent> seen = new HashSet<>();
+		List<IApiComponent> result = new ArrayList<>();
+		for (IApiComponent component : baseline.getApiComponents()) {
+			Set<IApiComponent> all = baseline.getAllApiComponents(component.getSymbolicName());
+			if (all.isEmpty()) {
+				all = Set.of(component);
+			}
+			for (IApiComponent current : all) {
+				if (!current.isSystemComponent() && seen.add(current)) {
+					result.add(current);
+				}
+			}
+		}
+		return result;
+	}
+
+	private static List<String> getExportedPackages(IApiComponent component) {
+		List<String> packages = new ArrayList<>();
+		if (component instanceof BundleComponent) {
+			try {
+				for (ExportPackageDescription export : ((BundleComponent) component).getBundleDescription().getExportPackages()) {
+					packages.add(export.getName());
+				}
+			} catch (CoreException e) {
+				// not indexed, the baseline resolves the package itself
+				ApiPlugin.log(e);
+			}
+		}
+		return packages;
+	}
+
+	private static List<String> getCapabilities(IApiComponent component) throws CoreException {
+		Set<String> namespaces = new LinkedHashSet<>();
+		if (component instanceof BundleComponent) {
+			BundleDescription description = ((BundleComponent) component).getBundleDescription();
+			if (description != null) {
+				for (GenericDescription capability : description.getGenericCapabilities()) {
+					namespaces.add(capability.getType());
+				}
+			}
+		}
+		return new ArrayList<>(namespaces);
+	}
+
+	private static String getHost(IApiComponent component) throws CoreException {
+		if (component instanceof BundleComponent) {
+			BundleDescription description = ((BundleComponent) component).getBundleDescription();
+			HostSpecification host = description == null ? null : description.getHost();
+			if (host != null) {
+				return host.getName();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return the name of the baseline
+	 */
+	public String getName() {
+		return fName;
+	}
+
+	/**
+	 * @return the location of the baseline in portable path format or
+	 *         <code>null</code> if none
+	 */
+	public String getLocation() {
+		return fLocation;
+	}
+
+	/**
+	 * @return the execution environment of the baseline when it was saved, or
+	 *         <code>null</code> if none
+	 */
+	public String getExecutionEnvironment() {
+		return fExecutionEnvironment;
+	}
+
+	/**
+	 * @return the execution environments required by the components of the
+	 *         baseline, used to bind the system library of the baseline
+	 */
+	public String[] getRequiredExecutionEnvironments() {
+		return fRequiredExecutionEnvironments.clone();
+	}
+
+	/**
+	 * Returns the components recorded in this snapshot, decoding them on the
+	 * first request.
+	 *
+	 * @return the components
+	 * @throws IOException if the snapshot is corrupt or closed
+	 */
+	public synchronized ComponentEntry[] getComponents() throws IOException {
+		if (fComponents == null) {
+			ByteBuffer buffer = getBuffer();
+			buffer.position(fComponentsOffset);
+			ComponentEntry[] components = new ComponentEntry[fComponentCount];
+			Map<String, List<ComponentEntry>> byId = new HashMap<>();
+			Map<String, List<ComponentEntry>> byHost = new HashMap<>();
+			Map<String, List<ComponentEntry>> byCapability = new HashMap<>();
+			try {
+				for (int i = 0; i < components.length; i++) {
+					String id = readString(buffer);
+					String version = readString(buffer);
+					String location = readString(buffer);
+					String host = readString(buffer);
+					int count = buffer.getInt();
+					if (count < 0 || count > buffer.remaining() / 4) {
+						throw new IOException("Corrupt baseline snapshot"); //$NON-NLS-1$
+					}
+					String[] capabilities = new String[count];
+					for (int j = 0; j < count; j++) {
+						capabilities[j] = readString(buffer);
+					}
+					ComponentEntry entry = new ComponentEntry(id, version, location, host, capabilities);
+					components[i] = entry;
+					byId.computeIfAbsent(id, key -> new ArrayList<>(1)).add(entry);
+					if (host != null) {
+						byHost.computeIfAbsent(host, key -> new ArrayList<>(1)).add(entry);
+					}
+					for (String capability : capabilities) {
+						byCapability.computeIfAbsent(capability, key -> new ArrayList<>(1)).add(entry);
+					}
+				}
+			} catch (BufferUnderflowException | IllegalArgumentException e) {
+				throw new IOException("Corrupt baseline snapshot", e); //$NON-NLS-1$
+			}
+			fComponentsById = byId;
+			fFragmentsByHost = byHost;
+			fComponentsByCapability = byCapability;
+			fComponents = components;
+		}
+		return fComponents;
+	}
+
+	/**
+	 * Returns all versions of the component with the given symbolic name.
+	 *
+	 * @param id the symbolic name
+	 * @return the components with the symbolic name, possibly empty
+	 * @throws IOException if the snapshot is corrupt or closed
+	 */
+	public synchronized List<ComponentEntry> getComponents(String id) throws IOException {
+		getComponents();
+		return fComponentsById.getOrDefault(id, Collections.emptyList());
+	}
+
+	/**
+	 * Returns the fragments of the component with the given symbolic name.
+	 *
+	 * @param hostId the symbolic name of the host
+	 * @return the fragments of the host, possibly empty
+	 * @throws IOException if the snapshot is corrupt or closed
+	 */
+	public synchronized List<ComponentEntry> getFragments(String hostId) throws IOException {
+		getComponents();
+		return fFragmentsByHost.getOrDefault(hostId, Collections.emptyList());
+	}
+
+	/**
+	 * Returns the components providing generic capabilities in the given
+	 * namespace.
+	 *
+	 * @param namespace the capability namespace
+	 * @return the components providing capabilities in the namespace, possibly
+	 *         empty
+	 * @throws IOException if the snapshot is corrupt or closed
+	 */
+	public synchronized List<ComponentEntry> getComponentsProviding(String namespace) throws IOException {
+		getComponents();
+		return fComponentsByCapability.getOrDefault(namespace, Collections.emptyList());
+	}
+
+	/**
+	 * Returns the components of this snapshot exporting the given package.
+	 *
+	 * @param packageName the package name
+	 * @return the components exporting the package, possibly empty
+	 * @throws IOException if the snapshot is corrupt or closed
+	 */
+	public synchronized ComponentEntry[] getComponentsExporting(String packageName) throws IOException {
+		ComponentEntry[] all = getComponents();
+		ByteBuffer buffer = getBuffer();
+		try {
+			buffer.position(fPackagesOffset);
+			int count = buffer.getInt();
+			int low = 0;
+			int high = count - 1;
+			while (low <= high) {
+				int mid = (low + high) >>> 1;
+				buffer.position(fPackagesOffset + 4 + mid * 4);
+				buffer.position(buffer.getInt());
+				int cmp = readString(buffer).compareTo(packageName);
+				if (cmp < 0) {
+					low = mid + 1;
+				} else if (cmp > 0) {
+					high = mid - 1;
+				} else {
+					ComponentEntry[] result = new ComponentEntry[buffer.getInt()];
+					for (int i = 0; i < result.length; i++) {
+						result[i] = all[buffer.getInt()];
+					}
+					return result;
+				}
+			}
+		} catch (BufferUnderflowException | IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+			throw new IOException("Corrupt baseline snapshot", e); //$NON-NLS-1$
+		}
+		return new ComponentEntry[0];
+	}
+
+	/**
+	 * Releases the mapping of the snapshot file. The components already
+	 * decoded remain available, other lookups fail.
+	 */
+	@Override
+	public synchronized void close() {
+		if (fBuffer != null) {
+			Util.unmap(fBuffer);
+			fBuffer = null;
+		}
+	}
+
+	private ByteBuffer getBuffer() throws IOException {
+		if (fBuffer == null) {
+			throw new IOException("Baseline snapshot closed"); //$NON-NLS-1$
+		}
+		return fBuffer.duplicate();
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		if (value == null) {
+			out.writeInt(-1);
+		} else {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+	}
+
+	private static String readString(ByteBuffer buffer) {
+		int length = buffer.getInt();
+		if (length < 0) {
+			return null;
+		}
+		if (length > buffer.remaining()) {
+			throw new BufferUnderflowException();
+		}
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void abort(String message, Throwable e) throws CoreException {
+		throw new CoreException(new Status(IStatus.ERROR, ApiPlugin.PLUGIN_ID, message, e));
+	}
+}
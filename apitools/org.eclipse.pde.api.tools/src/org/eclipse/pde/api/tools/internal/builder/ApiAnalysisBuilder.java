@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2019 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,14 +15,19 @@
 package org.eclipse.pde.api.tools.internal.builder;
 
 import java.text.MessageFormat;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.Deque;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -33,7 +38,9 @@ import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.resources.IncrementalProjectBuilder;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
@@ -184,6 +191,13 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 	 */
 	private static final boolean DISABLE_AUTO_BUILDING_ON_SETTINGS_CHANGE = Boolean.getBoolean("org.eclipse.disableAutoBuildOnSettingsChange"); //$NON-NLS-1$
 
+	/**
+	 * The markers cleaned up during the current build, which are only deleted
+	 * if the build does not report the same problems again, or
+	 * <code>null</code> when not building
+	 */
+	private Set<IMarker> staleMarkers = null;
+
 	/**
 	 * Cleans up markers associated with API Tools on the given resource.
 	 *
@@ -210,7 +224,7 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 				if (ApiPlugin.DEBUG_BUILDER) {
 					System.out.println("ApiAnalysisBuilder: cleaning api use problems"); //$NON-NLS-1$
 				}
-				resource.deleteMarkers(IApiMarkerConstants.API_USESCAN_PROBLEM_MARKER, true, IResource.DEPTH_INFINITE);
+				deleteMarkers(resource, IApiMarkerConstants.API_USESCAN_PROBLEM_MARKER, true, IResource.DEPTH_INFINITE);
 
 				IProject project = resource.getProject();
 				IMarker[] markers = project.findMarkers(IApiMarkerConstants.API_USESCAN_PROBLEM_MARKER, false, IResource.DEPTH_ZERO);
@@ -220,7 +234,7 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 					if (adaptor != null && adaptor instanceof ICompilationUnit) {
 						IType typeroot = ((ICompilationUnit) adaptor).findPrimaryType();
 						if (typeroot != null && typeName != null && typeName.startsWith(typeroot.getFullyQualifiedName())) {
-							marker.delete();
+							deleteMarker(marker);
 						}
 					}
 				}
@@ -241,7 +255,7 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 				if (ApiPlugin.DEBUG_BUILDER) {
 					System.out.println("ApiAnalysisBuilder: cleaning unsupported tag problems"); //$NON-NLS-1$
 				}
-				resource.deleteMarkers(IApiMarkerConstants.UNSUPPORTED_TAG_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
+				deleteMarkers(resource, IApiMarkerConstants.UNSUPPORTED_TAG_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
 			}
 		} catch (CoreException e) {
 			ApiPlugin.log(e.getStatus());
@@ -261,7 +275,7 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 				if (ApiPlugin.DEBUG_BUILDER) {
 					System.out.println("ApiAnalysisBuilder: cleaning unsupported annotation problems"); //$NON-NLS-1$
 				}
-				resource.deleteMarkers(IApiMarkerConstants.UNSUPPORTED_ANNOTATION_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
+				deleteMarkers(resource, IApiMarkerConstants.UNSUPPORTED_ANNOTATION_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
 			}
 		} catch (CoreException e) {
 			ApiPlugin.log(e.getStatus());
@@ -276,13 +290,13 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 	void cleanupCompatibilityMarkers(IResource resource) {
 		try {
 			if (resource != null && resource.isAccessible()) {
-				resource.deleteMarkers(IApiMarkerConstants.COMPATIBILITY_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
-				resource.deleteMarkers(IApiMarkerConstants.SINCE_TAGS_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
+				deleteMarkers(resource, IApiMarkerConstants.COMPATIBILITY_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
+				deleteMarkers(resource, IApiMarkerConstants.SINCE_TAGS_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
 				if (resource.getType() == IResource.PROJECT) {
 					// on full builds
-					resource.deleteMarkers(IApiMarkerConstants.VERSION_NUMBERING_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
-					resource.deleteMarkers(IApiMarkerConstants.DEFAULT_API_BASELINE_PROBLEM_MARKER, true, IResource.DEPTH_ZERO);
-					resource.deleteMarkers(IApiMarkerConstants.API_COMPONENT_RESOLUTION_PROBLEM_MARKER, true, IResource.DEPTH_ZERO);
+					deleteMarkers(resource, IApiMarkerConstants.VERSION_NUMBERING_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
+					deleteMarkers(resource, IApiMarkerConstants.DEFAULT_API_BASELINE_PROBLEM_MARKER, true, IResource.DEPTH_ZERO);
+					deleteMarkers(resource, IApiMarkerConstants.API_COMPONENT_RESOLUTION_PROBLEM_MARKER, true, IResource.DEPTH_ZERO);
 				}
 			}
 		} catch (CoreException e) {
@@ -298,11 +312,11 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 	void cleanupUsageMarkers(IResource resource) {
 		try {
 			if (resource != null && resource.isAccessible()) {
-				resource.deleteMarkers(IApiMarkerConstants.API_USAGE_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
+				deleteMarkers(resource, IApiMarkerConstants.API_USAGE_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
 				if (resource.getType() != IResource.PROJECT) {
 					IProject pj = resource.getProject();
 					if (pj != null) {
-						pj.deleteMarkers(IApiMarkerConstants.API_USAGE_PROBLEM_MARKER, false, IResource.DEPTH_ZERO);
+						deleteMarkers(pj, IApiMarkerConstants.API_USAGE_PROBLEM_MARKER, false, IResource.DEPTH_ZERO);
 					}
 				}
 			}
@@ -319,7 +333,7 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 	void cleanupFatalMarkers(IResource resource) {
 		try {
 			if (resource != null && resource.isAccessible()) {
-				resource.deleteMarkers(IApiMarkerConstants.FATAL_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
+				deleteMarkers(resource, IApiMarkerConstants.FATAL_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
 			}
 		} catch (CoreException e) {
 			ApiPlugin.log(e.getStatus());
@@ -334,7 +348,7 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 	void cleanUnusedFilterMarkers(IResource resource) {
 		try {
 			if (resource != null && resource.isAccessible()) {
-				resource.deleteMarkers(IApiMarkerConstants.UNUSED_FILTER_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
+				deleteMarkers(resource, IApiMarkerConstants.UNUSED_FILTER_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
 			}
 		} catch (CoreException ce) {
 			ApiPlugin.log(ce.getStatus());
@@ -367,6 +381,7 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 		}
 		final IProject[] projects = getRequiredProjects(true);
 		IApiBaseline baseline = ApiPlugin.getDefault().getApiBaselineManager().getDefaultApiBaseline();
+		this.staleMarkers = new LinkedHashSet<>();
 		try {
 			SubMonitor switchMonitor = localMonitor.split(4);
 			switch (kind) {
@@ -458,6 +473,7 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 			}
 			ApiPlugin.log(e);
 		} finally {
+			deleteStaleMarkers();
 			try {
 				localMonitor.split(1);
 				if (this.analyzer != null) {
@@ -812,30 +828,164 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 	 * Creates new markers are for the listing of problems added to this
 	 * reporter. If no problems have been added to this reporter, or we are not
 	 * running in the framework, no work is done.
+	 * <p>
+	 * Markers cleaned up during the build that match a problem by type,
+	 * resource, problem id, position, message and severity are kept, only the
+	 * markers that differ are created and deleted, in a single workspace
+	 * operation.
+	 * </p>
 	 */
 	protected void createMarkers() {
 		try {
 			IResource manifest = Util.getManifestFile(this.currentproject);
 			if (manifest != null) {
-				manifest.deleteMarkers(IApiMarkerConstants.VERSION_NUMBERING_PROBLEM_MARKER, false, IResource.DEPTH_ZERO);
+				deleteMarkers(manifest, IApiMarkerConstants.VERSION_NUMBERING_PROBLEM_MARKER, false, IResource.DEPTH_ZERO);
 			}
-			this.currentproject.deleteMarkers(IApiMarkerConstants.DEFAULT_API_BASELINE_PROBLEM_MARKER, false, IResource.DEPTH_ZERO);
-			this.currentproject.deleteMarkers(IApiMarkerConstants.API_COMPONENT_RESOLUTION_PROBLEM_MARKER, false, IResource.DEPTH_ZERO);
+			deleteMarkers(this.currentproject, IApiMarkerConstants.DEFAULT_API_BASELINE_PROBLEM_MARKER, false, IResource.DEPTH_ZERO);
+			deleteMarkers(this.currentproject, IApiMarkerConstants.API_COMPONENT_RESOLUTION_PROBLEM_MARKER, false, IResource.DEPTH_ZERO);
 		} catch (CoreException e) {
 			ApiPlugin.log(e);
 		}
 		IApiProblem[] problems = getAnalyzer().getProblems();
-		String type = null;
+		final Set<IMarker> stale = this.staleMarkers != null ? this.staleMarkers : Collections.emptySet();
+		if (this.staleMarkers != null) {
+			this.staleMarkers = new LinkedHashSet<>();
+		}
+		try {
+			ResourcesPlugin.getWorkspace().run((IWorkspaceRunnable) monitor -> reconcileMarkers(problems, stale), null, IWorkspace.AVOID_UPDATE, null);
+		} catch (CoreException e) {
+			ApiPlugin.log(e);
+		}
+	}
+
+	/**
+	 * Creates the markers for the given problems that are not matched by one
+	 * of the given stale markers, and deletes the stale markers that are not
+	 * matched by a problem. A stale marker matches a problem if it has the same
+	 * type, resource and attributes as the marker that would be created for
+	 * the problem, see {@link #getMarkerAttributes(int, IApiProblem)}.
+	 *
+	 * @param problems the problems of the build
+	 * @param stale the markers cleaned up during the build
+	 * @throws CoreException if the stale markers cannot be deleted
+	 */
+	void reconcileMarkers(IApiProblem[] problems, Set<IMarker> stale) throws CoreException {
+		Map<List<Object>, Deque<IMarker>> existing = new HashMap<>();
+		for (IMarker marker : stale) {
+			try {
+				List<Object> key = Arrays.asList(marker.getType(), marker.getResource(), marker.getAttributes());
+				existing.computeIfAbsent(key, k -> new ArrayDeque<>()).add(marker);
+			} catch (CoreException e) {
+				// the marker no longer exists
+			}
+		}
+		List<IApiProblem> created = new ArrayList<>();
 		for (IApiProblem problem : problems) {
 			int category = problem.getCategory();
-			type = getProblemTypeFromCategory(category, problem.getKind());
+			String type = getProblemTypeFromCategory(category, problem.getKind());
 			if (type == null) {
 				continue;
 			}
+			if (!existing.isEmpty() && !(problem.getKind() == IApiProblem.API_BASELINE_MISMATCH && category == IApiProblem.CATEGORY_API_BASELINE)) {
+				IResource resource = resolveResource(problem);
+				if (resource != null) {
+					// a marker is only kept if all of its attributes are the
+					// ones it would be created with
+					List<Object> key = Arrays.asList(type, resource, getMarkerAttributes(category, problem));
+					Deque<IMarker> matches = existing.get(key);
+					if (matches != null && matches.poll() != null) {
+						// the marker for the problem already exists
+						continue;
+					}
+				}
+			}
+			created.add(problem);
+		}
+		// delete first, markers of API use scan problems are only created if
+		// there is no such marker
+		List<IMarker> deleted = new ArrayList<>();
+		for (Deque<IMarker> markers : existing.values()) {
+			deleted.addAll(markers);
+		}
+		if (!deleted.isEmpty()) {
+			ResourcesPlugin.getWorkspace().deleteMarkers(deleted.toArray(new IMarker[deleted.size()]));
+		}
+		for (IApiProblem problem : created) {
 			if (ApiPlugin.DEBUG_BUILDER) {
 				System.out.println("ApiAnalysisBuilder: creating marker for: " + problem.toString()); //$NON-NLS-1$
 			}
-			createMarkerForProblem(category, type, problem);
+			int category = problem.getCategory();
+			createMarkerForProblem(category, getProblemTypeFromCategory(category, problem.getKind()), problem);
+		}
+	}
+
+	/**
+	 * Deletes the markers cleaned up during the build that were not reconciled
+	 * with the problems of the build, e.g. since the build was canceled.
+	 */
+	private void deleteStaleMarkers() {
+		Set<IMarker> stale = this.staleMarkers;
+		this.staleMarkers = null;
+		if (stale != null && !stale.isEmpty()) {
+			try {
+				ResourcesPlugin.getWorkspace().deleteMarkers(stale.toArray(new IMarker[stale.size()]));
+			} catch (CoreException e) {
+				ApiPlugin.log(e);
+			}
+		}
+	}
+
+	/**
+	 * Deletes the markers of the given type from the given resource. During a
+	 * build the markers are only recorded as stale, they are deleted when the
+	 * markers for the problems of the build are created.
+	 *
+	 * @param resource the resource to delete the markers from
+	 * @param type the marker type
+	 * @param includeSubtypes whether to delete markers of sub types
+	 * @param depth the depth to delete markers at
+	 * @throws CoreException if the markers cannot be found or deleted
+	 */
+	private void deleteMarkers(IResource resource, String type, boolean includeSubtypes, int depth) throws CoreException {
+		if (this.staleMarkers != null) {
+			Collections.addAll(this.staleMarkers, resource.findMarkers(type, includeSubtypes, depth));
+		} else {
+			resource.deleteMarkers(type, includeSubtypes, depth);
+		}
+	}
+
+	/**
+	 * Deletes the given marker, or records it as stale during a build.
+	 *
+	 * @param marker the marker to delete
+	 * @throws CoreException if the marker cannot be deleted
+	 */
+	private void deleteMarker(IMarker marker) throws CoreException {
+		if (this.staleMarkers != null) {
+			this.staleMarkers.add(marker);
+		} else {
+			marker.delete();
+		}
+	}
+
+	/**
+	 * Returns the line number of the marker for the given problem, the line
+	 * numbers of source problems are zero based.
+	 *
+	 * @param category the category of the problem
+	 * @param problem the problem
+	 * @return the line number of the marker
+	 */
+	int getMarkerLineNumber(int category, IApiProblem problem) {
+		int line = problem.getLineNumber();
+		switch (category) {
+			case IApiProblem.CATEGORY_VERSION:
+			case IApiProblem.CATEGORY_API_BASELINE:
+			case IApiProblem.CATEGORY_API_COMPONENT_RESOLUTION:
+			case IApiProblem.CATEGORY_API_USE_SCAN_PROBLEM:
+				return line;
+			default:
+				return line + 1;
 		}
 	}
 
@@ -934,41 +1084,7 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 				marker = resource.createMarker(type);
 			}
 
-			int line = problem.getLineNumber();
-			switch (category)
-				{
-				case IApiProblem.CATEGORY_VERSION:
-				case IApiProblem.CATEGORY_API_BASELINE:
-				case IApiProblem.CATEGORY_API_COMPONENT_RESOLUTION:
-				case IApiProblem.CATEGORY_API_USE_SCAN_PROBLEM: {
-					break;
-				}
-				default: {
-					line++;
-				}
-			}
-			marker.setAttributes(new String[] {
-					IMarker.MESSAGE, IMarker.SEVERITY, IMarker.LINE_NUMBER,
-					IMarker.CHAR_START, IMarker.CHAR_END, IMarker.SOURCE_ID,
-					IApiMarkerConstants.MARKER_ATTR_PROBLEM_ID }, new Object[] {
-					problem.getMessage(),
-					Integer.valueOf(ApiPlugin.getDefault().getSeverityLevel(ApiProblemFactory.getProblemSeverityId(problem), this.currentproject)),
-					Integer.valueOf(line), Integer.valueOf(problem.getCharStart()),
-					Integer.valueOf(problem.getCharEnd()),
-					ApiAnalysisBuilder.SOURCE, Integer.valueOf(problem.getId()) });
-			// add message arguments, if any
-			String[] args = problem.getMessageArguments();
-			if (args.length > 0) {
-				marker.setAttribute(IApiMarkerConstants.MARKER_ATTR_MESSAGE_ARGUMENTS, createArgAttribute(args));
-			}
-			String typeName = problem.getTypeName();
-			if (typeName != null) {
-				marker.setAttribute(IApiMarkerConstants.MARKER_ATTR_PROBLEM_TYPE_NAME, typeName);
-			}
-			// add all other extra arguments, if any
-			if (problem.getExtraMarkerAttributeIds().length > 0) {
-				marker.setAttributes(problem.getExtraMarkerAttributeIds(), problem.getExtraMarkerAttributeValues());
-			}
+			marker.setAttributes(getMarkerAttributes(category, problem));
 			if (ApiPlugin.DEBUG_BUILDER) {
 				System.out.println("ApiAnalysisBuilder: Created the marker: " + marker.getId() + " - " + marker.getAttributes().entrySet()); //$NON-NLS-1$ //$NON-NLS-2$
 			}
@@ -978,6 +1094,48 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 		}
 	}
 
+	/**
+	 * Returns the attributes of the marker for the given problem: the message,
+	 * severity, position, source and problem id, the message arguments and
+	 * type name if the problem has them, and the extra marker attributes of
+	 * the problem.
+	 *
+	 * @param category the category of the problem
+	 * @param problem the problem
+	 * @return the marker attributes
+	 */
+	Map<String, Object> getMarkerAttributes(int category, IApiProblem problem) {
+		Map<String, Object> attributes = new HashMap<>();
+		attributes.put(IMarker.MESSAGE, problem.getMessage());
+		attributes.put(IMarker.SEVERITY, Integer.valueOf(ApiPlugin.getDefault().getSeverityLevel(ApiProblemFactory.getProblemSeverityId(problem), this.currentproject)));
+		attributes.put(IMarker.LINE_NUMBER, Integer.valueOf(getMarkerLineNumber(category, problem)));
+		attributes.put(IMarker.CHAR_START, Integer.valueOf(problem.getCharStart()));
+		attributes.put(IMarker.CHAR_END, Integer.valueOf(problem.getCharEnd()));
+		attributes.put(IMarker.SOURCE_ID, ApiAnalysisBuilder.SOURCE);
+		attributes.put(IApiMarkerConstants.MARKER_ATTR_PROBLEM_ID, Integer.valueOf(problem.getId()));
+		// add message arguments, if any
+		String[] args = problem.getMessageArguments();
+		if (args.length > 0) {
+			attributes.put(IApiMarkerConstants.MARKER_ATTR_MESSAGE_ARGUMENTS, createArgAttribute(args));
+		}
+		String typeName = problem.getTypeName();
+		if (typeName != null) {
+			attributes.put(IApiMarkerConstants.MARKER_ATTR_PROBLEM_TYPE_NAME, typeName);
+		}
+		// add all other extra arguments, if any
+		String[] ids = problem.getExtraMarkerAttributeIds();
+		Object[] values = problem.getExtraMarkerAttributeValues();
+		for (int i = 0; i < ids.length; i++) {
+			// a null value is not set on the marker
+			if (values[i] != null) {
+				attributes.put(ids[i], values[i]);
+			} else {
+				attributes.remove(ids[i]);
+			}
+		}
+		return attributes;
+	}
+
 	/**
 	 * Resolves the resource from the path in the problem, returns
 	 * <code>null</code> in the following cases:
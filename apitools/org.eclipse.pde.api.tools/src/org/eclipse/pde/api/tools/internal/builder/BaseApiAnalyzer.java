@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2021 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -176,6 +176,12 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 	 */
 	private boolean fContinueOnResolutionError = false;
 
+	/**
+	 * Whether the API usage scan extracts and resolves references on several
+	 * threads
+	 */
+	private boolean fParallelUsageScan = ReferenceAnalyzer.PARALLEL_ANALYSIS;
+
 	/**
 	 * Constructs an API analyzer
 	 */
@@ -366,6 +372,19 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 		fContinueOnResolutionError = continueOnError;
 	}
 
+	/**
+	 * Sets whether the API usage scan extracts and resolves references on
+	 * several threads. By default this is false, unless the system property
+	 * <code>org.eclipse.pde.api.tools.parallelAnalysis</code> is set to
+	 * <code>true</code>. The same problems are reported either way.
+	 *
+	 * @param parallel whether to scan API usage in parallel
+	 * @see ReferenceAnalyzer#setParallel(boolean)
+	 */
+	public void setParallelUsageScan(boolean parallel) {
+		fParallelUsageScan = parallel;
+	}
+
 	/**
 	 * Returns whether this analyzer will continue analyzing a component even if
 	 * it has resolution errors. By default this is false. The workspace builder
@@ -1246,6 +1265,7 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 		}
 		SubMonitor localMonitor = SubMonitor.convert(monitor, MessageFormat.format(BuilderMessages.checking_api_usage, component.getSymbolicName()), 2);
 		ReferenceAnalyzer analyzer = new ReferenceAnalyzer();
+		analyzer.setParallel(fParallelUsageScan);
 		try {
 			long start = System.currentTimeMillis();
 			IApiProblem[] illegal = analyzer.analyze(component, scope, localMonitor.split(2));
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2015 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,8 +14,11 @@
 package org.eclipse.pde.api.tools.internal.builder;
 
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -58,6 +61,13 @@ public class ReferenceAnalyzer {
 	 */
 	private static final IApiProblemDetector[] NO_PROBLEM_DETECTORS = new IApiProblemDetector[0];
 
+	/**
+	 * Whether analyzers extract and resolve references on several threads by
+	 * default. Enabled with the system property
+	 * <code>org.eclipse.pde.api.tools.parallelAnalysis=true</code>.
+	 */
+	public static final boolean PARALLEL_ANALYSIS = Boolean.getBoolean("org.eclipse.pde.api.tools.parallelAnalysis"); //$NON-NLS-1$
+
 	/**
 	 * Visits each class file, extracting references.
 	 */
@@ -83,42 +93,35 @@ public class ReferenceAnalyzer {
 		@Override
 		public void visit(String packageName, IApiTypeRoot classFile) {
 			if (!fMonitor.isCanceled()) {
-				try {
-					IApiType type = classFile.getStructure();
-					if (type == null) {
-						// do nothing for bad class files
-						return;
-					}
-					// don't process inner/anonymous/local types, this is done
-					// in the extractor
-					if (type.isMemberType() || type.isLocal() || type.isAnonymous()) {
-						return;
-					}
-					List<IReference> references = type.extractReferences(fAllReferenceKinds, null);
-					// keep potential matches
-					for (IReference ref : references) {
-						// compute index of interested problem detectors
-						int index = getLog2(ref.getReferenceKind());
-						IApiProblemDetector[] detectors = fIndexedDetectors[index];
-						boolean added = false;
-						if (detectors != null) {
-							for (IApiProblemDetector detector : detectors) {
-								if (detector.considerReference(ref)) {
-									if (!added) {
-										fReferences.add(ref);
-										added = true;
-									}
-								}
-							}
-						}
-					}
-				} catch (CoreException e) {
-					fStatus.add(e.getStatus());
+				for (IReference ref : extractReferences(classFile)) {
+					considerReference(ref);
 				}
 			}
 		}
 	}
 
+	/**
+	 * Collects the class files of each visited package in visiting order, the
+	 * partitions of a parallel analysis.
+	 */
+	static class PartitionVisitor extends ApiTypeContainerVisitor {
+
+		List<String> fPackages = new ArrayList<>();
+		List<List<IApiTypeRoot>> fClassFiles = new ArrayList<>();
+
+		@Override
+		public boolean visitPackage(String packageName) {
+			fPackages.add(packageName);
+			fClassFiles.add(new ArrayList<>());
+			return true;
+		}
+
+		@Override
+		public void visit(String packageName, IApiTypeRoot classFile) {
+			fClassFiles.get(fClassFiles.size() - 1).add(classFile);
+		}
+	}
+
 	/**
 	 * Scan status
 	 */
@@ -141,6 +144,75 @@ public class ReferenceAnalyzer {
 	 */
 	IApiProblemDetector[][] fIndexedDetectors;
 
+	/**
+	 * Whether references are extracted and resolved on several threads
+	 */
+	boolean fParallel = PARALLEL_ANALYSIS;
+
+	/**
+	 * Sets whether references are extracted and resolved on several threads.
+	 * References are still handed to the problem detectors in the order of a
+	 * sequential analysis, so the same problems are created in the same order.
+	 *
+	 * @param parallel whether to analyze in parallel
+	 */
+	public void setParallel(boolean parallel) {
+		fParallel = parallel;
+	}
+
+	/**
+	 * Extracts the references of interest to the problem detectors from the
+	 * given class file. Member, local and anonymous types are skipped, their
+	 * references are extracted with their top level type. Safe to call from
+	 * several threads.
+	 *
+	 * @param classFile the class file
+	 * @return the references, possibly empty
+	 */
+	List<IReference> extractReferences(IApiTypeRoot classFile) {
+		try {
+			IApiType type = classFile.getStructure();
+			if (type == null) {
+				// do nothing for bad class files
+				return Collections.emptyList();
+			}
+			// don't process inner/anonymous/local types, this is done
+			// in the extractor
+			if (type.isMemberType() || type.isLocal() || type.isAnonymous()) {
+				return Collections.emptyList();
+			}
+			return type.extractReferences(fAllReferenceKinds, null);
+		} catch (CoreException e) {
+			synchronized (fStatus) {
+				fStatus.add(e.getStatus());
+			}
+		}
+		return Collections.emptyList();
+	}
+
+	/**
+	 * Hands the given reference to the interested problem detectors and keeps
+	 * it for resolution if any of them considers it a potential problem.
+	 *
+	 * @param ref the reference
+	 */
+	void considerReference(IReference ref) {
+		// compute index of interested problem detectors
+		int index = getLog2(ref.getReferenceKind());
+		IApiProblemDetector[] detectors = fIndexedDetectors[index];
+		boolean added = false;
+		if (detectors != null) {
+			for (IApiProblemDetector detector : detectors) {
+				if (detector.considerReference(ref)) {
+					if (!added) {
+						fReferences.add(ref);
+						added = true;
+					}
+				}
+			}
+		}
+	}
+
 	/**
 	 * Indexes the problem detectors by the reference kinds they are interested
 	 * in. For example, a detector interested in a
@@ -197,10 +269,13 @@ public class ReferenceAnalyzer {
 		fStatus = new MultiStatus(ApiPlugin.PLUGIN_ID, 0, BuilderMessages.ReferenceAnalyzer_api_analysis_error, null);
 		String[] packageNames = scope.getPackageNames();
 		SubMonitor localMonitor = SubMonitor.convert(monitor, packageNames.length);
-		ApiTypeContainerVisitor visitor = new Visitor(localMonitor);
 		long start = System.currentTimeMillis();
 		try {
-			scope.accept(visitor);
+			if (fParallel) {
+				extractReferencesInParallel(scope, localMonitor);
+			} else {
+				scope.accept(new Visitor(localMonitor));
+			}
 		} catch (CoreException e) {
 			fStatus.add(e.getStatus());
 		}
@@ -214,6 +289,46 @@ public class ReferenceAnalyzer {
 		}
 	}
 
+	/**
+	 * Extracts the references of each package of the given scope concurrently,
+	 * each package into its own buffer. The buffers are then handed to the
+	 * problem detectors in package order, on the calling thread.
+	 *
+	 * @param scope scope to scan
+	 * @param monitor progress monitor with one unit of work per package
+	 * @throws CoreException if the scope cannot be visited
+	 */
+	private void extractReferencesInParallel(IApiTypeContainer scope, SubMonitor monitor) throws CoreException {
+		PartitionVisitor partitions = new PartitionVisitor();
+		scope.accept(partitions);
+		int count = partitions.fPackages.size();
+		@SuppressWarnings("unchecked")
+		List<IReference>[] buffers = new List[count];
+		IntStream.range(0, count).parallel().forEach(i -> {
+			if (monitor.isCanceled()) {
+				return;
+			}
+			List<IReference> buffer = new ArrayList<>();
+			for (IApiTypeRoot classFile : partitions.fClassFiles.get(i)) {
+				buffer.addAll(extractReferences(classFile));
+			}
+			buffers[i] = buffer;
+			synchronized (monitor) {
+				monitor.worked(1);
+			}
+		});
+		for (List<IReference> buffer : buffers) {
+			if (buffer != null) {
+				for (IReference ref : buffer) {
+					considerReference(ref);
+				}
+			}
+		}
+		if (ApiPlugin.DEBUG_REFERENCE_ANALYZER) {
+			System.out.println("Reference Analyzer: extracted references of " + count + " packages in parallel"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
 	/**
 	 * Analyzes the given {@link IApiComponent} within the given
 	 * {@link IApiTypeContainer} (scope) and returns a collection of detected
@@ -238,7 +353,7 @@ public class ReferenceAnalyzer {
 			// 2. resolve problematic references
 			localMonitor.subTask(BuilderMessages.ReferenceAnalyzer_analyzing_api_checking_use);
 			if (fReferences.size() != 0) {
-				ReferenceResolver.resolveReferences(fReferences, localMonitor.split(1));
+				ReferenceResolver.resolveReferences(fReferences, localMonitor.split(1), fParallel);
 			}
 			// 3. create problems
 			List<IApiProblem> allProblems = new LinkedList<>();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2013 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,9 +14,11 @@
 package org.eclipse.pde.api.tools.internal.builder;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -46,6 +48,20 @@ public final class ReferenceResolver {
 	 * @throws CoreException if something goes wrong
 	 */
 	public static void resolveReferences(List<IReference> references, IProgressMonitor monitor) throws CoreException {
+		resolveReferences(references, monitor, false);
+	}
+
+	/**
+	 * Resolves retained references, optionally resolving the groups of
+	 * references to the same member and the method overrides on several
+	 * threads.
+	 *
+	 * @param references list of {@link IReference} to resolve
+	 * @param monitor progress monitor
+	 * @param parallel whether to resolve on several threads
+	 * @throws CoreException if something goes wrong
+	 */
+	public static void resolveReferences(List<IReference> references, IProgressMonitor monitor, boolean parallel) throws CoreException {
 		// sort references by target type for 'shared' resolution
 		int refcount = references.size();
 		Map<String, List<IReference>> sigtoref = new LinkedHashMap<>(refcount);
@@ -74,15 +90,23 @@ public final class ReferenceResolver {
 		}
 		// resolve references
 		start = System.currentTimeMillis();
-		resolveReferenceSets(sigtoref, monitor);
+		if (parallel) {
+			resolveInParallel(sigtoref.values(), ReferenceResolver::resolveReferenceSet);
+		} else {
+			resolveReferenceSets(sigtoref, monitor);
+		}
 		end = System.currentTimeMillis();
 		if (ApiPlugin.DEBUG_REFERENCE_RESOLVER) {
 			System.out.println("Reference resolver: resolved unique references in " + (end - start) + "ms"); //$NON-NLS-1$//$NON-NLS-2$
 		}
 		// resolve method overrides
 		start = System.currentTimeMillis();
-		for (Reference reference : methodDecls) {
-			reference.resolve();
+		if (parallel) {
+			resolveInParallel(methodDecls, Reference::resolve);
+		} else {
+			for (Reference reference : methodDecls) {
+				reference.resolve();
+			}
 		}
 		end = System.currentTimeMillis();
 		if (ApiPlugin.DEBUG_REFERENCE_RESOLVER) {
@@ -97,16 +121,57 @@ public final class ReferenceResolver {
 	 * @throws CoreException if something bad happens
 	 */
 	private static void resolveReferenceSets(Map<String, List<IReference>> map, IProgressMonitor monitor) throws CoreException {
-		IReference ref = null;
 		for (List<IReference> refs : map.values()) {
-			ref = refs.get(0);
-			((Reference) ref).resolve();
-			IApiMember resolved = ref.getResolvedReference();
-			if (resolved != null) {
-				for (IReference ref2 : refs) {
-					((Reference) ref2).setResolution(resolved);
+			resolveReferenceSet(refs);
+		}
+	}
+
+	/**
+	 * Resolves the first reference of the given set and shares its resolution
+	 * with the others.
+	 *
+	 * @param refs references to the same member
+	 * @throws CoreException if something bad happens
+	 */
+	private static void resolveReferenceSet(List<IReference> refs) throws CoreException {
+		IReference ref = refs.get(0);
+		((Reference) ref).resolve();
+		IApiMember resolved = ref.getResolvedReference();
+		if (resolved != null) {
+			for (IReference ref2 : refs) {
+				((Reference) ref2).setResolution(resolved);
+			}
+		}
+	}
+
+	/**
+	 * A resolution step that may fail
+	 */
+	private interface Resolution<T> {
+		void resolve(T element) throws CoreException;
+	}
+
+	/**
+	 * Applies the given resolution to each element on several threads. Stops
+	 * starting new resolutions after the first failure.
+	 *
+	 * @param elements elements to resolve
+	 * @param resolution the resolution
+	 * @throws CoreException the first failure, if any
+	 */
+	private static <T> void resolveInParallel(Collection<T> elements, Resolution<T> resolution) throws CoreException {
+		AtomicReference<CoreException> failure = new AtomicReference<>();
+		elements.parallelStream().forEach(element -> {
+			if (failure.get() == null) {
+				try {
+					resolution.resolve(element);
+				} catch (CoreException e) {
+					failure.compareAndSet(null, e);
 				}
 			}
+		});
+		if (failure.get() != null) {
+			throw failure.get();
 		}
 	}
 
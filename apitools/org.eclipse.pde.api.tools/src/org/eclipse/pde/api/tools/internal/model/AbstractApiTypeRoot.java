@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2019 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -44,6 +44,18 @@ public abstract class AbstractApiTypeRoot extends ApiElement implements IApiType
 
 	public abstract byte[] getContents() throws CoreException;
 
+	/**
+	 * Returns the CRC-32 of the contents of this type root if it is known
+	 * without reading the contents. The structures of type roots with a CRC
+	 * are kept in the {@link TypeStructureStore}.
+	 *
+	 * @return the CRC of the contents or <code>-1</code> if unknown
+	 * @throws CoreException if the CRC cannot be retrieved
+	 */
+	protected long getContentsCRC() throws CoreException {
+		return -1;
+	}
+
 	@Override
 	public IApiType getStructure() throws CoreException {
 		// if exists return
@@ -59,9 +71,19 @@ public abstract class AbstractApiTypeRoot extends ApiElement implements IApiType
 			type = (IApiType) cache.getElementInfo(baseline.getName(), comp.getSymbolicName(), this.getTypeName(), IApiElement.TYPE);
 		}
 		if (type == null) {
-			type = TypeStructureBuilder.buildTypeStructure(getContents(), getApiComponent(), this);
+			TypeStructureStore store = TypeStructureStore.getStore();
+			long crc = comp != null ? getContentsCRC() : -1;
+			if (crc != -1) {
+				type = store.getTypeStructure(comp, getTypeName(), crc, this);
+			}
 			if (type == null) {
-				return null;
+				type = TypeStructureBuilder.buildTypeStructure(getContents(), getApiComponent(), this);
+				if (type == null) {
+					return null;
+				}
+				if (crc != -1) {
+					store.storeTypeStructure(comp, crc, type);
+				}
 			}
 			Set<IApiComponent> apiComponentMultiple = Collections.emptySet();
 			if (comp != null) {
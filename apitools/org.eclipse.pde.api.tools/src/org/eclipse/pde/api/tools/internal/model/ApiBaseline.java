@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2019 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,10 +20,12 @@ import java.io.InputStream;
 import java.net.URL;
 import java.net.URLConnection;
 import java.text.MessageFormat;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.Dictionary;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -35,12 +37,14 @@ import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.FileLocator;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.jdt.core.JavaCore;
@@ -54,14 +58,19 @@ import org.eclipse.jdt.launching.environments.ExecutionEnvironmentDescription;
 import org.eclipse.jdt.launching.environments.IExecutionEnvironment;
 import org.eclipse.jdt.launching.environments.IExecutionEnvironmentsManager;
 import org.eclipse.osgi.service.resolver.BundleDescription;
+import org.eclipse.osgi.service.resolver.BundleSpecification;
 import org.eclipse.osgi.service.resolver.ExportPackageDescription;
+import org.eclipse.osgi.service.resolver.GenericSpecification;
 import org.eclipse.osgi.service.resolver.HostSpecification;
+import org.eclipse.osgi.service.resolver.ImportPackageSpecification;
 import org.eclipse.osgi.service.resolver.ResolverError;
 import org.eclipse.osgi.service.resolver.State;
 import org.eclipse.osgi.service.resolver.StateHelper;
 import org.eclipse.osgi.service.resolver.StateObjectFactory;
 import org.eclipse.pde.api.tools.internal.AnyValue;
 import org.eclipse.pde.api.tools.internal.ApiBaselineManager;
+import org.eclipse.pde.api.tools.internal.BaselineSnapshot;
+import org.eclipse.pde.api.tools.internal.BaselineSnapshot.ComponentEntry;
 import org.eclipse.pde.api.tools.internal.CoreMessages;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
@@ -122,16 +131,24 @@ public class ApiBaseline extends ApiElement implements IApiBaseline, IVMInstallC
 	 */
 	private AnyValue ANY_VALUE = new AnyValue("*"); //$NON-NLS-1$
 
+	/**
+	 * Key used in {@link #fComponentsProvidingPackageCache} for a
+	 * <code>null</code> source component
+	 */
+	private static final Object NO_SOURCE_COMPONENT = new Object();
+
 	/**
 	 * Cache of resolved packages.
 	 * <p>
-	 * Map of <code>PackageName -> Map(componentName -> IApiComponent[])</code>
+	 * Map of <code>PackageName -> Map(sourceComponent -> IApiComponent[])</code>
 	 * </p>
 	 * For each package the cache contains a map of API components that provide
-	 * that package, by source component name (including the <code>null</code>
-	 * component name).
+	 * that package, by source component (the <code>null</code> source component
+	 * is keyed by {@link #NO_SOURCE_COMPONENT}). Lookups do not lock, each
+	 * entry is computed at most once until it is cleared. Empty results are not
+	 * cached.
 	 */
-	private HashMap<String, HashMap<IApiComponent, IApiComponent[]>> fComponentsProvidingPackageCache = null;
+	private final ConcurrentHashMap<String, ConcurrentHashMap<Object, IApiComponent[]>> fComponentsProvidingPackageCache = new ConcurrentHashMap<>(8);
 
 	/**
 	 * Maps component id's to components.
@@ -154,7 +171,7 @@ public class ApiBaseline extends ApiElement implements IApiBaseline, IVMInstallC
 	/**
 	 * Cache of system package names
 	 */
-	private HashSet<String> fSystemPackageNames = null;
+	private volatile HashSet<String> fSystemPackageNames = null;
 
 	/**
 	 * The VM install this baseline is bound to for system libraries or
@@ -162,6 +179,18 @@ public class ApiBaseline extends ApiElement implements IApiBaseline, IVMInstallC
 	 */
 	private IVMInstall fVMBinding = null;
 
+	/**
+	 * The snapshot the components of this baseline are created from on demand
+	 * or <code>null</code> if all components have been created. Components are
+	 * only created and added while holding the lock of this baseline.
+	 */
+	private volatile BaselineSnapshot fSnapshot = null;
+
+	/**
+	 * Symbolic names of the components requested from {@link #fSnapshot}
+	 */
+	private HashSet<String> fRestoredIds = null;
+
 
 	/**
 	 * Constructs a new API baseline with the given name.
@@ -348,10 +377,7 @@ public class ApiBaseline extends ApiElement implements IApiBaseline, IVMInstallC
 
 			}
 		}
-		if (fSystemPackageNames != null) {
-			fSystemPackageNames.clear();
-			fSystemPackageNames = null;
-		}
+		fSystemPackageNames = null;
 		clearComponentsCache();
 		// set new system library
 		SystemLibraryApiComponent fSystemLibraryComponent = new SystemLibraryApiComponent(this, description, systemPackages);
@@ -362,13 +388,10 @@ public class ApiBaseline extends ApiElement implements IApiBaseline, IVMInstallC
 
 
 	/**
-	 * Clears the package -> components cache and sets it to <code>null</code>
+	 * Clears the package -> components cache
 	 */
-	private synchronized void clearComponentsCache() {
-		if (fComponentsProvidingPackageCache != null) {
-			fComponentsProvidingPackageCache.clear();
-			fComponentsProvidingPackageCache = null;
-		}
+	private void clearComponentsCache() {
+		fComponentsProvidingPackageCache.clear();
 	}
 
 	/**
@@ -432,6 +455,197 @@ public class ApiBaseline extends ApiElement implements IApiBaseline, IVMInstallC
 		getState().resolve();
 	}
 
+	/**
+	 * Restores the components of this baseline from the given snapshot. Only
+	 * the system library is bound when the baseline is restored, the
+	 * components are created when they are requested together with the
+	 * components they may be wired to. The snapshot is closed once all
+	 * components have been created or when this baseline is disposed.
+	 *
+	 * @param snapshot the snapshot of this baseline
+	 * @noreference This method is not intended to be referenced by clients.
+	 */
+	public synchronized void restore(BaselineSnapshot snapshot) {
+		if (fComponentsById == null) {
+			fComponentsById = new LinkedHashMap<>();
+		}
+		fRestoredIds = new HashSet<>();
+		fSnapshot = snapshot;
+		HashSet<String> ees = new HashSet<>(Arrays.asList(snapshot.getRequiredExecutionEnvironments()));
+		if (ees.isEmpty() && snapshot.getExecutionEnvironment() != null) {
+			ees.add(snapshot.getExecutionEnvironment());
+		}
+		resolveSystemLibrary(ees);
+	}
+
+	/**
+	 * Creates all components not restored from the snapshot of this baseline
+	 * yet and closes the snapshot. Has no effect if this baseline has not been
+	 * restored from a snapshot or has been completely restored.
+	 *
+	 * @noreference This method is not intended to be referenced by clients.
+	 */
+	public synchronized void releaseSnapshot() {
+		BaselineSnapshot snapshot = fSnapshot;
+		if (snapshot == null) {
+			return;
+		}
+		try {
+			List<BundleComponent> components = new ArrayList<>();
+			for (ComponentEntry entry : snapshot.getComponents()) {
+				if (fRestoredIds.add(entry.getSymbolicName())) {
+					createComponents(snapshot.getComponents(entry.getSymbolicName()), components);
+				}
+			}
+			addRestoredComponents(components);
+			// keep the order of the snapshot, system libraries last
+			LinkedHashMap<String, IApiComponent> ordered = new LinkedHashMap<>();
+			for (ComponentEntry entry : snapshot.getComponents()) {
+				IApiComponent component = fComponentsById.get(entry.getSymbolicName());
+				if (component != null) {
+					ordered.put(entry.getSymbolicName(), component);
+				}
+			}
+			for (Entry<String, IApiComponent> entry : fComponentsById.entrySet()) {
+				ordered.putIfAbsent(entry.getKey(), entry.getValue());
+			}
+			fComponentsById = ordered;
+		} catch (IOException | CoreException e) {
+			ApiPlugin.log(new Status(IStatus.ERROR, ApiPlugin.PLUGIN_ID, MessageFormat.format("Unable to restore the components of baseline {0}", getName()), e)); //$NON-NLS-1$
+		}
+		discardSnapshot();
+	}
+
+	/**
+	 * Creates the component with the given symbolic name from the snapshot of
+	 * this baseline, if it has not been created yet, together with the
+	 * components it may be wired to.
+	 *
+	 * @param id the symbolic name of the component
+	 */
+	private void restoreComponent(String id) {
+		BaselineSnapshot snapshot = fSnapshot;
+		if (snapshot == null || fRestoredIds.contains(id)) {
+			return;
+		}
+		try {
+			List<BundleComponent> components = new ArrayList<>();
+			Set<String> requested = new HashSet<>();
+			Deque<String> pending = new ArrayDeque<>();
+			pending.add(id);
+			while (!pending.isEmpty()) {
+				String current = pending.poll();
+				if (fRestoredIds.contains(current) || !requested.add(current)) {
+					continue;
+				}
+				int first = components.size();
+				createComponents(snapshot.getComponents(current), components);
+				createComponents(snapshot.getFragments(current), components);
+				for (BundleComponent component : components.subList(first, components.size())) {
+					BundleDescription description = component.getBundleDescription();
+					HostSpecification host = description.getHost();
+					if (host != null) {
+						pending.add(host.getName());
+					}
+					for (BundleSpecification required : description.getRequiredBundles()) {
+						pending.add(required.getName());
+					}
+					for (ImportPackageSpecification imported : description.getImportPackages()) {
+						for (ComponentEntry exporter : snapshot.getComponentsExporting(imported.getName())) {
+							pending.add(exporter.getSymbolicName());
+						}
+					}
+					for (GenericSpecification required : description.getGenericRequires()) {
+						for (ComponentEntry provider : snapshot.getComponentsProviding(required.getType())) {
+							pending.add(provider.getSymbolicName());
+						}
+					}
+				}
+			}
+			addRestoredComponents(components);
+			fRestoredIds.addAll(requested);
+		} catch (IOException | CoreException e) {
+			// restore all components rather than an incomplete state
+			ApiPlugin.log(e);
+			releaseSnapshot();
+		}
+	}
+
+	/**
+	 * Creates the given components of the snapshot of this baseline, skipping
+	 * source bundles.
+	 *
+	 * @param entries the components to create
+	 * @param components the list to add the created components to
+	 * @throws CoreException if a component cannot be created
+	 */
+	private void createComponents(List<ComponentEntry> entries, List<BundleComponent> components) throws CoreException {
+		for (ComponentEntry entry : entries) {
+			IApiComponent component = ApiModelFactory.newApiComponent(this, Path.fromPortableString(entry.getLocation()).toOSString());
+			if (component instanceof BundleComponent && !component.isSourceComponent()) {
+				components.add((BundleComponent) component);
+			}
+		}
+	}
+
+	/**
+	 * Adds the given components restored from the snapshot of this baseline
+	 * and resolves them. The components restored before do not need to be
+	 * rewired, every component is restored together with all the components
+	 * it may be wired to.
+	 *
+	 * @param components the restored components
+	 * @throws CoreException if a bundle description cannot be created
+	 */
+	private void addRestoredComponents(List<BundleComponent> components) throws CoreException {
+		if (components.isEmpty()) {
+			return;
+		}
+		for (BundleComponent component : components) {
+			getState().addBundle(component.getBundleDescription());
+			addComponent(component);
+		}
+		getState().resolve();
+	}
+
+	/**
+	 * Closes the snapshot of this baseline, if any, without restoring the
+	 * remaining components.
+	 */
+	private synchronized void discardSnapshot() {
+		BaselineSnapshot snapshot = fSnapshot;
+		if (snapshot != null) {
+			fSnapshot = null;
+			fRestoredIds = null;
+			snapshot.close();
+		}
+	}
+
+	/**
+	 * Returns the component with the given symbolic name, restoring it from the
+	 * snapshot of this baseline if required.
+	 *
+	 * @param id the symbolic name
+	 * @return the component or <code>null</code>
+	 */
+	private synchronized IApiComponent getRestoredComponent(String id) {
+		restoreComponent(id);
+		return fComponentsById == null ? null : fComponentsById.get(id);
+	}
+
+	/**
+	 * Returns all versions of the component with the given symbolic name,
+	 * restoring them from the snapshot of this baseline if required.
+	 *
+	 * @param id the symbolic name
+	 * @return the components, possibly empty
+	 */
+	private synchronized Set<IApiComponent> getAllRestoredComponents(String id) {
+		restoreComponent(id);
+		Set<IApiComponent> components = fAllComponentsById == null ? null : fAllComponentsById.get(id);
+		return components == null ? Collections.emptySet() : components;
+	}
+
 	/**
 	 * Resolves and initializes the system library to use based on API component
 	 * requirements. Only works when running in the framework. Has no effect if
@@ -537,6 +751,9 @@ public class ApiBaseline extends ApiElement implements IApiBaseline, IVMInstallC
 	@Override
 	public IApiComponent[] getApiComponents() {
 		loadBaselineInfos();
+		if (fSnapshot != null) {
+			releaseSnapshot();
+		}
 		if (fComponentsById == null) {
 			return EMPTY_COMPONENTS;
 		}
@@ -545,24 +762,58 @@ public class ApiBaseline extends ApiElement implements IApiBaseline, IVMInstallC
 	}
 
 	@Override
-	public synchronized IApiComponent[] resolvePackage(IApiComponent sourceComponent, String packageName) throws CoreException {
-		HashMap<IApiComponent, IApiComponent[]> componentsForPackage = null;
-		if (fComponentsProvidingPackageCache != null) {
-			componentsForPackage = fComponentsProvidingPackageCache.get(packageName);
-		} else {
-			fComponentsProvidingPackageCache = new HashMap<>(8);
+	public IApiComponent[] resolvePackage(IApiComponent sourceComponent, String packageName) throws CoreException {
+		ConcurrentHashMap<Object, IApiComponent[]> componentsForPackage = fComponentsProvidingPackageCache.computeIfAbsent(packageName, p -> new ConcurrentHashMap<>(8));
+		Object key = sourceComponent == null ? NO_SOURCE_COMPONENT : sourceComponent;
+		IApiComponent[] cachedComponents = componentsForPackage.get(key);
+		if (cachedComponents != null) {
+			return cachedComponents;
 		}
-		IApiComponent[] cachedComponents = null;
-		if (componentsForPackage != null) {
-			cachedComponents = componentsForPackage.get(sourceComponent);
-			if (cachedComponents != null && cachedComponents.length > 0) {
-				return cachedComponents;
-			}
-		} else {
-			componentsForPackage = new HashMap<>(8);
-			fComponentsProvidingPackageCache.put(packageName, componentsForPackage);
+		try {
+			// concurrent requests for the same entry wait for the first one
+			cachedComponents = componentsForPackage.computeIfAbsent(key, k -> {
+				try {
+					IApiComponent[] resolved = resolvePackage1(sourceComponent, packageName);
+					// empty results are not cached
+					return resolved.length == 0 ? null : resolved;
+				} catch (CoreException e) {
+					throw new ResolvePackageException(e);
+				}
+			});
+		} catch (ResolvePackageException e) {
+			throw e.getCause();
 		}
+		return cachedComponents == null ? EMPTY_COMPONENTS : cachedComponents;
+	}
 
+	/**
+	 * Wraps a {@link CoreException} thrown while computing a
+	 * {@link #fComponentsProvidingPackageCache} entry
+	 */
+	private static class ResolvePackageException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		ResolvePackageException(CoreException cause) {
+			super(cause);
+		}
+
+		@Override
+		public synchronized CoreException getCause() {
+			return (CoreException) super.getCause();
+		}
+	}
+
+	/**
+	 * Computes the components providing the given package to the given source
+	 * component, without caching.
+	 *
+	 * @param sourceComponent the source component or <code>null</code>
+	 * @param packageName the package name
+	 * @return the components providing the package, possibly empty
+	 * @throws CoreException if the package cannot be resolved
+	 */
+	private IApiComponent[] resolvePackage1(IApiComponent sourceComponent, String packageName) throws CoreException {
+		IApiComponent[] cachedComponents = null;
 		// check resolvePackage0 before the system packages to avoid wrong
 		// add/remove API problems - see bug 430640
 		if (sourceComponent != null) {
@@ -584,14 +835,9 @@ public class ApiBaseline extends ApiElement implements IApiBaseline, IVMInstallC
 				}
 			}
 		}
-
 		if (cachedComponents == null) {
-			cachedComponents = EMPTY_COMPONENTS;
-		}
-		if (cachedComponents.length == 0) {
 			return EMPTY_COMPONENTS;
 		}
-		componentsForPackage.put(sourceComponent, cachedComponents);
 		return cachedComponents;
 	}
 
@@ -654,6 +900,8 @@ public class ApiBaseline extends ApiElement implements IApiBaseline, IVMInstallC
 	 * @throws CoreException
 	 */
 	public IApiComponent[] getVisibleDependentComponents(IApiComponent[] components) throws CoreException {
+		// dependents may not be restored yet
+		releaseSnapshot();
 		ArrayList<BundleDescription> bundles = getBundleDescriptions(components);
 		BundleDescription[] descs = getState().getStateHelper().getDependentBundles(bundles.toArray(new BundleDescription[bundles.size()]));
 		HashSet<BundleDescription> visible = new HashSet<>();
@@ -679,14 +927,16 @@ public class ApiBaseline extends ApiElement implements IApiBaseline, IVMInstallC
 		if (packageName.startsWith("java.")) { //$NON-NLS-1$
 			return true;
 		}
-		if (fSystemPackageNames == null) {
+		HashSet<String> systemPackageNames = fSystemPackageNames;
+		if (systemPackageNames == null) {
 			ExportPackageDescription[] systemPackages = getState().getSystemPackages();
-			fSystemPackageNames = new HashSet<>(systemPackages.length);
+			systemPackageNames = new HashSet<>(systemPackages.length);
 			for (ExportPackageDescription systemPackage : systemPackages) {
-				fSystemPackageNames.add(systemPackage.getName());
+				systemPackageNames.add(systemPackage.getName());
 			}
+			fSystemPackageNames = systemPackageNames;
 		}
-		return fSystemPackageNames.contains(packageName);
+		return systemPackageNames.contains(packageName);
 	}
 
 	/**
@@ -705,6 +955,9 @@ public class ApiBaseline extends ApiElement implements IApiBaseline, IVMInstallC
 	@Override
 	public IApiComponent getApiComponent(String id) {
 		loadBaselineInfos();
+		if (fSnapshot != null) {
+			return getRestoredComponent(id);
+		}
 		if (fComponentsById == null) {
 			return null;
 		}
@@ -714,6 +967,9 @@ public class ApiBaseline extends ApiElement implements IApiBaseline, IVMInstallC
 	@Override
 	public Set<IApiComponent> getAllApiComponents(String id) {
 		loadBaselineInfos();
+		if (fSnapshot != null) {
+			return getAllRestoredComponents(id);
+		}
 		if (fAllComponentsById == null) {
 			return Collections.emptySet();
 		}
@@ -752,6 +1008,7 @@ public class ApiBaseline extends ApiElement implements IApiBaseline, IVMInstallC
 	 * @noreference This method is not intended to be referenced by clients.
 	 */
 	public ResolverError[] getErrors() {
+		releaseSnapshot();
 		List<ResolverError> errs = null;
 		BundleDescription[] bundles = getState().getBundles();
 		for (BundleDescription bundle : bundles) {
@@ -806,6 +1063,7 @@ public class ApiBaseline extends ApiElement implements IApiBaseline, IVMInstallC
 			JavaRuntime.removeVMInstallChangedListener(this);
 		}
 		clearCachedElements();
+		discardSnapshot();
 		IApiComponent[] components = getApiComponents();
 		for (IApiComponent component2 : components) {
 			component2.dispose();
@@ -823,9 +1081,8 @@ public class ApiBaseline extends ApiElement implements IApiBaseline, IVMInstallC
 			fComponentsByProjectNames.clear();
 			fComponentsByProjectNames = null;
 		}
-		if (fSystemPackageNames != null) {
-			fSystemPackageNames.clear();
-		}
+		// may be read concurrently, replace rather than clear
+		fSystemPackageNames = null;
 		if (!fSystemLibraryComponentList.isEmpty()) {
 			for (IApiComponent iApiComponent : fSystemLibraryComponentList) {
 				iApiComponent.dispose();
@@ -840,12 +1097,24 @@ public class ApiBaseline extends ApiElement implements IApiBaseline, IVMInstallC
 	@Override
 	public void close() throws CoreException {
 		clearCachedElements();
-		IApiComponent[] components = getApiComponents();
+		// only close the components restored so far
+		IApiComponent[] components = fSnapshot != null ? getRestoredComponents() : getApiComponents();
 		for (IApiComponent component2 : components) {
 			component2.close();
 		}
 	}
 
+	/**
+	 * @return the components created so far, without restoring any
+	 */
+	private synchronized IApiComponent[] getRestoredComponents() {
+		if (fComponentsById == null) {
+			return EMPTY_COMPONENTS;
+		}
+		Collection<IApiComponent> values = fComponentsById.values();
+		return values.toArray(new IApiComponent[values.size()]);
+	}
+
 	/**
 	 * Clears all element information from the cache for this baseline
 	 *
@@ -904,10 +1173,8 @@ public class ApiBaseline extends ApiElement implements IApiBaseline, IVMInstallC
 	 * @nooverride This method is not intended to be re-implemented or extended
 	 *             by clients.
 	 */
-	public synchronized void clearPackage(String packageName) {
-		if (fComponentsProvidingPackageCache != null) {
-			fComponentsProvidingPackageCache.remove(packageName);
-		}
+	public void clearPackage(String packageName) {
+		fComponentsProvidingPackageCache.remove(packageName);
 	}
 
 	@Override
@@ -956,8 +1223,18 @@ public class ApiBaseline extends ApiElement implements IApiBaseline, IVMInstallC
 	 */
 	private void rebindVM() throws CoreException {
 		fVMBinding = null;
-		IApiComponent[] components = getApiComponents();
 		HashSet<String> ees = new HashSet<>();
+		IApiComponent[] components;
+		synchronized (this) {
+			BaselineSnapshot snapshot = fSnapshot;
+			if (snapshot != null) {
+				// components not restored yet are covered by the snapshot
+				ees.addAll(Arrays.asList(snapshot.getRequiredExecutionEnvironments()));
+				components = getRestoredComponents();
+			} else {
+				components = getApiComponents();
+			}
+		}
 		for (IApiComponent component2 : components) {
 			ees.addAll(Arrays.asList(component2.getExecutionEnvironments()));
 		}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2019 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -114,7 +114,7 @@ public final class ApiModelCache {
 	 *             {@link IApiElement} info in order to cache it - pass the
 	 *             exception along.
 	 */
-	public void cacheElementInfo(IApiElement element) throws CoreException {
+	public synchronized void cacheElementInfo(IApiElement element) throws CoreException {
 		switch (element.getType()) {
 			case IApiElement.TYPE: {
 				if (fRootCache == null) {
@@ -215,7 +215,7 @@ public final class ApiModelCache {
 	 * @return the cached {@link IApiElement} or <code>null</code> if no such
 	 *         element is cached
 	 */
-	public IApiElement getElementInfo(String baselineid, String componentid, String identifier, int type) {
+	public synchronized IApiElement getElementInfo(String baselineid, String componentid, String identifier, int type) {
 		String updatedIdentifier = (identifier != null && identifier.startsWith("classes.java.")) ? identifier.substring(8) : identifier; //$NON-NLS-1$
 		if (baselineid == null || componentid == null) {
 			return null;
@@ -292,7 +292,7 @@ public final class ApiModelCache {
 	 *
 	 * @return true if the element was removed, false otherwise
 	 */
-	public boolean removeElementInfo(String baselineid, String componentid, String identifier, int type) {
+	public synchronized boolean removeElementInfo(String baselineid, String componentid, String identifier, int type) {
 		if (baselineid == null) {
 			return false;
 		}
@@ -370,7 +370,7 @@ public final class ApiModelCache {
 	 *             {@link IApiElement} info in order to remove it from the cache
 	 *             - pass the exception along.
 	 */
-	public boolean removeElementInfo(IApiElement element) {
+	public synchronized boolean removeElementInfo(IApiElement element) {
 		if (element == null) {
 			return false;
 		}
@@ -407,7 +407,7 @@ public final class ApiModelCache {
 	/**
 	 * Clears out all cached information.
 	 */
-	public void flushCaches() {
+	public synchronized void flushCaches() {
 		if (fRootCache != null) {
 			fRootCache.flush();
 		}
@@ -428,7 +428,7 @@ public final class ApiModelCache {
 	 *
 	 * @return true if the cache has no entries, false otherwise
 	 */
-	public boolean isEmpty() {
+	public synchronized boolean isEmpty() {
 		boolean empty = true;
 		if (fRootCache != null) {
 			empty &= fRootCache.isEmpty();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2018 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,9 +13,11 @@
  *******************************************************************************/
 package org.eclipse.pde.api.tools.internal.model;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.text.MessageFormat;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -77,24 +79,28 @@ public class ApiType extends ApiMember implements IApiType {
 	private LinkedHashMap<MethodKey, ApiMethod> fMethods;
 
 	/**
-	 * Map of member type names to class file (or null until resolved)
+	 * Map of member type names to class file (or null until resolved). The
+	 * names are added while the structure is built, class files are resolved
+	 * while holding the lock of the map.
 	 */
 	private Map<String, IApiTypeRoot> fMemberTypes;
 
 	/**
 	 * Cached descriptor
 	 */
-	private IReferenceTypeDescriptor fHandle;
+	private volatile IReferenceTypeDescriptor fHandle;
 
 	/**
-	 * Cached superclass or <code>null</code>
+	 * Cached superclass or <code>null</code>. Types are shared by the threads
+	 * of a parallel baseline comparison, the cached values are published
+	 * through volatile fields.
 	 */
-	private IApiType fSuperclass;
+	private volatile IApiType fSuperclass;
 
 	/**
 	 * Cached super interfaces or <code>null</code>
 	 */
-	private IApiType[] fSuperInterfaces;
+	private volatile IApiType[] fSuperInterfaces;
 
 	/**
 	 * The storage this type structure originated from
@@ -129,7 +135,7 @@ public class ApiType extends ApiMember implements IApiType {
 	/**
 	 * cached enclosing type once it has been successfully calculated
 	 */
-	private IApiType fEnclosingType = null;
+	private volatile IApiType fEnclosingType = null;
 
 	/**
 	 * The method that encloses this type
@@ -252,14 +258,15 @@ public class ApiType extends ApiMember implements IApiType {
 		if (names == null) {
 			return EMPTY_TYPES;
 		}
-		if (fSuperInterfaces == null) {
-			IApiType[] interfaces = new IApiType[names.length];
+		IApiType[] interfaces = fSuperInterfaces;
+		if (interfaces == null) {
+			interfaces = new IApiType[names.length];
 			for (int i = 0; i < interfaces.length; i++) {
 				interfaces[i] = resolveSuperType(names[i]);
 			}
 			fSuperInterfaces = interfaces;
 		}
-		return fSuperInterfaces;
+		return interfaces;
 	}
 
 	@Override
@@ -268,10 +275,12 @@ public class ApiType extends ApiMember implements IApiType {
 		if (name == null) {
 			return null;
 		}
-		if (fSuperclass == null) {
-			fSuperclass = resolveSuperType(name);
+		IApiType superclass = fSuperclass;
+		if (superclass == null) {
+			superclass = resolveSuperType(name);
+			fSuperclass = superclass;
 		}
-		return fSuperclass;
+		return superclass;
 	}
 
 	/**
@@ -442,7 +451,7 @@ public class ApiType extends ApiMember implements IApiType {
 	}
 
 	@Override
-	public IApiMethod getEnclosingMethod() {
+	public synchronized IApiMethod getEnclosingMethod() {
 		if (fEnclosingMethod == null) {
 			try {
 				IApiType enclosingType = getEnclosingType();
@@ -489,10 +498,12 @@ public class ApiType extends ApiMember implements IApiType {
 
 	@Override
 	public IMemberDescriptor getHandle() {
-		if (fHandle == null) {
-			fHandle = Util.getType(getName());
+		IReferenceTypeDescriptor handle = fHandle;
+		if (handle == null) {
+			handle = Util.getType(getName());
+			fHandle = handle;
 		}
-		return fHandle;
+		return handle;
 	}
 
 	@Override
@@ -539,8 +550,12 @@ public class ApiType extends ApiMember implements IApiType {
 		if (getApiComponent() == null) {
 			requiresApiComponent();
 		}
-		if (fMemberTypes.containsKey(simpleName)) {
-			IApiTypeRoot file = fMemberTypes.get(simpleName);
+		IApiTypeRoot file;
+		synchronized (fMemberTypes) {
+			if (!fMemberTypes.containsKey(simpleName)) {
+				return null;
+			}
+			file = fMemberTypes.get(simpleName);
 			if (file == null) {
 				// resolve
 				StringBuilder qName = new StringBuilder();
@@ -553,9 +568,8 @@ public class ApiType extends ApiMember implements IApiType {
 				}
 				fMemberTypes.put(simpleName, file);
 			}
-			return file.getStructure();
 		}
-		return null;
+		return file.getStructure();
 	}
 
 	@Override
@@ -563,13 +577,13 @@ public class ApiType extends ApiMember implements IApiType {
 		if (fMemberTypes == null) {
 			return EMPTY_TYPES;
 		}
-		IApiType[] members = new IApiType[fMemberTypes.size()];
-		Iterator<String> iterator = fMemberTypes.keySet().iterator();
-		int index = 0;
-		while (iterator.hasNext()) {
-			String name = iterator.next();
-			members[index] = getMemberType(name);
-			index++;
+		String[] names;
+		synchronized (fMemberTypes) {
+			names = fMemberTypes.keySet().toArray(new String[fMemberTypes.size()]);
+		}
+		IApiType[] members = new IApiType[names.length];
+		for (int i = 0; i < names.length; i++) {
+			members[i] = getMemberType(names[i]);
 		}
 		return members;
 	}
@@ -645,6 +659,173 @@ public class ApiType extends ApiMember implements IApiType {
 		return fEnclosingType;
 	}
 
+	/**
+	 * Writes the structure of this type as built from its class file, see
+	 * {@link #read(DataInput, IApiComponent, String, IApiTypeRoot)}.
+	 *
+	 * @param out the output to write to
+	 * @throws IOException if the structure cannot be written
+	 */
+	void write(DataOutput out) throws IOException {
+		out.writeInt(getModifiers());
+		writeString(out, getGenericSignature());
+		writeString(out, fEnclosingTypeName);
+		writeString(out, fSuperclassName);
+		writeStrings(out, fSuperInterfaceNames);
+		writeString(out, fSimpleName);
+		out.writeByte((fAnonymous ? 1 : 0) | (fLocal ? 2 : 0) | (fMemberType ? 4 : 0));
+		writeString(out, fEnclosingMethodName);
+		writeString(out, fEnclosingMethodSignature);
+		writeStrings(out, fMemberTypes == null ? null : fMemberTypes.keySet().toArray(new String[fMemberTypes.size()]));
+		IApiField[] fields = getFields();
+		out.writeInt(fields.length);
+		for (IApiField field : fields) {
+			out.writeUTF(field.getName());
+			writeString(out, field.getSignature());
+			writeString(out, field.getGenericSignature());
+			out.writeInt(field.getModifiers());
+			Object value = field.getConstantValue();
+			if (value instanceof Integer) {
+				out.writeByte(1);
+				out.writeInt((Integer) value);
+			} else if (value instanceof Long) {
+				out.writeByte(2);
+				out.writeLong((Long) value);
+			} else if (value instanceof Float) {
+				out.writeByte(3);
+				out.writeFloat((Float) value);
+			} else if (value instanceof Double) {
+				out.writeByte(4);
+				out.writeDouble((Double) value);
+			} else if (value instanceof String) {
+				out.writeByte(5);
+				out.writeUTF((String) value);
+			} else if (value == null) {
+				out.writeByte(0);
+			} else {
+				throw new IOException("Unsupported constant value: " + value); //$NON-NLS-1$
+			}
+		}
+		IApiMethod[] methods = getMethods();
+		out.writeInt(methods.length);
+		for (IApiMethod method : methods) {
+			out.writeUTF(method.getName());
+			out.writeUTF(method.getSignature());
+			writeString(out, method.getGenericSignature());
+			out.writeInt(method.getModifiers());
+			writeStrings(out, method.getExceptionNames());
+			writeString(out, method.getDefaultValue());
+		}
+	}
+
+	/**
+	 * Reads the structure of a type written with {@link #write(DataOutput)}.
+	 *
+	 * @param in the input to read from
+	 * @param component originating API component
+	 * @param name the name of the type
+	 * @param storage the storage of the type
+	 * @return the type
+	 * @throws IOException if the structure cannot be read
+	 */
+	static ApiType read(DataInput in, IApiComponent component, String name, IApiTypeRoot storage) throws IOException {
+		int flags = in.readInt();
+		String genericSig = readString(in);
+		String enclosingName = readString(in);
+		ApiType type = new ApiType(component, name, 'L' + name.replace('.', '/') + ';', genericSig, flags, enclosingName, storage);
+		type.fSuperclassName = readString(in);
+		type.fSuperInterfaceNames = readStrings(in);
+		type.fSimpleName = readString(in);
+		int kind = in.readByte();
+		type.fAnonymous = (kind & 1) != 0;
+		type.fLocal = (kind & 2) != 0;
+		type.fMemberType = (kind & 4) != 0;
+		String enclosingMethodName = readString(in);
+		String enclosingMethodSignature = readString(in);
+		if (enclosingMethodName != null) {
+			type.setEnclosingMethodInfo(enclosingMethodName.isEmpty() ? null : enclosingMethodName, enclosingMethodSignature == null || enclosingMethodSignature.isEmpty() ? null : enclosingMethodSignature);
+		}
+		String[] memberTypes = readStrings(in);
+		if (memberTypes != null) {
+			type.fMemberTypes = new LinkedHashMap<>();
+			for (String memberType : memberTypes) {
+				type.fMemberTypes.put(memberType, null);
+			}
+		}
+		int fieldCount = in.readInt();
+		for (int i = 0; i < fieldCount; i++) {
+			String fieldName = in.readUTF();
+			String signature = readString(in);
+			String fieldGenericSig = readString(in);
+			int modifiers = in.readInt();
+			Object value;
+			switch (in.readByte()) {
+				case 1:
+					value = Integer.valueOf(in.readInt());
+					break;
+				case 2:
+					value = Long.valueOf(in.readLong());
+					break;
+				case 3:
+					value = Float.valueOf(in.readFloat());
+					break;
+				case 4:
+					value = Double.valueOf(in.readDouble());
+					break;
+				case 5:
+					value = in.readUTF();
+					break;
+				default:
+					value = null;
+					break;
+			}
+			type.addField(fieldName, signature, fieldGenericSig, modifiers, value);
+		}
+		int methodCount = in.readInt();
+		for (int i = 0; i < methodCount; i++) {
+			String methodName = in.readUTF();
+			String signature = in.readUTF();
+			String methodGenericSig = readString(in);
+			int modifiers = in.readInt();
+			String[] exceptions = readStrings(in);
+			ApiMethod method = type.addMethod(methodName, signature, methodGenericSig, modifiers, exceptions);
+			method.setDefaultValue(readString(in));
+		}
+		return type;
+	}
+
+	private static void writeString(DataOutput out, String string) throws IOException {
+		out.writeBoolean(string != null);
+		if (string != null) {
+			out.writeUTF(string);
+		}
+	}
+
+	private static String readString(DataInput in) throws IOException {
+		return in.readBoolean() ? in.readUTF() : null;
+	}
+
+	private static void writeStrings(DataOutput out, String[] strings) throws IOException {
+		out.writeInt(strings == null ? -1 : strings.length);
+		if (strings != null) {
+			for (String string : strings) {
+				out.writeUTF(string);
+			}
+		}
+	}
+
+	private static String[] readStrings(DataInput in) throws IOException {
+		int length = in.readInt();
+		if (length < 0) {
+			return null;
+		}
+		String[] strings = new String[length];
+		for (int i = 0; i < length; i++) {
+			strings[i] = in.readUTF();
+		}
+		return strings;
+	}
+
 	private String processEnclosingTypeName() {
 		if (isLocal() || isAnonymous()) {
 			int idx = fEnclosingTypeName.lastIndexOf('$');
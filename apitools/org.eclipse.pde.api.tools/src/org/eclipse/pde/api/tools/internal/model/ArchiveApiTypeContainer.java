@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2017 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -30,7 +30,6 @@ import java.util.zip.ZipFile;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
-import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.provisional.model.ApiTypeContainerVisitor;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiElement;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeContainer;
@@ -95,48 +94,51 @@ public class ArchiveApiTypeContainer extends ApiElement implements IApiTypeConta
 				return fContents;
 			}
 			ArchiveApiTypeContainer archive = (ArchiveApiTypeContainer) getParent();
+			ArchivePool pool = ArchivePool.getPool();
 			ZipFile zipFile;
 			try {
-				zipFile = new ZipFile(archive.fLocation);
+				zipFile = pool.acquire(archive.fLocation);
 			} catch (IOException e) {
 				abort("Failed to open archive: " + archive.fLocation, e); //$NON-NLS-1$
 				return null;
 			}
 			try {
 				ZipEntry entry = zipFile.getEntry(getName());
-				InputStream stream = null;
 				if (entry != null) {
-					try {
-						stream = zipFile.getInputStream(entry);
-					} catch (IOException e) {
-						abort("Failed to open class file: " + getTypeName() + " in archive: " + archive.fLocation, e); //$NON-NLS-1$ //$NON-NLS-2$
-						return null;
-					}
-					try {
-						fContents = Util.getInputStreamAsByteArray(stream, -1);
+					try (InputStream stream = zipFile.getInputStream(entry)) {
+						fContents = Util.getInputStreamAsByteArray(stream, (int) entry.getSize());
 						return fContents;
 					} catch (IOException ioe) {
-						abort("Unable to read class file: " + getTypeName(), ioe); //$NON-NLS-1$
+						abort("Unable to read class file: " + getTypeName() + " in archive: " + archive.fLocation, ioe); //$NON-NLS-1$ //$NON-NLS-2$
 						return null;
-					} finally {
-						try {
-							stream.close();
-						} catch (IOException e) {
-							ApiPlugin.log(e);
-						}
 					}
 				}
 			} finally {
-				try {
-					zipFile.close();
-				} catch (IOException e) {
-					abort("Failed to close class file archive", e); //$NON-NLS-1$
-				}
+				pool.release(archive.fLocation, zipFile);
 			}
 			abort("Class file not found: " + getTypeName() + " in archive: " + archive.fLocation, null); //$NON-NLS-1$ //$NON-NLS-2$
 			return null;
 		}
 
+		@Override
+		protected long getContentsCRC() throws CoreException {
+			ArchiveApiTypeContainer archive = (ArchiveApiTypeContainer) getParent();
+			ArchivePool pool = ArchivePool.getPool();
+			ZipFile zipFile;
+			try {
+				zipFile = pool.acquire(archive.fLocation);
+			} catch (IOException e) {
+				return -1;
+			}
+			try {
+				// the CRC is read from the central directory of the archive
+				ZipEntry entry = zipFile.getEntry(getName());
+				return entry != null ? entry.getCrc() : -1;
+			} finally {
+				pool.release(archive.fLocation, zipFile);
+			}
+		}
+
 		@Override
 		public String toString() {
 			return getTypeName();
@@ -217,7 +219,7 @@ public class ArchiveApiTypeContainer extends ApiElement implements IApiTypeConta
 	 */
 	@Override
 	public synchronized void close() throws CoreException {
-		//
+		ArchivePool.getPool().evict(fLocation);
 	}
 
 	/**
@@ -279,9 +281,10 @@ public class ArchiveApiTypeContainer extends ApiElement implements IApiTypeConta
 	private synchronized void init() throws CoreException {
 		if (fPackages == null) {
 			fPackages = new HashMap<>();
+			ArchivePool pool = ArchivePool.getPool();
 			ZipFile zipFile;
 			try {
-				zipFile = new ZipFile(fLocation);
+				zipFile = pool.acquire(fLocation);
 			} catch (IOException e) {
 				abort("Failed to open archive: " + fLocation, e); //$NON-NLS-1$
 				return;
@@ -306,11 +309,7 @@ public class ArchiveApiTypeContainer extends ApiElement implements IApiTypeConta
 					}
 				}
 			} finally {
-				try {
-					zipFile.close();
-				} catch (IOException e) {
-					abort("Failed to close class file archive", e); //$NON-NLS-1$
-				}
+				pool.release(fLocation, zipFile);
 			}
 		}
 	}
@@ -0,0 +1,266 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.model;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.zip.ZipFile;
+
+import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
+
+/**
+ * A pool of open {@link ZipFile}s shared by all {@link ArchiveApiTypeContainer}s
+ * so that reading class files does not reopen the same archive over and over.
+ * <p>
+ * Archives are reference counted: every {@link #acquire(String)} must be
+ * followed by a {@link #release(String, ZipFile)}. Every open archive holds a
+ * file handle, so the pool keeps archives open only while it holds less than
+ * its maximum size, including the archives in use. The least recently used
+ * unreferenced archives are closed first, an archive in use is never closed.
+ * {@link #evict(String)} closes an archive as soon as it is no longer
+ * referenced, the next {@link #acquire(String)} opens it again.
+ * </p>
+ * <p>
+ * The size of the shared pool is {@link #DEFAULT_POOL_SIZE}, it can be set
+ * with the system property
+ * <code>org.eclipse.pde.api.tools.archivePoolSize</code>.
+ * </p>
+ */
+public final class ArchivePool {
+
+	/**
+	 * An open archive and its reference count
+	 */
+	static class PoolEntry {
+		final ZipFile fZipFile;
+		int fReferences = 0;
+
+		PoolEntry(ZipFile zipFile) {
+			fZipFile = zipFile;
+		}
+	}
+
+	static final int DEFAULT_POOL_SIZE = 16;
+	private static ArchivePool fInstance = null;
+
+	private final int fMaxSize;
+	private final LinkedHashMap<String, PoolEntry> fEntries = new LinkedHashMap<>(16, 0.75f, true);
+	/**
+	 * Evicted archives that are still in use, closed on their last release
+	 */
+	private final IdentityHashMap<ZipFile, PoolEntry> fEvictedEntries = new IdentityHashMap<>();
+	private long fHits = 0;
+	private long fMisses = 0;
+	private long fOpened = 0;
+
+	/**
+	 * Constructor
+	 *
+	 * @param maxSize the maximum number of open archives the pool holds, more
+	 *            archives are only open while they are in use
+	 */
+	public ArchivePool(int maxSize) {
+		fMaxSize = maxSize;
+	}
+
+	/**
+	 * Returns the pool shared by all archive containers
+	 *
+	 * @return the pool
+	 */
+	public static synchronized ArchivePool getPool() {
+		if (fInstance == null) {
+			int size = Integer.getInteger("org.eclipse.pde.api.tools.archivePoolSize", DEFAULT_POOL_SIZE).intValue(); //$NON-NLS-1$
+			fInstance = new ArchivePool(Math.max(0, size));
+		}
+		return fInstance;
+	}
+
+	/**
+	 * Returns the open archive at the given location, opening it if it is not
+	 * in the pool. The archive must be given back with
+	 * {@link #release(String, ZipFile)}
+	 * and must not be closed by the caller.
+	 *
+	 * @param location location of the archive in the local file system
+	 * @return the open archive
+	 * @throws IOException if the archive cannot be opened
+	 */
+	public ZipFile acquire(String location) throws IOException {
+		synchronized (this) {
+			PoolEntry entry = fEntries.get(location);
+			if (entry != null) {
+				fHits++;
+				entry.fReferences++;
+				return entry.fZipFile;
+			}
+			fMisses++;
+		}
+		// open outside of the lock, concurrent readers of other archives must
+		// not wait for the central directory of this one to be read
+		ZipFile zipFile = new ZipFile(location);
+		List<ZipFile> toClose = new ArrayList<>();
+		try {
+			synchronized (this) {
+				fOpened++;
+				PoolEntry entry = fEntries.get(location);
+				if (entry != null) {
+					// opened concurrently by another thread
+					toClose.add(zipFile);
+				} else {
+					entry = new PoolEntry(zipFile);
+					fEntries.put(location, entry);
+				}
+				entry.fReferences++;
+				trim(toClose);
+				return entry.fZipFile;
+			}
+		} finally {
+			closeAll(toClose);
+		}
+	}
+
+	/**
+	 * Gives back an archive obtained from {@link #acquire(String)}.
+	 *
+	 * @param location location of the archive in the local file system
+	 * @param zipFile the archive returned by {@link #acquire(String)}
+	 */
+	public void release(String location, ZipFile zipFile) {
+		List<ZipFile> toClose = new ArrayList<>();
+		synchronized (this) {
+			PoolEntry entry = fEntries.get(location);
+			if (entry != null && entry.fZipFile == zipFile) {
+				entry.fReferences--;
+				trim(toClose);
+			} else {
+				// evicted while in use, possibly replaced by a newer archive
+				entry = fEvictedEntries.get(zipFile);
+				if (entry != null && --entry.fReferences <= 0) {
+					fEvictedEntries.remove(zipFile);
+					toClose.add(zipFile);
+				}
+			}
+		}
+		closeAll(toClose);
+	}
+
+	/**
+	 * Closes the archive at the given location once it is no longer in use.
+	 *
+	 * @param location location of the archive in the local file system
+	 */
+	public void evict(String location) {
+		List<ZipFile> toClose = new ArrayList<>();
+		synchronized (this) {
+			PoolEntry entry = fEntries.remove(location);
+			if (entry != null) {
+				if (entry.fReferences <= 0) {
+					toClose.add(entry.fZipFile);
+				} else {
+					fEvictedEntries.put(entry.fZipFile, entry);
+				}
+			}
+		}
+		closeAll(toClose);
+	}
+
+	/**
+	 * Closes all unreferenced archives and marks the others to be closed when
+	 * they are released.
+	 */
+	public void clear() {
+		List<String> locations;
+		synchronized (this) {
+			locations = new ArrayList<>(fEntries.keySet());
+		}
+		for (String location : locations) {
+			evict(location);
+		}
+	}
+
+	/**
+	 * Removes the least recently used unreferenced archives while the pool
+	 * holds more open archives than its maximum size. Must be called while
+	 * holding the lock of this pool.
+	 *
+	 * @param toClose collects the archives to close after the lock is released
+	 */
+	private void trim(List<ZipFile> toClose) {
+		int excess = fEntries.size() + fEvictedEntries.size() - fMaxSize;
+		for (Iterator<PoolEntry> iterator = fEntries.values().iterator(); excess > 0 && iterator.hasNext();) {
+			PoolEntry entry = iterator.next();
+			if (entry.fReferences <= 0) {
+				iterator.remove();
+				toClose.add(entry.fZipFile);
+				excess--;
+			}
+		}
+	}
+
+	private static void closeAll(List<ZipFile> zipFiles) {
+		for (ZipFile zipFile : zipFiles) {
+			try {
+				zipFile.close();
+			} catch (IOException e) {
+				ApiPlugin.log(e);
+			}
+		}
+	}
+
+	/**
+	 * @return the number of {@link #acquire(String)} calls that found the
+	 *         archive open
+	 */
+	public synchronized long getHitCount() {
+		return fHits;
+	}
+
+	/**
+	 * @return the number of {@link #acquire(String)} calls that had to open
+	 *         the archive
+	 */
+	public synchronized long getMissCount() {
+		return fMisses;
+	}
+
+	/**
+	 * @return the number of archives opened by this pool
+	 */
+	public synchronized long getOpenCount() {
+		return fOpened;
+	}
+
+	/**
+	 * @return the number of archives currently held by this pool, including
+	 *         evicted archives that are still in use
+	 */
+	public synchronized int size() {
+		return fEntries.size() + fEvictedEntries.size();
+	}
+
+	@Override
+	public synchronized String toString() {
+		StringBuilder buffer = new StringBuilder("Archive pool: "); //$NON-NLS-1$
+		buffer.append(size()).append(" open, ") //$NON-NLS-1$
+				.append(fHits).append(" hits, ") //$NON-NLS-1$
+				.append(fMisses).append(" misses, ") //$NON-NLS-1$
+				.append(fOpened).append(" opened"); //$NON-NLS-1$
+		return buffer.toString();
+	}
+}
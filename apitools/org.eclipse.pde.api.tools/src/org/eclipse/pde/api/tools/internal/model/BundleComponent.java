@@ -16,17 +16,14 @@ package org.eclipse.pde.api.tools.internal.model;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringReader;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
-import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.Iterator;
@@ -75,7 +72,6 @@ import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiElement;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeContainer;
-import org.eclipse.pde.api.tools.internal.util.FileManager;
 import org.eclipse.pde.api.tools.internal.util.SourceDefaultHandler;
 import org.eclipse.pde.api.tools.internal.util.Util;
 import org.eclipse.pde.internal.core.TargetWeaver;
@@ -93,9 +89,6 @@ import org.xml.sax.SAXException;
  */
 public class BundleComponent extends Component {
 
-	static final String TMP_API_FILE_PREFIX = "api"; //$NON-NLS-1$
-	static final String TMP_API_FILE_POSTFIX = "tmp"; //$NON-NLS-1$
-
 	/**
 	 * Dictionary parsed from MANIFEST.MF
 	 */
@@ -669,49 +662,21 @@ public class BundleComponent extends Component {
 				}
 			} else {
 				// bundle is jar'd
-				ZipFile zip = null;
+				if (path.equals(".")) { //$NON-NLS-1$
+					return new ArchiveApiTypeContainer(this, fLocation);
+				}
+				// classpath element can be jar or folder
+				// https://bugs.eclipse.org/bugs/show_bug.cgi?id=279729
+				// read it in place rather than extracting it to a temp location
+				ArchivePool pool = ArchivePool.getPool();
+				ZipFile zip = pool.acquire(fLocation);
 				try {
-					if (path.equals(".")) { //$NON-NLS-1$
-						return new ArchiveApiTypeContainer(this, fLocation);
-					} else {
-						// classpath element can be jar or folder
-						// https://bugs.eclipse.org/bugs/show_bug.cgi?id=279729
-						zip = new ZipFile(fLocation);
-						ZipEntry entry = zip.getEntry(path);
-						if (entry != null) {
-							File tmpfolder = new File(System.getProperty("java.io.tmpdir")); //$NON-NLS-1$
-							if (entry.isDirectory()) {
-								// extract the dir and all children
-								File dir = Util.createTempFile(TMP_API_FILE_PREFIX, TMP_API_FILE_POSTFIX);
-								// hack to create a temp directory
-								// see
-								// http://bugs.sun.com/bugdatabase/view_bug.do?bug_id=4735419
-								if (dir.delete()) {
-									dir.mkdir();
-									FileManager.getManager().recordTempFileRoot(dir.getCanonicalPath());
-								}
-								extractDirectory(zip, entry.getName(), dir);
-								if (dir.isDirectory() && dir.exists()) {
-									return new DirectoryApiTypeContainer(this, dir.getCanonicalPath());
-								}
-							} else {
-								File file = extractEntry(zip, entry, tmpfolder);
-								if (Util.isArchive(file.getName())) {
-									File parent = file.getParentFile();
-									if (!parent.equals(tmpfolder)) {
-										FileManager.getManager().recordTempFileRoot(parent.getCanonicalPath());
-									} else {
-										FileManager.getManager().recordTempFileRoot(file.getCanonicalPath());
-									}
-									return new ArchiveApiTypeContainer(this, file.getCanonicalPath());
-								}
-							}
-						}
+					ZipEntry entry = zip.getEntry(path);
+					if (entry != null && (entry.isDirectory() || Util.isArchive(entry.getName()))) {
+						return new NestedArchiveApiTypeContainer(this, fLocation, entry);
 					}
 				} finally {
-					if (zip != null) {
-						zip.close();
-					}
+					pool.release(fLocation, zip);
 				}
 			}
 		} catch (IOException e) {
@@ -720,90 +685,6 @@ public class BundleComponent extends Component {
 		return null;
 	}
 
-	/**
-	 * Extracts a directory from the archive given a path prefix for entries to
-	 * retrieve. <code>null</code> can be passed in as a prefix, causing all
-	 * entries to be be extracted from the archive.
-	 *
-	 * @param zip the {@link ZipFile} to extract from
-	 * @param pathprefix the prefix'ing path to include for extraction
-	 * @param parent the parent directory to extract to
-	 * @throws IOException if the {@link ZipFile} cannot be read or extraction
-	 *             fails to write the file(s)
-	 * @throws IOException, CoreException
-	 */
-	void extractDirectory(ZipFile zip, String pathprefix, File parent) throws IOException, CoreException {
-		Enumeration<? extends ZipEntry> entries = zip.entries();
-		String prefix = (pathprefix == null ? Util.EMPTY_STRING : pathprefix);
-		ZipEntry entry = null;
-		File file = null;
-		while (entries.hasMoreElements()) {
-			entry = entries.nextElement();
-			if (entry.getName().startsWith(prefix)) {
-				String parentDirCanonicalPath = parent.getCanonicalPath();
-				file = new File(parent, entry.getName());
-				String destCanonicalPath = file.getCanonicalPath();
-				if (!destCanonicalPath.startsWith(parentDirCanonicalPath + File.separator)) {
-					throw new CoreException(new Status(IStatus.ERROR, ApiPlugin.PLUGIN_ID, MessageFormat.format("Entry is outside of the target dir: : {0}", entry.getName()), null)); //$NON-NLS-1$
-				}
-				if (entry.isDirectory()) {
-					file.mkdir();
-					continue;
-				}
-				extractEntry(zip, entry, parent);
-			}
-		}
-	}
-
-	/**
-	 * Extracts a non-directory entry from a zip file and returns the File
-	 * handle
-	 *
-	 * @param zip the zip to extract from
-	 * @param entry the entry to extract
-	 * @param parent the parent directory to add the extracted entry to
-	 * @return the file handle to the extracted entry, <code>null</code>
-	 *         otherwise
-	 * @throws IOException
-	 */
-	File extractEntry(ZipFile zip, ZipEntry entry, File parent) throws IOException {
-		InputStream inputStream = null;
-		File file;
-		FileOutputStream outputStream = null;
-		try {
-			inputStream = zip.getInputStream(entry);
-			file = new File(parent, entry.getName());
-			File lparent = file.getParentFile();
-			if (!lparent.exists()) {
-				lparent.mkdirs();
-			}
-			outputStream = new FileOutputStream(file);
-			byte[] bytes = new byte[8096];
-			while (inputStream.available() > 0) {
-				int read = inputStream.read(bytes);
-				if (read > 0) {
-					outputStream.write(bytes, 0, read);
-				}
-			}
-		} finally {
-			if (inputStream != null) {
-				try {
-					inputStream.close();
-				} catch (IOException e) {
-					ApiPlugin.log(e);
-				}
-			}
-			if (outputStream != null) {
-				try {
-					outputStream.close();
-				} catch (IOException e) {
-					ApiPlugin.log(e);
-				}
-			}
-		}
-		return file;
-	}
-
 	public void closingZipFileAndStream(InputStream stream, ZipFile jarFile) {
 		try {
 			if (stream != null) {
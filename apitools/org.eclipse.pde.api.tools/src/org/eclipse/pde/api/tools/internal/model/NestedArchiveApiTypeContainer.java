@@ -0,0 +1,590 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.pde.api.tools.internal.provisional.model.ApiTypeContainerVisitor;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiElement;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeContainer;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
+import org.eclipse.pde.api.tools.internal.util.Util;
+
+/**
+ * {@link IApiTypeContainer} for a <code>Bundle-ClassPath</code> entry of a
+ * jar'd bundle that is itself a folder or an archive inside the bundle jar.
+ * <p>
+ * Class files of a folder entry are read on demand from the bundle jar through
+ * the shared {@link ArchivePool}. A nested archive is read in place: a nested
+ * archive stored without compression is memory mapped from the bundle jar, a
+ * compressed one is inflated into memory once. Its central directory is
+ * indexed and its class files are read on demand from the mapped or inflated
+ * bytes, until the container is closed. Nothing is extracted to disk.
+ * </p>
+ */
+public class NestedArchiveApiTypeContainer extends ApiElement implements IApiTypeContainer {
+
+	/**
+	 * {@link IApiTypeRoot} implementation within a nested folder or archive
+	 */
+	static class NestedArchiveApiTypeRoot extends AbstractApiTypeRoot implements Comparable<NestedArchiveApiTypeRoot> {
+
+		private String fTypeName;
+
+		/**
+		 * Constructs a new handle to an {@link IApiTypeRoot} in the nested
+		 * folder or archive.
+		 *
+		 * @param container the container
+		 * @param entryName name of the class file relative to the nested folder
+		 *            or archive
+		 */
+		public NestedArchiveApiTypeRoot(NestedArchiveApiTypeContainer container, String entryName) {
+			super(container, entryName);
+		}
+
+		@Override
+		public String getTypeName() {
+			if (fTypeName == null) {
+				fTypeName = getName().replace('/', '.').substring(0, getName().length() - Util.DOT_CLASS_SUFFIX.length());
+			}
+			return fTypeName;
+		}
+
+		@Override
+		public byte[] getContents() throws CoreException {
+			return ((NestedArchiveApiTypeContainer) getParent()).getContents(getName());
+		}
+
+		@Override
+		public int compareTo(NestedArchiveApiTypeRoot o) {
+			return getTypeName().compareTo(o.getTypeName());
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj instanceof NestedArchiveApiTypeRoot) {
+				return getName().equals(((NestedArchiveApiTypeRoot) obj).getName()) && getParent().equals(((NestedArchiveApiTypeRoot) obj).getParent());
+			}
+			return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return getName().hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return getTypeName();
+		}
+	}
+
+	private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+	private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+	private static final int END_SIGNATURE = 0x06054b50;
+	private static final int LOCAL_HEADER_LENGTH = 30;
+	private static final int CENTRAL_HEADER_LENGTH = 46;
+	private static final int END_LENGTH = 22;
+	private static final int MAX_COMMENT_LENGTH = 0xFFFF;
+
+	/**
+	 * Location of the bundle jar in the local file system
+	 */
+	private final String fArchive;
+
+	/**
+	 * Name of the folder (ending with '/') or archive entry in the bundle jar
+	 */
+	private final String fEntryName;
+
+	/**
+	 * Whether the entry is a folder rather than a nested archive
+	 */
+	private final boolean fIsFolder;
+
+	/**
+	 * Cache of package names to class file names in that package, or
+	 * <code>null</code> if not yet initialized.
+	 */
+	private Map<String, Set<String>> fPackages;
+
+	/**
+	 * Cache of package names in this container
+	 */
+	private String[] fPackageNames;
+
+	/**
+	 * The bytes of the nested archive, a mapped slice of the bundle jar or the
+	 * inflated entry, or <code>null</code> if not yet read, closed or this
+	 * container is a folder
+	 */
+	private ByteBuffer fNestedArchive;
+
+	/**
+	 * Whether {@link #fNestedArchive} is mapped and must be unmapped on close
+	 */
+	private boolean fMapped;
+
+	/**
+	 * Index of the central directory of the nested archive: entry name ->
+	 * (local header offset, compression method, compressed size, size)
+	 */
+	private Map<String, long[]> fNestedEntries;
+
+	/**
+	 * Constructs an {@link IApiTypeContainer} for the given folder or archive
+	 * entry of the given bundle jar.
+	 *
+	 * @param parent the parent {@link IApiElement} or <code>null</code> if none
+	 * @param archive location of the bundle jar in the local file system
+	 * @param entry the folder or archive entry in the bundle jar
+	 */
+	public NestedArchiveApiTypeContainer(IApiElement parent, String archive, ZipEntry entry) {
+		super(parent, IApiElement.API_TYPE_CONTAINER, archive + '!' + entry.getName());
+		fArchive = archive;
+		fIsFolder = entry.isDirectory();
+		String name = entry.getName();
+		fEntryName = fIsFolder && !name.endsWith("/") ? name + '/' : name; //$NON-NLS-1$
+	}
+
+	@Override
+	public void accept(ApiTypeContainerVisitor visitor) throws CoreException {
+		if (visitor.visit(this)) {
+			init();
+			List<String> packages = new ArrayList<>(fPackages.keySet());
+			Collections.sort(packages);
+			for (String pkg : packages) {
+				if (visitor.visitPackage(pkg)) {
+					List<NestedArchiveApiTypeRoot> classFiles = new ArrayList<>();
+					for (String entryName : fPackages.get(pkg)) {
+						classFiles.add(new NestedArchiveApiTypeRoot(this, entryName));
+					}
+					Collections.sort(classFiles);
+					for (NestedArchiveApiTypeRoot classfile : classFiles) {
+						visitor.visit(pkg, classfile);
+						visitor.end(pkg, classfile);
+					}
+				}
+				visitor.endVisitPackage(pkg);
+			}
+		}
+		visitor.end(this);
+	}
+
+	@Override
+	public IApiTypeRoot findTypeRoot(String qualifiedName) throws CoreException {
+		init();
+		int index = qualifiedName.lastIndexOf('.');
+		String packageName = Util.DEFAULT_PACKAGE_NAME;
+		if (index >= 0) {
+			packageName = qualifiedName.substring(0, index);
+		}
+		Set<String> classFileNames = fPackages.get(packageName);
+		if (classFileNames != null) {
+			String fileName = qualifiedName.replace('.', '/') + Util.DOT_CLASS_SUFFIX;
+			if (classFileNames.contains(fileName)) {
+				return new NestedArchiveApiTypeRoot(this, fileName);
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public IApiTypeRoot findTypeRoot(String qualifiedName, String id) throws CoreException {
+		return findTypeRoot(qualifiedName);
+	}
+
+	@Override
+	public String[] getPackageNames() throws CoreException {
+		init();
+		synchronized (this) {
+			if (fPackageNames == null) {
+				String[] result = fPackages.keySet().toArray(new String[fPackages.size()]);
+				Arrays.sort(result);
+				fPackageNames = result;
+			}
+			return fPackageNames;
+		}
+	}
+
+	@Override
+	public synchronized void close() throws CoreException {
+		ArchivePool.getPool().evict(fArchive);
+		if (fMapped) {
+			Util.unmap(fNestedArchive);
+		}
+		// read again on the next use of a class file
+		fNestedArchive = null;
+		fNestedEntries = null;
+		fMapped = false;
+	}
+
+	@Override
+	public int getContainerType() {
+		return fIsFolder ? FOLDER : ARCHIVE;
+	}
+
+	/**
+	 * Returns the contents of the given class file
+	 *
+	 * @param name class file name relative to the folder or nested archive
+	 * @return class file contents
+	 * @throws CoreException if the class file cannot be read
+	 */
+	synchronized byte[] getContents(String name) throws CoreException {
+		init();
+		if (!fIsFolder) {
+			openNestedArchive();
+			long[] entry = fNestedEntries.get(name);
+			if (entry != null) {
+				try {
+					return readNestedEntry(entry);
+				} catch (IOException e) {
+					abort("Unable to read class file: " + name + " in archive: " + getName(), e); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+			}
+			abort("Class file not found: " + name + " in archive: " + getName(), null); //$NON-NLS-1$ //$NON-NLS-2$
+			return null;
+		}
+		ArchivePool pool = ArchivePool.getPool();
+		ZipFile zipFile = acquire(pool, fArchive);
+		try {
+			ZipEntry entry = zipFile.getEntry(fEntryName + name);
+			if (entry != null) {
+				try (InputStream stream = zipFile.getInputStream(entry)) {
+					return Util.getInputStreamAsByteArray(stream, (int) entry.getSize());
+				}
+			}
+		} catch (IOException e) {
+			abort("Unable to read class file: " + name + " in archive: " + getName(), e); //$NON-NLS-1$ //$NON-NLS-2$
+		} finally {
+			pool.release(fArchive, zipFile);
+		}
+		abort("Class file not found: " + name + " in archive: " + getName(), null); //$NON-NLS-1$ //$NON-NLS-2$
+		return null;
+	}
+
+	/**
+	 * Initializes the cache of packages and types, from the entries of the
+	 * folder in the bundle jar or from the central directory of the nested
+	 * archive.
+	 *
+	 * @throws CoreException if the bundle jar cannot be read
+	 */
+	private synchronized void init() throws CoreException {
+		if (fPackages != null) {
+			return;
+		}
+		Map<String, Set<String>> packages = new HashMap<>();
+		if (!fIsFolder) {
+			openNestedArchive();
+			for (String name : fNestedEntries.keySet()) {
+				if (!name.endsWith("/")) { //$NON-NLS-1$
+					addClassFile(packages, name);
+				}
+			}
+			fPackages = packages;
+			return;
+		}
+		ArchivePool pool = ArchivePool.getPool();
+		ZipFile zipFile = acquire(pool, fArchive);
+		try {
+			Enumeration<? extends ZipEntry> entries = zipFile.entries();
+			while (entries.hasMoreElements()) {
+				ZipEntry entry = entries.nextElement();
+				String name = entry.getName();
+				if (!entry.isDirectory() && name.startsWith(fEntryName)) {
+					addClassFile(packages, name.substring(fEntryName.length()));
+				}
+			}
+		} finally {
+			pool.release(fArchive, zipFile);
+		}
+		fPackages = packages;
+	}
+
+	private static void addClassFile(Map<String, Set<String>> packages, String name) {
+		if (name.endsWith(Util.DOT_CLASS_SUFFIX)) {
+			String pkg = Util.DEFAULT_PACKAGE_NAME;
+			int index = name.lastIndexOf('/');
+			if (index >= 0) {
+				pkg = name.substring(0, index).replace('/', '.');
+			}
+			packages.computeIfAbsent(pkg, p -> new HashSet<>()).add(name);
+		}
+	}
+
+	/**
+	 * Reads the nested archive and indexes its central directory, unless it
+	 * is already open. A nested archive stored without compression is mapped
+	 * from the bundle jar, any other is inflated into memory.
+	 *
+	 * @throws CoreException if the nested archive cannot be read
+	 */
+	private synchronized void openNestedArchive() throws CoreException {
+		if (fNestedArchive != null) {
+			return;
+		}
+		ByteBuffer archive = null;
+		boolean mapped = false;
+		ArchivePool pool = ArchivePool.getPool();
+		ZipFile zipFile = acquire(pool, fArchive);
+		try {
+			ZipEntry entry = zipFile.getEntry(fEntryName);
+			if (entry == null) {
+				abort("Archive not found: " + getName(), null); //$NON-NLS-1$
+			}
+			if (entry.getMethod() == ZipEntry.STORED) {
+				archive = mapStoredEntry();
+				mapped = archive != null;
+			}
+			if (archive == null) {
+				try (InputStream stream = zipFile.getInputStream(entry)) {
+					archive = ByteBuffer.wrap(Util.getInputStreamAsByteArray(stream, (int) entry.getSize()));
+				}
+			}
+			archive.order(ByteOrder.LITTLE_ENDIAN);
+			int end = findEnd(archive);
+			if (end < 0) {
+				throw new IOException("Missing central directory"); //$NON-NLS-1$
+			}
+			long size = Integer.toUnsignedLong(archive.getInt(end + 12));
+			long offset = Integer.toUnsignedLong(archive.getInt(end + 16));
+			if (offset + size > end) {
+				throw new IOException("Corrupt central directory"); //$NON-NLS-1$
+			}
+			ByteBuffer directory = archive.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+			directory.position((int) offset).limit((int) (offset + size));
+			fNestedEntries = readCentralDirectory(directory.slice().order(ByteOrder.LITTLE_ENDIAN), null);
+			fNestedArchive = archive;
+			fMapped = mapped;
+		} catch (IOException | RuntimeException e) {
+			if (mapped) {
+				Util.unmap(archive);
+			}
+			abort("Unable to read nested archive: " + getName(), e); //$NON-NLS-1$
+		} finally {
+			pool.release(fArchive, zipFile);
+		}
+	}
+
+	/**
+	 * Maps the nested archive from the bundle jar. java.util.zip does not
+	 * expose where the data of an entry starts, so it is looked up in the
+	 * central directory and the local header of the bundle jar.
+	 *
+	 * @return the mapped nested archive or <code>null</code> if it cannot be
+	 *         mapped
+	 */
+	private ByteBuffer mapStoredEntry() {
+		try (FileChannel channel = FileChannel.open(Paths.get(fArchive), StandardOpenOption.READ)) {
+			long length = channel.size();
+			int tailLength = (int) Math.min(length, END_LENGTH + MAX_COMMENT_LENGTH);
+			ByteBuffer tail = read(channel, length - tailLength, tailLength);
+			int end = findEnd(tail);
+			if (end < 0) {
+				return null;
+			}
+			long size = Integer.toUnsignedLong(tail.getInt(end + 12));
+			long offset = Integer.toUnsignedLong(tail.getInt(end + 16));
+			if (offset + size > length || size > Integer.MAX_VALUE) {
+				return null;
+			}
+			long[] entry = readCentralDirectory(read(channel, offset, (int) size), fEntryName).get(fEntryName);
+			if (entry == null || entry[1] != ZipEntry.STORED || entry[0] + LOCAL_HEADER_LENGTH > length) {
+				return null;
+			}
+			ByteBuffer header = read(channel, entry[0], LOCAL_HEADER_LENGTH);
+			if (header.getInt(0) != LOCAL_HEADER_SIGNATURE) {
+				return null;
+			}
+			long data = entry[0] + LOCAL_HEADER_LENGTH + Short.toUnsignedInt(header.getShort(26)) + Short.toUnsignedInt(header.getShort(28));
+			if (data + entry[2] > length) {
+				return null;
+			}
+			return channel.map(FileChannel.MapMode.READ_ONLY, data, entry[2]);
+		} catch (IOException e) {
+			// read into memory instead
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the contents of the given entry of the nested archive
+	 *
+	 * @param entry the entry from the index of the central directory
+	 * @return the contents
+	 * @throws IOException if the entry is corrupt or uses an unsupported
+	 *             compression method
+	 */
+	private byte[] readNestedEntry(long[] entry) throws IOException {
+		ByteBuffer archive = fNestedArchive.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		long header = entry[0];
+		if (header + LOCAL_HEADER_LENGTH > archive.limit() || archive.getInt((int) header) != LOCAL_HEADER_SIGNATURE) {
+			throw new IOException("Corrupt local header"); //$NON-NLS-1$
+		}
+		long data = header + LOCAL_HEADER_LENGTH + Short.toUnsignedInt(archive.getShort((int) header + 26)) + Short.toUnsignedInt(archive.getShort((int) header + 28));
+		if (data + entry[2] > archive.limit() || entry[3] > Integer.MAX_VALUE) {
+			throw new IOException("Corrupt entry"); //$NON-NLS-1$
+		}
+		archive.position((int) data).limit((int) (data + entry[2]));
+		byte[] bytes = new byte[(int) entry[3]];
+		if (entry[1] == ZipEntry.STORED) {
+			if (entry[2] != entry[3]) {
+				throw new IOException("Corrupt entry"); //$NON-NLS-1$
+			}
+			archive.get(bytes);
+			return bytes;
+		}
+		if (entry[1] != ZipEntry.DEFLATED) {
+			throw new IOException("Unsupported compression method: " + entry[1]); //$NON-NLS-1$
+		}
+		Inflater inflater = new Inflater(true);
+		try {
+			inflater.setInput(archive);
+			int count = 0;
+			while (count < bytes.length) {
+				int read = inflater.inflate(bytes, count, bytes.length - count);
+				if (read == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+				count += read;
+			}
+			if (count != bytes.length) {
+				throw new IOException("Truncated entry"); //$NON-NLS-1$
+			}
+			return bytes;
+		} catch (DataFormatException e) {
+			throw new IOException(e);
+		} finally {
+			inflater.end();
+		}
+	}
+
+	private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) {
+				throw new IOException("Unexpected end of archive"); //$NON-NLS-1$
+			}
+		}
+		return buffer;
+	}
+
+	/**
+	 * Returns the position of the end of central directory record in the
+	 * given buffer holding the end of an archive
+	 *
+	 * @return the position or <code>-1</code> if there is none
+	 */
+	private static int findEnd(ByteBuffer buffer) {
+		int last = buffer.limit() - END_LENGTH;
+		for (int i = last; i >= 0 && i >= last - MAX_COMMENT_LENGTH; i--) {
+			if (buffer.getInt(i) == END_SIGNATURE) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Reads the entries of the given central directory.
+	 *
+	 * @param directory the central directory
+	 * @param only the name of the only entry to read or <code>null</code> for
+	 *            all entries
+	 * @return entry name -> (local header offset, compression method,
+	 *         compressed size, size)
+	 * @throws IOException if the central directory is corrupt or needs ZIP64
+	 */
+	private static Map<String, long[]> readCentralDirectory(ByteBuffer directory, String only) throws IOException {
+		Map<String, long[]> entries = new HashMap<>();
+		int position = 0;
+		while (position + CENTRAL_HEADER_LENGTH <= directory.limit()) {
+			if (directory.getInt(position) != CENTRAL_HEADER_SIGNATURE) {
+				throw new IOException("Corrupt central directory"); //$NON-NLS-1$
+			}
+			int nameLength = Short.toUnsignedInt(directory.getShort(position + 28));
+			int next = position + CENTRAL_HEADER_LENGTH + nameLength + Short.toUnsignedInt(directory.getShort(position + 30)) + Short.toUnsignedInt(directory.getShort(position + 32));
+			if (next > directory.limit()) {
+				throw new IOException("Corrupt central directory"); //$NON-NLS-1$
+			}
+			byte[] name = new byte[nameLength];
+			ByteBuffer nameBuffer = directory.duplicate();
+			nameBuffer.position(position + CENTRAL_HEADER_LENGTH);
+			nameBuffer.get(name);
+			String entryName = new String(name, StandardCharsets.UTF_8);
+			if (only == null || only.equals(entryName)) {
+				long compressedSize = Integer.toUnsignedLong(directory.getInt(position + 20));
+				long size = Integer.toUnsignedLong(directory.getInt(position + 24));
+				long offset = Integer.toUnsignedLong(directory.getInt(position + 42));
+				if (compressedSize == 0xFFFFFFFFL || size == 0xFFFFFFFFL || offset == 0xFFFFFFFFL) {
+					throw new IOException("ZIP64 archives are not supported"); //$NON-NLS-1$
+				}
+				entries.put(entryName, new long[] { offset, Short.toUnsignedInt(directory.getShort(position + 10)), compressedSize, size });
+			}
+			position = next;
+		}
+		return entries;
+	}
+
+	private ZipFile acquire(ArchivePool pool, String location) throws CoreException {
+		try {
+			return pool.acquire(location);
+		} catch (IOException e) {
+			abort("Failed to open archive: " + location, e); //$NON-NLS-1$
+			return null;
+		}
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj instanceof NestedArchiveApiTypeContainer) {
+			return getName().equals(((NestedArchiveApiTypeContainer) obj).getName());
+		}
+		return false;
+	}
+
+	@Override
+	public int hashCode() {
+		return getName().hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return "Nested Archive Class File Container: " + getName(); //$NON-NLS-1$
+	}
+}
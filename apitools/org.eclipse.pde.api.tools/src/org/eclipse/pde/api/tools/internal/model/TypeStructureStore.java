@@ -0,0 +1,511 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.model;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
+import org.eclipse.pde.api.tools.internal.util.Util;
+
+/**
+ * Keeps the type structures built from class files on disk, so that later
+ * sessions can create {@link IApiType}s without reading and parsing the class
+ * files again.
+ * <p>
+ * Structures are kept per component id and version, and are only returned
+ * for a class file with the same CRC as the class file they were built from.
+ * The structures of a component are stored in segment files which are memory
+ * mapped when the component is first used; a structure is only decoded when
+ * it is requested. Structures built during a session are written to a new
+ * segment, and the segments of a component are merged the next time it is
+ * opened.
+ * </p>
+ * <p>
+ * Segment layout (big endian, strings are an int byte length followed by
+ * UTF-8 bytes):
+ *
+ * <pre>
+ * int magic, int version
+ * int type count, type count * int offset (sorted by type name)
+ * type count * (string type name, long crc, int n, n * byte structure)
+ * </pre>
+ * </p>
+ * <p>
+ * A store must be closed before another store opens the same location, which
+ * merges and deletes the segments the store has mapped.
+ * </p>
+ */
+public final class TypeStructureStore {
+
+	/**
+	 * Constant representing the file extension for a segment file. Value is:
+	 * <code>.types</code>
+	 */
+	public static final String SEGMENT_FILE_EXTENSION = ".types"; //$NON-NLS-1$
+
+	private static final int MAGIC = 0x41505453; // APTS
+	private static final int VERSION = 1;
+
+	/**
+	 * Number of structures built for a component before they are written to a
+	 * new segment
+	 */
+	private static final int SAVE_THRESHOLD = 1000;
+
+	/**
+	 * Components whose structures were not used for this long are deleted
+	 */
+	private static final long MAX_UNUSED_AGE = TimeUnit.DAYS.toMillis(90);
+
+	private static TypeStructureStore fInstance;
+
+	/**
+	 * A structure of a type with the CRC of its class file
+	 */
+	private static final class Structure {
+		final long crc;
+		final byte[] bytes;
+
+		Structure(long crc, byte[] bytes) {
+			this.crc = crc;
+			this.bytes = bytes;
+		}
+	}
+
+	/**
+	 * The structures of one version of a component
+	 */
+	private static final class ComponentStructures {
+		private final File fDirectory;
+		// newest segment first
+		private final List<ByteBuffer> fSegments = new ArrayList<>();
+		private final Map<String, Structure> fPending = new HashMap<>();
+		private int fNextSegment;
+		private boolean fOpened;
+
+		ComponentStructures(File directory) {
+			fDirectory = directory;
+		}
+
+		synchronized Structure get(String typeName, long crc) {
+			open();
+			Structure structure = fPending.get(typeName);
+			if (structure == null) {
+				for (ByteBuffer segment : fSegments) {
+					structure = find(segment, typeName);
+					if (structure != null) {
+						break;
+					}
+				}
+			}
+			return structure != null && structure.crc == crc ? structure : null;
+		}
+
+		synchronized void put(String typeName, Structure structure) {
+			open();
+			fPending.put(typeName, structure);
+			if (fPending.size() >= SAVE_THRESHOLD) {
+				save();
+			}
+		}
+
+		synchronized void save() {
+			if (fPending.isEmpty()) {
+				return;
+			}
+			File file = new File(fDirectory, fNextSegment + SEGMENT_FILE_EXTENSION);
+			try {
+				writeSegment(file, fPending);
+				fSegments.add(0, mapSegment(file));
+				fNextSegment++;
+			} catch (IOException e) {
+				ApiPlugin.log(e);
+			}
+			fPending.clear();
+		}
+
+		/**
+		 * Writes the pending structures and unmaps the segments, which are
+		 * mapped again when the component is used
+		 */
+		synchronized void close() {
+			save();
+			for (ByteBuffer segment : fSegments) {
+				Util.unmap(segment);
+			}
+			fSegments.clear();
+			fOpened = false;
+		}
+
+		/**
+		 * Maps the segments of the component, merging them first if there are
+		 * several
+		 */
+		private void open() {
+			if (fOpened) {
+				return;
+			}
+			fOpened = true;
+			fDirectory.mkdirs();
+			fDirectory.setLastModified(System.currentTimeMillis());
+			File[] files = fDirectory.listFiles((dir, name) -> name.endsWith(SEGMENT_FILE_EXTENSION));
+			if (files == null || files.length == 0) {
+				return;
+			}
+			int[] numbers = new int[files.length];
+			for (int i = 0; i < files.length; i++) {
+				numbers[i] = getSegmentNumber(files[i]);
+				fNextSegment = Math.max(fNextSegment, numbers[i] + 1);
+			}
+			if (files.length > 1) {
+				files = new File[] { merge(files, numbers) };
+				if (files[0] == null) {
+					return;
+				}
+			}
+			try {
+				fSegments.add(mapSegment(files[0]));
+			} catch (IOException e) {
+				files[0].delete();
+			}
+		}
+
+		/**
+		 * Merges the given segments into a new one, later segments replacing
+		 * the structures of earlier ones, and deletes them
+		 *
+		 * @return the merged segment or <code>null</code> if there is none
+		 */
+		private File merge(File[] files, int[] numbers) {
+			Integer[] order = new Integer[files.length];
+			for (int i = 0; i < order.length; i++) {
+				order[i] = Integer.valueOf(i);
+			}
+			Arrays.sort(order, (i1, i2) -> Integer.compare(numbers[i1], numbers[i2]));
+			Map<String, Structure> structures = new HashMap<>();
+			for (Integer index : order) {
+				try {
+					readSegment(ByteBuffer.wrap(Files.readAllBytes(files[index].toPath())), structures);
+				} catch (IOException e) {
+					// the structures are built again
+				}
+			}
+			File merged = null;
+			if (!structures.isEmpty()) {
+				merged = new File(fDirectory, fNextSegment + SEGMENT_FILE_EXTENSION);
+				try {
+					writeSegment(merged, structures);
+					fNextSegment++;
+				} catch (IOException e) {
+					ApiPlugin.log(e);
+					merged = null;
+				}
+			}
+			for (File file : files) {
+				file.delete();
+			}
+			return merged;
+		}
+	}
+
+	private final File fLocation;
+	private final Map<String, ComponentStructures> fComponents = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a store keeping its files in the given directory.
+	 *
+	 * @param location the directory of the store or <code>null</code> to keep
+	 *            no structures
+	 */
+	public TypeStructureStore(File location) {
+		fLocation = location;
+	}
+
+	/**
+	 * Returns the store of the API tools plug-in, which keeps no structures
+	 * when not running in a framework.
+	 *
+	 * @return the store
+	 */
+	public static synchronized TypeStructureStore getStore() {
+		if (fInstance == null) {
+			File location = null;
+			if (ApiPlugin.isRunningInFramework()) {
+				location = ApiPlugin.getDefault().getStateLocation().append(".type_structures").toFile(); //$NON-NLS-1$
+			}
+			fInstance = new TypeStructureStore(location);
+			fInstance.deleteUnusedComponents();
+		}
+		return fInstance;
+	}
+
+	/**
+	 * Writes the structures built during this session and closes the store,
+	 * called when the plug-in is stopped.
+	 */
+	public static synchronized void shutdown() {
+		if (fInstance != null) {
+			fInstance.close();
+			fInstance = null;
+		}
+	}
+
+	/**
+	 * Returns the type structure stored for the given class file or
+	 * <code>null</code> if there is none.
+	 *
+	 * @param component the component of the type
+	 * @param typeName the fully qualified name of the type
+	 * @param crc the CRC of the class file of the type
+	 * @param storage the class file of the type
+	 * @return the type structure or <code>null</code>
+	 */
+	public IApiType getTypeStructure(IApiComponent component, String typeName, long crc, IApiTypeRoot storage) {
+		ComponentStructures structures = getComponentStructures(component);
+		if (structures == null) {
+			return null;
+		}
+		Structure structure = structures.get(typeName, crc);
+		if (structure == null) {
+			return null;
+		}
+		try {
+			return ApiType.read(new DataInputStream(new ByteArrayInputStream(structure.bytes)), component, typeName, storage);
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Stores the structure of a type built from a class file.
+	 *
+	 * @param component the component of the type
+	 * @param crc the CRC of the class file of the type
+	 * @param type the type structure
+	 */
+	public void storeTypeStructure(IApiComponent component, long crc, IApiType type) {
+		ComponentStructures structures = getComponentStructures(component);
+		if (structures == null || !(type instanceof ApiType)) {
+			return;
+		}
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			((ApiType) type).write(out);
+		} catch (IOException e) {
+			// not stored, the structure is built again
+			return;
+		}
+		structures.put(type.getName(), new Structure(crc, bytes.toByteArray()));
+	}
+
+	/**
+	 * Writes the structures built since they were last written.
+	 */
+	public void save() {
+		for (ComponentStructures structures : fComponents.values()) {
+			structures.save();
+		}
+	}
+
+	/**
+	 * Writes the structures built since they were last written and unmaps the
+	 * segments of the store. The segments are mapped again when the store is
+	 * used after it was closed.
+	 */
+	public void close() {
+		for (ComponentStructures structures : fComponents.values()) {
+			structures.close();
+		}
+	}
+
+	private ComponentStructures getComponentStructures(IApiComponent component) {
+		if (fLocation == null || component == null || component.getSymbolicName() == null || component.getVersion() == null) {
+			return null;
+		}
+		String key = (component.getSymbolicName() + '_' + component.getVersion()).replaceAll("[^\\w.-]", "_"); //$NON-NLS-1$ //$NON-NLS-2$
+		return fComponents.computeIfAbsent(key, k -> new ComponentStructures(new File(fLocation, k)));
+	}
+
+	private void deleteUnusedComponents() {
+		File[] directories = fLocation != null ? fLocation.listFiles(File::isDirectory) : null;
+		if (directories == null) {
+			return;
+		}
+		long oldest = System.currentTimeMillis() - MAX_UNUSED_AGE;
+		for (File directory : directories) {
+			if (directory.lastModified() < oldest) {
+				File[] files = directory.listFiles();
+				if (files != null) {
+					for (File file : files) {
+						file.delete();
+					}
+				}
+				directory.delete();
+			}
+		}
+	}
+
+	private static int getSegmentNumber(File file) {
+		String name = file.getName();
+		try {
+			return Integer.parseInt(name.substring(0, name.length() - SEGMENT_FILE_EXTENSION.length()));
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	private static ByteBuffer mapSegment(File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			checkHeader(buffer);
+			return buffer;
+		}
+	}
+
+	private static int checkHeader(ByteBuffer buffer) throws IOException {
+		try {
+			if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+				throw new IOException("Unsupported type structure segment"); //$NON-NLS-1$
+			}
+			int count = buffer.getInt(8);
+			if (count < 0 || 12 + (long) count * 4 > buffer.limit()) {
+				throw new IOException("Corrupt type structure segment"); //$NON-NLS-1$
+			}
+			return count;
+		} catch (IndexOutOfBoundsException e) {
+			throw new IOException("Truncated type structure segment", e); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Binary searches the type name in the given segment.
+	 *
+	 * @return the structure of the type or <code>null</code> if the segment
+	 *         has none or is corrupt
+	 */
+	private static Structure find(ByteBuffer segment, String typeName) {
+		ByteBuffer buffer = segment.duplicate();
+		try {
+			int low = 0;
+			int high = buffer.getInt(8) - 1;
+			while (low <= high) {
+				int mid = (low + high) >>> 1;
+				buffer.position(buffer.getInt(12 + mid * 4));
+				int cmp = readString(buffer).compareTo(typeName);
+				if (cmp < 0) {
+					low = mid + 1;
+				} else if (cmp > 0) {
+					high = mid - 1;
+				} else {
+					return readStructure(buffer);
+				}
+			}
+		} catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+			// treated as missing, the structure is built again
+		}
+		return null;
+	}
+
+	private static void readSegment(ByteBuffer buffer, Map<String, Structure> structures) throws IOException {
+		int count = checkHeader(buffer);
+		try {
+			for (int i = 0; i < count; i++) {
+				buffer.position(buffer.getInt(12 + i * 4));
+				String typeName = readString(buffer);
+				structures.put(typeName, readStructure(buffer));
+			}
+		} catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+			throw new IOException("Corrupt type structure segment", e); //$NON-NLS-1$
+		}
+	}
+
+	private static Structure readStructure(ByteBuffer buffer) {
+		long crc = buffer.getLong();
+		int length = buffer.getInt();
+		if (length < 0 || length > buffer.remaining()) {
+			throw new BufferUnderflowException();
+		}
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return new Structure(crc, bytes);
+	}
+
+	private static void writeSegment(File file, Map<String, Structure> structures) throws IOException {
+		Map<String, Structure> sorted = new TreeMap<>(structures);
+		ByteArrayOutputStream header = new ByteArrayOutputStream();
+		ByteArrayOutputStream entries = new ByteArrayOutputStream();
+		try (DataOutputStream hout = new DataOutputStream(header); DataOutputStream eout = new DataOutputStream(entries)) {
+			hout.writeInt(MAGIC);
+			hout.writeInt(VERSION);
+			hout.writeInt(sorted.size());
+			int entriesOffset = 12 + sorted.size() * 4;
+			for (Entry<String, Structure> entry : sorted.entrySet()) {
+				hout.writeInt(entriesOffset + eout.size());
+				byte[] name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+				eout.writeInt(name.length);
+				eout.write(name);
+				eout.writeLong(entry.getValue().crc);
+				eout.writeInt(entry.getValue().bytes.length);
+				eout.write(entry.getValue().bytes);
+			}
+		}
+		File tmp = new File(file.getParentFile(), file.getName() + ".tmp"); //$NON-NLS-1$
+		try {
+			try (BufferedOutputStream out = new BufferedOutputStream(new FileOutputStream(tmp))) {
+				header.writeTo(out);
+				entries.writeTo(out);
+			}
+			Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			tmp.delete();
+			throw e;
+		}
+	}
+
+	private static String readString(ByteBuffer buffer) {
+		int length = buffer.getInt();
+		if (length < 0 || length > buffer.remaining()) {
+			throw new BufferUnderflowException();
+		}
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2019 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,10 +15,12 @@ package org.eclipse.pde.api.tools.internal.provisional.comparator;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.stream.IntStream;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.jdt.core.Flags;
 import org.eclipse.pde.api.tools.internal.comparator.ClassFileComparator;
@@ -51,6 +53,13 @@ public class ApiComparator {
 	 */
 	public static final IDelta NO_DELTA = new Delta();
 
+	/**
+	 * Whether the components of two baselines are compared on several threads
+	 * by default. Enabled with the system property
+	 * <code>org.eclipse.pde.api.tools.parallelComparison=true</code>.
+	 */
+	public static final boolean PARALLEL_COMPARISON = Boolean.getBoolean("org.eclipse.pde.api.tools.parallelComparison"); //$NON-NLS-1$
+
 	/**
 	 * Returns a delta for a API component version change
 	 *
@@ -103,6 +112,34 @@ public class ApiComparator {
 	 * @throws IllegalArgumentException if one of the two baselines is null
 	 */
 	public static IDelta compare(final IApiBaseline referenceBaseline, final IApiBaseline baseline, final int visibilityModifiers, final boolean force, final IProgressMonitor monitor) {
+		return compare(referenceBaseline, baseline, visibilityModifiers, force, PARALLEL_COMPARISON, monitor);
+	}
+
+	/**
+	 * Returns a delta that corresponds to the difference between the given
+	 * baseline and the reference.
+	 * <p>
+	 * If <code>parallel</code> is set, the components are compared on several
+	 * threads, each into its own delta. These deltas are merged in the order of
+	 * the reference components, so the resulting delta is the same as the one of
+	 * a sequential comparison.
+	 * </p>
+	 *
+	 * @param referenceBaseline the given API baseline which is used as the
+	 *            reference
+	 * @param baseline the given API baseline to compare with
+	 * @param visibilityModifiers the given visibility that triggers what
+	 *            visibility should be used for the comparison
+	 * @param force a flag to force the comparison of nested API components with
+	 *            the same versions
+	 * @param parallel whether to compare the components on several threads
+	 * @param monitor
+	 *
+	 * @return a delta, an empty delta if no difference is found or null if the
+	 *         delta detection failed
+	 * @throws IllegalArgumentException if one of the two baselines is null
+	 */
+	public static IDelta compare(final IApiBaseline referenceBaseline, final IApiBaseline baseline, final int visibilityModifiers, final boolean force, final boolean parallel, final IProgressMonitor monitor) {
 		SubMonitor localmonitor = SubMonitor.convert(monitor, 2);
 		try {
 			if (referenceBaseline == null || baseline == null) {
@@ -113,36 +150,35 @@ public class ApiComparator {
 			Set<String> apiComponentsIds = new HashSet<>();
 			final Delta globalDelta = new Delta();
 			SubMonitor apiLoopMonitor = localmonitor.split(1).setWorkRemaining(apiComponents.length);
-			for (IApiComponent apiComponentMainLoop : apiComponents) {
-				apiLoopMonitor.split(1);
-				IApiComponent apiComponent = apiComponentMainLoop;
+			IDelta[] deltas = new IDelta[apiComponents.length];
+			if (parallel) {
+				IntStream.range(0, apiComponents.length).parallel().forEach(i -> {
+					if (apiLoopMonitor.isCanceled()) {
+						return;
+					}
+					deltas[i] = compareComponent(apiComponents[i], referenceBaseline, baseline, visibilityModifiers, force, null);
+					synchronized (apiLoopMonitor) {
+						apiLoopMonitor.worked(1);
+					}
+				});
+				if (apiLoopMonitor.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+			} else {
+				for (int i = 0; i < apiComponents.length; i++) {
+					deltas[i] = compareComponent(apiComponents[i], referenceBaseline, baseline, visibilityModifiers, force, apiLoopMonitor.split(1));
+				}
+			}
+			for (int i = 0; i < apiComponents.length; i++) {
+				IApiComponent apiComponent = apiComponents[i];
 				if (!apiComponent.isSystemComponent()) {
 					String id = apiComponent.getSymbolicName();
-					IApiComponent apiComponentBaseline = baseline.getApiComponent(id);
-					IDelta delta = null;
-					if (apiComponentBaseline == null) {
-						// report removal of an API component
-						delta = new Delta(null, IDelta.API_BASELINE_ELEMENT_TYPE, IDelta.REMOVED, IDelta.API_COMPONENT, null, id, id);
-					} else {
+					if (baseline.getApiComponent(id) != null) {
 						apiComponentsIds.add(id);
-						String versionString = apiComponent.getVersion();
-						String versionString2 = apiComponentBaseline.getVersion();
-						IDelta bundleVersionChangesDelta = checkBundleVersionChanges(apiComponentBaseline, id, versionString, versionString2);
-						if (bundleVersionChangesDelta != null) {
-							globalDelta.add(bundleVersionChangesDelta);
-						}
-						if (!versionString.equals(versionString2) || force) {
-							long time = System.currentTimeMillis();
-							try {
-								delta = compare(apiComponent, apiComponentBaseline, referenceBaseline, baseline, visibilityModifiers, localmonitor.split(1));
-							} finally {
-								if (ApiPlugin.DEBUG_API_COMPARATOR) {
-									System.out.println("Time spent for " + id + " " + versionString + " : " + (System.currentTimeMillis() - time) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
-								}
-							}
-						}
 					}
-					if (delta != null && delta != NO_DELTA) {
+				}
+				if (deltas[i] != null) {
+					for (IDelta delta : deltas[i].getChildren()) {
 						globalDelta.add(delta);
 					}
 				}
@@ -165,6 +201,56 @@ public class ApiComparator {
 		}
 	}
 
+	/**
+	 * Returns the deltas of the given reference component against the
+	 * component with the same id in the given baseline, collected as the
+	 * children of a delta owned by the caller. The bundle version delta comes
+	 * first, followed by the delta of the components.
+	 *
+	 * @param apiComponent the component of the reference baseline
+	 * @param referenceBaseline the reference baseline
+	 * @param baseline the baseline to compare with
+	 * @param visibilityModifiers the visibility used for the comparison
+	 * @param force whether components with the same versions are compared
+	 * @param monitor progress monitor or <code>null</code>
+	 * @return the deltas of the component or <code>null</code> for a system
+	 *         component
+	 */
+	private static IDelta compareComponent(IApiComponent apiComponent, IApiBaseline referenceBaseline, IApiBaseline baseline, int visibilityModifiers, boolean force, IProgressMonitor monitor) {
+		if (apiComponent.isSystemComponent()) {
+			return null;
+		}
+		final Delta componentDelta = new Delta();
+		String id = apiComponent.getSymbolicName();
+		IApiComponent apiComponentBaseline = baseline.getApiComponent(id);
+		IDelta delta = null;
+		if (apiComponentBaseline == null) {
+			// report removal of an API component
+			delta = new Delta(null, IDelta.API_BASELINE_ELEMENT_TYPE, IDelta.REMOVED, IDelta.API_COMPONENT, null, id, id);
+		} else {
+			String versionString = apiComponent.getVersion();
+			String versionString2 = apiComponentBaseline.getVersion();
+			IDelta bundleVersionChangesDelta = checkBundleVersionChanges(apiComponentBaseline, id, versionString, versionString2);
+			if (bundleVersionChangesDelta != null) {
+				componentDelta.add(bundleVersionChangesDelta);
+			}
+			if (!versionString.equals(versionString2) || force) {
+				long time = System.currentTimeMillis();
+				try {
+					delta = compare(apiComponent, apiComponentBaseline, referenceBaseline, baseline, visibilityModifiers, monitor);
+				} finally {
+					if (ApiPlugin.DEBUG_API_COMPARATOR) {
+						System.out.println("Time spent for " + id + " " + versionString + " : " + (System.currentTimeMillis() - time) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+					}
+				}
+			}
+		}
+		if (delta != null && delta != NO_DELTA) {
+			componentDelta.add(delta);
+		}
+		return componentDelta;
+	}
+
 	/**
 	 * Returns a delta that corresponds to the difference between the given
 	 * component and the reference baseline.
@@ -544,6 +630,34 @@ public class ApiComparator {
 	 *             visited
 	 */
 	public static IDelta compare(final IApiScope scope, final IApiBaseline baseline, final int visibilityModifiers, final boolean force, final boolean continueOnResolverError, final IProgressMonitor monitor) throws CoreException {
+		return compare(scope, baseline, visibilityModifiers, force, continueOnResolverError, PARALLEL_COMPARISON, monitor);
+	}
+
+	/**
+	 * Returns a delta that corresponds to the comparison of the given scope
+	 * with the given API baseline. Baselines of the scope are compared on
+	 * several threads if <code>parallel</code> is set.
+	 *
+	 * @param scope the given scope for the comparison
+	 * @param baseline the given API baseline to compare with
+	 * @param visibilityModifiers the given visibility that triggers what
+	 *            visibility should be used for the comparison
+	 * @param force a flag to force the comparison of nested API components with
+	 *            the same versions
+	 * @param continueOnResolverError if <code>true</code> the comparison will
+	 *            continue even if a component in the scope has a resolver error
+	 * @param parallel whether to compare the components of the baselines of the
+	 *            scope on several threads
+	 * @param monitor the given progress monitor to report progress
+	 *
+	 * @return a delta, an empty delta if no difference is found or null if the
+	 *         delta detection failed. If set to continue on resolver error a
+	 *         delta, possibly empty, will always be returned
+	 * @throws IllegalArgumentException if one of the two baselines is null
+	 *             CoreException if one of the element in the scope cannot be
+	 *             visited
+	 */
+	public static IDelta compare(final IApiScope scope, final IApiBaseline baseline, final int visibilityModifiers, final boolean force, final boolean continueOnResolverError, final boolean parallel, final IProgressMonitor monitor) throws CoreException {
 
 		if (scope == null || baseline == null) {
 			throw new IllegalArgumentException("None of the scope or the baseline must be null"); //$NON-NLS-1$
@@ -552,6 +666,7 @@ public class ApiComparator {
 		try {
 			final Set<IDelta> deltas = new HashSet<>();
 			final CompareApiScopeVisitor visitor = new CompareApiScopeVisitor(deltas, baseline, force, visibilityModifiers, continueOnResolverError, localmonitor.split(1));
+			visitor.setParallel(parallel);
 			scope.accept(visitor);
 
 			// If set to continue on error, return whatever deltas were
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2013 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -38,6 +38,7 @@ public class CompareApiScopeVisitor extends ApiScopeVisitor {
 	boolean force;
 	boolean continueOnResolverError = false;
 	boolean containsErrors = false;
+	boolean parallel = ApiComparator.PARALLEL_COMPARISON;
 	SubMonitor monitor;
 
 	public CompareApiScopeVisitor(final Set<IDelta> deltas, final IApiBaseline baseline, final boolean force, final int visibilityModifiers, final boolean continueOnResolverError, final SubMonitor monitor) {
@@ -49,10 +50,20 @@ public class CompareApiScopeVisitor extends ApiScopeVisitor {
 		this.monitor = monitor;
 	}
 
+	/**
+	 * Sets whether the components of a visited baseline are compared on
+	 * several threads.
+	 *
+	 * @param parallel whether to compare in parallel
+	 */
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+
 	@Override
 	public boolean visit(IApiBaseline baseline) throws CoreException {
 		this.monitor.setWorkRemaining(100).split(1);
-		IDelta delta = ApiComparator.compare(this.referenceBaseline, baseline, this.visibilityModifiers, this.force, null);
+		IDelta delta = ApiComparator.compare(this.referenceBaseline, baseline, this.visibilityModifiers, this.force, this.parallel, null);
 		if (delta != null) {
 			delta.accept(new DeltaVisitor() {
 				@Override
@@ -0,0 +1,340 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.pde.api.tools.internal.provisional.Factory;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IComponentDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IElementDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IMemberDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IMethodDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IReferenceTypeDescriptor;
+
+/**
+ * An append-only binary log of {@link IReferenceDescriptor}s written while a
+ * use scan runs. Appending never reads back what was written before, the log
+ * is collated into the XML report once at the end of the scan (see
+ * {@link XmlSearchReporter}). A log that was not collated can be read directly
+ * by the {@link UseScanParser}.
+ * <p>
+ * Strings are written as their length in UTF-8 bytes followed by the bytes,
+ * there is no limit on the length of a problem message or member name.
+ * </p>
+ */
+public class ReferenceDescriptorLog {
+
+	/**
+	 * Name of the log file in the root of a use scan report
+	 */
+	public static final String LOG_FILE = "references.log"; //$NON-NLS-1$
+
+	private static final int MAGIC = 0x41505552; // APUR
+	private static final int VERSION = 2;
+
+	private final File fFile;
+	private DataOutputStream fOut;
+
+	/**
+	 * Constructor
+	 *
+	 * @param file the log file, created on the first append if it does not
+	 *            exist
+	 */
+	public ReferenceDescriptorLog(File file) {
+		fFile = file;
+	}
+
+	/**
+	 * @return the log file
+	 */
+	public File getFile() {
+		return fFile;
+	}
+
+	/**
+	 * Appends the given references to the log.
+	 *
+	 * @param references the references to append
+	 * @throws IOException if the log cannot be written
+	 */
+	public synchronized void append(IReferenceDescriptor[] references) throws IOException {
+		if (fOut == null) {
+			boolean exists = fFile.length() > 0;
+			File parent = fFile.getParentFile();
+			if (parent != null && !parent.exists()) {
+				parent.mkdirs();
+			}
+			fOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fFile, true)));
+			if (!exists) {
+				fOut.writeInt(MAGIC);
+				fOut.writeInt(VERSION);
+			}
+		}
+		for (IReferenceDescriptor reference : references) {
+			writeReference(fOut, reference);
+		}
+	}
+
+	/**
+	 * Flushes and closes the log. It is reopened by the next append.
+	 *
+	 * @throws IOException if the log cannot be written
+	 */
+	public synchronized void close() throws IOException {
+		if (fOut != null) {
+			try {
+				fOut.close();
+			} finally {
+				fOut = null;
+			}
+		}
+	}
+
+	/**
+	 * Reads the references of a log in batches, without holding more than one
+	 * batch in memory.
+	 */
+	public static final class Reader implements Closeable {
+		private final DataInputStream fIn;
+		private boolean fEnd = false;
+
+		/**
+		 * Opens the given log for reading
+		 *
+		 * @param file the log file
+		 * @throws IOException if the file cannot be read or is not a reference
+		 *             log
+		 */
+		public Reader(File file) throws IOException {
+			fIn = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+			try {
+				if (fIn.readInt() != MAGIC || fIn.readInt() != VERSION) {
+					throw new IOException("Unsupported reference log: " + file); //$NON-NLS-1$
+				}
+			} catch (IOException e) {
+				fIn.close();
+				throw e;
+			}
+		}
+
+		/**
+		 * Reads the next references of the log. A record truncated by an
+		 * interrupted scan ends the log.
+		 *
+		 * @param max the maximum number of references to read
+		 * @return the next references in the order they were appended, an
+		 *         empty array at the end of the log
+		 * @throws IOException if the log cannot be read
+		 */
+		public IReferenceDescriptor[] next(int max) throws IOException {
+			List<IReferenceDescriptor> references = new ArrayList<>(Math.min(max, 1024));
+			while (!fEnd && references.size() < max) {
+				IComponentDescriptor component;
+				try {
+					component = readComponent(fIn);
+				} catch (EOFException e) {
+					// end of the log
+					fEnd = true;
+					break;
+				}
+				try {
+					references.add(readReference(fIn, component));
+				} catch (EOFException e) {
+					// truncated record
+					fEnd = true;
+				}
+			}
+			return references.toArray(new IReferenceDescriptor[references.size()]);
+		}
+
+		@Override
+		public void close() throws IOException {
+			fIn.close();
+		}
+	}
+
+	/**
+	 * Reads all references of the given log. A record truncated by an
+	 * interrupted scan is ignored.
+	 *
+	 * @param file the log file
+	 * @return the references in the order they were appended
+	 * @throws IOException if the file cannot be read or is not a reference log
+	 */
+	public static List<IReferenceDescriptor> read(File file) throws IOException {
+		List<IReferenceDescriptor> references = new ArrayList<>();
+		try (Reader reader = new Reader(file)) {
+			IReferenceDescriptor[] batch;
+			while ((batch = reader.next(Integer.MAX_VALUE)).length > 0) {
+				references.addAll(Arrays.asList(batch));
+			}
+		}
+		return references;
+	}
+
+	/**
+	 * Writes a single reference in the record format of the log.
+	 *
+	 * @param out the stream to write to
+	 * @param reference the reference to write
+	 * @throws IOException if the reference cannot be written
+	 */
+	static void writeReference(DataOutputStream out, IReferenceDescriptor reference) throws IOException {
+		writeComponent(out, reference.getComponent());
+		writeMember(out, reference.getMember());
+		out.writeInt(reference.getLineNumber());
+		writeComponent(out, reference.getReferencedComponent());
+		writeMember(out, reference.getReferencedMember());
+		out.writeInt(reference.getReferenceKind());
+		out.writeInt(reference.getReferenceFlags());
+		out.writeInt(reference.getVisibility());
+		String[] messages = reference.getProblemMessages();
+		if (messages == null) {
+			out.writeInt(-1);
+		} else {
+			out.writeInt(messages.length);
+			for (String message : messages) {
+				writeUTF8(out, message);
+			}
+		}
+	}
+
+	/**
+	 * Reads a single reference written by
+	 * {@link #writeReference(DataOutputStream, IReferenceDescriptor)}.
+	 *
+	 * @param in the stream to read from
+	 * @return the reference
+	 * @throws IOException if the reference cannot be read
+	 */
+	static IReferenceDescriptor readReference(DataInputStream in) throws IOException {
+		return readReference(in, readComponent(in));
+	}
+
+	private static IReferenceDescriptor readReference(DataInputStream in, IComponentDescriptor component) throws IOException {
+		IMemberDescriptor member = readMember(in);
+		int line = in.readInt();
+		IComponentDescriptor referencedComponent = readComponent(in);
+		IMemberDescriptor referencedMember = readMember(in);
+		int kind = in.readInt();
+		int flags = in.readInt();
+		int visibility = in.readInt();
+		String[] messages = null;
+		int count = in.readInt();
+		if (count >= 0) {
+			messages = new String[count];
+			for (int i = 0; i < count; i++) {
+				messages[i] = readUTF8(in);
+			}
+		}
+		return Factory.referenceDescriptor(component, member, line, referencedComponent, referencedMember, kind, flags, visibility, messages);
+	}
+
+	private static void writeComponent(DataOutputStream out, IComponentDescriptor component) throws IOException {
+		writeUTF8(out, component.getId());
+		writeString(out, component.getVersion());
+	}
+
+	private static IComponentDescriptor readComponent(DataInputStream in) throws IOException {
+		String id = readUTF8(in);
+		return Factory.componentDescriptor(id, readString(in));
+	}
+
+	private static void writeMember(DataOutputStream out, IMemberDescriptor member) throws IOException {
+		if (member == null) {
+			out.writeByte(-1);
+			return;
+		}
+		int type = member.getElementType();
+		out.writeByte(type);
+		switch (type) {
+			case IElementDescriptor.TYPE:
+				writeUTF8(out, ((IReferenceTypeDescriptor) member).getQualifiedName());
+				break;
+			case IElementDescriptor.FIELD:
+				writeUTF8(out, member.getEnclosingType().getQualifiedName());
+				writeUTF8(out, member.getName());
+				break;
+			case IElementDescriptor.METHOD:
+				writeUTF8(out, member.getEnclosingType().getQualifiedName());
+				writeUTF8(out, member.getName());
+				writeUTF8(out, ((IMethodDescriptor) member).getSignature());
+				break;
+			default:
+				throw new IOException("Unsupported member: " + member); //$NON-NLS-1$
+		}
+	}
+
+	private static IMemberDescriptor readMember(DataInputStream in) throws IOException {
+		int type = in.readByte();
+		switch (type) {
+			case -1:
+				return null;
+			case IElementDescriptor.TYPE:
+				return Factory.typeDescriptor(readUTF8(in));
+			case IElementDescriptor.FIELD:
+				return Factory.fieldDescriptor(readUTF8(in), readUTF8(in));
+			case IElementDescriptor.METHOD:
+				return Factory.methodDescriptor(readUTF8(in), readUTF8(in), readUTF8(in));
+			default:
+				throw new IOException("Corrupt reference log"); //$NON-NLS-1$
+		}
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			writeUTF8(out, value);
+		}
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		return in.readBoolean() ? readUTF8(in) : null;
+	}
+
+	/**
+	 * Writes the given string as its length in UTF-8 bytes followed by the
+	 * bytes. Unlike {@link DataOutputStream#writeUTF(String)} the length is
+	 * not limited to 65535 bytes.
+	 */
+	private static void writeUTF8(DataOutputStream out, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readUTF8(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0) {
+			throw new IOException("Corrupt reference log"); //$NON-NLS-1$
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
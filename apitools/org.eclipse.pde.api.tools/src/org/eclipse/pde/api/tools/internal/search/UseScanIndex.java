@@ -0,0 +1,336 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.search;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IComponentDescriptor;
+
+/**
+ * An index of the references of an API use scan, keyed by the id of the
+ * referenced component and the referenced type. The index is built once from
+ * the XML reports (and the reference log) of a scan, after which the
+ * references to some types of a component are read without parsing the
+ * reports again.
+ * <p>
+ * The table of contents is read when the index is opened, the references
+ * themselves are only read when they are looked up.
+ * </p>
+ * <p>
+ * Index layout (big endian, references are in the record format of the
+ * {@link ReferenceDescriptorLog}):
+ *
+ * <pre>
+ * int magic, int version, long fingerprint, UTF scan location
+ * blocks of references
+ * int component count, component count * (UTF component id, int type count,
+ *     type count * (UTF type name, int block count,
+ *         block count * (long offset, int length, int reference count)))
+ * long offset of the component count
+ * </pre>
+ * </p>
+ */
+public final class UseScanIndex {
+
+	/**
+	 * Constant representing the file extension for an index file. Value is:
+	 * <code>.index</code>
+	 */
+	public static final String INDEX_FILE_EXTENSION = ".index"; //$NON-NLS-1$
+
+	private static final int MAGIC = 0x41505549; // APUI
+	private static final int VERSION = 3;
+	private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	private final File fFile;
+	private final long fFingerprint;
+	/**
+	 * component id -> type name -> blocks as (offset, length, count) triples
+	 */
+	private final Map<String, Map<String, long[]>> fContents;
+
+	private UseScanIndex(File file, long fingerprint, Map<String, Map<String, long[]>> contents) {
+		fFile = file;
+		fFingerprint = fingerprint;
+		fContents = contents;
+	}
+
+	/**
+	 * Visits all references of a scan and writes them to the index, one
+	 * referenced component at a time
+	 */
+	private static final class IndexWriter extends UseScanReferenceVisitor {
+		private final DataOutputStream fOut;
+		private final UseScanReferences fReferences;
+		private final Map<String, Map<String, List<long[]>>> fBlocks = new HashMap<>();
+		private long fOffset;
+
+		IndexWriter(DataOutputStream out, UseScanReferences references) {
+			super(null, null, references);
+			fOut = out;
+			fReferences = references;
+			fOffset = out.size();
+		}
+
+		@Override
+		public void endVisitComponent(IComponentDescriptor target) {
+			try {
+				Map<String, List<long[]>> types = fBlocks.computeIfAbsent(target.getId(), id -> new HashMap<>());
+				for (Entry<String, List<IReferenceDescriptor>> entry : fReferences.fReferencesMap.entrySet()) {
+					ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+					DataOutputStream out = new DataOutputStream(bytes);
+					for (IReferenceDescriptor reference : entry.getValue()) {
+						ReferenceDescriptorLog.writeReference(out, reference);
+					}
+					out.flush();
+					bytes.writeTo(fOut);
+					types.computeIfAbsent(entry.getKey(), type -> new ArrayList<>()).add(new long[] { fOffset, bytes.size(), entry.getValue().size() });
+					fOffset += bytes.size();
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			} finally {
+				fReferences.clear();
+			}
+		}
+
+		void writeContents() throws IOException {
+			long offset = fOffset;
+			fOut.writeInt(fBlocks.size());
+			for (Entry<String, Map<String, List<long[]>>> component : fBlocks.entrySet()) {
+				fOut.writeUTF(component.getKey());
+				fOut.writeInt(component.getValue().size());
+				for (Entry<String, List<long[]>> type : component.getValue().entrySet()) {
+					fOut.writeUTF(type.getKey());
+					fOut.writeInt(type.getValue().size());
+					for (long[] block : type.getValue()) {
+						fOut.writeLong(block[0]);
+						fOut.writeInt((int) block[1]);
+						fOut.writeInt((int) block[2]);
+					}
+				}
+			}
+			fOut.writeLong(offset);
+		}
+	}
+
+	/**
+	 * Builds the index of the given use scan report in the given file,
+	 * replacing an existing index.
+	 *
+	 * @param file the index file
+	 * @param location the scan location the index is built for, an archive or
+	 *            a directory
+	 * @param fingerprint the fingerprint of the scan location, see
+	 *            {@link #getFingerprint(File)}
+	 * @param reportLocation the directory of the XML reports of the scan
+	 * @param monitor progress monitor
+	 * @return the index
+	 * @throws Exception if the scan cannot be parsed or the index cannot be
+	 *             written
+	 */
+	public static UseScanIndex build(File file, String location, long fingerprint, String reportLocation, IProgressMonitor monitor) throws Exception {
+		File parent = file.getParentFile();
+		Files.createDirectories(parent.toPath());
+		Path tmp = Files.createTempFile(parent.toPath(), file.getName(), ".tmp"); //$NON-NLS-1$
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp.toFile())))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeLong(fingerprint);
+				out.writeUTF(location);
+				IndexWriter writer = new IndexWriter(out, new UseScanReferences());
+				try {
+					new UseScanParser().parse(reportLocation, monitor, writer);
+				} catch (UncheckedIOException e) {
+					throw e.getCause();
+				}
+				writer.writeContents();
+			}
+			Files.move(tmp, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} finally {
+			Files.deleteIfExists(tmp);
+		}
+		UseScanIndex index = open(file, location, fingerprint);
+		if (index == null) {
+			throw new IOException("Unable to read use scan index: " + file); //$NON-NLS-1$
+		}
+		return index;
+	}
+
+	/**
+	 * Opens the index in the given file.
+	 *
+	 * @param file the index file
+	 * @param location the scan location the index was built for
+	 * @param fingerprint the current fingerprint of the scan location
+	 * @return the index or <code>null</code> if there is no index for the
+	 *         current scan in the file
+	 */
+	public static UseScanIndex open(File file, String location, long fingerprint) {
+		if (!file.isFile()) {
+			return null;
+		}
+		try (RandomAccessFile in = new RandomAccessFile(file, "r")) { //$NON-NLS-1$
+			if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readLong() != fingerprint || !location.equals(in.readUTF())) {
+				return null;
+			}
+			long header = in.getFilePointer();
+			long length = in.length();
+			in.seek(length - 8);
+			long offset = in.readLong();
+			if (offset < header || offset > length - 8) {
+				throw new IOException("Corrupt use scan index"); //$NON-NLS-1$
+			}
+			in.seek(offset);
+			byte[] bytes = new byte[(int) (length - 8 - offset)];
+			in.readFully(bytes);
+			DataInputStream contents = new DataInputStream(new ByteArrayInputStream(bytes));
+			int componentCount = contents.readInt();
+			Map<String, Map<String, long[]>> components = new HashMap<>(componentCount);
+			for (int i = 0; i < componentCount; i++) {
+				String id = contents.readUTF();
+				int typeCount = contents.readInt();
+				Map<String, long[]> types = new HashMap<>(typeCount);
+				for (int j = 0; j < typeCount; j++) {
+					String type = contents.readUTF();
+					long[] blocks = new long[contents.readInt() * 3];
+					for (int k = 0; k < blocks.length; k += 3) {
+						blocks[k] = contents.readLong();
+						blocks[k + 1] = contents.readInt();
+						blocks[k + 2] = contents.readInt();
+					}
+					types.put(type, blocks);
+				}
+				components.put(id, types);
+			}
+			file.setLastModified(System.currentTimeMillis());
+			return new UseScanIndex(file, fingerprint, components);
+		} catch (IOException | RuntimeException e) {
+			// the index is built again
+			file.delete();
+			return null;
+		}
+	}
+
+	/**
+	 * Adds the references to the given types of the given component to the
+	 * given collection.
+	 *
+	 * @param componentId the id of the referenced component
+	 * @param types the referenced types or <code>null</code> for all types of
+	 *            the component
+	 * @param references the collection to add the references to
+	 * @throws IOException if the index cannot be read
+	 */
+	public void collect(String componentId, String[] types, IReferenceCollection references) throws IOException {
+		Map<String, long[]> contents = fContents.get(componentId);
+		if (contents == null) {
+			return;
+		}
+		try (RandomAccessFile in = new RandomAccessFile(fFile, "r")) { //$NON-NLS-1$
+			if (types == null) {
+				for (Entry<String, long[]> entry : contents.entrySet()) {
+					collect(in, entry.getKey(), entry.getValue(), references);
+				}
+			} else {
+				for (String type : types) {
+					long[] blocks = contents.get(type);
+					if (blocks != null) {
+						collect(in, type, blocks, references);
+					}
+				}
+			}
+		}
+	}
+
+	private void collect(RandomAccessFile in, String type, long[] blocks, IReferenceCollection references) throws IOException {
+		for (int i = 0; i < blocks.length; i += 3) {
+			byte[] bytes = new byte[(int) blocks[i + 1]];
+			in.seek(blocks[i]);
+			in.readFully(bytes);
+			DataInputStream block = new DataInputStream(new ByteArrayInputStream(bytes));
+			for (int j = 0; j < blocks[i + 2]; j++) {
+				references.add(type, ReferenceDescriptorLog.readReference(block));
+			}
+		}
+	}
+
+	/**
+	 * @return the fingerprint of the scan location the index was built for
+	 */
+	public long getFingerprint() {
+		return fFingerprint;
+	}
+
+	/**
+	 * Returns the fingerprint of the given scan location: a checksum of the
+	 * length and modification time of an archive, or of the relative paths,
+	 * lengths and modification times of all files of a scan directory. A report
+	 * rewritten in place changes the fingerprint, even though the modification
+	 * times of the directories don't change.
+	 *
+	 * @param location the scan location
+	 * @return the fingerprint
+	 */
+	public static long getFingerprint(File location) {
+		if (location.isDirectory()) {
+			return getFingerprint(location, "", FNV_OFFSET); //$NON-NLS-1$
+		}
+		return mix(mix(FNV_OFFSET, location.length()), location.lastModified());
+	}
+
+	private static long getFingerprint(File directory, String path, long fingerprint) {
+		File[] files = directory.listFiles();
+		if (files == null) {
+			return fingerprint;
+		}
+		// the order of the listed files is not specified
+		Arrays.sort(files);
+		for (File file : files) {
+			String name = path + '/' + file.getName();
+			fingerprint = mix(fingerprint, name.hashCode());
+			if (file.isDirectory()) {
+				fingerprint = getFingerprint(file, name, fingerprint);
+			} else {
+				fingerprint = mix(mix(fingerprint, file.length()), file.lastModified());
+			}
+		}
+		return fingerprint;
+	}
+
+	private static long mix(long fingerprint, long value) {
+		return (fingerprint ^ value) * FNV_PRIME;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2013 IBM Corporation and others.
+ * Copyright (c) 2010, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,9 @@ import java.io.FileFilter;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.jar.JarFile;
 import java.util.regex.Pattern;
 import java.util.zip.ZipEntry;
@@ -58,6 +61,10 @@ public class UseScanManager {
 	 * Number of entries to cache in the {@link UseScanCache}
 	 */
 	public static final int DEFAULT_CACHE_SIZE = 1000;
+	/**
+	 * Indexes that were not used for this long are deleted
+	 */
+	private static final long MAX_UNUSED_INDEX_AGE = TimeUnit.DAYS.toMillis(90);
 
 	/**
 	 * Cache to maintain the list of least recently used
@@ -88,6 +95,13 @@ public class UseScanManager {
 	}
 
 	private String[] fLocations = null;
+	private File fIndexLocation = null;
+	/**
+	 * The indexes of the scan locations used in this session, by the absolute
+	 * path of the location. The indexes are up to date with their locations
+	 * at the time they were first used.
+	 */
+	private final Map<String, UseScanIndex> fIndexes = new ConcurrentHashMap<>();
 
 	/**
 	 * {@link FileFilter} for finding use scan directories
@@ -183,49 +197,20 @@ public class UseScanManager {
 				locations = fLocations;
 			}
 			if (locations != null) {
-				IStringVariableManager stringManager = null;
 				localmonitor.setWorkRemaining(locations.length);
-				for (int i = 0; i < locations.length; i++) {
+				for (String location : locations) {
 					SubMonitor iterationMonitor = localmonitor.split(1);
-					File file = new File(locations[i]);
-					if (!file.exists()) {
+					File file = new File(location);
+					if (!file.exists() || (file.isFile() && !Util.isArchive(file.getName()))) {
 						continue;
 					}
-					if (file.isFile()) {
-						if (Util.isArchive(file.getName())) {
-							String destDirPath = tempLocation + file.getName() + '.' + file.getAbsolutePath().hashCode();
-							if (stringManager == null) {
-								stringManager = VariablesPlugin.getDefault().getStringVariableManager();
-							}
-							destDirPath = stringManager.performStringSubstitution(destDirPath);
-							locations[i] = destDirPath + '/' + file.lastModified();
-							File unzipDirLoc = new File(destDirPath);
-							if (unzipDirLoc.exists()) {
-								String[] childDirs = unzipDirLoc.list();
-								for (int j = 0; j < childDirs.length; j++) {
-									if (!childDirs[j].equals(String.valueOf(file.lastModified()))) {
-										FileManager.getManager().recordTempFileRoot(destDirPath + '/' + childDirs[j]);
-									}
-								}
-							} else {
-								Util.unzip(file.getPath(), locations[i]);
-							}
-						} else {
-							continue;
-						}
-					}
 					try {
-						locations[i] = getExactScanLocation(locations[i]);
-						if (locations[i] == null) {
-							String message;
-							if (file.isDirectory()) {
-								message = NLS.bind(SearchMessages.UseScanManager_InvalidDir, file.getAbsolutePath());
-							} else {
-								message = NLS.bind(SearchMessages.UseScanManager_InvalidArchive, file.getAbsolutePath());
-							}
-							throw new Exception(message);
+						UseScanIndex index = getIndex(file, iterationMonitor);
+						if (index != null) {
+							index.collect(apiComponent.getSymbolicName(), types, references);
+						} else {
+							parser.parse(getScanLocation(file), iterationMonitor, visitor);
 						}
-						parser.parse(locations[i], iterationMonitor, visitor);
 					} catch (Exception e) {
 						ApiPlugin.log(e); // log the exception and continue with
 											// next location
@@ -243,6 +228,109 @@ public class UseScanManager {
 		}
 	}
 
+	/**
+	 * Returns the index of the given scan location, building it if the scan
+	 * was not indexed yet or changed since it was indexed. A location is only
+	 * checked for changes the first time it is used in a session or after the
+	 * cache was cleared.
+	 *
+	 * @param location an archive or directory containing a use scan
+	 * @param monitor progress monitor
+	 * @return the index or <code>null</code> if scans are not indexed, in which
+	 *         case the scan has to be parsed
+	 * @throws Exception if the location is not a valid scan
+	 */
+	private UseScanIndex getIndex(File location, IProgressMonitor monitor) throws Exception {
+		File directory = getIndexLocation();
+		if (directory == null) {
+			return null;
+		}
+		String path = location.getAbsolutePath();
+		UseScanIndex index = fIndexes.get(path);
+		if (index != null) {
+			// validated the first time the location was used in this session
+			return index;
+		}
+		long fingerprint = UseScanIndex.getFingerprint(location);
+		File file = new File(directory, Integer.toHexString(path.hashCode()) + UseScanIndex.INDEX_FILE_EXTENSION);
+		index = UseScanIndex.open(file, path, fingerprint);
+		if (index == null) {
+			String scanLocation = getScanLocation(location);
+			try {
+				index = UseScanIndex.build(file, path, fingerprint, scanLocation, monitor);
+			} catch (IOException e) {
+				ApiPlugin.log(e);
+				return null;
+			}
+		}
+		fIndexes.put(path, index);
+		return index;
+	}
+
+	/**
+	 * Returns the directory of the use scan indexes in the state location,
+	 * deleting the indexes that were not used for 90 days the first time it is
+	 * called, or <code>null</code> when not running in a framework.
+	 *
+	 * @return the directory of the indexes or <code>null</code>
+	 */
+	private synchronized File getIndexLocation() {
+		if (fIndexLocation == null && ApiPlugin.isRunningInFramework()) {
+			fIndexLocation = ApiPlugin.getDefault().getStateLocation().append(".use_scan_indexes").toFile(); //$NON-NLS-1$
+			File[] files = fIndexLocation.listFiles();
+			if (files != null) {
+				long oldest = System.currentTimeMillis() - MAX_UNUSED_INDEX_AGE;
+				for (File file : files) {
+					if (file.lastModified() < oldest || !file.getName().endsWith(UseScanIndex.INDEX_FILE_EXTENSION)) {
+						file.delete();
+					}
+				}
+			}
+		}
+		return fIndexLocation;
+	}
+
+	/**
+	 * Returns the directory of the XML reports of the given scan location,
+	 * extracting an archive to the temporary location first.
+	 *
+	 * @param file an archive or directory containing a use scan
+	 * @return the directory of the XML reports
+	 * @throws Exception if the location is not a valid scan
+	 */
+	private String getScanLocation(File file) throws Exception {
+		String location = file.getPath();
+		if (file.isFile()) {
+			String destDirPath = tempLocation + file.getName() + '.' + file.getAbsolutePath().hashCode();
+			IStringVariableManager stringManager = VariablesPlugin.getDefault().getStringVariableManager();
+			destDirPath = stringManager.performStringSubstitution(destDirPath);
+			location = destDirPath + '/' + file.lastModified();
+			File unzipDirLoc = new File(destDirPath);
+			if (unzipDirLoc.exists()) {
+				String[] childDirs = unzipDirLoc.list();
+				for (int j = 0; j < childDirs.length; j++) {
+					if (!childDirs[j].equals(String.valueOf(file.lastModified()))) {
+						FileManager.getManager().recordTempFileRoot(destDirPath + '/' + childDirs[j]);
+					}
+				}
+			}
+			if (!new File(location).exists()) {
+				Util.unzip(file.getPath(), location);
+			}
+		}
+		String scanLocation = getExactScanLocation(location);
+		if (scanLocation == null) {
+			String message;
+			if (file.isDirectory()) {
+				message = NLS.bind(SearchMessages.UseScanManager_InvalidDir, file.getAbsolutePath());
+			} else {
+				message = NLS.bind(SearchMessages.UseScanManager_InvalidArchive, file.getAbsolutePath());
+			}
+			throw new Exception(message);
+		}
+		return scanLocation;
+	}
+
 	/**
 	 * Returns the scan
 	 *
@@ -404,7 +492,8 @@ public class UseScanManager {
 	}
 
 	/**
-	 * Purges all reference information
+	 * Purges all reference information. The scan locations are checked for
+	 * changes again when they are used next.
 	 */
 	public void clearCache() {
 		Enumeration<IReferenceCollection> elements = fApiComponentCache.elements();
@@ -413,5 +502,6 @@ public class UseScanManager {
 			reference.clear();
 		}
 		fApiComponentCache.flush();
+		fIndexes.clear();
 	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2015 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,7 @@ import java.io.FileFilter;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -26,6 +27,7 @@ import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
 
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.osgi.util.NLS;
@@ -247,65 +249,108 @@ public class UseScanParser {
 		SubMonitor localmonitor = SubMonitor.convert(monitor, SearchMessages.UseScanParser_parsing, 8);
 		localmonitor.subTask(SearchMessages.UseReportConverter_collecting_dir_info);
 		File[] referees = getDirectories(reportsRoot);
+		File log = new File(reportsRoot, ReferenceDescriptorLog.LOG_FILE);
 		localmonitor.split(1);
-		File[] origins = null;
-		File[] xmlfiles = null;
-		localmonitor.setWorkRemaining(referees.length);
+		localmonitor.setWorkRemaining(referees.length + 1);
 		visitor.visitScan();
 		try {
-			SAXParser parser = getParser();
-			// Treat each top level directory as a producer component
-			for (File referee : referees) {
-				if (referee.isDirectory()) {
-					String[] idv = getIdVersion(referee.getName());
-					IComponentDescriptor tcomp = Factory.componentDescriptor(idv[0], idv[1]);
-					enterTargetComponent(tcomp);
-					if (visitReferencingComponent) {
-
-						// If the visitor returned true, treat sub-directories
-						// as consumer components
-						origins = getDirectories(referee);
-						origins = sort(origins); // sort to visit in determined
-													// order
-						for (File origin : origins) {
-							if (origin.isDirectory()) {
-								idv = getIdVersion(origin.getName());
-								IComponentDescriptor rcomp = Factory.componentDescriptor(idv[0], idv[1]);
-								enterReferencingComponent(rcomp);
-								if (visitMembers) {
-
-									// If the visitor returned true, open all
-									// xml files in the directory and process
-									// them to find members
-									localmonitor.subTask(NLS.bind(SearchMessages.UseScanParser_analyzing_references, new String[] { origin.getName() }));
-									xmlfiles = Util.getAllFiles(origin, pathname -> pathname.isDirectory() || pathname.getName().endsWith(".xml")); //$NON-NLS-1$
-									if (xmlfiles != null && xmlfiles.length > 0) {
-										xmlfiles = sort(xmlfiles); // sort to
-																	// visit in
-																	// determined
-																	// order
-										for (File xmlfile : xmlfiles) {
-											ReferenceHandler handler = new ReferenceHandler(getTypeFromFileName(xmlfile));
-											try (InputStream inputFile = new FileInputStream(xmlfile.getAbsoluteFile());) {
-												parser.parse(inputFile, handler);
-											} catch (SAXException | IOException e) {
-												ApiPlugin.log(e);
-											}
+			SubMonitor logMonitor = localmonitor.split(1);
+			if (log.isFile()) {
+				// references of a streaming scan that were not collated to XML
+				parseLog(log, logMonitor);
+			}
+			parseReferees(referees, localmonitor);
+		} finally {
+			visitor.endVisitScan();
+			localmonitor.done();
+		}
+	}
+
+	/**
+	 * Visits the XML files of the given component directories of a scan.
+	 *
+	 * @param referees the directories of the referenced components
+	 * @param localmonitor progress monitor with one unit of work per directory
+	 * @throws Exception if the XML parser cannot be created
+	 */
+	private void parseReferees(File[] referees, SubMonitor localmonitor) throws Exception {
+		File[] origins = null;
+		File[] xmlfiles = null;
+		SAXParser parser = getParser();
+		// Treat each top level directory as a producer component
+		for (File referee : referees) {
+			if (referee.isDirectory()) {
+				String[] idv = getIdVersion(referee.getName());
+				IComponentDescriptor tcomp = Factory.componentDescriptor(idv[0], idv[1]);
+				enterTargetComponent(tcomp);
+				if (visitReferencingComponent) {
+
+					// If the visitor returned true, treat sub-directories
+					// as consumer components
+					origins = getDirectories(referee);
+					origins = sort(origins); // sort to visit in determined
+												// order
+					for (File origin : origins) {
+						if (origin.isDirectory()) {
+							idv = getIdVersion(origin.getName());
+							IComponentDescriptor rcomp = Factory.componentDescriptor(idv[0], idv[1]);
+							enterReferencingComponent(rcomp);
+							if (visitMembers) {
+
+								// If the visitor returned true, open all
+								// xml files in the directory and process
+								// them to find members
+								localmonitor.subTask(NLS.bind(SearchMessages.UseScanParser_analyzing_references, new String[] { origin.getName() }));
+								xmlfiles = Util.getAllFiles(origin, pathname -> pathname.isDirectory() || pathname.getName().endsWith(".xml")); //$NON-NLS-1$
+								if (xmlfiles != null && xmlfiles.length > 0) {
+									xmlfiles = sort(xmlfiles); // sort to
+																// visit in
+																// determined
+																// order
+									for (File xmlfile : xmlfiles) {
+										ReferenceHandler handler = new ReferenceHandler(getTypeFromFileName(xmlfile));
+										try (InputStream inputFile = new FileInputStream(xmlfile.getAbsoluteFile());) {
+											parser.parse(inputFile, handler);
+										} catch (SAXException | IOException e) {
+											ApiPlugin.log(e);
 										}
 									}
-									endMember();
 								}
-								endReferencingComponent();
+								endMember();
 							}
+							endReferencingComponent();
 						}
 					}
-					localmonitor.split(1);
-					endComponent();
 				}
+				localmonitor.split(1);
+				endComponent();
 			}
+		}
+	}
+
+	/**
+	 * Visits the references of the given {@link ReferenceDescriptorLog}. The
+	 * log is collated in batches into XML files in a temporary directory, the
+	 * same way as at the end of a streaming scan, which are then visited like
+	 * the XML files of the scan. The log is never held in memory as a whole.
+	 *
+	 * @param log the log file
+	 * @param monitor progress monitor
+	 * @throws Exception if the XML parser cannot be created
+	 */
+	void parseLog(File log, SubMonitor monitor) throws Exception {
+		File collated = Files.createTempDirectory("usescan").toFile(); //$NON-NLS-1$
+		try {
+			try {
+				XmlSearchReporter.collate(log, collated.getAbsolutePath());
+			} catch (IOException | CoreException e) {
+				// visit the references collated before the failure
+				ApiPlugin.log(e);
+			}
+			File[] referees = sort(getDirectories(collated));
+			parseReferees(referees, SubMonitor.convert(monitor, referees.length));
 		} finally {
-			visitor.endVisitScan();
-			localmonitor.done();
+			Util.delete(collated);
 		}
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2017 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -99,6 +99,22 @@ public class XmlReferenceDescriptorWriter {
 	 * @param references
 	 */
 	public void writeReferences(IReferenceDescriptor[] references) {
+		try {
+			write(references);
+		} catch (Exception e) {
+			ApiPlugin.log(e);
+		}
+	}
+
+	/**
+	 * Writes the given references to XML files, merging them with the
+	 * references already in the files.
+	 *
+	 * @param references the references to write
+	 * @throws CoreException if a reference cannot be written
+	 * @throws IOException if an XML file cannot be written
+	 */
+	void write(IReferenceDescriptor[] references) throws CoreException, IOException {
 		if (fLocation != null) {
 			try {
 				File parent = new File(fLocation);
@@ -107,8 +123,6 @@ public class XmlReferenceDescriptorWriter {
 				}
 				collateResults(references);
 				writeXML(parent);
-			} catch (Exception e) {
-				ApiPlugin.log(e);
 			} finally {
 				if (fReferenceMap != null) {
 					fReferenceMap.clear();
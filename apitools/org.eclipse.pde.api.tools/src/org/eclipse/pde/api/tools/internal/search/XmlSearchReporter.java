@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2017 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,8 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -51,6 +53,12 @@ import org.xml.sax.helpers.DefaultHandler;
  */
 public class XmlSearchReporter implements IApiSearchReporter {
 
+	/**
+	 * The maximum number of references read from the log for each write of the
+	 * XML files
+	 */
+	private static final int COLLATE_BATCH_SIZE = 50000;
+
 	private String fLocation = null;
 	private DocumentBuilder parser = null;
 	private boolean debug = false;
@@ -58,6 +66,12 @@ public class XmlSearchReporter implements IApiSearchReporter {
 	private int illegalCount = 0;
 	private int internalCount = 0;
 
+	/**
+	 * Log the references are appended to until they are collated, or
+	 * <code>null</code> if references are written to XML as they are reported
+	 */
+	private ReferenceDescriptorLog fLog = null;
+
 	/**
 	 * Constructor
 	 *
@@ -66,7 +80,25 @@ public class XmlSearchReporter implements IApiSearchReporter {
 	 * @param debug if debugging infos should be written out to the console
 	 */
 	public XmlSearchReporter(String location, boolean debug) {
+		this(location, debug, false);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param location the absolute path in the local file system to the folder
+	 *            to write the reports to
+	 * @param debug if debugging infos should be written out to the console
+	 * @param streaming if references should be appended to a
+	 *            {@link ReferenceDescriptorLog} and only collated into XML
+	 *            files by {@link #reportCounts()}, instead of merging them
+	 *            into the XML files for every reported element
+	 */
+	public XmlSearchReporter(String location, boolean debug, boolean streaming) {
 		fLocation = location;
+		if (streaming) {
+			fLog = new ReferenceDescriptorLog(new File(location, ReferenceDescriptorLog.LOG_FILE));
+		}
 		this.debug = debug;
 		try {
 			parser = DocumentBuilderFactory.newInstance().newDocumentBuilder();
@@ -86,7 +118,6 @@ public class XmlSearchReporter implements IApiSearchReporter {
 		// Use a hashset for counting to remove any duplicate references that
 		// the writer would remove
 		HashSet<IReferenceDescriptor> writtenReferences = new HashSet<>();
-		XmlReferenceDescriptorWriter writer = new XmlReferenceDescriptorWriter(fLocation);
 		List<IReferenceDescriptor> descriptors = new ArrayList<>(references.length + 1);
 		for (IReference referenceInterface : references) {
 			Reference reference = (Reference) referenceInterface;
@@ -114,7 +145,99 @@ public class XmlSearchReporter implements IApiSearchReporter {
 			}
 		}
 
-		writer.writeReferences(descriptors.toArray(new IReferenceDescriptor[descriptors.size()]));
+		IReferenceDescriptor[] array = descriptors.toArray(new IReferenceDescriptor[descriptors.size()]);
+		if (fLog != null) {
+			try {
+				fLog.append(array);
+			} catch (IOException e) {
+				ApiPlugin.log("Failed to append references to " + fLog.getFile(), e); //$NON-NLS-1$
+			}
+		} else {
+			XmlReferenceDescriptorWriter writer = new XmlReferenceDescriptorWriter(fLocation);
+			writer.writeReferences(array);
+		}
+	}
+
+	/**
+	 * Writes the references appended to the log to the XML files and deletes
+	 * the log. The XML files are written to a staging directory next to the
+	 * report, starting from a copy of the component directories already in the
+	 * report, and only moved into the report once the whole log is collated.
+	 * If collating fails, the report is left as it was, with the log.
+	 */
+	private void collateLog() {
+		if (this.debug) {
+			System.out.println("Collating references into XML files..."); //$NON-NLS-1$
+		}
+		File file = fLog.getFile();
+		File staging = null;
+		try {
+			fLog.close();
+			if (!file.exists()) {
+				return;
+			}
+			File location = new File(fLocation).getAbsoluteFile();
+			staging = Files.createTempDirectory(location.getParentFile().toPath(), location.getName() + ".collate").toFile(); //$NON-NLS-1$
+			// the references of the log are merged with the ones of the report
+			for (File directory : getDirectories(location)) {
+				copyDirectory(directory, new File(staging, directory.getName()));
+			}
+			collate(file, staging.getAbsolutePath());
+			for (File directory : getDirectories(staging)) {
+				File target = new File(location, directory.getName());
+				Util.delete(target);
+				Files.move(directory.toPath(), target.toPath());
+			}
+			file.delete();
+		} catch (IOException | CoreException e) {
+			ApiPlugin.log("Failed to collate references from " + file, e); //$NON-NLS-1$
+		} finally {
+			if (staging != null) {
+				Util.delete(staging);
+			}
+		}
+	}
+
+	/**
+	 * Writes the references of the given log to XML files in the given
+	 * directory, in batches of {@link #COLLATE_BATCH_SIZE}. Only one batch is
+	 * held in memory, the XML files are merged with the references of the
+	 * next batch.
+	 *
+	 * @param log the reference log
+	 * @param location the directory to write the XML files to
+	 * @throws IOException if the log cannot be read or an XML file cannot be
+	 *             written
+	 * @throws CoreException if a reference cannot be written
+	 */
+	static void collate(File log, String location) throws IOException, CoreException {
+		XmlReferenceDescriptorWriter writer = new XmlReferenceDescriptorWriter(location);
+		try (ReferenceDescriptorLog.Reader reader = new ReferenceDescriptorLog.Reader(log)) {
+			IReferenceDescriptor[] references;
+			while ((references = reader.next(COLLATE_BATCH_SIZE)).length > 0) {
+				writer.write(references);
+			}
+		}
+	}
+
+	private static File[] getDirectories(File directory) {
+		File[] directories = directory.listFiles(File::isDirectory);
+		return directories != null ? directories : new File[0];
+	}
+
+	private static void copyDirectory(File directory, File target) throws IOException {
+		Files.createDirectories(target.toPath());
+		File[] files = directory.listFiles();
+		if (files == null) {
+			return;
+		}
+		for (File file : files) {
+			if (file.isDirectory()) {
+				copyDirectory(file, new File(target, file.getName()));
+			} else {
+				Files.copy(file.toPath(), new File(target, file.getName()).toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
 	}
 
 	/**
@@ -198,6 +321,9 @@ public class XmlSearchReporter implements IApiSearchReporter {
 
 	@Override
 	public void reportCounts() {
+		if (fLog != null) {
+			collateLog();
+		}
 		if (this.debug) {
 			System.out.println("Writing file for counting total references..."); //$NON-NLS-1$
 		}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2021 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -31,6 +31,7 @@ import java.io.LineNumberReader;
 import java.io.PrintWriter;
 import java.io.StringReader;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.charset.Charset;
@@ -2976,5 +2977,30 @@ public final class Util {
 		return type;
 	}
 
-
+	/**
+	 * Releases the memory mapping of the given buffer if the running VM allows
+	 * it, so that the mapped file can be replaced or deleted right away (on
+	 * Windows a mapped file cannot be replaced). Otherwise the mapping is
+	 * released when the buffer is garbage collected.
+	 * <p>
+	 * The buffer, and any buffer sharing its contents, must not be used after
+	 * this call.
+	 * </p>
+	 *
+	 * @param buffer the mapped buffer
+	 */
+	public static void unmap(ByteBuffer buffer) {
+		if (buffer == null || !buffer.isDirect()) {
+			return;
+		}
+		try {
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe"); //$NON-NLS-1$
+			Field field = unsafeClass.getDeclaredField("theUnsafe"); //$NON-NLS-1$
+			field.setAccessible(true);
+			Method cleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class); //$NON-NLS-1$
+			cleaner.invoke(field.get(null), buffer);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			// released on garbage collection
+		}
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2018 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -39,6 +39,7 @@ import org.eclipse.pde.api.tools.internal.AntFilterStore;
 import org.eclipse.pde.api.tools.internal.IApiXmlConstants;
 import org.eclipse.pde.api.tools.internal.builder.BaseApiAnalyzer;
 import org.eclipse.pde.api.tools.internal.builder.BuildContext;
+import org.eclipse.pde.api.tools.internal.builder.ReferenceAnalyzer;
 import org.eclipse.pde.api.tools.internal.model.StubApiComponent;
 import org.eclipse.pde.api.tools.internal.problems.ApiProblemFactory;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
@@ -169,6 +170,12 @@ public class APIToolsAnalysisTask extends CommonUtilsTask {
 	 */
 	private boolean processUnresolvedBundles = true;
 
+	/**
+	 * When <code>true</code>, the API usage of each component is scanned on
+	 * several threads.
+	 */
+	private boolean parallel = ReferenceAnalyzer.PARALLEL_ANALYSIS;
+
 	private Summary[] createAllSummaries(Map<String, IApiProblem[]> allProblems) {
 		Set<Map.Entry<String, IApiProblem[]>> entrySet = allProblems.entrySet();
 		int size = entrySet.size();
@@ -420,6 +427,7 @@ public class APIToolsAnalysisTask extends CommonUtilsTask {
 				BaseApiAnalyzer analyzer = new BaseApiAnalyzer();
 				try {
 					analyzer.setContinueOnResolverError(true);
+					analyzer.setParallelUsageScan(this.parallel);
 					analyzer.analyzeComponent(null, getFilterStore(name), this.properties, referenceBaseline, apiComponent, new BuildContext(), new NullProgressMonitor());
 					IApiProblem[] problems = analyzer.getProblems();
 					// remove duplicates
@@ -907,4 +915,17 @@ public class APIToolsAnalysisTask extends CommonUtilsTask {
 		this.processUnresolvedBundles = processUnresolvedBundles;
 	}
 
+	/**
+	 * Set whether the API usage of each component is scanned on several
+	 * threads. The same problems are reported either way. Defaults to
+	 * <code>false</code>, unless the system property
+	 * <code>org.eclipse.pde.api.tools.parallelAnalysis</code> is set to
+	 * <code>true</code>.
+	 *
+	 * @param parallel whether to scan API usage in parallel
+	 */
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+
 }
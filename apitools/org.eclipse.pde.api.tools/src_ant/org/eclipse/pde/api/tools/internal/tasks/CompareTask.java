@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2010 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -51,6 +51,7 @@ public class CompareTask extends CommonUtilsTask {
 	private String componentsList;
 	private String excludeListLocation;
 	private String includeListLocation;
+	private boolean parallel = ApiComparator.PARALLEL_COMPARISON;
 
 	@Override
 	public void execute() throws BuildException {
@@ -146,7 +147,7 @@ public class CompareTask extends CommonUtilsTask {
 			scope.addElement(currentBaseline);
 		}
 		try {
-			delta = ApiComparator.compare(scope, referenceBaseline, this.visibilityModifiers, false, null);
+			delta = ApiComparator.compare(scope, referenceBaseline, this.visibilityModifiers, false, false, this.parallel, null);
 		} catch (CoreException e) {
 			// an error occurred during the comparison
 			throw new BuildException(NLS.bind(Messages.illegalElementInScope, e.getMessage()));
@@ -217,6 +218,24 @@ public class CompareTask extends CommonUtilsTask {
 		this.debug = Boolean.toString(true).equals(debugValue);
 	}
 
+	/**
+	 * Set whether the components of the baselines are compared on several
+	 * threads.
+	 * <p>
+	 * The possible values are: <code>true</code>, <code>false</code>
+	 * </p>
+	 * <p>
+	 * Default is <code>false</code>, unless the system property
+	 * <code>org.eclipse.pde.api.tools.parallelComparison</code> is set to
+	 * <code>true</code>.
+	 * </p>
+	 *
+	 * @param parallelValue the given parallel value
+	 */
+	public void setParallel(String parallelValue) {
+		this.parallel = Boolean.toString(true).equals(parallelValue);
+	}
+
 	/**
 	 * Set the location of the current product or baseline that you want to
 	 * compare against the reference baseline.
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2020 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -180,7 +180,7 @@ public class LoadTargetDefinitionJob extends WorkspaceJob {
 		EclipseHomeInitializer.resetEclipseHomeVariable();
 		PDECore.getDefault().getSourceLocationManager().reset();
 		PDECore.getDefault().getJavadocLocationManager().reset();
-		PDECore.getDefault().getExtensionsRegistry().targetReloaded();
+		// PluginModelManager updates the extension registry once the new state is resolved
 		PDECore.getDefault().getModelManager().targetReloaded(monitor); // PluginModelManager should be reloaded first to reset isCancelled() flag
 		PDECore.getDefault().getFeatureModelManager().targetReloaded();
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2013 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,9 +13,14 @@
  *******************************************************************************/
 package org.eclipse.pde.internal.core;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Dictionary;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.eclipse.core.resources.IWorkspaceRunnable;
@@ -27,6 +32,11 @@ import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.osgi.service.resolver.BundleDescription;
+import org.eclipse.osgi.service.resolver.BundleSpecification;
+import org.eclipse.osgi.service.resolver.ExportPackageDescription;
+import org.eclipse.osgi.service.resolver.GenericDescription;
+import org.eclipse.osgi.service.resolver.GenericSpecification;
+import org.eclipse.osgi.service.resolver.ImportPackageSpecification;
 import org.eclipse.osgi.service.resolver.State;
 import org.eclipse.osgi.service.resolver.StateObjectFactory;
 import org.eclipse.osgi.util.NLS;
@@ -36,17 +46,61 @@ public class BundleValidationOperation implements IWorkspaceRunnable {
 
 	private static StateObjectFactory FACTORY;
 
+	/**
+	 * A resolved state kept for the next validation that reuses states
+	 */
+	private static class ResolvedState {
+		final State state;
+		final List<Map<Object, Object>> properties;
+		// maps the bundle descriptions of the models to their copies in the state
+		final Map<BundleDescription, BundleDescription> copies = new IdentityHashMap<>();
+		// bundle descriptions of the models the state did not accept
+		final Set<BundleDescription> rejected = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		ResolvedState(State state, List<Map<Object, Object>> properties) {
+			this.state = state;
+			this.properties = properties;
+		}
+	}
+
+	private static ResolvedState fgResolvedState;
+
 	private final IPluginModelBase[] fModels;
 	private final Dictionary<?, ?>[] fProperties;
+	private final boolean fReuseState;
 	private State fState;
+	private Map<Object, Object[]> fResolverErrors;
+	private boolean fHasErrors;
 
 	public BundleValidationOperation(IPluginModelBase[] models) {
 		this(models, new Dictionary[] {TargetPlatformHelper.getTargetEnvironment()});
 	}
 
 	public BundleValidationOperation(IPluginModelBase[] models, Dictionary<?, ?>[] properties) {
+		this(models, properties, false);
+	}
+
+	/**
+	 * Creates an operation validating the given models.
+	 * <p>
+	 * An operation reusing states resolves the bundles in the state of the
+	 * last operation that reused states, if it was resolved with the same
+	 * platform properties and only a few bundles differ. The differing
+	 * bundles are added to or removed from that state and only they and the
+	 * bundles whose wiring they may change are resolved again. Since the
+	 * state is shared, the resolver errors are recorded when the operation is
+	 * run and {@link #getState()} returns an unresolved copy of the validated
+	 * bundles.
+	 * </p>
+	 *
+	 * @param models the models to validate
+	 * @param properties the platform properties to resolve the models with
+	 * @param reuseState whether to reuse the state of the last validation
+	 */
+	public BundleValidationOperation(IPluginModelBase[] models, Dictionary<?, ?>[] properties, boolean reuseState) {
 		fModels = models;
 		fProperties = properties;
+		fReuseState = reuseState;
 	}
 
 	@Override
@@ -54,6 +108,16 @@ public class BundleValidationOperation implements IWorkspaceRunnable {
 		if (FACTORY == null) {
 			FACTORY = Platform.getPlatformAdmin().getFactory();
 		}
+		if (fReuseState) {
+			synchronized (BundleValidationOperation.class) {
+				State state = resolveReusedState(monitor);
+				fResolverErrors = computeResolverErrors(state);
+				fHasErrors = computeHasErrors(state);
+				// the shared state changes with the next validation
+				fState = FACTORY.createState(state);
+			}
+			return;
+		}
 		SubMonitor subMonitor = SubMonitor.convert(monitor, fModels.length + 1);
 		fState = FACTORY.createState(true);
 		for (IPluginModelBase fModel : fModels) {
@@ -68,15 +132,178 @@ public class BundleValidationOperation implements IWorkspaceRunnable {
 		subMonitor.split(1);
 	}
 
+	private State resolveReusedState(IProgressMonitor monitor) {
+		List<Map<Object, Object>> properties = new ArrayList<>(fProperties.length);
+		for (Dictionary<?, ?> dictionary : fProperties) {
+			Map<Object, Object> map = new HashMap<>();
+			for (Object key : Collections.list(dictionary.keys())) {
+				map.put(key, dictionary.get(key));
+			}
+			properties.add(map);
+		}
+		// bundles are added in the order of the models, as without reuse
+		List<BundleDescription> ordered = new ArrayList<>(fModels.length);
+		Set<BundleDescription> bundles = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (IPluginModelBase model : fModels) {
+			BundleDescription bundle = model.getBundleDescription();
+			if (bundle != null && bundles.add(bundle)) {
+				ordered.add(bundle);
+			}
+		}
+
+		ResolvedState resolved = fgResolvedState;
+		if (resolved != null && resolved.properties.equals(properties)) {
+			List<BundleDescription> removed = new ArrayList<>();
+			for (BundleDescription bundle : resolved.copies.keySet()) {
+				if (!bundles.contains(bundle)) {
+					removed.add(bundle);
+				}
+			}
+			resolved.rejected.retainAll(bundles);
+			List<BundleDescription> added = new ArrayList<>();
+			for (BundleDescription bundle : ordered) {
+				if (!resolved.copies.containsKey(bundle) && !resolved.rejected.contains(bundle)) {
+					added.add(bundle);
+				}
+			}
+			if (!removed.isEmpty()) {
+				// removed bundles may have clashed with rejected ones
+				added.addAll(resolved.rejected);
+				resolved.rejected.clear();
+			}
+			// resolving many bundles again is not faster than resolving all of them
+			if ((removed.size() + added.size()) * 4 <= bundles.size()) {
+				SubMonitor subMonitor = SubMonitor.convert(monitor, added.size() + 1);
+				if (!removed.isEmpty() || !added.isEmpty()) {
+					resolveIncrementally(resolved, removed, added, subMonitor);
+				}
+				return resolved.state;
+			}
+		}
+
+		SubMonitor subMonitor = SubMonitor.convert(monitor, bundles.size() + 1);
+		resolved = new ResolvedState(FACTORY.createState(true), properties);
+		for (BundleDescription bundle : ordered) {
+			BundleDescription copy = FACTORY.createBundleDescription(bundle);
+			if (resolved.state.addBundle(copy)) {
+				resolved.copies.put(bundle, copy);
+			} else {
+				resolved.rejected.add(bundle);
+			}
+			subMonitor.split(1);
+		}
+		resolved.state.setPlatformProperties(fProperties);
+		resolved.state.resolve(false);
+		subMonitor.split(1);
+		fgResolvedState = resolved;
+		return resolved.state;
+	}
+
+	/**
+	 * Removes and adds the given bundles and resolves them together with the
+	 * bundles whose wiring they may change: the dependents of removed bundles,
+	 * the bundles with the same symbolic name, which may be singletons, the
+	 * hosts of fragments and the bundles requiring, importing from or
+	 * requiring capabilities of added bundles. The state resolves the
+	 * dependents of the bundles resolved again as well. If most bundles need
+	 * to be resolved again, all bundles are.
+	 */
+	private void resolveIncrementally(ResolvedState resolved, List<BundleDescription> removed, List<BundleDescription> added, SubMonitor subMonitor) {
+		State state = resolved.state;
+		Set<BundleDescription> reResolve = new HashSet<>();
+		Set<String> names = new HashSet<>();
+		Set<String> packages = new HashSet<>();
+		Set<String> namespaces = new HashSet<>();
+		for (BundleDescription bundle : removed) {
+			BundleDescription copy = resolved.copies.remove(bundle);
+			Collections.addAll(reResolve, copy.getDependents());
+			if (state.removeBundle(copy)) {
+				names.add(copy.getSymbolicName());
+			}
+		}
+		for (BundleDescription bundle : added) {
+			BundleDescription copy = FACTORY.createBundleDescription(bundle);
+			if (state.addBundle(copy)) {
+				resolved.copies.put(bundle, copy);
+				reResolve.add(copy);
+				names.add(copy.getSymbolicName());
+				if (copy.getHost() != null) {
+					names.add(copy.getHost().getName());
+				}
+				for (ExportPackageDescription export : copy.getExportPackages()) {
+					packages.add(export.getName());
+				}
+				for (GenericDescription capability : copy.getGenericCapabilities()) {
+					namespaces.add(capability.getType());
+				}
+			} else {
+				resolved.rejected.add(bundle);
+			}
+			subMonitor.split(1);
+		}
+		BundleDescription[] bundles = state.getBundles();
+		for (BundleDescription bundle : bundles) {
+			if (!reResolve.contains(bundle) && mayWireTo(bundle, names, packages, namespaces)) {
+				reResolve.add(bundle);
+			}
+		}
+		// dependents of removed bundles may have been removed as well
+		reResolve.removeIf(bundle -> state.getBundle(bundle.getBundleId()) != bundle);
+		if (reResolve.size() * 2 > bundles.length) {
+			state.resolve(false);
+		} else {
+			state.resolve(reResolve.toArray(new BundleDescription[reResolve.size()]));
+		}
+		subMonitor.split(1);
+	}
+
+	/**
+	 * Returns whether the given bundle may be wired to a bundle with one of the
+	 * given symbolic names, exporting one of the given packages or providing
+	 * a capability in one of the given namespaces.
+	 */
+	private static boolean mayWireTo(BundleDescription bundle, Set<String> names, Set<String> packages, Set<String> namespaces) {
+		if (names.contains(bundle.getSymbolicName()) || (bundle.getHost() != null && names.contains(bundle.getHost().getName()))) {
+			return true;
+		}
+		for (BundleSpecification required : bundle.getRequiredBundles()) {
+			if (names.contains(required.getName())) {
+				return true;
+			}
+		}
+		if (!packages.isEmpty()) {
+			for (ImportPackageSpecification imported : bundle.getImportPackages()) {
+				if (packages.contains(imported.getName())) {
+					return true;
+				}
+			}
+		}
+		if (!namespaces.isEmpty()) {
+			for (GenericSpecification required : bundle.getGenericRequires()) {
+				if (namespaces.contains(required.getType())) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
 	public Map<Object, Object[]> getResolverErrors() {
+		if (fResolverErrors != null) {
+			return new LinkedHashMap<>(fResolverErrors);
+		}
+		return computeResolverErrors(fState);
+	}
+
+	private static Map<Object, Object[]> computeResolverErrors(State state) {
 		Set<String> alreadyDuplicated = new HashSet<>();
 		Map<Object, Object[]> map = new LinkedHashMap<>();
-		BundleDescription[] bundles = fState.getBundles();
+		BundleDescription[] bundles = state.getBundles();
 		for (BundleDescription bundle : bundles) {
 			if (!bundle.isResolved()) {
-				map.put(bundle, fState.getResolverErrors(bundle));
+				map.put(bundle, state.getResolverErrors(bundle));
 			} else if (bundle.isSingleton() && !alreadyDuplicated.contains(bundle.getSymbolicName())) {
-				BundleDescription[] dups = fState.getBundles(bundle.getSymbolicName());
+				BundleDescription[] dups = state.getBundles(bundle.getSymbolicName());
 				if (dups.length > 1) {
 					// more than 1 singleton present
 					alreadyDuplicated.add(bundle.getSymbolicName());
@@ -91,18 +318,33 @@ public class BundleValidationOperation implements IWorkspaceRunnable {
 		return map;
 	}
 
+	/**
+	 * Returns the state of the validated bundles. The state of an operation
+	 * reusing states is a copy that is not resolved, use
+	 * {@link #getResolverErrors()} and {@link #hasErrors()} for the result of
+	 * the validation.
+	 *
+	 * @return the state of the validated bundles
+	 */
 	public State getState() {
 		return fState;
 	}
 
 	public boolean hasErrors() {
-		if (fState.getHighestBundleId() > -1) {
-			BundleDescription[] bundles = fState.getBundles();
+		if (fResolverErrors != null) {
+			return fHasErrors;
+		}
+		return computeHasErrors(fState);
+	}
+
+	private static boolean computeHasErrors(State state) {
+		if (state.getHighestBundleId() > -1) {
+			BundleDescription[] bundles = state.getBundles();
 			for (BundleDescription bundle : bundles) {
 				if (!bundle.isResolved()) {
 					return true;
 				} else if (bundle.isSingleton()) {
-					BundleDescription[] dups = fState.getBundles(bundle.getSymbolicName());
+					BundleDescription[] dups = state.getBundles(bundle.getSymbolicName());
 					if (dups.length > 1) {
 						// more than one singleton
 						return true;
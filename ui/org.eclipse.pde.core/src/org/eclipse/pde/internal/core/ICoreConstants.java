@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -350,6 +350,20 @@ public interface ICoreConstants {
 	 */
 	String DISABLE_API_ANALYSIS_BUILDER = "Preferences.MainPage.disableAPIAnalysisBuilder";//$NON-NLS-1$
 
+	/**
+	 * Boolean preference whether target locations that are not provisioned
+	 * through p2 are resolved concurrently when a target definition is
+	 * resolved
+	 */
+	String TARGET_PARALLEL_RESOLUTION = "target_parallel_resolution"; //$NON-NLS-1$
+
+	/**
+	 * Integer preference for the number of os/ws/arch configurations an export
+	 * assembles and packages concurrently, <code>0</code> for the number of
+	 * processors and <code>1</code> to export them one after the other
+	 */
+	String EXPORT_PARALLEL_CONFIGURATIONS = "export_parallel_configurations"; //$NON-NLS-1$
+
 	/**
 	 * Explicit preference value for {@link #WORKSPACE_TARGET_HANDLE} when the user chooses no
 	 * target for the workspace (no external bundles).
@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.internal.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarFile;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.pde.internal.core.util.ManifestUtils;
+
+/**
+ * A persistent cache of parsed bundle manifest headers used when creating a
+ * {@link PDEState} for the target platform. Entries are keyed by the absolute
+ * path of the bundle and are only reused if the size and modification stamp of
+ * the bundle archive (or of the <code>META-INF/MANIFEST.MF</code> file for
+ * directory bundles) are unchanged, so unchanged jars are not reopened.
+ * <p>
+ * The cache is safe to be read from several threads at once. It is stored in
+ * the PDE state location and is rewritten by {@link #save()}, which drops
+ * entries for bundles that no longer exist.
+ * </p>
+ */
+class ManifestCache {
+
+	private static final String CACHE_FILE = ".manifests"; //$NON-NLS-1$
+	private static final int CACHE_VERSION = 1;
+
+	private static final Object LOCK = new Object();
+
+	private static class CacheEntry {
+		final long size;
+		final long lastModified;
+		final Map<String, String> headers;
+
+		CacheEntry(long size, long lastModified, Map<String, String> headers) {
+			this.size = size;
+			this.lastModified = lastModified;
+			this.headers = headers;
+		}
+	}
+
+	private final File fFile;
+	private final Map<String, CacheEntry> fLoaded = new HashMap<>();
+	private final Map<String, CacheEntry> fUsed = new ConcurrentHashMap<>();
+	private final AtomicInteger fHits = new AtomicInteger();
+	private final AtomicInteger fMisses = new AtomicInteger();
+
+	/**
+	 * Creates a cache backed by the default file in the PDE state location and
+	 * loads its persisted entries.
+	 *
+	 * @return the loaded cache
+	 */
+	static ManifestCache load() {
+		ManifestCache cache = new ManifestCache(new File(MinimalState.DIR, CACHE_FILE));
+		cache.read();
+		return cache;
+	}
+
+	ManifestCache(File file) {
+		fFile = file;
+	}
+
+	/**
+	 * Returns a modifiable copy of the manifest headers of the bundle at the
+	 * given location, reading the manifest from disk only if it is not cached
+	 * or has changed since it was cached.
+	 *
+	 * @param bundleLocation bundle archive or directory
+	 * @return map of bundle manifest headers
+	 * @throws CoreException if the manifest could not be read, see
+	 *             {@link ManifestUtils#loadManifest(File)}
+	 */
+	Map<String, String> getManifest(File bundleLocation) throws CoreException {
+		String key = bundleLocation.getAbsolutePath();
+		File stampFile = bundleLocation.isDirectory() ? new File(bundleLocation, JarFile.MANIFEST_NAME) : bundleLocation;
+		long size = stampFile.length();
+		long lastModified = stampFile.lastModified();
+		// fLoaded is only modified while loading and may be read concurrently
+		CacheEntry entry = fLoaded.get(key);
+		if (entry != null && entry.size == size && entry.lastModified == lastModified && lastModified != 0) {
+			fHits.incrementAndGet();
+		} else {
+			fMisses.incrementAndGet();
+			entry = new CacheEntry(size, lastModified, new HashMap<>(ManifestUtils.loadManifest(bundleLocation)));
+		}
+		fUsed.put(key, entry);
+		// callers such as TargetWeaver modify the returned map
+		return new HashMap<>(entry.headers);
+	}
+
+	/**
+	 * Writes the cache to disk. Entries accessed through
+	 * {@link #getManifest(File)} replace loaded ones, loaded entries for
+	 * bundles that no longer exist are dropped.
+	 */
+	void save() {
+		Map<String, CacheEntry> entries = new HashMap<>();
+		for (Entry<String, CacheEntry> loaded : fLoaded.entrySet()) {
+			if (!fUsed.containsKey(loaded.getKey()) && new File(loaded.getKey()).exists()) {
+				entries.put(loaded.getKey(), loaded.getValue());
+			}
+		}
+		entries.putAll(fUsed);
+		synchronized (LOCK) {
+			File tmp = new File(fFile.getParentFile(), fFile.getName() + ".tmp"); //$NON-NLS-1$
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+				out.writeInt(CACHE_VERSION);
+				out.writeInt(entries.size());
+				for (Entry<String, CacheEntry> cached : entries.entrySet()) {
+					CacheEntry entry = cached.getValue();
+					out.writeUTF(cached.getKey());
+					out.writeLong(entry.size);
+					out.writeLong(entry.lastModified);
+					out.writeInt(entry.headers.size());
+					for (Entry<String, String> header : entry.headers.entrySet()) {
+						out.writeUTF(header.getKey());
+						writeLongUTF(out, header.getValue());
+					}
+				}
+			} catch (IOException e) {
+				PDECore.log(e);
+				tmp.delete();
+				return;
+			}
+			try {
+				Files.move(tmp.toPath(), fFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			} catch (IOException e) {
+				PDECore.log(e);
+				tmp.delete();
+			}
+		}
+	}
+
+	private void read() {
+		synchronized (LOCK) {
+			if (!fFile.isFile()) {
+				return;
+			}
+			try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(fFile)))) {
+				if (in.readInt() != CACHE_VERSION) {
+					return;
+				}
+				int count = in.readInt();
+				for (int i = 0; i < count; i++) {
+					String key = in.readUTF();
+					long size = in.readLong();
+					long lastModified = in.readLong();
+					int headerCount = in.readInt();
+					Map<String, String> headers = new HashMap<>(headerCount * 2);
+					for (int j = 0; j < headerCount; j++) {
+						headers.put(in.readUTF(), readLongUTF(in));
+					}
+					fLoaded.put(key, new CacheEntry(size, lastModified, headers));
+				}
+			} catch (IOException e) {
+				// a corrupt cache is discarded and rebuilt on the next save
+				fLoaded.clear();
+			}
+		}
+	}
+
+	/**
+	 * Header values such as Export-Package may exceed the 64k limit of
+	 * {@link DataOutputStream#writeUTF(String)}, so values are written as
+	 * length-prefixed chunks.
+	 */
+	private static void writeLongUTF(DataOutputStream out, String value) throws IOException {
+		int chunk = 16 * 1024;
+		int chunks = (value.length() + chunk - 1) / chunk;
+		out.writeInt(chunks);
+		for (int i = 0; i < chunks; i++) {
+			out.writeUTF(value.substring(i * chunk, Math.min(value.length(), (i + 1) * chunk)));
+		}
+	}
+
+	private static String readLongUTF(DataInputStream in) throws IOException {
+		int chunks = in.readInt();
+		if (chunks == 1) {
+			return in.readUTF();
+		}
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < chunks; i++) {
+			builder.append(in.readUTF());
+		}
+		return builder.toString();
+	}
+
+	int getHitCount() {
+		return fHits.get();
+	}
+
+	int getMissCount() {
+		return fMisses.get();
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2012 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,7 +24,6 @@ import org.eclipse.core.runtime.IExtensionRegistry;
 import org.eclipse.core.runtime.IRegistryChangeListener;
 import org.eclipse.core.runtime.RegistryFactory;
 import org.eclipse.core.runtime.spi.RegistryContributor;
-import org.eclipse.osgi.service.resolver.BundleDescription;
 import org.eclipse.pde.core.plugin.IPluginExtension;
 import org.eclipse.pde.core.plugin.IPluginExtensionPoint;
 import org.eclipse.pde.core.plugin.IPluginModelBase;
@@ -34,7 +33,6 @@ import org.eclipse.pde.core.plugin.PluginRegistry;
 import org.eclipse.pde.internal.core.ibundle.IBundlePluginModelBase;
 import org.eclipse.pde.internal.core.plugin.PluginExtension;
 import org.eclipse.pde.internal.core.plugin.PluginExtensionPoint;
-import org.eclipse.pde.internal.core.util.CoreUtility;
 
 public class PDEExtensionRegistry {
 
@@ -103,13 +101,15 @@ public class PDEExtensionRegistry {
 	}
 
 	public void targetReloaded() {
-		// stop old registry (which will write contents to FS) and delete the cache it creates
-		// might see if we can dispose of a registry without writing to file system.  NOTE: Don't call stop() because we want to still reuse fStrategy
-		if (fRegistry != null) {
-			fRegistry.stop(fMasterKey);
+		// contributor ids do not depend on the bundle ids of the state, so the registry is kept and
+		// only the contributions of bundles that were added, removed or changed are updated
+		IExtensionRegistry registry;
+		synchronized (this) {
+			registry = fRegistry;
+		}
+		if (registry != null) {
+			fStrategy.reconcile(registry);
 		}
-		CoreUtility.deleteContent(new File(PDECore.getDefault().getStateLocation().toFile(), EXTENSION_DIR));
-		fRegistry = null;
 	}
 
 	// dispose of registry without writing contents.
@@ -253,29 +253,43 @@ public class PDEExtensionRegistry {
 		return list.toArray(new IExtension[list.size()]);
 	}
 
+	/**
+	 * Returns the model that contributed the given registry contributor, even
+	 * if the model is not enabled or is shadowed by a workspace model.
+	 *
+	 * @param contributor contributor of an extension or extension point
+	 * @return the contributing model or <code>null</code> if not found
+	 */
+	public IPluginModelBase findContributingPlugin(IContributor contributor) {
+		return getPlugin(contributor, true);
+	}
+
 	// make sure we return the right IPluginModelBase when we have multiple versions of a plug-in Id
 	private IPluginModelBase getPlugin(IContributor icontributor, boolean searchAll) {
 		if (!(icontributor instanceof RegistryContributor)) {
 			return null;
 		}
 		RegistryContributor contributor = (RegistryContributor) icontributor;
-		long bundleId = Long.parseLong(contributor.getActualId());
-		BundleDescription desc = PDECore.getDefault().getModelManager().getState().getState().getBundle(Long.parseLong(contributor.getActualId()));
-		if (desc != null) {
-			return PluginRegistry.findModel(desc);
-		}
-		// desc might be null if the workspace contains a plug-in with the same Bundle-SymbolicName
+		String location = fStrategy.getContributorLocation(contributor);
 		ModelEntry entry = PluginRegistry.findEntry(contributor.getActualName());
-		if (entry != null) {
-			if (!searchAll && entry.getWorkspaceModels().length > 0) {
-				return null;
-			}
-			IPluginModelBase externalModels[] = entry.getExternalModels();
-			for (IPluginModelBase model : externalModels) {
-				BundleDescription extDesc = model.getBundleDescription();
-				if (extDesc != null && extDesc.getBundleId() == bundleId) {
-					return model;
-				}
+		if (location == null || entry == null) {
+			return null;
+		}
+		IPluginModelBase model = findModel(entry.getWorkspaceModels(), location);
+		if (model != null) {
+			return model;
+		}
+		// external models are not part of the state if the workspace contains a plug-in with the same Bundle-SymbolicName
+		if (!searchAll && entry.getWorkspaceModels().length > 0) {
+			return null;
+		}
+		return findModel(entry.getExternalModels(), location);
+	}
+
+	private IPluginModelBase findModel(IPluginModelBase[] models, String location) {
+		for (IPluginModelBase model : models) {
+			if (model.getBundleDescription() != null && location.equals(model.getBundleDescription().getLocation())) {
+				return model;
 			}
 		}
 		return null;
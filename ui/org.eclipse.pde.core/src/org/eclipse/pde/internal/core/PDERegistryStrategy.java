@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2017 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,12 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 import javax.xml.parsers.SAXParserFactory;
@@ -46,6 +52,9 @@ public class PDERegistryStrategy extends RegistryStrategy {
 	private ModelListener fModelListener = null;
 	private ExtensionListener fExtensionListener = null;
 	private PDEExtensionRegistry fPDERegistry = null;
+	private final RegistryContributorTable fContributors;
+
+	private static final String CONTRIBUTORS_FILE = ".contributors"; //$NON-NLS-1$
 
 	class RegistryListener {
 		IExtensionRegistry fRegistry;
@@ -136,6 +145,7 @@ public class PDERegistryStrategy extends RegistryStrategy {
 
 	public PDERegistryStrategy(File[] storageDirs, boolean[] cacheReadOnly, Object key, PDEExtensionRegistry registry) {
 		super(storageDirs, cacheReadOnly);
+		fContributors = new RegistryContributorTable(new File(storageDirs[0], CONTRIBUTORS_FILE));
 		init();
 		fKey = key;
 		fPDERegistry = registry;
@@ -170,7 +180,10 @@ public class PDERegistryStrategy extends RegistryStrategy {
 	public void onStart(IExtensionRegistry registry, boolean loadedFromCache) {
 		super.onStart(registry, loadedFromCache);
 		setListenerRegistry(registry);
-		if (!loadedFromCache) {
+		if (loadedFromCache) {
+			// the cache may have been written for another target
+			reconcile(registry);
+		} else {
 			processBundles(registry);
 		}
 	}
@@ -179,6 +192,7 @@ public class PDERegistryStrategy extends RegistryStrategy {
 	public void onStop(IExtensionRegistry registry) {
 		super.onStop(registry);
 		setListenerRegistry(null);
+		fContributors.save();
 	}
 
 	@Override
@@ -194,6 +208,90 @@ public class PDERegistryStrategy extends RegistryStrategy {
 		addBundles(registry, fPDERegistry.getModels());
 	}
 
+	/**
+	 * Brings the contributions of the given registry in line with the current
+	 * models. Contributions of bundles that are unchanged since they were added
+	 * are kept, contributions of removed or modified bundles are removed and new
+	 * or modified bundles are added. All contributions of a symbolic name are
+	 * re-added together, workspace models first, so that extension points are
+	 * still found in the workspace version.
+	 *
+	 * @param registry the registry to update
+	 */
+	synchronized void reconcile(IExtensionRegistry registry) {
+		if (!(registry instanceof IDynamicExtensionRegistry)) {
+			return;
+		}
+		IDynamicExtensionRegistry dynamicRegistry = (IDynamicExtensionRegistry) registry;
+		long start = System.currentTimeMillis();
+		Map<String, IContributor> existing = new HashMap<>();
+		for (IContributor contributor : dynamicRegistry.getAllContributors()) {
+			if (contributor instanceof RegistryContributor) {
+				existing.put(((RegistryContributor) contributor).getActualId(), contributor);
+			}
+		}
+		IPluginModelBase[] models = fPDERegistry.getModels();
+		List<IPluginModelBase> contributing = new ArrayList<>(models.length);
+		Set<String> wanted = new HashSet<>();
+		Set<String> changedNames = new HashSet<>();
+		for (IPluginModelBase model : models) {
+			RegistryContributor contributor = (RegistryContributor) createContributor(model);
+			if (contributor == null) {
+				continue;
+			}
+			contributing.add(model);
+			wanted.add(contributor.getActualId());
+			IContributor current = existing.get(contributor.getActualId());
+			String location = model.getBundleDescription().getLocation();
+			boolean sameContributor = current != null && current.getName().equals(contributor.getName()) && ((RegistryContributor) current).getId().equals(contributor.getId());
+			if (!fContributors.isCurrent(location, computeTimestamp(model), current != null) || current != null && !sameContributor) {
+				changedNames.add(contributor.getActualName());
+			}
+		}
+		for (IContributor contributor : existing.values()) {
+			if (!wanted.contains(((RegistryContributor) contributor).getActualId())) {
+				changedNames.add(((RegistryContributor) contributor).getActualName());
+			}
+		}
+		int removed = 0;
+		for (IContributor contributor : existing.values()) {
+			RegistryContributor registryContributor = (RegistryContributor) contributor;
+			if (changedNames.contains(registryContributor.getActualName())) {
+				dynamicRegistry.removeContributor(contributor, fKey);
+				removed++;
+				if (!wanted.contains(registryContributor.getActualId())) {
+					fContributors.remove(Long.parseLong(registryContributor.getActualId()));
+				}
+			}
+		}
+		int added = 0;
+		for (IPluginModelBase model : contributing) {
+			if (changedNames.contains(model.getBundleDescription().getSymbolicName())) {
+				addBundle(registry, model);
+				added++;
+			}
+		}
+		if (PDECore.DEBUG_MODEL) {
+			System.out.println("Extension registry updated in " + (System.currentTimeMillis() - start) + " ms: " //$NON-NLS-1$ //$NON-NLS-2$
+					+ removed + " contributors removed, " + added + " added, " + (contributing.size() - added) + " kept"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+	}
+
+	/**
+	 * Returns the location of the bundle the given contributor was created
+	 * for.
+	 *
+	 * @param contributor a contributor of this strategy's registry
+	 * @return bundle location or <code>null</code> if not known
+	 */
+	public String getContributorLocation(RegistryContributor contributor) {
+		try {
+			return fContributors.getLocation(Long.parseLong(contributor.getActualId()));
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
 	private void addBundles(IExtensionRegistry registry, IPluginModelBase[] bases) {
 		for (IPluginModelBase base : bases) {
 			addBundle(registry, base);
@@ -209,10 +307,14 @@ public class PDERegistryStrategy extends RegistryStrategy {
 			return;
 		}
 
+		String location = base.getBundleDescription().getLocation();
+		long timestamp = computeTimestamp(base);
 		File input = getFile(base);
 		if (input == null) {
+			fContributors.setAdded(location, timestamp, false);
 			return;
 		}
+		boolean contributed = false;
 		InputStream is = null;
 		ZipFile jfile = null;
 
@@ -231,10 +333,11 @@ public class PDERegistryStrategy extends RegistryStrategy {
 				}
 			}
 			if (is != null) {
-				registry.addContribution(new BufferedInputStream(is), contributor, true, input.getPath(), null, fKey);
+				contributed = registry.addContribution(new BufferedInputStream(is), contributor, true, input.getPath(), null, fKey);
 			}
 		} catch (IOException e) {
 		} finally {
+			fContributors.setAdded(location, timestamp, contributed);
 			if (jfile != null) {
 				try {
 					jfile.close();
@@ -289,8 +392,11 @@ public class PDERegistryStrategy extends RegistryStrategy {
 		if (desc == null) {
 			return null;
 		}
+		if (desc.getLocation() == null) {
+			return null;
+		}
 		String name = desc.getSymbolicName();
-		String id = Long.toString(desc.getBundleId());
+		String id = Long.toString(fContributors.getId(desc.getLocation()));
 		String hostName = null;
 		String hostId = null;
 
@@ -305,8 +411,11 @@ public class PDERegistryStrategy extends RegistryStrategy {
 				return null;
 			}
 			BundleDescription hostDesc = hosts[0];
+			if (hostDesc.getLocation() == null) {
+				return null;
+			}
 			hostName = hostDesc.getSymbolicName();
-			hostId = Long.toString(hostDesc.getBundleId());
+			hostId = Long.toString(fContributors.getId(hostDesc.getLocation()));
 		}
 		return new RegistryContributor(id, name, hostId, hostName);
 	}
@@ -325,37 +434,40 @@ public class PDERegistryStrategy extends RegistryStrategy {
 		fPDERegistry.getRegistry();
 	}
 
-	// Same timestamp calculations as PDEState.computeTimestamp(URL[] urls, long timestamp)
+	// The cache is only valid with the contributor ids it was written with.
+	// Contributions of changed bundles are updated by reconcile() once the
+	// cache has been loaded.
 	@Override
 	public long getContributionsTimestamp() {
-		IPluginModelBase[] bases = fPDERegistry.getModels();
-		long timeStamp = 0;
-		for (IPluginModelBase base : bases) {
-			String loc = base.getInstallLocation();
-			if (loc == null) {
-				continue;
-			}
+		return fContributors.getGeneration();
+	}
 
-			File location = new File(loc);
-			if (location.exists()) {
-				if (location.isFile()) {
-					timeStamp ^= location.lastModified();
-				} else {
-					File manifest = new File(location, ICoreConstants.BUNDLE_FILENAME_DESCRIPTOR);
-					if (manifest.exists()) {
-						timeStamp ^= manifest.lastModified();
-					}
-					manifest = new File(location, ICoreConstants.PLUGIN_FILENAME_DESCRIPTOR);
-					if (manifest.exists()) {
-						timeStamp ^= manifest.lastModified();
-					}
-					manifest = new File(location, ICoreConstants.FRAGMENT_FILENAME_DESCRIPTOR);
-					if (manifest.exists()) {
-						timeStamp ^= manifest.lastModified();
-					}
+	// Same timestamp calculations as PDEState.computeTimestamp(URL[] urls, long timestamp), for a single bundle
+	private static long computeTimestamp(IPluginModelBase base) {
+		String loc = base.getInstallLocation();
+		if (loc == null) {
+			return 0;
+		}
+		long timeStamp = 0;
+		File location = new File(loc);
+		if (location.exists()) {
+			if (location.isFile()) {
+				timeStamp ^= location.lastModified();
+			} else {
+				File manifest = new File(location, ICoreConstants.BUNDLE_FILENAME_DESCRIPTOR);
+				if (manifest.exists()) {
+					timeStamp ^= manifest.lastModified();
+				}
+				manifest = new File(location, ICoreConstants.PLUGIN_FILENAME_DESCRIPTOR);
+				if (manifest.exists()) {
+					timeStamp ^= manifest.lastModified();
+				}
+				manifest = new File(location, ICoreConstants.FRAGMENT_FILENAME_DESCRIPTOR);
+				if (manifest.exists()) {
+					timeStamp ^= manifest.lastModified();
 				}
-				timeStamp ^= location.getAbsolutePath().hashCode();
 			}
+			timeStamp ^= location.getAbsolutePath().hashCode();
 		}
 		return timeStamp;
 	}
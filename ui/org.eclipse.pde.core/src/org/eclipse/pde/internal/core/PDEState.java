@@ -17,33 +17,45 @@ package org.eclipse.pde.internal.core;
 import java.io.File;
 import java.net.URI;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import org.eclipse.core.filesystem.URIUtil;
-import org.eclipse.core.resources.IWorkspaceRoot;
-import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.SubMonitor;
-import org.eclipse.osgi.service.resolver.BaseDescription;
 import org.eclipse.osgi.service.resolver.BundleDescription;
 import org.eclipse.osgi.service.resolver.State;
+import org.eclipse.osgi.service.resolver.StateDelta;
 import org.eclipse.pde.core.plugin.IPluginModelBase;
 import org.eclipse.pde.core.target.LoadTargetDefinitionJob;
 import org.eclipse.pde.internal.core.plugin.ExternalFragmentModel;
 import org.eclipse.pde.internal.core.plugin.ExternalPluginModel;
 import org.eclipse.pde.internal.core.plugin.ExternalPluginModelBase;
 import org.eclipse.pde.internal.core.util.CoreUtility;
-import org.osgi.framework.Version;
 
 public class PDEState extends MinimalState {
 
+	/**
+	 * The outcome of reading the manifest of one target bundle
+	 */
+	private static class ManifestResult {
+		final File file;
+		final Map<String, String> manifest;
+		final CoreException error;
+
+		ManifestResult(File file, Map<String, String> manifest, CoreException error) {
+			this.file = file;
+			this.manifest = manifest;
+			this.error = error;
+		}
+	}
+
 	private final PDEAuxiliaryState fAuxiliaryState;
 	private final ArrayList<IPluginModelBase> fTargetModels = new ArrayList<>();
+	private ResolverSelectionPolicy fSelectionPolicy;
 
 	/**
 	 * Creates a new PDE State containing bundles from the given URLs.
@@ -76,99 +88,89 @@ public class PDEState extends MinimalState {
 	private void createNewTargetState(boolean resolve, URI[] uris, IProgressMonitor monitor) {
 		fState = stateObjectFactory.createState(resolve);
 		if (resolve) {
-			final String systemBSN = getSystemBundle();
-			fState.getResolver().setSelectionPolicy(new Comparator<BaseDescription>() {
-				@Override
-				public int compare(BaseDescription bd1, BaseDescription bd2) {
-					if (systemBSN.equals(bd1.getSupplier().getSymbolicName())
-							&& !systemBSN.equals(bd2.getSupplier().getSymbolicName())) {
-						return -1;
-					} else if (!systemBSN.equals(bd1.getSupplier().getSymbolicName())
-							&& systemBSN.equals(bd2.getSupplier().getSymbolicName())) {
-						return 1;
-					}
-					Version v1 = bd1.getVersion();
-					Version v2 = bd2.getVersion();
-					int versionCompare = versionCompare(v1, v2);
-					if (versionCompare != 0) {
-						return versionCompare;
-					}
-					BundleDescription s1 = bd1.getSupplier();
-					BundleDescription s2 = bd2.getSupplier();
-					String n1 = s1.getName();
-					String n2 = s2.getName();
-					if (n1 != null && n1.equals(n2)) {
-						int retValue = versionCompare(s1.getVersion(), s2.getVersion());
-						if(retValue == 0){
-							boolean isQualifier = "qualifier".equals(v1.getQualifier()); //$NON-NLS-1$
-							if (!isQualifier) {
-								String loc1 = s1.getLocation();
-								String loc2 = s2.getLocation();
-								if (loc1 != null && loc2 != null  && !loc1.equals(loc2)) {
-									IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
-									if (root != null) {
-										IPath p1 = new Path(loc1);
-										if (root.findContainersForLocationURI(URIUtil.toURI(p1)).length != 0) {
-											return -1;
-										}
-										IPath p2 = new Path(loc2);
-										if (root.findContainersForLocationURI(URIUtil.toURI(p2)).length != 0) {
-											return 1;
-										}
-									}
-								}
-							}
-						}
-						return retValue;
-					}
-					long id1 = s1.getBundleId();
-					long id2 = s2.getBundleId();
-					return (id1 < id2) ? -1 : ((id1 == id2) ? 0 : 1);
-				}
-
-				/**
-				 * Compares the given versions and prefers ".qualifier" versions over versions
-				 * with any concrete qualifier.
-				 *
-				 * @param v1 first version
-				 * @param v2 second version
-				 * @return a negative number, zero, or a positive number depending on
-				 * if the first version is more desired, equal amount of desire, or less desired
-				 * than the second version respectively
-				 */
-				private int versionCompare(Version v1, Version v2) {
-					if (v1.getMajor() == v2.getMajor() && v1.getMinor() == v2.getMinor() && v1.getMicro() == v2.getMicro()) {
-						if (v1.getQualifier().equals(v2.getQualifier())) {
-							return 0;
-						}
-						boolean q1 = "qualifier".equals(v1.getQualifier()); //$NON-NLS-1$
-						boolean q2 = "qualifier".equals(v2.getQualifier()); //$NON-NLS-1$
-						if (q1 && !q2) {
-							return -1;
-						} else if (q2 && !q1) {
-							return 1;
-						}
-					}
-					int versionCompare = -(v1.compareTo(v2));
-					return versionCompare;
-				}
-			});
+			fSelectionPolicy = new ResolverSelectionPolicy(getSystemBundle());
+			fState.getResolver().setSelectionPolicy(fSelectionPolicy);
 		}
 		SubMonitor subMonitor = SubMonitor.convert(monitor, PDECoreMessages.PDEState_CreatingTargetModelState,
-				uris.length);
-		for (URI uri : uris) {
+				uris.length * 2);
+		// Read all manifests in parallel, then add the bundles in the order of
+		// the given URIs so that bundle ids are assigned deterministically
+		ManifestCache cache = ManifestCache.load();
+		ManifestResult[] manifests = Arrays.stream(uris).parallel().map(uri -> {
 			File file = toFile(uri);
-			if (file == null) {
+			if (file == null || subMonitor.isCanceled()) {
+				return null;
+			}
+			try {
+				return new ManifestResult(file, cache.getManifest(file), null);
+			} catch (CoreException e) {
+				return new ManifestResult(file, null, e);
+			}
+		}).toArray(ManifestResult[]::new);
+		subMonitor.worked(uris.length);
+		for (ManifestResult result : manifests) {
+			if (result == null) {
+				subMonitor.split(1);
 				continue;
 			}
 			try {
-				subMonitor.subTask(file.getName());
-				addBundle(file, -1);
+				subMonitor.subTask(result.file.getName());
+				if (result.error != null) {
+					throw result.error;
+				}
+				addBundle(result.file, -1, result.manifest);
 			} catch (CoreException e) {
 				PDECore.log(e);
 			}
 			subMonitor.split(1);
 		}
+		cache.save();
+		if (PDECore.DEBUG_MODEL) {
+			System.out.println("Manifest cache: " + cache.getHitCount() + " hits, " + cache.getMissCount() + " misses"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+	}
+
+	@Override
+	public StateDelta resolveState(boolean incremental) {
+		long start = beforeResolve();
+		StateDelta delta = super.resolveState(incremental);
+		afterResolve(start);
+		return delta;
+	}
+
+	@Override
+	public StateDelta resolveState(String[] symbolicNames) {
+		long start = beforeResolve();
+		StateDelta delta = super.resolveState(symbolicNames);
+		afterResolve(start);
+		return delta;
+	}
+
+	private long beforeResolve() {
+		if (fSelectionPolicy != null) {
+			// bundles may have been added or moved since the last resolve
+			fSelectionPolicy.reset();
+		}
+		return System.nanoTime();
+	}
+
+	private void afterResolve(long start) {
+		if (PDECore.DEBUG_MODEL && fSelectionPolicy != null) {
+			System.out.println("Time to resolve state: " + (System.nanoTime() - start) / 1000000 + " ms, selection policy: " //$NON-NLS-1$ //$NON-NLS-2$
+					+ fSelectionPolicy.getComparisonCount() + " comparisons in " //$NON-NLS-1$
+					+ fSelectionPolicy.getComparisonTime() / 1000000 + " ms"); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Returns the selection policy of this state's resolver. Its counters
+	 * accumulate over all resolve operations of this state.
+	 *
+	 * @return the selection policy or <code>null</code> if this state has no
+	 *         resolver
+	 */
+	public ResolverSelectionPolicy getSelectionPolicy() {
+		return fSelectionPolicy;
 	}
 
 	/**
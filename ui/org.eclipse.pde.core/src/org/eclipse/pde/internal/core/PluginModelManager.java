@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,6 +21,7 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -32,6 +33,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.ResourcesPlugin;
@@ -43,7 +45,9 @@ import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.IAccessRule;
 import org.eclipse.jdt.core.IClasspathContainer;
+import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
@@ -101,7 +105,7 @@ public class PluginModelManager implements IModelProviderListener {
 						fProjects.clear();
 						fContainers.clear();
 					}
-					JavaCore.setClasspathContainer(PDECore.REQUIRED_PLUGINS_CONTAINER_PATH, projects, containers, monitor);
+					setClasspathContainers(projects, containers, monitor);
 					synchronized (fProjects) {
 						more = !fProjects.isEmpty();
 					}
@@ -135,6 +139,13 @@ public class PluginModelManager implements IModelProviderListener {
 	 */
 	private final UpdateClasspathsJob fUpdateJob = new UpdateClasspathsJob();
 
+	/**
+	 * Entries of the Plug-in Dependencies containers last set by PDE, by project.
+	 * Used to avoid setting containers that did not change, which would make JDT
+	 * rebuild the project.
+	 */
+	private final Map<IJavaProject, IClasspathEntry[]> fContainerEntries = new ConcurrentHashMap<>();
+
 	/**
 	 * Subclass of ModelEntry
 	 * It adds methods that add/remove model from the entry.
@@ -245,6 +256,11 @@ public class PluginModelManager implements IModelProviderListener {
 				if (id != null) {
 					handleRemove(id, model, delta);
 				}
+				IResource resource = model.getUnderlyingResource();
+				if (resource != null) {
+					// a project that is closed or deleted gets its container set again when it is back
+					forgetClasspathContainer(JavaCore.create(resource.getProject()));
+				}
 			}
 		}
 
@@ -381,13 +397,83 @@ public class PluginModelManager implements IModelProviderListener {
 			} else {
 				// else update synchronously
 				try {
-					JavaCore.setClasspathContainer(PDECore.REQUIRED_PLUGINS_CONTAINER_PATH, projects, containers, null);
+					setClasspathContainers(projects, containers, null);
 				} catch (JavaModelException e) {
 				}
 			}
 		}
 	}
 
+	/**
+	 * Sets the Plug-in Dependencies containers of the given projects. The entries
+	 * of all containers are computed first, containers whose entries and access
+	 * rules are the same as the ones last set for the project are skipped. The
+	 * entries are computed one container at a time, as computing them calls the
+	 * classpath contributors, which are not required to be thread safe.
+	 *
+	 * @param projects the projects to update
+	 * @param containers the new containers, one for each project
+	 * @param monitor progress monitor or <code>null</code>
+	 * @throws JavaModelException if the containers could not be set
+	 */
+	void setClasspathContainers(IJavaProject[] projects, IClasspathContainer[] containers, IProgressMonitor monitor) throws JavaModelException {
+		long start = System.currentTimeMillis();
+		IClasspathEntry[][] entries = new IClasspathEntry[containers.length][];
+		for (int i = 0; i < containers.length; i++) {
+			entries[i] = containers[i].getClasspathEntries();
+		}
+		List<IJavaProject> changedProjects = new ArrayList<>(projects.length);
+		List<IClasspathContainer> changedContainers = new ArrayList<>(projects.length);
+		List<IClasspathEntry[]> changedEntries = new ArrayList<>(projects.length);
+		for (int i = 0; i < projects.length; i++) {
+			if (!isSameClasspath(fContainerEntries.get(projects[i]), entries[i])) {
+				changedProjects.add(projects[i]);
+				changedContainers.add(containers[i]);
+				changedEntries.add(entries[i]);
+			}
+		}
+		if (PDECore.DEBUG_CLASSPATH) {
+			System.out.println("Computed " + projects.length + " classpath containers in " + (System.currentTimeMillis() - start) + " ms, " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					+ changedProjects.size() + " changed"); //$NON-NLS-1$
+		}
+		if (changedProjects.isEmpty()) {
+			return;
+		}
+		IJavaProject[] changed = changedProjects.toArray(new IJavaProject[changedProjects.size()]);
+		JavaCore.setClasspathContainer(PDECore.REQUIRED_PLUGINS_CONTAINER_PATH, changed, changedContainers.toArray(new IClasspathContainer[changed.length]), monitor);
+		for (int i = 0; i < changed.length; i++) {
+			fContainerEntries.put(changed[i], changedEntries.get(i));
+		}
+	}
+
+	/**
+	 * Forgets the Plug-in Dependencies container entries last set for the given
+	 * project, so the next update sets the container again. Called when the
+	 * container was set by other means, for example with a source attachment.
+	 *
+	 * @param project the project
+	 */
+	void forgetClasspathContainer(IJavaProject project) {
+		fContainerEntries.remove(project);
+	}
+
+	private static boolean isSameClasspath(IClasspathEntry[] previous, IClasspathEntry[] entries) {
+		if (previous == null || previous.length != entries.length) {
+			return false;
+		}
+		for (int i = 0; i < entries.length; i++) {
+			if (!previous[i].equals(entries[i])) {
+				return false;
+			}
+			IAccessRule[] previousRules = previous[i].getAccessRules();
+			IAccessRule[] rules = entries[i].getAccessRules();
+			if (!Arrays.equals(previousRules, rules)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Notify all interested listeners in changes made to the master table
 	 *
@@ -632,7 +718,7 @@ public class PluginModelManager implements IModelProviderListener {
 		subMon.split(5);
 
 		fEntries = entries;
-		// flush the extension registry cache since workspace data (BundleDescription id's) have changed.
+		// update the contributions of the extension registry that changed with the new state
 		PDECore.getDefault().getExtensionsRegistry().targetReloaded();
 		if (oldState != null) {
 			// Need to update classpath entries
@@ -1223,6 +1309,7 @@ public class PluginModelManager implements IModelProviderListener {
 	protected void shutdown() {
 		fWorkspaceManager.shutdown();
 		fExternalManager.shutdown();
+		fContainerEntries.clear();
 
 		if (fListeners != null) {
 			fListeners.clear();
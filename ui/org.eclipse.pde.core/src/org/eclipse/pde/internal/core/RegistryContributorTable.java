@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.internal.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Assigns the ids of the contributors PDE adds to its extension registry.
+ * <p>
+ * Bundle ids of a {@link PDEState} are assigned in load order and change
+ * whenever the target changes, so they cannot identify a contribution across
+ * target reloads. Contributor ids are instead allocated once per bundle
+ * location and kept, together with a modification stamp of the contributed
+ * manifest, for as long as the bundle is part of the registry. This lets
+ * {@link PDERegistryStrategy} keep the contributions of unchanged bundles when
+ * the target is reloaded.
+ * </p>
+ * <p>
+ * The table is persisted next to the registry cache whenever the registry is
+ * stopped. Its generation is used as the contributions timestamp of the cache,
+ * so a cache is only reused together with the table it was written with.
+ * </p>
+ */
+class RegistryContributorTable {
+
+	private static final int TABLE_VERSION = 1;
+
+	private static class TableEntry {
+		final long id;
+		long stamp;
+		boolean contributed;
+
+		TableEntry(long id, long stamp, boolean contributed) {
+			this.id = id;
+			this.stamp = stamp;
+			this.contributed = contributed;
+		}
+	}
+
+	private final File fFile;
+	private final Map<String, TableEntry> fEntries = new HashMap<>();
+	private final Map<Long, String> fLocations = new HashMap<>();
+	private long fGeneration;
+	private long fNextId;
+
+	RegistryContributorTable(File file) {
+		fFile = file;
+		read();
+	}
+
+	/**
+	 * @return the generation of this table, changes whenever the table could
+	 *         not be restored from disk
+	 */
+	synchronized long getGeneration() {
+		return fGeneration;
+	}
+
+	/**
+	 * Returns the contributor id of the bundle at the given location,
+	 * allocating a new id if the location is not known yet.
+	 *
+	 * @param location location of the bundle, see
+	 *            {@link org.eclipse.osgi.service.resolver.BundleDescription#getLocation()}
+	 * @return contributor id
+	 */
+	synchronized long getId(String location) {
+		TableEntry entry = fEntries.get(location);
+		if (entry == null) {
+			entry = new TableEntry(fNextId++, -1, false);
+			fEntries.put(location, entry);
+			fLocations.put(Long.valueOf(entry.id), location);
+		}
+		return entry.id;
+	}
+
+	/**
+	 * @param id contributor id
+	 * @return the bundle location the id was allocated for or
+	 *         <code>null</code> if the id is unknown
+	 */
+	synchronized String getLocation(long id) {
+		return fLocations.get(Long.valueOf(id));
+	}
+
+	/**
+	 * Returns whether the bundle at the given location was added to the
+	 * registry with the given modification stamp.
+	 *
+	 * @param location bundle location
+	 * @param stamp current modification stamp of the bundle
+	 * @param contributed whether the registry currently holds a contribution
+	 *            of the bundle
+	 * @return <code>true</code> if the contribution is up to date
+	 */
+	synchronized boolean isCurrent(String location, long stamp, boolean contributed) {
+		TableEntry entry = fEntries.get(location);
+		return entry != null && entry.stamp == stamp && entry.contributed == contributed;
+	}
+
+	/**
+	 * Records that the bundle at the given location was added to the registry.
+	 *
+	 * @param location bundle location
+	 * @param stamp modification stamp of the bundle when it was added
+	 * @param contributed whether a contribution was made, bundles without
+	 *            extensions file are recorded so they are not reopened
+	 */
+	synchronized void setAdded(String location, long stamp, boolean contributed) {
+		getId(location);
+		TableEntry entry = fEntries.get(location);
+		entry.stamp = stamp;
+		entry.contributed = contributed;
+	}
+
+	/**
+	 * Forgets the bundle with the given contributor id. The id is not reused.
+	 *
+	 * @param id contributor id
+	 */
+	synchronized void remove(long id) {
+		String location = fLocations.remove(Long.valueOf(id));
+		if (location != null) {
+			fEntries.remove(location);
+		}
+	}
+
+	/**
+	 * Writes the table to disk.
+	 */
+	synchronized void save() {
+		fFile.getParentFile().mkdirs();
+		File tmp = new File(fFile.getParentFile(), fFile.getName() + ".tmp"); //$NON-NLS-1$
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+			out.writeInt(TABLE_VERSION);
+			out.writeLong(fGeneration);
+			out.writeLong(fNextId);
+			out.writeInt(fEntries.size());
+			for (Entry<String, TableEntry> tableEntry : fEntries.entrySet()) {
+				TableEntry entry = tableEntry.getValue();
+				out.writeUTF(tableEntry.getKey());
+				out.writeLong(entry.id);
+				out.writeLong(entry.stamp);
+				out.writeBoolean(entry.contributed);
+			}
+		} catch (IOException e) {
+			PDECore.log(e);
+			tmp.delete();
+			return;
+		}
+		try {
+			Files.move(tmp.toPath(), fFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			PDECore.log(e);
+			tmp.delete();
+		}
+	}
+
+	private void read() {
+		if (fFile.isFile()) {
+			try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(fFile)))) {
+				if (in.readInt() == TABLE_VERSION) {
+					long generation = in.readLong();
+					long nextId = in.readLong();
+					int count = in.readInt();
+					for (int i = 0; i < count; i++) {
+						String location = in.readUTF();
+						TableEntry entry = new TableEntry(in.readLong(), in.readLong(), in.readBoolean());
+						fEntries.put(location, entry);
+						fLocations.put(Long.valueOf(entry.id), location);
+					}
+					fGeneration = generation;
+					fNextId = nextId;
+					return;
+				}
+			} catch (IOException e) {
+				// a corrupt table is discarded together with the registry cache
+			}
+		}
+		fEntries.clear();
+		fLocations.clear();
+		fNextId = 0;
+		// a new generation invalidates any registry cache written with another table
+		fGeneration = System.currentTimeMillis();
+	}
+
+}
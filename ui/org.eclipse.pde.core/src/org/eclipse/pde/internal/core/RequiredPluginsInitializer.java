@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2000, 2015 IBM Corporation and others.
+ *  Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -48,7 +48,9 @@ public class RequiredPluginsInitializer extends ClasspathContainerInitializer {
 		}
 		if (project.exists() && project.isOpen()) {
 			IPluginModelBase model = manager.findModel(project);
-			JavaCore.setClasspathContainer(PDECore.REQUIRED_PLUGINS_CONTAINER_PATH, new IJavaProject[] {javaProject}, new IClasspathContainer[] {new RequiredPluginsClasspathContainer(model)}, null);
+			// the initializer must always set the container, so the entries last set are forgotten first
+			manager.forgetClasspathContainer(javaProject);
+			manager.setClasspathContainers(new IJavaProject[] {javaProject}, new IClasspathContainer[] {new RequiredPluginsClasspathContainer(model)}, null);
 		}
 	}
 
@@ -81,6 +83,7 @@ public class RequiredPluginsInitializer extends ClasspathContainerInitializer {
 	@Override
 	public void requestClasspathContainerUpdate(IPath containerPath, IJavaProject project, IClasspathContainer containerSuggestion) throws CoreException {
 		// The only supported update is to modify the source attachment
+		PDECore.getDefault().getModelManager().forgetClasspathContainer(project);
 		JavaCore.setClasspathContainer(containerPath, new IJavaProject[] {project}, new IClasspathContainer[] {containerSuggestion}, null);
 	}
 
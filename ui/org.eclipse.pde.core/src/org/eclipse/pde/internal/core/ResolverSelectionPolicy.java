@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.internal.core;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import org.eclipse.core.filesystem.URIUtil;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.osgi.service.resolver.BaseDescription;
+import org.eclipse.osgi.service.resolver.BundleDescription;
+import org.osgi.framework.Version;
+
+/**
+ * Selection policy used by the resolver of the {@link PDEState} to choose
+ * between several suppliers of the same capability. The system bundle is
+ * preferred, then the highest version (with ".qualifier" versions preferred
+ * over concrete qualifiers), then bundles located in the workspace, then the
+ * bundle that was added to the state first.
+ * <p>
+ * Whether a bundle is located in the workspace is computed at most once per
+ * bundle id between two calls to {@link #reset()}, which should be called
+ * before each resolve operation.
+ * </p>
+ */
+public class ResolverSelectionPolicy implements Comparator<BaseDescription> {
+
+	private static final String QUALIFIER = "qualifier"; //$NON-NLS-1$
+
+	private final String fSystemBSN;
+	private final WorkspaceBits fWorkspaceBits = new WorkspaceBits();
+
+	private long fComparisons;
+	private long fComparisonTime;
+
+	/**
+	 * @param systemBSN symbolic name of the system bundle
+	 */
+	public ResolverSelectionPolicy(String systemBSN) {
+		fSystemBSN = systemBSN;
+	}
+
+	@Override
+	public int compare(BaseDescription bd1, BaseDescription bd2) {
+		long start = System.nanoTime();
+		try {
+			return doCompare(bd1, bd2);
+		} finally {
+			fComparisons++;
+			fComparisonTime += System.nanoTime() - start;
+		}
+	}
+
+	private int doCompare(BaseDescription bd1, BaseDescription bd2) {
+		if (fSystemBSN.equals(bd1.getSupplier().getSymbolicName())
+				&& !fSystemBSN.equals(bd2.getSupplier().getSymbolicName())) {
+			return -1;
+		} else if (!fSystemBSN.equals(bd1.getSupplier().getSymbolicName())
+				&& fSystemBSN.equals(bd2.getSupplier().getSymbolicName())) {
+			return 1;
+		}
+		Version v1 = bd1.getVersion();
+		Version v2 = bd2.getVersion();
+		int versionCompare = versionCompare(v1, v2);
+		if (versionCompare != 0) {
+			return versionCompare;
+		}
+		BundleDescription s1 = bd1.getSupplier();
+		BundleDescription s2 = bd2.getSupplier();
+		String n1 = s1.getName();
+		String n2 = s2.getName();
+		if (n1 != null && n1.equals(n2)) {
+			int retValue = versionCompare(s1.getVersion(), s2.getVersion());
+			if (retValue == 0) {
+				boolean isQualifier = QUALIFIER.equals(v1.getQualifier());
+				if (!isQualifier) {
+					String loc1 = s1.getLocation();
+					String loc2 = s2.getLocation();
+					if (loc1 != null && loc2 != null && !loc1.equals(loc2)) {
+						if (isWorkspaceBundle(s1)) {
+							return -1;
+						}
+						if (isWorkspaceBundle(s2)) {
+							return 1;
+						}
+					}
+				}
+			}
+			return retValue;
+		}
+		long id1 = s1.getBundleId();
+		long id2 = s2.getBundleId();
+		return (id1 < id2) ? -1 : ((id1 == id2) ? 0 : 1);
+	}
+
+	/**
+	 * Compares the given versions and prefers ".qualifier" versions over versions
+	 * with any concrete qualifier.
+	 *
+	 * @param v1 first version
+	 * @param v2 second version
+	 * @return a negative number, zero, or a positive number depending on
+	 * if the first version is more desired, equal amount of desire, or less desired
+	 * than the second version respectively
+	 */
+	private int versionCompare(Version v1, Version v2) {
+		if (v1.getMajor() == v2.getMajor() && v1.getMinor() == v2.getMinor() && v1.getMicro() == v2.getMicro()) {
+			if (v1.getQualifier().equals(v2.getQualifier())) {
+				return 0;
+			}
+			boolean q1 = QUALIFIER.equals(v1.getQualifier());
+			boolean q2 = QUALIFIER.equals(v2.getQualifier());
+			if (q1 && !q2) {
+				return -1;
+			} else if (q2 && !q1) {
+				return 1;
+			}
+		}
+		int versionCompare = -(v1.compareTo(v2));
+		return versionCompare;
+	}
+
+	private boolean isWorkspaceBundle(BundleDescription desc) {
+		synchronized (fWorkspaceBits) {
+			long id = desc.getBundleId();
+			int bits = fWorkspaceBits.get(id);
+			if (bits == WorkspaceBits.UNKNOWN) {
+				bits = computeWorkspaceBundle(desc) ? WorkspaceBits.WORKSPACE : WorkspaceBits.EXTERNAL;
+				fWorkspaceBits.put(id, bits);
+			}
+			return bits == WorkspaceBits.WORKSPACE;
+		}
+	}
+
+	private static boolean computeWorkspaceBundle(BundleDescription desc) {
+		IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+		if (root == null) {
+			return false;
+		}
+		return root.findContainersForLocationURI(URIUtil.toURI(new Path(desc.getLocation()))).length != 0;
+	}
+
+	/**
+	 * Forgets which bundles are located in the workspace. Must be called before
+	 * resolving after bundles were added, removed or updated.
+	 */
+	public void reset() {
+		synchronized (fWorkspaceBits) {
+			fWorkspaceBits.clear();
+		}
+	}
+
+	/**
+	 * @return the number of comparisons done by this policy
+	 */
+	public long getComparisonCount() {
+		return fComparisons;
+	}
+
+	/**
+	 * @return the total time spent in this policy in nanoseconds
+	 */
+	public long getComparisonTime() {
+		return fComparisonTime;
+	}
+
+	/**
+	 * Open addressing hash map from bundle id to a workspace bit, avoids boxing
+	 * the ids in the resolver's hot path.
+	 */
+	private static class WorkspaceBits {
+		static final int UNKNOWN = 0;
+		static final int EXTERNAL = 1;
+		static final int WORKSPACE = 2;
+
+		private long[] fKeys = new long[64];
+		private byte[] fValues = new byte[64];
+		private int fSize;
+
+		int get(long key) {
+			int mask = fKeys.length - 1;
+			for (int i = hash(key) & mask;; i = (i + 1) & mask) {
+				if (fValues[i] == UNKNOWN) {
+					return UNKNOWN;
+				}
+				if (fKeys[i] == key) {
+					return fValues[i];
+				}
+			}
+		}
+
+		void put(long key, int value) {
+			if ((fSize + 1) * 2 > fKeys.length) {
+				rehash(fKeys.length * 2);
+			}
+			int mask = fKeys.length - 1;
+			int i = hash(key) & mask;
+			while (fValues[i] != UNKNOWN && fKeys[i] != key) {
+				i = (i + 1) & mask;
+			}
+			if (fValues[i] == UNKNOWN) {
+				fSize++;
+			}
+			fKeys[i] = key;
+			fValues[i] = (byte) value;
+		}
+
+		void clear() {
+			Arrays.fill(fValues, (byte) UNKNOWN);
+			fSize = 0;
+		}
+
+		private void rehash(int capacity) {
+			long[] keys = fKeys;
+			byte[] values = fValues;
+			fKeys = new long[capacity];
+			fValues = new byte[capacity];
+			fSize = 0;
+			for (int i = 0; i < keys.length; i++) {
+				if (values[i] != UNKNOWN) {
+					put(keys[i], values[i]);
+				}
+			}
+		}
+
+		private static int hash(long key) {
+			long h = key * 0x9E3779B97F4A7C15L;
+			return (int) (h ^ (h >>> 32));
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2000, 2013 IBM Corporation and others.
+ *  Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -29,12 +29,8 @@ import org.eclipse.core.runtime.IExtension;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.URIUtil;
-import org.eclipse.core.runtime.spi.RegistryContributor;
-import org.eclipse.osgi.service.resolver.BundleDescription;
 import org.eclipse.pde.core.plugin.IPluginBase;
 import org.eclipse.pde.core.plugin.IPluginModelBase;
-import org.eclipse.pde.core.plugin.ModelEntry;
-import org.eclipse.pde.core.plugin.PluginRegistry;
 import org.osgi.framework.Version;
 
 /**
@@ -367,23 +363,7 @@ public class SourceLocationManager implements ICoreConstants {
 		IExtension[] extensions = PDECore.getDefault().getExtensionsRegistry().findExtensions(PDECore.PLUGIN_ID + ".source", false); //$NON-NLS-1$
 		for (IExtension extension : extensions) {
 			IConfigurationElement[] children = extension.getConfigurationElements();
-			RegistryContributor contributor = (RegistryContributor) extension.getContributor();
-			long bundleId = Long.parseLong(contributor.getActualId());
-			BundleDescription desc = PDECore.getDefault().getModelManager().getState().getState().getBundle(Long.parseLong(contributor.getActualId()));
-			IPluginModelBase base = null;
-			if (desc != null) {
-				base = PluginRegistry.findModel(desc);
-			} else {
-				// desc might be null if the workspace contains a plug-in with the same Bundle-SymbolicName
-				ModelEntry entry = PluginRegistry.findEntry(contributor.getActualName());
-				IPluginModelBase externalModels[] = entry.getExternalModels();
-				for (IPluginModelBase externalModel : externalModels) {
-					BundleDescription extDesc = externalModel.getBundleDescription();
-					if (extDesc != null && extDesc.getBundleId() == bundleId) {
-						base = externalModel;
-					}
-				}
-			}
+			IPluginModelBase base = PDECore.getDefault().getExtensionsRegistry().findContributingPlugin(extension.getContributor());
 			if (base == null) {
 				continue;
 			}
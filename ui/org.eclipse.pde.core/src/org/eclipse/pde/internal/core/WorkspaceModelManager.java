@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2003, 2018 IBM Corporation and others.
+ *  Copyright (c) 2003, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -114,13 +114,22 @@ public abstract class WorkspaceModelManager<T> extends AbstractModelManager
 
 		ensureModelsMapCreated();
 
-		IProject[] projects = PDECore.getWorkspace().getRoot().getProjects();
+		createModels(PDECore.getWorkspace().getRoot().getProjects());
+		addListeners();
+	}
+
+	/**
+	 * Creates the models of the interesting projects among the given workspace
+	 * projects when the manager is initialized. No events are fired.
+	 *
+	 * @param projects all projects of the workspace
+	 */
+	protected void createModels(IProject[] projects) {
 		for (IProject project : projects) {
 			if (isInterestingProject(project)) {
 				createModel(project, false);
 			}
 		}
-		addListeners();
 	}
 
 	protected abstract boolean isInterestingProject(IProject project);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2017 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -29,6 +29,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.stream.IntStream;
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
@@ -87,6 +88,13 @@ public class WorkspacePluginModelManager extends WorkspaceModelManager<IPluginMo
 					ICoreConstants.ECLIPSE_SYSTEM_BUNDLE, //
 					ICoreConstants.ECLIPSE_SOURCE_BUNDLE)));
 
+	/**
+	 * The system property that enables reading the models of the workspace
+	 * plug-in projects on several threads when the manager is initialized,
+	 * with <code>org.eclipse.pde.core.parallelModelInitialization=true</code>.
+	 */
+	public static final String PARALLEL_INITIALIZATION = "org.eclipse.pde.core.parallelModelInitialization"; //$NON-NLS-1$
+
 	private final ArrayList<IExtensionDeltaListener> fExtensionListeners = new ArrayList<>();
 	private ArrayList<ModelChange> fChangedExtensions = null;
 
@@ -112,6 +120,61 @@ public class WorkspacePluginModelManager extends WorkspaceModelManager<IPluginMo
 	 */
 	@Override
 	protected void createModel(IProject project, boolean notify) {
+		IPluginModelBase model = readModel(project);
+
+		if (PDEProject.getOptionsFile(project).exists()) {
+			PDECore.getDefault().getTracingOptionsManager().reset();
+		}
+
+		if (model != null) {
+			getModelsMap().put(project, model);
+			if (notify) {
+				addChange(model, IModelProviderEvent.MODELS_ADDED);
+			}
+		}
+	}
+
+	/**
+	 * Reads the models of the plug-in projects concurrently when enabled with
+	 * {@link #PARALLEL_INITIALIZATION}. The models are then added to the
+	 * models map in the order of the projects, on the calling thread.
+	 */
+	@Override
+	protected void createModels(IProject[] projects) {
+		if (!Boolean.getBoolean(PARALLEL_INITIALIZATION)) {
+			super.createModels(projects);
+			return;
+		}
+		IPluginModelBase[] models = new IPluginModelBase[projects.length];
+		boolean[] options = new boolean[projects.length];
+		IntStream.range(0, projects.length).parallel().forEach(i -> {
+			if (isInterestingProject(projects[i])) {
+				models[i] = readModel(projects[i]);
+				options[i] = PDEProject.getOptionsFile(projects[i]).exists();
+			}
+		});
+		boolean resetOptions = false;
+		for (int i = 0; i < projects.length; i++) {
+			if (models[i] != null) {
+				getModelsMap().put(projects[i], models[i]);
+			}
+			resetOptions |= options[i];
+		}
+		if (resetOptions) {
+			PDECore.getDefault().getTracingOptionsManager().reset();
+		}
+	}
+
+	/**
+	 * Reads the plug-in model of the given project without adding it to the
+	 * models map. Only the project files are read, so the models of several
+	 * projects can be read concurrently.
+	 *
+	 * @param project the plug-in project
+	 * @return the plug-in model or <code>null</code> if the project has no
+	 *         manifest, plugin.xml or fragment.xml file
+	 */
+	private IPluginModelBase readModel(IProject project) {
 		IPluginModelBase model = null;
 		IFile manifest = PDEProject.getManifest(project);
 		IFile pluginXml = PDEProject.getPluginXml(project);
@@ -144,17 +207,7 @@ public class WorkspacePluginModelManager extends WorkspaceModelManager<IPluginMo
 			model = new WorkspaceFragmentModel(fragmentXml, true);
 			loadModel(model, false);
 		}
-
-		if (PDEProject.getOptionsFile(project).exists()) {
-			PDECore.getDefault().getTracingOptionsManager().reset();
-		}
-
-		if (model != null) {
-			getModelsMap().put(project, model);
-			if (notify) {
-				addChange(model, IModelProviderEvent.MODELS_ADDED);
-			}
-		}
+		return model;
 	}
 
 	/**
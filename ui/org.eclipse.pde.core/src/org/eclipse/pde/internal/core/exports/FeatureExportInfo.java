@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2009 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -30,5 +30,11 @@ public class FeatureExportInfo {
 	public String[] jnlpInfo;
 	public String[][] targets;
 	public String categoryDefinition;
+	/**
+	 * Maximum number of configurations whose assembly and packager scripts run
+	 * concurrently, <code>0</code> or <code>1</code> to run them one after the
+	 * other
+	 */
+	public int parallelConfigurations;
 
 }
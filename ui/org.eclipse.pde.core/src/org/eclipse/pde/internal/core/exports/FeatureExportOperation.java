@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2020 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -35,6 +35,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -110,7 +111,7 @@ public class FeatureExportOperation extends Job {
 	protected String fBuildTempLocation;
 	protected String fBuildTempMetadataLocation;
 	private String fDevProperties;
-	private static boolean fHasErrors;
+	private static volatile boolean fHasErrors;
 	protected HashMap<String, String> fAntBuildProperties;
 	protected WorkspaceExportHelper fWorkspaceExportHelper;
 
@@ -323,22 +324,141 @@ public class FeatureExportOperation extends Job {
 
 		}
 
-		subMonitor.setTaskName(PDECoreMessages.FeatureExportOperation_runningAssemblyScript);
-		for (String[] config : configs) {
-			setArchiveLocation(properties, config[0], config[1], config[2]);
-			runScript(getAssemblyScriptName(featureID, config[0], config[1], config[2], featureLocation), new String[] {"main"}, //$NON-NLS-1$
-					properties, subMonitor.split(2));
-		}
+		int parallelism = getConfigurationParallelism(configs);
+		if (parallelism > 1 && !publishingP2Metadata()) {
+			subMonitor.setTaskName(PDECoreMessages.FeatureExportOperation_runningAssemblyScript);
+			runConfigurationScripts(featureID, featureLocation, configs, parallelism, true, properties, subMonitor.split(configs.length * 4));
+		} else {
+			// the assembly of configurations publishing p2 metadata uses the
+			// shared build repository, only their packaging runs concurrently
+			subMonitor.setTaskName(PDECoreMessages.FeatureExportOperation_runningAssemblyScript);
+			for (String[] config : configs) {
+				Map<String, String> configProperties = new HashMap<>(properties);
+				setConfigurationProperties(configProperties, config, parallelism > 1);
+				runScript(getAssemblyScriptName(featureID, config[0], config[1], config[2], featureLocation), new String[] {"main"}, //$NON-NLS-1$
+						configProperties, subMonitor.split(2));
+			}
 
-		subMonitor.setTaskName(PDECoreMessages.FeatureExportOperation_runningPackagerScript);
-		for (String[] config : configs) {
-			setArchiveLocation(properties, config[0], config[1], config[2]);
-			runScript(getPackagerScriptName(featureID, config[0], config[1], config[2], featureLocation), null, properties, subMonitor.split(2));
+			subMonitor.setTaskName(PDECoreMessages.FeatureExportOperation_runningPackagerScript);
+			if (parallelism > 1) {
+				runConfigurationScripts(featureID, featureLocation, configs, parallelism, false, properties, subMonitor.split(configs.length * 2));
+			} else {
+				for (String[] config : configs) {
+					setArchiveLocation(properties, config[0], config[1], config[2]);
+					runScript(getPackagerScriptName(featureID, config[0], config[1], config[2], featureLocation), null, properties, subMonitor.split(2));
+				}
+			}
 		}
 		properties.put("destination.temp.folder", fBuildTempLocation + "/pde.logs"); //$NON-NLS-1$ //$NON-NLS-2$
 		runScript(getBuildScriptName(featureLocation), new String[] {"gather.logs"}, properties, subMonitor.split(2)); //$NON-NLS-1$
 	}
 
+	/**
+	 * Returns the number of configurations an export assembles and packages
+	 * concurrently by default, as set by the
+	 * {@link ICoreConstants#EXPORT_PARALLEL_CONFIGURATIONS} preference or the
+	 * number of processors if the preference is not set.
+	 */
+	public static int getDefaultParallelConfigurations() {
+		int count = PDECore.getDefault().getPreferencesManager().getInt(ICoreConstants.EXPORT_PARALLEL_CONFIGURATIONS);
+		return count > 0 ? count : Runtime.getRuntime().availableProcessors();
+	}
+
+	/**
+	 * Returns how many configurations can be assembled and packaged
+	 * concurrently.
+	 */
+	private int getConfigurationParallelism(String[][] configs) {
+		if (configs.length < 2) {
+			return 1;
+		}
+		return Math.min(configs.length, fInfo.parallelConfigurations);
+	}
+
+	/**
+	 * Sets the archive location of the given configuration and, if the
+	 * configurations are packaged concurrently, gives each of them its own
+	 * assembly folder, so the configurations don't share any output.
+	 */
+	private void setConfigurationProperties(Map<String, String> antProperties, String[] config, boolean separateAssembly) {
+		setArchiveLocation(antProperties, config[0], config[1], config[2]);
+		if (separateAssembly && !fInfo.toDirectory) {
+			antProperties.put(IXMLConstants.PROPERTY_ASSEMBLY_TMP, fBuildTempLocation + "/assembly/" + config[0] + '.' + config[1] + '.' + config[2]); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Runs the assembly script, if requested, and then the packager script of
+	 * each configuration, running the scripts of up to the given number of
+	 * configurations concurrently in a single Ant build. The errors of all
+	 * configurations are reported once all of them are finished.
+	 */
+	private void runConfigurationScripts(String featureID, String featureLocation, String[][] configs, int parallelism, boolean assemble, Map<String, String> properties, IProgressMonitor monitor) throws InvocationTargetException, CoreException {
+		File scriptFile = null;
+		try {
+			scriptFile = createScriptFile("assemble.parallel.xml"); //$NON-NLS-1$
+			DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+			Document doc = factory.newDocumentBuilder().newDocument();
+
+			Element root = doc.createElement("project"); //$NON-NLS-1$
+			root.setAttribute("name", "temp"); //$NON-NLS-1$ //$NON-NLS-2$
+			root.setAttribute("default", "main"); //$NON-NLS-1$ //$NON-NLS-2$
+			root.setAttribute("basedir", "."); //$NON-NLS-1$ //$NON-NLS-2$
+			doc.appendChild(root);
+
+			Element target = doc.createElement("target"); //$NON-NLS-1$
+			target.setAttribute("name", "main"); //$NON-NLS-1$ //$NON-NLS-2$
+			root.appendChild(target);
+			Element parallel = doc.createElement("parallel"); //$NON-NLS-1$
+			parallel.setAttribute("threadCount", Integer.toString(parallelism)); //$NON-NLS-1$
+			parallel.setAttribute("failonany", "false"); //$NON-NLS-1$ //$NON-NLS-2$
+			target.appendChild(parallel);
+
+			for (String[] config : configs) {
+				Map<String, String> configProperties = new LinkedHashMap<>();
+				setConfigurationProperties(configProperties, config, true);
+				Element sequential = doc.createElement("sequential"); //$NON-NLS-1$
+				if (assemble) {
+					sequential.appendChild(createAntCall(doc, getAssemblyScriptName(featureID, config[0], config[1], config[2], featureLocation), "main", configProperties)); //$NON-NLS-1$
+				}
+				sequential.appendChild(createAntCall(doc, getPackagerScriptName(featureID, config[0], config[1], config[2], featureLocation), null, configProperties));
+				parallel.appendChild(sequential);
+			}
+			XMLPrintHandler.writeFile(doc, scriptFile);
+
+			// user properties override the properties of the Ant calls, the
+			// configurations must not share an archive or assembly folder
+			Map<String, String> sharedProperties = new HashMap<>(properties);
+			sharedProperties.remove(IXMLConstants.PROPERTY_ARCHIVE_FULLPATH);
+			sharedProperties.remove(IXMLConstants.PROPERTY_ASSEMBLY_TMP);
+			runScript(scriptFile.getAbsolutePath(), new String[] {"main"}, sharedProperties, monitor); //$NON-NLS-1$
+		} catch (FactoryConfigurationError | ParserConfigurationException | IOException e) {
+			throw new InvocationTargetException(e);
+		} finally {
+			if (scriptFile != null && scriptFile.exists()) {
+				scriptFile.delete();
+			}
+		}
+	}
+
+	private Element createAntCall(Document doc, String script, String target, Map<String, String> properties) {
+		Element ant = doc.createElement("ant"); //$NON-NLS-1$
+		ant.setAttribute("antfile", script); //$NON-NLS-1$
+		if (target != null) {
+			ant.setAttribute("target", target); //$NON-NLS-1$
+		}
+		// the user properties are passed on, the called script runs in its own directory
+		ant.setAttribute("inheritAll", "false"); //$NON-NLS-1$ //$NON-NLS-2$
+		ant.setAttribute("useNativeBasedir", "true"); //$NON-NLS-1$ //$NON-NLS-2$
+		for (Entry<String, String> property : properties.entrySet()) {
+			Element child = doc.createElement("property"); //$NON-NLS-1$
+			child.setAttribute("name", property.getKey()); //$NON-NLS-1$
+			child.setAttribute("value", property.getValue()); //$NON-NLS-1$
+			ant.appendChild(child);
+		}
+		return ant;
+	}
+
 	protected boolean groupedConfigurations() {
 		//feature export with p2 metadata results in a grouped repo
 		return publishingP2Metadata();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2000, 2016 IBM Corporation and others.
+ *  Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -17,10 +17,13 @@ package org.eclipse.pde.internal.core.schema;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.PrintWriter;
 import java.net.JarURLConnection;
 import java.net.URL;
 import java.net.URLConnection;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -49,6 +52,7 @@ import org.eclipse.pde.internal.core.ischema.ISchemaEnumeration;
 import org.eclipse.pde.internal.core.ischema.ISchemaInclude;
 import org.eclipse.pde.internal.core.ischema.ISchemaObject;
 import org.eclipse.pde.internal.core.ischema.ISchemaObjectReference;
+import org.eclipse.pde.internal.core.ischema.ISchemaRestriction;
 import org.eclipse.pde.internal.core.ischema.ISchemaRootElement;
 import org.eclipse.pde.internal.core.ischema.ISchemaSimpleType;
 import org.eclipse.pde.internal.core.ischema.ISchemaType;
@@ -461,6 +465,150 @@ public class Schema extends PlatformObject implements ISchema {
 		}
 	}
 
+	/**
+	 * Loads this schema from the compiled schema store if the store holds the
+	 * current contents of the schema url. Otherwise the schema is parsed and
+	 * its contents are stored.
+	 */
+	void loadCompiled() {
+		SchemaStore store = SchemaStore.getStore();
+		if (store != null && store.restore(this, fURL, fAbbreviated)) {
+			return;
+		}
+		load();
+		if (store != null && isLoaded()) {
+			store.store(this, fURL, fAbbreviated);
+		}
+	}
+
+	/**
+	 * Writes the contents of this loaded schema for the compiled schema store.
+	 * Included schemas are written as their locations.
+	 *
+	 * @param out the stream to write to
+	 * @throws IOException if the contents cannot be written
+	 */
+	void writeContents(ObjectOutputStream out) throws IOException {
+		out.writeObject(fPointID);
+		out.writeObject(fPluginID);
+		out.writeObject(fName);
+		out.writeObject(fDescription);
+		out.writeBoolean(fValid);
+		out.writeObject(new ArrayList<>(fElements));
+		out.writeObject(new ArrayList<>(fDocSections));
+		ArrayList<String> includes = new ArrayList<>();
+		if (fIncludes != null) {
+			for (ISchemaInclude include : fIncludes) {
+				includes.add(include.getLocation());
+			}
+		}
+		out.writeObject(includes);
+	}
+
+	/**
+	 * Reads the contents written by {@link #writeContents(ObjectOutputStream)}
+	 * into this schema. The parents of the schema objects, which are not
+	 * serialized, are set again and element references are resolved as when
+	 * the schema is parsed.
+	 *
+	 * @param in the stream to read from
+	 * @throws IOException if the contents cannot be read
+	 * @throws ClassNotFoundException if the stream holds an unknown class
+	 */
+	@SuppressWarnings("unchecked")
+	void readContents(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		String pointId = (String) in.readObject();
+		String pluginId = (String) in.readObject();
+		String name = (String) in.readObject();
+		String description = (String) in.readObject();
+		boolean valid = in.readBoolean();
+		ArrayList<ISchemaElement> elements = (ArrayList<ISchemaElement>) in.readObject();
+		ArrayList<DocumentSection> docSections = (ArrayList<DocumentSection>) in.readObject();
+		ArrayList<String> includes = (ArrayList<String>) in.readObject();
+
+		reset();
+		fPointID = pointId;
+		fPluginID = pluginId;
+		fName = name;
+		fDescription = description;
+		fValid = valid;
+		fElements = new Vector<>(elements);
+		fDocSections = new Vector<>(docSections);
+		Vector<SchemaElementReference> references = new Vector<>();
+		for (ISchemaElement element : elements) {
+			restoreContents(element, this, references);
+		}
+		for (DocumentSection section : docSections) {
+			section.setParent(this);
+		}
+		for (String location : includes) {
+			if (fIncludes == null) {
+				fIncludes = new Vector<>();
+			}
+			fIncludes.add(new SchemaInclude(this, location, fAbbreviated, fSearchPath));
+		}
+		fLoaded = true;
+		if (!references.isEmpty()) {
+			resolveReferences(references);
+		}
+	}
+
+	/**
+	 * Sets the parent of the given read element and the parents and schemas of
+	 * all the objects it holds, as they are set when the schema is parsed.
+	 */
+	private void restoreContents(ISchemaElement element, ISchemaObject parent, Vector<SchemaElementReference> references) {
+		element.setParent(parent);
+		ISchemaType type = element.getType();
+		if (type == null) {
+			return;
+		}
+		type.setSchema(this);
+		if (type instanceof ISchemaComplexType) {
+			ISchemaComplexType complexType = (ISchemaComplexType) type;
+			for (ISchemaAttribute attribute : complexType.getAttributes()) {
+				attribute.setParent(element);
+				restoreContents(attribute.getType());
+			}
+			ISchemaCompositor compositor = complexType.getCompositor();
+			if (compositor != null) {
+				restoreContents(compositor, element, references);
+			}
+		}
+	}
+
+	private void restoreContents(ISchemaSimpleType type) {
+		if (type == null) {
+			return;
+		}
+		type.setSchema(this);
+		ISchemaRestriction restriction = type.getRestriction();
+		if (restriction != null) {
+			restriction.setParent(this);
+			if (restriction instanceof ChoiceRestriction) {
+				for (ISchemaEnumeration enumeration : ((ChoiceRestriction) restriction).getChildren()) {
+					enumeration.setParent(this);
+				}
+			}
+		}
+	}
+
+	private void restoreContents(ISchemaCompositor compositor, ISchemaObject parent, Vector<SchemaElementReference> references) {
+		compositor.setParent(parent);
+		for (ISchemaObject child : compositor.getChildren()) {
+			if (child instanceof SchemaElementReference) {
+				// references to included schemas are resolved again
+				SchemaElementReference reference = (SchemaElementReference) child;
+				reference.setReferencedObject(null);
+				references.add(reference);
+			} else if (child instanceof ISchemaCompositor) {
+				restoreContents((ISchemaCompositor) child, compositor, references);
+			} else if (child instanceof ISchemaElement) {
+				restoreContents((ISchemaElement) child, compositor, references);
+			}
+		}
+	}
+
 	private ISchemaAttribute processAttribute(ISchemaElement element, Node elementNode) {
 		String aname = getAttribute(elementNode, "name"); //$NON-NLS-1$
 		if (aname == null) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2005, 2013 IBM Corporation and others.
+ *  Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -87,7 +87,11 @@ public class SchemaDescriptor implements ISchemaDescriptor {
 				fSchema = new Schema(this, fSchemaURL, abbreviated);
 			}
 			fSchema.setSearchPath(fSearchPath);
-			fSchema.load();
+			if (fEditable) {
+				fSchema.load();
+			} else {
+				fSchema.loadCompiled();
+			}
 		}
 		return fSchema;
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2013 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,8 @@ import java.io.File;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.pde.core.plugin.IFragment;
@@ -26,17 +28,44 @@ import org.eclipse.pde.core.plugin.IPluginExtensionPoint;
 import org.eclipse.pde.core.plugin.IPluginModelBase;
 import org.eclipse.pde.core.plugin.ModelEntry;
 import org.eclipse.pde.core.plugin.PluginRegistry;
+import org.eclipse.pde.internal.core.IPluginModelListener;
 import org.eclipse.pde.internal.core.PDECore;
+import org.eclipse.pde.internal.core.PluginModelDelta;
 import org.eclipse.pde.internal.core.SourceLocationManager;
 import org.eclipse.pde.internal.core.ischema.ISchema;
 import org.eclipse.pde.internal.core.ischema.ISchemaDescriptor;
 import org.eclipse.pde.internal.core.text.plugin.PluginExtensionPointNode;
 import org.eclipse.pde.internal.core.util.CoreUtility;
 
-public class SchemaRegistry {
+public class SchemaRegistry implements IPluginModelListener {
+
+	/**
+	 * Schema locations resolved in jar'd plug-ins, by plug-in id and then by
+	 * plug-in location and schema path. Resolving a location opens the jar, so
+	 * they are kept until the models of the plug-in change.
+	 */
+	private static final Map<String, Map<String, SchemaLocation>> fSchemaLocations = new ConcurrentHashMap<>();
+
+	/**
+	 * A schema location resolved in a jar'd plug-in. The url is
+	 * <code>null</code> if the jar does not contain the schema.
+	 */
+	private static class SchemaLocation {
+		final long fTimeStamp;
+		final URL fURL;
+
+		SchemaLocation(long timeStamp, URL url) {
+			fTimeStamp = timeStamp;
+			fURL = url;
+		}
+	}
 
 	private final HashMap<String, ISchemaDescriptor> fRegistry = new HashMap<>();
 
+	public SchemaRegistry() {
+		PDECore.getDefault().getModelManager().addPluginModelListener(this);
+	}
+
 	public ISchema getSchema(String extPointID) {
 		IPluginExtensionPoint point = PDECore.getDefault().getExtensionsRegistry().findExtensionPoint(extPointID);
 		if (point == null) {
@@ -166,14 +195,37 @@ public class SchemaRegistry {
 				if (schemaFile.exists()) {
 					return schemaFile.toURI().toURL();
 				}
-			} else if (CoreUtility.jarContainsResource(file, schema, false)) {
-				return new URL("jar:file:" + file.getAbsolutePath() + "!/" + schema); //$NON-NLS-1$ //$NON-NLS-2$
+			} else {
+				return getJarSchemaURL(model, file, schema);
 			}
 		} catch (MalformedURLException e) {
 		}
 		return null;
 	}
 
+	private static URL getJarSchemaURL(IPluginModelBase model, File file, String schema) throws MalformedURLException {
+		String id = model.getPluginBase().getId();
+		if (id == null) {
+			return findJarSchemaURL(file, schema);
+		}
+		Map<String, SchemaLocation> locations = fSchemaLocations.computeIfAbsent(id, key -> new ConcurrentHashMap<>());
+		String key = file.getPath() + '!' + schema;
+		long timeStamp = file.lastModified();
+		SchemaLocation location = locations.get(key);
+		if (location == null || location.fTimeStamp != timeStamp) {
+			location = new SchemaLocation(timeStamp, findJarSchemaURL(file, schema));
+			locations.put(key, location);
+		}
+		return location.fURL;
+	}
+
+	private static URL findJarSchemaURL(File file, String schema) throws MalformedURLException {
+		if (CoreUtility.jarContainsResource(file, schema, false)) {
+			return new URL("jar:file:" + file.getAbsolutePath() + "!/" + schema); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return null;
+	}
+
 	private boolean hasSchemaChanged(ISchemaDescriptor desc, URL url) {
 		if (!desc.getSchemaURL().toExternalForm().equals(url.toExternalForm())) {
 			return true;
@@ -183,7 +235,22 @@ public class SchemaRegistry {
 	}
 
 	public void shutdown() {
+		PDECore.getDefault().getModelManager().removePluginModelListener(this);
 		fRegistry.clear();
+		fSchemaLocations.clear();
+	}
+
+	@Override
+	public void modelsChanged(PluginModelDelta delta) {
+		for (ModelEntry entry : delta.getAddedEntries()) {
+			fSchemaLocations.remove(entry.getId());
+		}
+		for (ModelEntry entry : delta.getRemovedEntries()) {
+			fSchemaLocations.remove(entry.getId());
+		}
+		for (ModelEntry entry : delta.getChangedEntries()) {
+			fSchemaLocations.remove(entry.getId());
+		}
 	}
 
 	private static String getId(IPluginExtensionPoint point, IPluginModelBase base) {
@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.internal.core.schema;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.pde.internal.core.PDECore;
+
+/**
+ * Keeps the contents of parsed schemas in the state location, keyed by the url
+ * and the time stamp of the schema file, so that the schemas of the target
+ * platform are not parsed again whenever a schema descriptor is created.
+ * <p>
+ * Only schemas in files and in jar files are stored. A stored schema that was
+ * not read for 90 days is deleted.
+ * </p>
+ */
+class SchemaStore {
+
+	private static final String STORE_DIRECTORY = ".schemas"; //$NON-NLS-1$
+
+	private static final String FILE_EXTENSION = ".schema"; //$NON-NLS-1$
+
+	private static final int VERSION = 1;
+
+	private static final long EXPIRATION = TimeUnit.DAYS.toMillis(90);
+
+	/**
+	 * Only the schema objects and the strings and vectors they hold are read
+	 * (object arrays are the contents of the vectors)
+	 */
+	private static final ObjectInputFilter FILTER = ObjectInputFilter.Config.createFilter(String.join(";", //$NON-NLS-1$
+			"java.lang.Object", //$NON-NLS-1$
+			"java.lang.String", //$NON-NLS-1$
+			"java.util.ArrayList", //$NON-NLS-1$
+			"java.util.Vector", //$NON-NLS-1$
+			SchemaObject.class.getName(),
+			RepeatableSchemaObject.class.getName(),
+			SchemaElement.class.getName(),
+			SchemaRootElement.class.getName(),
+			SchemaElementReference.class.getName(),
+			SchemaAttribute.class.getName(),
+			SchemaCompositor.class.getName(),
+			SchemaType.class.getName(),
+			SchemaComplexType.class.getName(),
+			SchemaSimpleType.class.getName(),
+			ChoiceRestriction.class.getName(),
+			SchemaEnumeration.class.getName(),
+			DocumentSection.class.getName(),
+			"!*")); //$NON-NLS-1$
+
+	private static SchemaStore fStore;
+
+	private final File fLocation;
+
+	SchemaStore(File location) {
+		fLocation = location;
+	}
+
+	/**
+	 * Returns the store in the state location of PDE core, or
+	 * <code>null</code> if PDE core is not running.
+	 *
+	 * @return the store or <code>null</code>
+	 */
+	static synchronized SchemaStore getStore() {
+		if (fStore == null) {
+			PDECore core = PDECore.getDefault();
+			if (core == null) {
+				return null;
+			}
+			fStore = new SchemaStore(core.getStateLocation().append(STORE_DIRECTORY).toFile());
+			fStore.deleteExpired();
+		}
+		return fStore;
+	}
+
+	/**
+	 * Reads the stored contents of the schema at the given url into the given
+	 * schema.
+	 *
+	 * @param schema the schema to read into
+	 * @param url the url of the schema
+	 * @param abbreviated whether the schema is abbreviated
+	 * @return whether the current contents of the schema were stored
+	 */
+	boolean restore(Schema schema, URL url, boolean abbreviated) {
+		long timeStamp = getTimeStamp(url);
+		if (timeStamp == 0) {
+			return false;
+		}
+		File file = getFile(url, abbreviated);
+		if (!file.isFile()) {
+			return false;
+		}
+		try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			in.setObjectInputFilter(FILTER);
+			if (in.readInt() != VERSION || in.readLong() != timeStamp || !url.toExternalForm().equals(in.readUTF())) {
+				return false;
+			}
+			schema.readContents(in);
+		} catch (IOException | ClassNotFoundException | ClassCastException e) {
+			// the schema is parsed and stored again
+			file.delete();
+			return false;
+		}
+		file.setLastModified(System.currentTimeMillis());
+		return true;
+	}
+
+	/**
+	 * Stores the contents of the given loaded schema.
+	 *
+	 * @param schema the loaded schema
+	 * @param url the url of the schema
+	 * @param abbreviated whether the schema is abbreviated
+	 */
+	void store(Schema schema, URL url, boolean abbreviated) {
+		long timeStamp = getTimeStamp(url);
+		if (timeStamp == 0) {
+			return;
+		}
+		File file = getFile(url, abbreviated);
+		Path tmp = null;
+		try {
+			Files.createDirectories(fLocation.toPath());
+			tmp = Files.createTempFile(fLocation.toPath(), file.getName(), ".tmp"); //$NON-NLS-1$
+			try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(tmp.toFile())))) {
+				out.writeInt(VERSION);
+				out.writeLong(timeStamp);
+				out.writeUTF(url.toExternalForm());
+				schema.writeContents(out);
+			}
+			Files.move(tmp, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			// the schema is parsed again next time
+			if (tmp != null) {
+				tmp.toFile().delete();
+			}
+		}
+	}
+
+	private File getFile(URL url, boolean abbreviated) {
+		String key = url.toExternalForm();
+		return new File(fLocation, Integer.toHexString(key.hashCode()) + (abbreviated ? "_a" : "") + FILE_EXTENSION); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Returns the time stamp of the file holding the schema at the given url,
+	 * or <code>0</code> if the schema is not in a file or in a jar file.
+	 *
+	 * @param url the url of the schema
+	 * @return the time stamp or <code>0</code>
+	 */
+	static long getTimeStamp(URL url) {
+		String path = url.getFile();
+		switch (url.getProtocol()) {
+			case "file": //$NON-NLS-1$
+				break;
+			case "jar": //$NON-NLS-1$
+				int separator = path.indexOf("!/"); //$NON-NLS-1$
+				if (!path.startsWith("file:") || separator == -1) { //$NON-NLS-1$
+					return 0;
+				}
+				path = path.substring("file:".length(), separator); //$NON-NLS-1$
+				break;
+			default:
+				return 0;
+		}
+		return new File(path).lastModified();
+	}
+
+	private void deleteExpired() {
+		File[] files = fLocation.listFiles();
+		if (files == null) {
+			return;
+		}
+		long expired = System.currentTimeMillis() - EXPIRATION;
+		for (File file : files) {
+			if (!file.getName().endsWith(FILE_EXTENSION) || file.lastModified() < expired) {
+				file.delete();
+			}
+		}
+	}
+}
@@ -77,17 +77,16 @@ public class DirectoryBundleContainer extends AbstractBundleContainer {
 			File site = getSite(dir);
 			File[] files = site.listFiles();
 			SubMonitor localMonitor = SubMonitor.convert(monitor, Messages.DirectoryBundleContainer_0, files.length);
-			return Arrays.stream(files).parallel() //
+			// only new or changed files are read, see DirectoryBundleIndex
+			DirectoryBundleIndex index = DirectoryBundleIndex.load(site);
+			TargetBundle[] bundles = Arrays.stream(files).parallel() //
 					.map(file -> {
 						localMonitor.split(1);
-						try {
-							return new TargetBundle(file);
-						} catch (CoreException e) {
-							// Ignore non-bundle files
-							return null;
-						}
+						return index.getBundle(file);
 					}).filter(Objects::nonNull) //
 					.toArray(TargetBundle[]::new);
+			index.save();
+			return bundles;
 		}
 		throw new CoreException(new Status(IStatus.ERROR, PDECore.PLUGIN_ID,
 				NLS.bind(Messages.DirectoryBundleContainer_1, dir.toString())));
@@ -174,6 +173,11 @@ public class DirectoryBundleContainer extends AbstractBundleContainer {
 	}
 
 	public void reload() {
+		try {
+			DirectoryBundleIndex.delete(getSite(getDirectory()));
+		} catch (CoreException e) {
+			// unresolvable variables, nothing has been indexed
+		}
 		clearResolutionStatus();
 	}
 
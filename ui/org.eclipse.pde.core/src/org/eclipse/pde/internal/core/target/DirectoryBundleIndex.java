@@ -0,0 +1,342 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.internal.core.target;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarFile;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.equinox.frameworkadmin.BundleInfo;
+import org.eclipse.pde.core.target.TargetBundle;
+import org.eclipse.pde.internal.core.ICoreConstants;
+import org.eclipse.pde.internal.core.PDECore;
+import org.eclipse.pde.internal.core.util.ManifestUtils;
+
+/**
+ * A persistent index of the bundles found in one directory location. For each
+ * file of the directory the index remembers the information a
+ * {@link TargetBundle} is made of, or that the file is not a bundle, keyed by
+ * the file name and validated against its length and modification stamp (for
+ * directory bundles the stamp of <code>META-INF/MANIFEST.MF</code> and of the
+ * <code>plugin.xml</code> or <code>fragment.xml</code> a source bundle is
+ * detected by). Only new or changed files have to be opened when the location
+ * is resolved again.
+ * <p>
+ * Files whose stamp is unknown, like a directory without a manifest, and files
+ * that could not be read are not indexed but read on every resolution, a
+ * manifest added later is found.
+ * </p>
+ * <p>
+ * Index files are stored in the PDE state location, one per directory.
+ * </p>
+ */
+class DirectoryBundleIndex {
+
+	private static final String INDEX_FOLDER = "directory_index"; //$NON-NLS-1$
+	private static final int INDEX_VERSION = 2;
+
+	private static final byte KIND_NOT_A_BUNDLE = 0;
+	private static final byte KIND_BUNDLE = 1;
+
+	private static final byte SOURCE_NONE = 0;
+	private static final byte SOURCE_BUNDLE = 1;
+	private static final byte SOURCE_LOCATION = 2;
+
+	private static final Object LOCK = new Object();
+
+	/**
+	 * Index entry for one file of the directory
+	 */
+	private static class IndexEntry {
+		long length;
+		long lastModified;
+		long descriptorModified;
+		byte kind;
+		int statusCode;
+		String symbolicName;
+		String version;
+		boolean isFragment;
+		byte sourceKind;
+		String sourceName;
+		String sourceVersion;
+		String sourcePath;
+	}
+
+	/**
+	 * Target bundle restored from an index entry without reading the bundle
+	 */
+	private static class IndexedTargetBundle extends TargetBundle {
+		IndexedTargetBundle(File file, IndexEntry entry) {
+			fInfo = new BundleInfo(file.toURI());
+			if (entry.symbolicName != null) {
+				fInfo.setSymbolicName(entry.symbolicName);
+				if (entry.version != null) {
+					fInfo.setVersion(entry.version);
+				}
+			}
+			fIsFragment = entry.isFragment;
+			if (entry.sourceKind == SOURCE_BUNDLE) {
+				fSourceTarget = new BundleInfo(entry.sourceName, entry.sourceVersion, null, BundleInfo.NO_LEVEL, false);
+			} else if (entry.sourceKind == SOURCE_LOCATION) {
+				fSourceTarget = new BundleInfo(null, null, file.toURI(), BundleInfo.NO_LEVEL, false);
+			}
+			fSourcePath = entry.sourcePath;
+		}
+	}
+
+	private final File fDirectory;
+	private final File fIndexFile;
+	private final Map<String, IndexEntry> fEntries = new HashMap<>();
+	private final Map<String, IndexEntry> fCurrent = new ConcurrentHashMap<>();
+	private volatile boolean fChanged;
+
+	/**
+	 * Loads the index of the given directory.
+	 *
+	 * @param directory directory location containing bundles
+	 * @return the index, possibly empty
+	 */
+	static DirectoryBundleIndex load(File directory) {
+		DirectoryBundleIndex index = new DirectoryBundleIndex(directory, getIndexFolder());
+		index.read();
+		return index;
+	}
+
+	private DirectoryBundleIndex(File directory, File folder) {
+		fDirectory = directory.getAbsoluteFile();
+		String path = fDirectory.getPath();
+		fIndexFile = folder == null ? null
+				: new File(folder, Integer.toHexString(path.hashCode()) + '_' + path.length() + ".index"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns the target bundle for the given file of the indexed directory,
+	 * reading the file only if it is unknown or has changed.
+	 *
+	 * @param file a file in the indexed directory
+	 * @return the target bundle or <code>null</code> if the file is not a bundle
+	 */
+	TargetBundle getBundle(File file) {
+		String name = file.getName();
+		long length;
+		long lastModified;
+		long descriptorModified = 0;
+		if (file.isDirectory()) {
+			File manifest = new File(file, JarFile.MANIFEST_NAME);
+			length = manifest.length();
+			lastModified = manifest.lastModified();
+			descriptorModified = getDescriptorModified(file);
+		} else {
+			length = file.length();
+			lastModified = file.lastModified();
+		}
+		IndexEntry entry = fEntries.get(name);
+		if (entry != null && lastModified != 0 && entry.length == length && entry.lastModified == lastModified
+				&& entry.descriptorModified == descriptorModified) {
+			fCurrent.put(name, entry);
+			return entry.kind == KIND_BUNDLE ? new IndexedTargetBundle(file, entry) : null;
+		}
+		fChanged = true;
+		entry = new IndexEntry();
+		entry.length = length;
+		entry.lastModified = lastModified;
+		entry.descriptorModified = descriptorModified;
+		TargetBundle bundle;
+		try {
+			bundle = new TargetBundle(file);
+			BundleInfo info = bundle.getBundleInfo();
+			entry.kind = KIND_BUNDLE;
+			entry.statusCode = bundle.getStatus().getCode();
+			entry.symbolicName = info.getSymbolicName();
+			entry.version = info.getVersion();
+			entry.isFragment = bundle.isFragment();
+			BundleInfo source = bundle.getSourceTarget();
+			if (source == null) {
+				entry.sourceKind = SOURCE_NONE;
+			} else if (source.getSymbolicName() != null) {
+				entry.sourceKind = SOURCE_BUNDLE;
+				entry.sourceName = source.getSymbolicName();
+				entry.sourceVersion = source.getVersion();
+			} else {
+				entry.sourceKind = SOURCE_LOCATION;
+			}
+			entry.sourcePath = bundle.getSourcePath();
+		} catch (CoreException e) {
+			// Ignore non-bundle files
+			entry.kind = KIND_NOT_A_BUNDLE;
+			entry.statusCode = e.getStatus().getCode();
+			bundle = null;
+		}
+		if (isIndexable(entry)) {
+			fCurrent.put(name, entry);
+		}
+		return bundle;
+	}
+
+	/**
+	 * Returns whether the given entry may be reused while the stamp of its file
+	 * does not change. A file without a stamp, or a file that could not be
+	 * read (for example because it is still being copied), is read again on
+	 * the next resolution.
+	 */
+	private static boolean isIndexable(IndexEntry entry) {
+		if (entry.lastModified == 0) {
+			return false;
+		}
+		return entry.kind == KIND_BUNDLE || entry.statusCode == ManifestUtils.STATUS_CODE_NOT_A_BUNDLE_MANIFEST
+				|| entry.statusCode == TargetBundle.STATUS_INVALID_MANIFEST;
+	}
+
+	/**
+	 * Returns a stamp of the plug-in and fragment descriptors of a directory
+	 * bundle, <code>0</code> if it has none.
+	 */
+	private static long getDescriptorModified(File directory) {
+		long pluginModified = new File(directory, ICoreConstants.PLUGIN_FILENAME_DESCRIPTOR).lastModified();
+		long fragmentModified = new File(directory, ICoreConstants.FRAGMENT_FILENAME_DESCRIPTOR).lastModified();
+		return pluginModified * 31 + fragmentModified;
+	}
+
+	/**
+	 * Writes the index if any file was added, changed or removed since it was
+	 * loaded. Only files passed to {@link #getBundle(File)} are kept.
+	 */
+	void save() {
+		if (fIndexFile == null || (!fChanged && fCurrent.size() == fEntries.size())) {
+			return;
+		}
+		synchronized (LOCK) {
+			write();
+		}
+	}
+
+	private void write() {
+		fIndexFile.getParentFile().mkdirs();
+		File tmp = new File(fIndexFile.getParentFile(), fIndexFile.getName() + ".tmp"); //$NON-NLS-1$
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+			out.writeInt(INDEX_VERSION);
+			out.writeUTF(fDirectory.getPath());
+			out.writeInt(fCurrent.size());
+			for (Entry<String, IndexEntry> current : fCurrent.entrySet()) {
+				IndexEntry entry = current.getValue();
+				out.writeUTF(current.getKey());
+				out.writeLong(entry.length);
+				out.writeLong(entry.lastModified);
+				out.writeLong(entry.descriptorModified);
+				out.writeByte(entry.kind);
+				out.writeInt(entry.statusCode);
+				if (entry.kind == KIND_BUNDLE) {
+					writeString(out, entry.symbolicName);
+					writeString(out, entry.version);
+					out.writeBoolean(entry.isFragment);
+					out.writeByte(entry.sourceKind);
+					writeString(out, entry.sourceName);
+					writeString(out, entry.sourceVersion);
+					writeString(out, entry.sourcePath);
+				}
+			}
+		} catch (IOException e) {
+			PDECore.log(e);
+			tmp.delete();
+			return;
+		}
+		try {
+			Files.move(tmp.toPath(), fIndexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			PDECore.log(e);
+			tmp.delete();
+		}
+	}
+
+	private void read() {
+		if (fIndexFile == null || !fIndexFile.isFile()) {
+			return;
+		}
+		synchronized (LOCK) {
+			readEntries();
+		}
+	}
+
+	private void readEntries() {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(fIndexFile)))) {
+			if (in.readInt() != INDEX_VERSION || !fDirectory.getPath().equals(in.readUTF())) {
+				return;
+			}
+			int count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				String name = in.readUTF();
+				IndexEntry entry = new IndexEntry();
+				entry.length = in.readLong();
+				entry.lastModified = in.readLong();
+				entry.descriptorModified = in.readLong();
+				entry.kind = in.readByte();
+				entry.statusCode = in.readInt();
+				if (entry.kind == KIND_BUNDLE) {
+					entry.symbolicName = readString(in);
+					entry.version = readString(in);
+					entry.isFragment = in.readBoolean();
+					entry.sourceKind = in.readByte();
+					entry.sourceName = readString(in);
+					entry.sourceVersion = readString(in);
+					entry.sourcePath = readString(in);
+				}
+				fEntries.put(name, entry);
+			}
+		} catch (IOException e) {
+			// a corrupt index is discarded and rebuilt on the next save
+			fEntries.clear();
+		}
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeUTF(value);
+		}
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		return in.readBoolean() ? in.readUTF() : null;
+	}
+
+	/**
+	 * Deletes the index of the given directory location.
+	 *
+	 * @param directory directory location
+	 */
+	static void delete(File directory) {
+		DirectoryBundleIndex index = new DirectoryBundleIndex(directory, getIndexFolder());
+		if (index.fIndexFile != null) {
+			index.fIndexFile.delete();
+		}
+	}
+
+	private static File getIndexFolder() {
+		PDECore core = PDECore.getDefault();
+		return core == null ? null : core.getStateLocation().append(INDEX_FOLDER).toFile();
+	}
+
+}
@@ -31,6 +31,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
@@ -40,6 +41,7 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
@@ -115,7 +117,7 @@ public class TargetDefinition implements ITargetDefinition {
 	public static final int MODE_FEATURE = 1;
 
 	// cache of features found for a given location, maps a string path location to a array of IFeatureModels (IFeatureModel[])
-	private static Map<String, TargetFeature[]> fFeaturesInLocation = new HashMap<>();
+	private static Map<String, TargetFeature[]> fFeaturesInLocation = new ConcurrentHashMap<>();
 
 	// internal cache for features.  A target managed by features will contain a set of features as well as a set of plug-ins that don't belong to a feature
 	private TargetFeature[] fFeatures;
@@ -412,17 +414,21 @@ public class TargetDefinition implements ITargetDefinition {
 					fResolutionStatus = status;
 					return fResolutionStatus;
 				}
-				for (ITargetLocation container : containers) {
-					subMonitor.checkCanceled();
-					subMonitor.subTask(Messages.TargetDefinition_4);
-					P2TargetUtils synchronizer = container.getAdapter(P2TargetUtils.class);
-					int totalWork = 5;
-					if (synchronizer == null) {
-						totalWork = 100;
-					}
-					IStatus s = container.resolve(this, subMonitor.split(totalWork));
-					if (!s.isOK()) {
-						status.add(s);
+				if (isParallelResolution()) {
+					resolveLocationsInParallel(containers, status, subMonitor);
+				} else {
+					for (ITargetLocation container : containers) {
+						subMonitor.checkCanceled();
+						subMonitor.subTask(Messages.TargetDefinition_4);
+						P2TargetUtils synchronizer = container.getAdapter(P2TargetUtils.class);
+						int totalWork = 5;
+						if (synchronizer == null) {
+							totalWork = 100;
+						}
+						IStatus s = container.resolve(this, subMonitor.split(totalWork));
+						if (!s.isOK()) {
+							status.add(s);
+						}
 					}
 				}
 			}
@@ -446,6 +452,125 @@ public class TargetDefinition implements ITargetDefinition {
 		}
 	}
 
+	/**
+	 * Returns whether target locations that are not backed by a p2
+	 * synchronizer should be resolved concurrently, see
+	 * {@link ICoreConstants#TARGET_PARALLEL_RESOLUTION}.
+	 *
+	 * @return whether to resolve locations in parallel
+	 */
+	private boolean isParallelResolution() {
+		PDECore core = PDECore.getDefault();
+		return core != null && core.getPreferencesManager().getBoolean(ICoreConstants.TARGET_PARALLEL_RESOLUTION);
+	}
+
+	/**
+	 * Resolves the given locations, resolving all locations that are not
+	 * backed by a p2 synchronizer concurrently. Locations backed by a
+	 * synchronizer have already been synchronized and are resolved one after
+	 * another. Non-OK statuses are added to the given status in the order of
+	 * the locations.
+	 *
+	 * @param containers locations to resolve
+	 * @param status status to add problems to
+	 * @param subMonitor progress monitor with 100 units of work left per
+	 *            location not backed by a synchronizer and 5 per location
+	 *            backed by one
+	 */
+	private void resolveLocationsInParallel(ITargetLocation[] containers, MultiStatus status, SubMonitor subMonitor) {
+		IStatus[] results = new IStatus[containers.length];
+		List<Integer> independent = new ArrayList<>();
+		for (int i = 0; i < containers.length; i++) {
+			if (containers[i].getAdapter(P2TargetUtils.class) != null) {
+				subMonitor.checkCanceled();
+				subMonitor.subTask(Messages.TargetDefinition_4);
+				results[i] = containers[i].resolve(this, subMonitor.split(5));
+			} else {
+				independent.add(Integer.valueOf(i));
+			}
+		}
+		if (!independent.isEmpty()) {
+			subMonitor.checkCanceled();
+			subMonitor.subTask(Messages.TargetDefinition_4);
+			SharedProgressMonitor shared = new SharedProgressMonitor(subMonitor.split(independent.size() * 100));
+			independent.parallelStream().forEach(i -> {
+				IProgressMonitor monitor = shared.newChild(100);
+				try {
+					if (!monitor.isCanceled()) {
+						results[i] = containers[i].resolve(this, monitor);
+					}
+				} finally {
+					monitor.done();
+				}
+			});
+		}
+		subMonitor.checkCanceled();
+		for (IStatus s : results) {
+			if (s != null && !s.isOK()) {
+				status.add(s);
+			}
+		}
+	}
+
+	/**
+	 * Distributes the work of one progress monitor to child monitors used from
+	 * different threads. Work reported by the children is forwarded to the
+	 * parent while holding its lock.
+	 */
+	private static class SharedProgressMonitor {
+		private final SubMonitor fParent;
+
+		SharedProgressMonitor(SubMonitor parent) {
+			fParent = parent;
+		}
+
+		IProgressMonitor newChild(int ticks) {
+			return new NullProgressMonitor() {
+				private int fTotalWork = IProgressMonitor.UNKNOWN;
+				private double fReported;
+
+				@Override
+				public void beginTask(String name, int totalWork) {
+					fTotalWork = totalWork;
+				}
+
+				@Override
+				public void worked(int work) {
+					internalWorked(work);
+				}
+
+				@Override
+				public void internalWorked(double work) {
+					if (fTotalWork <= 0) {
+						return;
+					}
+					double scaled = Math.min(ticks - fReported, work * ticks / fTotalWork);
+					report(scaled);
+				}
+
+				@Override
+				public void done() {
+					report(ticks - fReported);
+				}
+
+				@Override
+				public boolean isCanceled() {
+					return fParent.isCanceled();
+				}
+
+				private void report(double work) {
+					if (work <= 0) {
+						return;
+					}
+					fReported += work;
+					synchronized (fParent) {
+						fParent.internalWorked(work);
+					}
+				}
+			};
+		}
+	}
+
 	@Override
 	public boolean isResolved() {
 		ITargetLocation[] containers = getTargetLocations();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2000, 2017 IBM Corporation and others.
+ *  Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -32,7 +32,6 @@ import org.xml.sax.SAXException;
 public class PDEXMLHelper {
 
 	protected static SAXParserFactory fSAXFactory;
-	protected static PDEXMLHelper fPinstance;
 	protected static DocumentBuilderFactory fDOMFactory;
 	protected static List<SoftReference<SAXParser>> fSAXParserQueue;
 	protected static List<SoftReference<DocumentBuilder>> fDOMParserQueue;
@@ -81,11 +80,16 @@ public class PDEXMLHelper {
 		return parser;
 	}
 
+	/**
+	 * Holds the shared instance, which is created once when it is first
+	 * requested, even by concurrent threads.
+	 */
+	private static class InstanceHolder {
+		static final PDEXMLHelper INSTANCE = new PDEXMLHelper();
+	}
+
 	public static PDEXMLHelper Instance() throws FactoryConfigurationError {
-		if (fPinstance == null) {
-			fPinstance = new PDEXMLHelper();
-		}
-		return fPinstance;
+		return InstanceHolder.INSTANCE;
 	}
 
 	public synchronized void recycleSAXParser(SAXParser parser) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -148,7 +148,7 @@ public abstract class AbstractEditingModel extends PlatformObject implements IEd
 				if (isStale()) {
 					adjustOffsets(document);
 					setStale(false);
-				} else {
+				} else if (!reconcile(document)) {
 					reload(getInputStream(document), false);
 				}
 			} catch (CoreException e) {
@@ -161,6 +161,21 @@ public abstract class AbstractEditingModel extends PlatformObject implements IEd
 
 	public abstract void adjustOffsets(IDocument document) throws CoreException;
 
+	/**
+	 * Updates the model after the document was edited in the source page,
+	 * without necessarily reading the whole document again.
+	 *
+	 * @param document
+	 *            the edited document
+	 * @return <code>true</code> if the model was updated, <code>false</code>
+	 *         if it has to be reloaded from the document
+	 * @throws CoreException
+	 *             if the model cannot be updated
+	 */
+	protected boolean reconcile(IDocument document) throws CoreException {
+		return false;
+	}
+
 	protected InputStream getInputStream(IDocument document) {
 		return new BufferedInputStream(new ByteArrayInputStream(document.get().getBytes(getCharset())));
 	}
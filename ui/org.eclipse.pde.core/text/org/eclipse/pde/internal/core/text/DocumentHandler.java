@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2003, 2017 IBM Corporation and others.
+ * Copyright (c) 2003, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -37,16 +37,58 @@ public abstract class DocumentHandler extends DefaultHandler {
 	private Locator fLocator;
 	private IDocumentElementNode fLastError;
 	private final boolean fReconciling;
+	private IDocumentElementNode fRegionParent;
+	private int fRegionOffset;
+	private int fLineOffset;
 
 	public DocumentHandler(boolean reconciling) {
 		fReconciling = reconciling;
 	}
 
+	/**
+	 * Prepares the handler to read the text of a single element of the
+	 * document instead of the whole document. The element is read into the
+	 * child of the given parent that has a negative offset, and the offsets of
+	 * the nodes read are document offsets.
+	 *
+	 * @param parent
+	 *            the parent node of the element or <code>null</code> to read
+	 *            whole documents again
+	 * @param offset
+	 *            the document offset of the element
+	 */
+	public void setRegion(IDocumentElementNode parent, int offset) {
+		fRegionParent = parent;
+		fRegionOffset = offset;
+	}
+
+	protected boolean isParsingRegion() {
+		return fRegionParent != null;
+	}
+
 	@Override
 	public void startDocument() throws SAXException {
 		fDocumentNodeStack.clear();
 		fHighestOffset = 0;
+		fLineOffset = 0;
 		fLastError = null;
+		if (fRegionParent != null) {
+			fDocumentNodeStack.push(fRegionParent);
+			fHighestOffset = fRegionOffset - 1;
+			try {
+				fLineOffset = getDocument().getLineOfOffset(fRegionOffset);
+			} catch (BadLocationException e) {
+				throw new SAXException(e);
+			}
+		}
+	}
+
+	/**
+	 * @return the line number reported by the parser as a line number of the
+	 *         document
+	 */
+	private int getLineNumber() {
+		return fLocator.getLineNumber() + fLineOffset;
 	}
 
 	protected IDocumentElementNode getLastParsedDocumentNode() {
@@ -117,7 +159,7 @@ public abstract class DocumentHandler extends DefaultHandler {
 	protected abstract IDocumentTextNode getDocumentTextNode(String content, IDocumentElementNode parent);
 
 	private int getStartOffset(String elementName) throws BadLocationException {
-		int line = fLocator.getLineNumber();
+		int line = getLineNumber();
 		int col = fLocator.getColumnNumber();
 		IDocument doc = getDocument();
 		if (col < 0) {
@@ -214,7 +256,7 @@ public abstract class DocumentHandler extends DefaultHandler {
 
 		IDocumentElementNode node = fDocumentNodeStack.pop();
 		try {
-			node.setLength(getElementLength(node, fLocator.getLineNumber() - 1, fLocator.getColumnNumber()));
+			node.setLength(getElementLength(node, getLineNumber() - 1, fLocator.getColumnNumber()));
 			setTextNodeOffset(node);
 		} catch (BadLocationException e) {
 		}
@@ -264,7 +306,9 @@ public abstract class DocumentHandler extends DefaultHandler {
 	 *
 	 */
 	private void generateErrorElementHierarchy() {
-		while (!fDocumentNodeStack.isEmpty()) {
+		// the parent of a region is not read
+		int parsed = fRegionParent != null ? 1 : 0;
+		while (fDocumentNodeStack.size() > parsed) {
 			IDocumentElementNode node = fDocumentNodeStack.pop();
 			node.setIsErrorNode(true);
 			removeOrphanAttributes(node);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,7 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintWriter;
+import java.io.StringReader;
 import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
 import javax.xml.parsers.FactoryConfigurationError;
@@ -26,12 +27,17 @@ import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
 import org.eclipse.pde.core.IModel;
+import org.eclipse.pde.core.IModelChangedEvent;
 import org.eclipse.pde.core.IWritable;
+import org.eclipse.pde.core.ModelChangedEvent;
 import org.eclipse.pde.internal.core.NLResourceHelper;
 import org.eclipse.pde.internal.core.PDECore;
 import org.eclipse.pde.internal.core.util.SAXParserWrapper;
+import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import org.xml.sax.helpers.DefaultHandler;
 
@@ -39,12 +45,16 @@ public abstract class XMLEditingModel extends AbstractEditingModel {
 
 	private IStatus status;
 
+	// the text the model was last read from by the reconciler
+	private String fReconciledText;
+
 	public XMLEditingModel(IDocument document, boolean isReconciling) {
 		super(document, isReconciling);
 	}
 
 	@Override
 	public void load(InputStream source, boolean outOfSync) {
+		fReconciledText = null;
 		try {
 			fLoaded = true;
 			status = new Status(IStatus.OK, PDECore.PLUGIN_ID, null);
@@ -67,10 +77,179 @@ public abstract class XMLEditingModel extends AbstractEditingModel {
 
 	@Override
 	public void adjustOffsets(IDocument document) {
+		fReconciledText = null;
+		try {
+			String text = document.get();
+			SAXParserWrapper parser = new SAXParserWrapper();
+			parser.parse(new BufferedInputStream(new ByteArrayInputStream(text.getBytes(getCharset()))), createDocumentHandler(this, false));
+			fReconciledText = text;
+		} catch (SAXException | IOException | ParserConfigurationException | FactoryConfigurationError e) {
+		}
+	}
+
+	/**
+	 * Compares the document with the text the model was last read from and
+	 * only reads the innermost element enclosing the edited region again. The
+	 * offsets of all other nodes are moved by the length difference of the
+	 * edited region. If the edit cannot be confined to one element, the
+	 * document is read again.
+	 */
+	@Override
+	protected boolean reconcile(IDocument document) throws CoreException {
+		String text = document.get();
+		String lastText = fReconciledText;
+		fReconciledText = null;
+		if (lastText != null && status != null && status.isOK() && reconcileRegion(document, lastText, text)) {
+			fLoaded = true;
+			fReconciledText = text;
+			fireModelChanged(new ModelChangedEvent(this, IModelChangedEvent.WORLD_CHANGED, new Object[] {this}, null));
+			return true;
+		}
+		reload(new BufferedInputStream(new ByteArrayInputStream(text.getBytes(getCharset()))), false);
+		if (isLoaded()) {
+			fReconciledText = text;
+		}
+		return true;
+	}
+
+	private boolean reconcileRegion(IDocument document, String oldText, String newText) {
+		if (oldText.equals(newText)) {
+			return true;
+		}
+		DefaultHandler handler = createDocumentHandler(this, true);
+		if (!(handler instanceof DocumentHandler) || !(getRoot() instanceof IDocumentElementNode)) {
+			return false;
+		}
+		int oldLength = oldText.length();
+		int newLength = newText.length();
+		int limit = Math.min(oldLength, newLength);
+		int changeStart = 0;
+		while (changeStart < limit && oldText.charAt(changeStart) == newText.charAt(changeStart)) {
+			changeStart++;
+		}
+		int suffix = 0;
+		while (suffix < limit - changeStart && oldText.charAt(oldLength - 1 - suffix) == newText.charAt(newLength - 1 - suffix)) {
+			suffix++;
+		}
+		int changeEnd = oldLength - suffix;
+		int delta = newLength - oldLength;
+
+		IDocumentElementNode root = (IDocumentElementNode) getRoot();
+		IDocumentElementNode node = findEnclosingNode(root, changeStart, changeEnd);
+		if (node == null || node == root) {
+			return false;
+		}
+		IDocumentElementNode parent = node.getParentNode();
+		for (IDocumentElementNode ancestor = parent; ancestor != null; ancestor = ancestor.getParentNode()) {
+			if (ancestor.isContentCollapsed()) {
+				return false;
+			}
+		}
+		int start = node.getOffset();
+		int length = node.getLength() + delta;
+		String tagName = node.getXMLTagName();
+		try {
+			IRegion line = document.getLineInformationOfOffset(changeEnd + delta);
+			shiftOffsets(root, node, changeStart, changeEnd, delta, line.getOffset(), line.getOffset() + line.getLength());
+		} catch (BadLocationException e) {
+			return false;
+		}
+
+		// the handler reads the element into the child of the parent without an offset
+		node.setOffset(-1);
+		DocumentHandler documentHandler = (DocumentHandler) handler;
+		documentHandler.setRegion(parent, start);
 		try {
 			SAXParserWrapper parser = new SAXParserWrapper();
-			parser.parse(getInputStream(document), createDocumentHandler(this, false));
+			parser.parse(new InputSource(new StringReader(newText.substring(start, start + length))), handler);
 		} catch (SAXException | IOException | ParserConfigurationException | FactoryConfigurationError e) {
+			return false;
+		} finally {
+			documentHandler.setRegion(null, 0);
+		}
+		if (documentHandler.getLastErrorNode() != null || node.getParentNode() != parent || node.getOffset() != start || node.getLength() != length || !tagName.equals(node.getXMLTagName())) {
+			return false;
+		}
+		for (IDocumentElementNode child : parent.getChildNodes()) {
+			if (child.getOffset() < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the innermost node that encloses the changed region, or
+	 * <code>null</code> if the region is not inside the given node.
+	 */
+	private static IDocumentElementNode findEnclosingNode(IDocumentElementNode node, int changeStart, int changeEnd) {
+		if (!encloses(node, changeStart, changeEnd)) {
+			return null;
+		}
+		IDocumentElementNode enclosing = node;
+		while (true) {
+			IDocumentElementNode[] children = enclosing.getChildNodes();
+			// children are in document order, find the last one starting before the change
+			int low = 0;
+			int high = children.length - 1;
+			IDocumentElementNode child = null;
+			while (low <= high) {
+				int mid = (low + high) >>> 1;
+				if (children[mid].getOffset() < changeStart) {
+					child = children[mid];
+					low = mid + 1;
+				} else {
+					high = mid - 1;
+				}
+			}
+			if (child == null || !encloses(child, changeStart, changeEnd)) {
+				return enclosing;
+			}
+			enclosing = child;
+		}
+	}
+
+	private static boolean encloses(IDocumentElementNode node, int changeStart, int changeEnd) {
+		return node.getOffset() >= 0 && node.getOffset() < changeStart && changeEnd < node.getOffset() + node.getLength();
+	}
+
+	/**
+	 * Moves the nodes following the changed region by the length difference
+	 * of the region and resizes the nodes enclosing it. The replaced node is
+	 * left alone as it is read again.
+	 */
+	private static void shiftOffsets(IDocumentElementNode node, IDocumentElementNode replaced, int changeStart, int changeEnd, int delta, int lineStart, int lineEnd) {
+		if (node == replaced || node.getOffset() + node.getLength() <= changeStart) {
+			return;
+		}
+		if (node.getOffset() >= changeEnd) {
+			int offset = node.getOffset() + delta;
+			node.setOffset(offset);
+			if (offset <= lineEnd) {
+				// the node follows the edit on the same line
+				node.setLineIndent(offset - lineStart);
+			}
+			for (IDocumentAttributeNode attribute : node.getNodeAttributes()) {
+				if (attribute.getNameOffset() >= 0) {
+					attribute.setNameOffset(attribute.getNameOffset() + delta);
+				}
+				if (attribute.getValueOffset() >= 0) {
+					attribute.setValueOffset(attribute.getValueOffset() + delta);
+				}
+			}
+		} else {
+			node.setLength(node.getLength() + delta);
+		}
+		IDocumentTextNode textNode = node.getTextNode();
+		if (textNode != null && textNode.getOffset() >= 0) {
+			if (textNode.getOffset() >= changeEnd) {
+				textNode.setOffset(textNode.getOffset() + delta);
+			} else if (textNode.getOffset() + textNode.getLength() > changeStart) {
+				textNode.setLength(textNode.getLength() + delta);
+			}
+		}
+		for (IDocumentElementNode child : node.getChildNodes()) {
+			shiftOffsets(child, replaced, changeStart, changeEnd, delta, lineStart, lineEnd);
 		}
 	}
 
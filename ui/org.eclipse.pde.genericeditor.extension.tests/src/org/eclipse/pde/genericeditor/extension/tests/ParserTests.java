@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.genericeditor.extension.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.pde.internal.genericeditor.target.extension.model.LocationNode;
+import org.eclipse.pde.internal.genericeditor.target.extension.model.Node;
+import org.eclipse.pde.internal.genericeditor.target.extension.model.UnitNode;
+import org.eclipse.pde.internal.genericeditor.target.extension.model.xml.Parser;
+import org.junit.Test;
+
+public class ParserTests {
+
+	private static final String TARGET = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" //
+			+ "<target name=\"test\">\n" //
+			+ "<locations>\n" //
+			+ "<location type=\"InstallableUnit\">\n" //
+			+ "<repository location=\"http://example.org/repo\"/>\n" //
+			+ "<!-- <unit id=\"commented\"/> -->\n" //
+			+ "<unit id=\"a\" version=\"1.0.0\"/>\n" //
+			+ "<unit id=\"b\" version=\"2.0.0\"/>\n" //
+			+ "</location>\n" //
+			+ "</locations>\n" //
+			+ "</target>\n";
+
+	@Test
+	public void testParse() throws Exception {
+		Parser parser = new Parser();
+		parser.parse(new Document(TARGET));
+		Node target = parser.getRootNode();
+		assertNotNull(target);
+		assertEquals(TARGET.indexOf("<target"), target.getOffsetStart());
+		assertEquals(TARGET.indexOf("</target>") + "</target>".length(), target.getOffsetEnd());
+		LocationNode location = getLocation(target);
+		assertEquals("http://example.org/repo", location.getRepositoryLocation());
+		List<Node> units = location.getChildNodesByTag("unit");
+		assertEquals(2, units.size());
+		assertEquals("a", ((UnitNode) units.get(0)).getId());
+		assertEquals("2.0.0", ((UnitNode) units.get(1)).getVersion());
+	}
+
+	@Test
+	public void testIncrementalParse() throws Exception {
+		Parser parser = new Parser();
+		Document document = new Document(TARGET);
+		parser.parse(document);
+		Node target = parser.getRootNode();
+
+		// editing a unit reads that unit again, the model read before is not changed
+		int offset = TARGET.indexOf("\"a\"") + 2;
+		document.replace(offset, 0, "bc");
+		parser.parse(document);
+		assertNotSame(target, parser.getRootNode());
+		assertModelEquals(TARGET, target);
+		assertModelEquals(document.get(), parser.getRootNode());
+		assertEquals("abc", ((UnitNode) getLocation(parser.getRootNode()).getChildNodesByTag("unit").get(0)).getId());
+
+		// adding a unit reads the enclosing location again
+		String text = document.get();
+		target = parser.getRootNode();
+		offset = text.indexOf("</location>");
+		document.replace(offset, 0, "<unit id=\"c\" version=\"3.0.0\"/>\n");
+		parser.parse(document);
+		assertModelEquals(text, target);
+		assertModelEquals(document.get(), parser.getRootNode());
+		assertEquals(3, getLocation(parser.getRootNode()).getChildNodesByTag("unit").size());
+		assertEquals("http://example.org/repo", getLocation(parser.getRootNode()).getRepositoryLocation());
+
+		// an edit that breaks the document is reported and the document is parsed again once fixed
+		offset = document.get().indexOf("</locations>");
+		document.replace(offset, 0, "<foo>");
+		try {
+			parser.parse(document);
+			fail("unterminated element should be reported");
+		} catch (XMLStreamException e) {
+			assertEquals(document.get().indexOf("</locations>"), e.getLocation().getCharacterOffset());
+		}
+		document.replace(offset, "<foo>".length(), "");
+		parser.parse(document);
+		assertModelEquals(document.get(), parser.getRootNode());
+	}
+
+	@Test
+	public void testErrors() throws Exception {
+		assertError("<target><locations></target>");
+		assertError("<target><unit id=\"a\"/>");
+		assertError("<target><unit id=a/></target>");
+		assertError("<target><unit id=\"a\" id=\"b\"/></target>");
+		assertError("<target><unit id=\"&foo;\"/></target>");
+		assertError("<target/><target/>");
+		assertError("text<target/>");
+		assertError("<target><!-- </target>");
+		assertError("");
+	}
+
+	@Test
+	public void testDeclaredEntities() throws Exception {
+		String text = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" //
+				+ "<!DOCTYPE target [\n" //
+				+ "<!-- <!ENTITY commented \"x\"> -->\n" //
+				+ "<!ENTITY % parameter \"x\">\n" //
+				+ "<!ENTITY repo \"http://example.org/repo\">\n" //
+				+ "]>\n" //
+				+ "<target name=\"&repo;\">\n" //
+				+ "<locations>\n" //
+				+ "<location type=\"InstallableUnit\">\n" //
+				+ "<unit id=\"a\" version=\"1.0.0\"/>\n" //
+				+ "</location>\n" //
+				+ "</locations>\n" //
+				+ "</target>\n";
+		Parser parser = new Parser();
+		Document document = new Document(text);
+		parser.parse(document);
+
+		// the declaration is found when only the edited element is read again
+		int offset = text.indexOf("\"a\"") + 2;
+		document.replace(offset, 0, "&repo;");
+		parser.parse(document);
+		assertModelEquals(document.get(), parser.getRootNode());
+
+		assertError(text.replace("&repo;", "&commented;"));
+		assertError(text.replace("&repo;", "&parameter;"));
+	}
+
+	private void assertError(String text) {
+		try {
+			new Parser().parse(new Document(text));
+			fail("document should not be well-formed: " + text);
+		} catch (XMLStreamException e) {
+			assertNotNull(e.getLocation());
+		}
+	}
+
+	private LocationNode getLocation(Node target) {
+		Node locations = target.getChildNodesByTag("locations").get(0);
+		return (LocationNode) locations.getChildNodesByTag("location").get(0);
+	}
+
+	private void assertModelEquals(String text, Node incremental) throws XMLStreamException {
+		Parser parser = new Parser();
+		parser.parse(new Document(text));
+		assertNodeEquals(parser.getRootNode(), incremental);
+	}
+
+	private void assertNodeEquals(Node expected, Node actual) {
+		if (expected == null) {
+			assertNull(actual);
+			return;
+		}
+		assertEquals(expected.getNodeTag(), actual.getNodeTag());
+		assertEquals(expected.getOffsetStart(), actual.getOffsetStart());
+		assertEquals(expected.getOffsetEnd(), actual.getOffsetEnd());
+		if (expected instanceof UnitNode) {
+			assertEquals(((UnitNode) expected).getId(), ((UnitNode) actual).getId());
+			assertEquals(((UnitNode) expected).getVersion(), ((UnitNode) actual).getVersion());
+		}
+		List<Node> expectedChildren = expected.getChildNodes();
+		List<Node> actualChildren = actual.getChildNodes();
+		if (expectedChildren == null) {
+			assertNull(actualChildren);
+			return;
+		}
+		assertEquals(expectedChildren.size(), actualChildren.size());
+		for (int i = 0; i < expectedChildren.size(); i++) {
+			assertSame(actual, actualChildren.get(i).getParentNode());
+			assertNodeEquals(expectedChildren.get(i), actualChildren.get(i));
+		}
+	}
+}
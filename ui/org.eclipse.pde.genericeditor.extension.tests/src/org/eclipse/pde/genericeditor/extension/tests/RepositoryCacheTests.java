@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.genericeditor.extension.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jface.viewers.StyledString;
+import org.eclipse.pde.internal.genericeditor.target.extension.autocomplete.TargetDefinitionContentAssist;
+import org.eclipse.pde.internal.genericeditor.target.extension.model.RepositoryCache;
+import org.eclipse.pde.internal.genericeditor.target.extension.model.UnitNode;
+import org.junit.Test;
+
+/**
+ * Tests that the lookups of the repository cache find the same units as
+ * filtering all units of the repository
+ */
+public class RepositoryCacheTests extends AbstractTargetEditorTest {
+
+	private static final String[] SEARCH_TERMS = { "", "o", "or", "fake", "FAKE", "e.f", "oef", "oEF", "fake.3", "ke.",
+			"xyz" };
+
+	@Test
+	public void testUnitsBySearchTerm() {
+		String repo = getLocationForSite("MultipleUnitsConfirmSorting");
+		List<UnitNode> units = RepositoryCache.getDefault().fetchP2UnitsFromRepo(repo, false);
+		assertFalse(units.isEmpty());
+		for (String searchTerm : SEARCH_TERMS) {
+			List<UnitNode> expected = new ArrayList<>();
+			for (UnitNode unit : units) {
+				if (unit.getId().contains(searchTerm)) {
+					expected.add(unit);
+				}
+			}
+			assertEquals(searchTerm, expected, RepositoryCache.getDefault().getUnitsBySearchTerm(repo, searchTerm));
+		}
+	}
+
+	@Test
+	public void testUnitsByPrefix() {
+		String repo = getLocationForSite("MultipleUnitsConfirmSorting");
+		List<UnitNode> units = RepositoryCache.getDefault().fetchP2UnitsFromRepo(repo, false);
+		for (String prefix : SEARCH_TERMS) {
+			List<String> expected = new ArrayList<>();
+			for (UnitNode unit : units) {
+				if (unit.getId().startsWith(prefix)) {
+					expected.add(unit.getId());
+				}
+			}
+			List<String> actual = new ArrayList<>();
+			for (UnitNode unit : RepositoryCache.getDefault().getUnitsByPrefix(repo, prefix)) {
+				actual.add(unit.getId());
+			}
+			expected.sort(null);
+			actual.sort(null);
+			assertEquals(prefix, expected, actual);
+		}
+	}
+
+	@Test
+	public void testCompletionCandidates() {
+		String repo = getLocationForSite("MultipleUnitsConfirmSorting");
+		List<UnitNode> units = RepositoryCache.getDefault().fetchP2UnitsFromRepo(repo, false);
+		for (String searchTerm : SEARCH_TERMS) {
+			List<UnitNode> candidates = RepositoryCache.getDefault().getCompletionCandidates(repo, searchTerm);
+			int last = -1;
+			for (UnitNode candidate : candidates) {
+				int index = units.indexOf(candidate);
+				assertTrue("candidates should be in the order of the units", index > last);
+				last = index;
+			}
+			for (UnitNode unit : units) {
+				StyledString match = TargetDefinitionContentAssist.getFilteredStyledString(unit.getId(), searchTerm);
+				if (match != null && match.length() > 0) {
+					assertTrue(unit.getId() + " should be a candidate for " + searchTerm, candidates.contains(unit));
+				}
+			}
+		}
+		// fuzzy matches of the segments are candidates
+		assertEquals(units.size(), RepositoryCache.getDefault().getCompletionCandidates(repo, "oef").size());
+		assertTrue(RepositoryCache.getDefault().getCompletionCandidates(repo, "xyz").isEmpty());
+	}
+}
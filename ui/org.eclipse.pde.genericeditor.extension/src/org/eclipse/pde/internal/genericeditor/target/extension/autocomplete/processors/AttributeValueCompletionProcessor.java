@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018, 2020 Red Hat Inc. and others
+ * Copyright (c) 2018, 2026 Red Hat Inc. and others
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -84,7 +84,8 @@ public class AttributeValueCompletionProcessor extends DelegateProcessor {
 					return getErrorCompletion();
 				}
 				RepositoryCache cache = RepositoryCache.getDefault();
-				List<UnitNode> units = cache.fetchP2UnitsFromRepo(repoLocation, false);
+				// only the units the search term may match need to be filtered
+				List<UnitNode> units = cache.getCompletionCandidates(repoLocation, searchTerm);
 				return convertToProposals(units);
 			}
 
@@ -100,15 +101,9 @@ public class AttributeValueCompletionProcessor extends DelegateProcessor {
 					return getErrorCompletion();
 				}
 				RepositoryCache cache = RepositoryCache.getDefault();
-				List<UnitNode> repositoryUnits = cache.fetchP2UnitsFromRepo(repoLocation, false);
-				List<String> versions = null;
-				for (UnitNode unit : repositoryUnits) {
-					if (unit.getId().equals(node.getId())) {
-						versions = unit.getAvailableVersions();
-					}
-				}
-				if (versions != null)
-					return convertToVersionProposals(versions);
+				UnitNode unit = cache.getUnit(repoLocation, node.getId());
+				if (unit != null)
+					return convertToVersionProposals(unit.getAvailableVersions());
 
 			}
 
@@ -137,9 +132,13 @@ public class AttributeValueCompletionProcessor extends DelegateProcessor {
 	}
 
 	private ICompletionProposal[] convertToProposals(List<UnitNode> units) {
-		Collections.sort(units, (node1, node2) -> String.CASE_INSENSITIVE_ORDER.compare(node1.getId(), node2.getId()));
+		// units are sorted by id ignoring case by the cache
 		List<ICompletionProposal> result = new ArrayList<>();
 		for (UnitNode unit : units) {
+			if (!containsInOrder(unit.getId(), searchTerm)) {
+				// cannot match, skip the costly filtering
+				continue;
+			}
 			StyledString displayString = TargetDefinitionContentAssist.getFilteredStyledString(unit.getId(),
 					searchTerm);
 			if (displayString == null || displayString.length() == 0) {
@@ -150,6 +149,22 @@ public class AttributeValueCompletionProcessor extends DelegateProcessor {
 		return result.toArray(new ICompletionProposal[result.size()]);
 	}
 
+	/**
+	 * Returns whether the characters of the search term occur in the given id
+	 * in the same order, ignoring case. This holds for every id
+	 * {@link TargetDefinitionContentAssist#getFilteredStyledString(String, String)}
+	 * matches.
+	 */
+	private static boolean containsInOrder(String id, String searchTerm) {
+		int index = 0;
+		for (int i = 0; i < id.length() && index < searchTerm.length(); i++) {
+			if (Character.toLowerCase(id.charAt(i)) == Character.toLowerCase(searchTerm.charAt(index))) {
+				index++;
+			}
+		}
+		return index == searchTerm.length();
+	}
+
 	private ICompletionProposal[] getErrorCompletion() {
 
 		String replacementString = Messages.AttributeValueCompletionProcessor_RepositoryRequired;
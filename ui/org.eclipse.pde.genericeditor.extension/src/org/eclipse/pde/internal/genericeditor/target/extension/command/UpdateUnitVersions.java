@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018 Red Hat Inc. and others
+ * Copyright (c) 2018, 2026 Red Hat Inc. and others
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -84,21 +84,15 @@ public class UpdateUnitVersions extends AbstractHandler {
 						continue;
 					}
 				}
-				List<UnitNode> repositoryUnits = cache.fetchP2UnitsFromRepo(repositoryLocation, false);
 				for (Node n2 : locationNode.getChildNodesByTag(ITargetConstants.UNIT_TAG)) {
 					UnitNode unitNode = ((UnitNode) n2);
-					List<String> versions = null;
-					for (UnitNode unit : repositoryUnits) {
-						if (unit.getId().equals(unitNode.getId())) {
-							versions = unit.getAvailableVersions();
-							break;
-						}
-					}
+					UnitNode unit = cache.getUnit(repositoryLocation, unitNode.getId());
+					List<String> versions = unit != null ? unit.getAvailableVersions() : null;
 					if (versions == null || versions.isEmpty()) {
 						continue;
 					}
-					Collections.sort(versions, (v1, v2) -> (new Version(v2)).compareTo(new Version(v1)));
-					String version = versions.get(0);
+					// the cached units are shared, don't reorder their versions
+					String version = Collections.max(versions, (v1, v2) -> (new Version(v1)).compareTo(new Version(v2)));
 					if (version == null || version.isEmpty() || unitNode.getVersion() == null
 							|| version.equals(unitNode.getVersion())) {
 						continue;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2017 Red Hat Inc. and others
+ * Copyright (c) 2016, 2026 Red Hat Inc. and others
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -30,4 +30,11 @@ public class LocationNode extends Node {
 		this.repositoryLocation = repositoryLocation;
 	}
 
+	@Override
+	protected Node createCopy() {
+		LocationNode copy = new LocationNode();
+		copy.setRepositoryLocation(repositoryLocation);
+		return copy;
+	}
+
 }
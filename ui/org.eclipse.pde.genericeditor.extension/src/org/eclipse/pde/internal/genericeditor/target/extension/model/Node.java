@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2017 Red Hat Inc. and others
+ * Copyright (c) 2016, 2026 Red Hat Inc. and others
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -69,6 +69,28 @@ public class Node {
 		child.setParentNode(this);
 	}
 
+	/**
+	 * Returns a copy of this node without its parent and child nodes.
+	 *
+	 * @return the copy
+	 */
+	public Node copy() {
+		Node copy = createCopy();
+		copy.setOffsetStart(offsetStart);
+		copy.setOffsetEnd(offsetEnd);
+		copy.setNodeTag(nodeTag);
+		return copy;
+	}
+
+	/**
+	 * Creates a node of the same type with the attributes of this node.
+	 *
+	 * @return the new node
+	 */
+	protected Node createCopy() {
+		return new Node();
+	}
+
 	public Node getParentNode() {
 		return parentNode;
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2017 Red Hat Inc. and others
+ * Copyright (c) 2016, 2026 Red Hat Inc. and others
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,12 +14,35 @@
  *******************************************************************************/
 package org.eclipse.pde.internal.genericeditor.target.extension.model;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.pde.internal.genericeditor.target.extension.p2.P2Fetcher;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
 
 /**
  * This class is used to cache the p2 repositories completion information order
@@ -28,22 +51,56 @@ import org.eclipse.pde.internal.genericeditor.target.extension.p2.P2Fetcher;
  *
  * There will be only one cache shared between editors. In the future a function
  * will be added for the user to be able to flush this cache.
+ * <p>
+ * The cache can be used from several threads. Repositories that were fetched
+ * more than a day ago are fetched again, and the least recently used
+ * repositories are evicted once the cache holds too many units. Fetched
+ * repositories are also stored in the state location of this bundle, so they
+ * don't need to be fetched again when a target definition is opened in
+ * another session. Stored repositories that expired are deleted, as are the
+ * least recently stored ones once there are too many.
+ * </p>
  */
 public class RepositoryCache {
 
+	private static final int CACHE_VERSION = 1;
+
+	private static final long MAX_AGE = TimeUnit.DAYS.toMillis(1);
+
+	private static final int MAX_UNITS = 1_000_000;
+
+	private static final String CACHE_DIRECTORY = "repositories"; //$NON-NLS-1$
+
+	private static final String CACHE_FILE_EXTENSION = ".units"; //$NON-NLS-1$
+
+	private static final int MAX_FILES = 64;
+
+	private static final int LOCK_COUNT = 32;
+
 	private static RepositoryCache instance;
 
-	Map<String, List<UnitNode>> cache = new HashMap<>();
+	private final Map<String, RepositoryUnits> cache = new ConcurrentHashMap<>();
+
+	/**
+	 * Locks serializing the fetches of a repository. Repositories with the same
+	 * hash share a lock, so the number of locks stays bounded.
+	 */
+	private final Object[] locks = new Object[LOCK_COUNT];
+
+	private final AtomicBoolean pruned = new AtomicBoolean();
 
 	private RepositoryCache() {
 		//avoid instantiation
+		for (int i = 0; i < locks.length; i++) {
+			locks[i] = new Object();
+		}
 	}
 
 	/**
 	 * @return default instance of this cache.
 	 */
 
-	public static RepositoryCache getDefault() {
+	public static synchronized RepositoryCache getDefault() {
 		if (instance == null) {
 			instance = new RepositoryCache();
 		}
@@ -57,15 +114,43 @@ public class RepositoryCache {
 	 *            repository URL
 	 * @param flush
 	 *            whether a flush is needed
-	 * @return list of IUs available in the 'repo' repository. Never
-	 *         <code>null</code>.
+	 * @return unmodifiable list of IUs available in the 'repo' repository,
+	 *         sorted by id ignoring case. Never <code>null</code>.
 	 */
 	public List<UnitNode> fetchP2UnitsFromRepo(String repo, boolean flush) {
-		if ((flush) || (cache.get(repo) == null)) {
-			List<UnitNode> units = P2Fetcher.fetchAvailableUnits(repo);
-			cache.put(repo, units);
-		}
-		return cache.get(repo);
+		return getRepository(repo, flush).units;
+	}
+
+	/**
+	 * Returns the IUs that may match the given search term of a unit id
+	 * completion, that is the IUs whose id contains the search term ignoring
+	 * case or has a segment starting with the first character of the search
+	 * term. Segments start at upper case letters, after '.' and '_' and at the
+	 * first digit of a number.
+	 *
+	 * @param repo
+	 *            repository URL
+	 * @param searchTerm
+	 *            the search term of the completion
+	 * @return unmodifiable list of the candidate IUs, sorted by id ignoring
+	 *         case. Never <code>null</code>.
+	 */
+	public List<UnitNode> getCompletionCandidates(String repo, String searchTerm) {
+		return getRepository(repo, false).getCompletionCandidates(searchTerm);
+	}
+
+	/**
+	 * Returns the IU with the given id.
+	 *
+	 * @param repo
+	 *            repository URL
+	 * @param id
+	 *            id of the IU
+	 * @return the IU with the given id available in the 'repo' repository or
+	 *         <code>null</code> if there is none
+	 */
+	public UnitNode getUnit(String repo, String id) {
+		return getRepository(repo, false).unitsById.get(id);
 	}
 
 	/**
@@ -86,14 +171,7 @@ public class RepositoryCache {
 	 * @return A list of IUs whose id starts with 'prefix'
 	 */
 	public List<UnitNode> getUnitsByPrefix(String repo, String prefix) {
-		List<UnitNode> allUnits = fetchP2UnitsFromRepo(repo, false);
-		List<UnitNode> result = new ArrayList<>();
-		for (UnitNode unit : allUnits) {
-			if (unit.getId().startsWith(prefix)) {
-				result.add(unit);
-			}
-		}
-		return result;
+		return getRepository(repo, false).getUnitsByPrefix(prefix);
 	}
 
 	/**
@@ -113,14 +191,7 @@ public class RepositoryCache {
 	 * @return A list of IUs whose id contains 'searchTerm'
 	 */
 	public List<UnitNode> getUnitsBySearchTerm(String repo, String searchTerm) {
-		List<UnitNode> allUnits = fetchP2UnitsFromRepo(repo, false);
-		List<UnitNode> result = new ArrayList<>();
-		for (UnitNode unit : allUnits) {
-			if (unit.getId().contains(searchTerm)) {
-				result.add(unit);
-			}
-		}
-		return result;
+		return getRepository(repo, false).getUnitsBySearchTerm(searchTerm);
 	}
 
 	/**
@@ -131,7 +202,7 @@ public class RepositoryCache {
 	 * @return whether the cache is up to date for this repo
 	 */
 	public boolean isUpToDate(String repo) {
-		return cache.get(repo) != null;
+		return findRepository(repo) != null;
 	}
 
 	/**
@@ -139,5 +210,437 @@ public class RepositoryCache {
 	 */
 	public void flush() {
 		cache.clear();
+		File directory = getCacheDirectory();
+		File[] files = directory != null ? directory.listFiles() : null;
+		if (files != null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+	}
+
+	private RepositoryUnits getRepository(String repo, boolean flush) {
+		RepositoryUnits repository = flush ? null : findRepository(repo);
+		if (repository != null) {
+			return repository;
+		}
+		synchronized (getLock(repo)) {
+			if (!flush) {
+				// another thread may have fetched the repository in the meantime
+				repository = getCachedRepository(repo);
+				if (repository != null) {
+					return repository;
+				}
+			}
+			List<UnitNode> units = P2Fetcher.fetchAvailableUnits(repo);
+			repository = new RepositoryUnits(repo, units, System.currentTimeMillis());
+			if (!units.isEmpty()) {
+				// failures are reported as no units, don't keep them across sessions
+				write(repository);
+			}
+			addRepository(repository);
+			return repository;
+		}
+	}
+
+	/**
+	 * Returns the repository from memory or from disk without fetching it.
+	 */
+	private RepositoryUnits findRepository(String repo) {
+		RepositoryUnits repository = getCachedRepository(repo);
+		if (repository != null) {
+			return repository;
+		}
+		synchronized (getLock(repo)) {
+			repository = getCachedRepository(repo);
+			if (repository == null) {
+				repository = read(repo);
+				if (repository != null) {
+					addRepository(repository);
+				}
+			}
+			return repository;
+		}
+	}
+
+	private RepositoryUnits getCachedRepository(String repo) {
+		RepositoryUnits repository = cache.get(repo);
+		if (repository == null) {
+			return null;
+		}
+		if (isExpired(repository.timestamp)) {
+			cache.remove(repo, repository);
+			return null;
+		}
+		repository.lastAccess = System.nanoTime();
+		return repository;
+	}
+
+	private Object getLock(String repo) {
+		return locks[Math.floorMod(repo.hashCode(), locks.length)];
+	}
+
+	private static boolean isExpired(long timestamp) {
+		return System.currentTimeMillis() - timestamp > MAX_AGE;
+	}
+
+	/**
+	 * Adds the repository and evicts the least recently used repositories
+	 * while the cache holds more than {@link #MAX_UNITS} units.
+	 */
+	private synchronized void addRepository(RepositoryUnits repository) {
+		repository.lastAccess = System.nanoTime();
+		cache.put(repository.repository, repository);
+		long size = 0;
+		for (RepositoryUnits cached : cache.values()) {
+			size += cached.units.size();
+		}
+		while (size > MAX_UNITS) {
+			RepositoryUnits eldest = null;
+			for (RepositoryUnits cached : cache.values()) {
+				if (cached != repository && (eldest == null || cached.lastAccess - eldest.lastAccess < 0)) {
+					eldest = cached;
+				}
+			}
+			if (eldest == null) {
+				break;
+			}
+			cache.remove(eldest.repository, eldest);
+			size -= eldest.units.size();
+		}
+	}
+
+	private static File getCacheDirectory() {
+		Bundle bundle = FrameworkUtil.getBundle(RepositoryCache.class);
+		if (bundle == null || !Platform.isRunning()) {
+			return null;
+		}
+		try {
+			return Platform.getStateLocation(bundle).append(CACHE_DIRECTORY).toFile();
+		} catch (IllegalStateException e) {
+			// no instance location, don't persist the cache
+			return null;
+		}
+	}
+
+	private File getCacheFile(String repo) {
+		File directory = getCacheDirectory();
+		if (directory == null) {
+			return null;
+		}
+		if (pruned.compareAndSet(false, true)) {
+			prune(directory);
+		}
+		String name = UUID.nameUUIDFromBytes(repo.getBytes(StandardCharsets.UTF_8)).toString();
+		return new File(directory, name + CACHE_FILE_EXTENSION);
+	}
+
+	/**
+	 * Deletes the stored repositories that expired and the least recently
+	 * stored ones while there are more than {@link #MAX_FILES}.
+	 */
+	private static void prune(File directory) {
+		File[] files = directory.listFiles(file -> file.getName().endsWith(CACHE_FILE_EXTENSION));
+		if (files == null) {
+			return;
+		}
+		List<File> kept = new ArrayList<>(files.length);
+		for (File file : files) {
+			// the file is written when the repository is fetched
+			if (isExpired(file.lastModified())) {
+				file.delete();
+			} else {
+				kept.add(file);
+			}
+		}
+		if (kept.size() > MAX_FILES) {
+			kept.sort(Comparator.comparingLong(File::lastModified));
+			for (File file : kept.subList(0, kept.size() - MAX_FILES)) {
+				file.delete();
+			}
+		}
+	}
+
+	private RepositoryUnits read(String repo) {
+		File file = getCacheFile(repo);
+		if (file == null || !file.isFile()) {
+			return null;
+		}
+		RepositoryUnits repository = null;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() == CACHE_VERSION && repo.equals(in.readUTF())) {
+				long timestamp = in.readLong();
+				if (!isExpired(timestamp)) {
+					int count = in.readInt();
+					List<UnitNode> units = new ArrayList<>(count);
+					for (int i = 0; i < count; i++) {
+						UnitNode unit = new UnitNode();
+						unit.setId(readString(in));
+						unit.setVersion(readString(in));
+						int versionCount = in.readInt();
+						List<String> versions = new ArrayList<>(versionCount);
+						for (int j = 0; j < versionCount; j++) {
+							versions.add(readString(in));
+						}
+						unit.setAvailableVersions(versions);
+						units.add(unit);
+					}
+					repository = new RepositoryUnits(repo, units, timestamp);
+				}
+			}
+		} catch (IOException e) {
+			// a corrupt cache file is discarded and the repository fetched again
+		}
+		if (repository == null) {
+			file.delete();
+		}
+		return repository;
+	}
+
+	private void write(RepositoryUnits repository) {
+		File file = getCacheFile(repository.repository);
+		if (file == null) {
+			return;
+		}
+		file.getParentFile().mkdirs();
+		File tmp = new File(file.getParentFile(), file.getName() + ".tmp"); //$NON-NLS-1$
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+				out.writeInt(CACHE_VERSION);
+				out.writeUTF(repository.repository);
+				out.writeLong(repository.timestamp);
+				out.writeInt(repository.units.size());
+				for (UnitNode unit : repository.units) {
+					writeString(out, unit.getId());
+					writeString(out, unit.getVersion());
+					List<String> versions = unit.getAvailableVersions();
+					out.writeInt(versions.size());
+					for (String version : versions) {
+						writeString(out, version);
+					}
+				}
+			}
+			Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			tmp.delete();
+			Platform.getLog(RepositoryCache.class).log(new Status(IStatus.ERROR,
+					FrameworkUtil.getBundle(RepositoryCache.class).getSymbolicName(), e.getMessage(), e));
+		}
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		return in.readBoolean() ? in.readUTF() : null;
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeUTF(value);
+		}
+	}
+
+	/**
+	 * The units of a repository, indexed by id.
+	 * <p>
+	 * The ids are kept in a sorted array, so the units with a given prefix are
+	 * found by binary search. Once a search term is looked up, two indexes of
+	 * the positions of the ids in the display order are built: the trigrams of
+	 * the lower case ids, so only the ids listed for the rarest trigram of a
+	 * search term need to be checked, and the first characters of the id
+	 * segments, which fuzzy completion matches start with.
+	 * </p>
+	 */
+	private static final class RepositoryUnits {
+
+		private static final int NGRAM_LENGTH = 3;
+
+		private static final int[] NO_POSITIONS = new int[0];
+
+		final String repository;
+		final long timestamp;
+		final List<UnitNode> units;
+		final Map<String, UnitNode> unitsById;
+		private final String[] sortedIds;
+		private final UnitNode[] sortedUnits;
+		private volatile SearchIndex searchIndex;
+		volatile long lastAccess;
+
+		/**
+		 * Positions of the ids in {@link RepositoryUnits#units} by trigram of
+		 * the lower case id and by first character of the id segments
+		 */
+		private static final class SearchIndex {
+			final String[] lowerCaseIds;
+			final Map<String, int[]> ngrams = new HashMap<>();
+			final Map<Character, int[]> segments = new HashMap<>();
+
+			SearchIndex(List<UnitNode> units) {
+				// while building, the first element holds the number of positions
+				lowerCaseIds = new String[units.size()];
+				for (int i = 0; i < lowerCaseIds.length; i++) {
+					String id = units.get(i).getId();
+					lowerCaseIds[i] = id.toLowerCase();
+					for (int j = 0; j + NGRAM_LENGTH <= id.length(); j++) {
+						addPosition(ngrams, lowerCaseIds[i].substring(j, j + NGRAM_LENGTH), i);
+					}
+					for (int j = 0; j < id.length(); j++) {
+						if (isSegmentStart(id, j)) {
+							addPosition(segments, Character.valueOf(id.charAt(j)), i);
+						}
+					}
+				}
+				ngrams.replaceAll((ngram, postings) -> Arrays.copyOfRange(postings, 1, postings[0] + 1));
+				segments.replaceAll((c, postings) -> Arrays.copyOfRange(postings, 1, postings[0] + 1));
+			}
+
+			private static <K> void addPosition(Map<K, int[]> index, K key, int position) {
+				int[] postings = index.get(key);
+				if (postings == null) {
+					postings = new int[4];
+					index.put(key, postings);
+				}
+				int count = postings[0];
+				if (count > 0 && postings[count] == position) {
+					// key occurs more than once in this id
+					return;
+				}
+				if (count + 1 == postings.length) {
+					postings = Arrays.copyOf(postings, postings.length * 2);
+					index.put(key, postings);
+				}
+				postings[count + 1] = position;
+				postings[0] = count + 1;
+			}
+
+			/**
+			 * Returns whether a segment of the given id starts at the given
+			 * index, as split by
+			 * {@link org.eclipse.pde.internal.genericeditor.target.extension.autocomplete.TargetDefinitionContentAssist#getFilteredStyledString(String, String)}.
+			 */
+			private static boolean isSegmentStart(String id, int index) {
+				if (index == 0) {
+					return true;
+				}
+				char c = id.charAt(index);
+				char previous = id.charAt(index - 1);
+				return (c >= 'A' && c <= 'Z') || previous == '.' || previous == '_'
+						|| (c >= '0' && c <= '9' && !(previous >= '0' && previous <= '9'));
+			}
+
+			/**
+			 * Returns the positions of the ids that may contain the given lower
+			 * case term, the positions listed for its rarest trigram.
+			 */
+			int[] getCandidates(String lowerCaseTerm) {
+				int[] candidates = null;
+				for (int i = 0; i + NGRAM_LENGTH <= lowerCaseTerm.length(); i++) {
+					int[] postings = ngrams.get(lowerCaseTerm.substring(i, i + NGRAM_LENGTH));
+					if (postings == null) {
+						return NO_POSITIONS;
+					}
+					if (candidates == null || postings.length < candidates.length) {
+						candidates = postings;
+					}
+				}
+				return candidates;
+			}
+		}
+
+		RepositoryUnits(String repository, List<UnitNode> units, long timestamp) {
+			this.repository = repository;
+			this.timestamp = timestamp;
+			List<UnitNode> valid = new ArrayList<>(units.size());
+			for (UnitNode unit : units) {
+				if (unit.getId() != null) {
+					valid.add(unit);
+				}
+			}
+			sortedUnits = valid.toArray(new UnitNode[valid.size()]);
+			Arrays.sort(sortedUnits, (unit1, unit2) -> unit1.getId().compareTo(unit2.getId()));
+			sortedIds = new String[sortedUnits.length];
+			unitsById = new HashMap<>(sortedUnits.length * 4 / 3 + 1);
+			for (int i = 0; i < sortedUnits.length; i++) {
+				sortedIds[i] = sortedUnits[i].getId();
+				unitsById.putIfAbsent(sortedIds[i], sortedUnits[i]);
+			}
+			valid.sort((unit1, unit2) -> String.CASE_INSENSITIVE_ORDER.compare(unit1.getId(), unit2.getId()));
+			this.units = Collections.unmodifiableList(valid);
+		}
+
+		List<UnitNode> getUnitsByPrefix(String prefix) {
+			int index = Arrays.binarySearch(sortedIds, prefix);
+			if (index < 0) {
+				index = -index - 1;
+			}
+			List<UnitNode> result = new ArrayList<>();
+			for (int i = index; i < sortedIds.length && sortedIds[i].startsWith(prefix); i++) {
+				result.add(sortedUnits[i]);
+			}
+			return result;
+		}
+
+		List<UnitNode> getUnitsBySearchTerm(String searchTerm) {
+			List<UnitNode> result = new ArrayList<>();
+			if (searchTerm.length() < NGRAM_LENGTH) {
+				// too short for the index, a single pass is cheap enough
+				for (UnitNode unit : units) {
+					if (unit.getId().contains(searchTerm)) {
+						result.add(unit);
+					}
+				}
+				return result;
+			}
+			for (int candidate : getSearchIndex().getCandidates(searchTerm.toLowerCase())) {
+				if (units.get(candidate).getId().contains(searchTerm)) {
+					result.add(units.get(candidate));
+				}
+			}
+			return result;
+		}
+
+		List<UnitNode> getCompletionCandidates(String searchTerm) {
+			if (searchTerm.length() < NGRAM_LENGTH) {
+				// too short to narrow down much, completion filters all units
+				return units;
+			}
+			SearchIndex index = getSearchIndex();
+			String lowerCaseTerm = searchTerm.toLowerCase();
+			int[] substrings = index.getCandidates(lowerCaseTerm);
+			int[] segments = index.segments.getOrDefault(Character.valueOf(searchTerm.charAt(0)), NO_POSITIONS);
+			// merge the ascending positions, keeping the display order
+			List<UnitNode> result = new ArrayList<>();
+			int i = 0;
+			int j = 0;
+			while (i < substrings.length || j < segments.length) {
+				int position;
+				if (j == segments.length || (i < substrings.length && substrings[i] < segments[j])) {
+					position = substrings[i++];
+					if (!index.lowerCaseIds[position].contains(lowerCaseTerm)) {
+						continue;
+					}
+				} else {
+					position = segments[j++];
+					if (i < substrings.length && substrings[i] == position) {
+						i++;
+					}
+				}
+				result.add(units.get(position));
+			}
+			return Collections.unmodifiableList(result);
+		}
+
+		private SearchIndex getSearchIndex() {
+			SearchIndex index = searchIndex;
+			if (index == null) {
+				synchronized (this) {
+					index = searchIndex;
+					if (index == null) {
+						index = new SearchIndex(units);
+						searchIndex = index;
+					}
+				}
+			}
+			return index;
+		}
 	}
 }
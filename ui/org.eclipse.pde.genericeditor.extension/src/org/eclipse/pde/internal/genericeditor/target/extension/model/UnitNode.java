@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016 Red Hat Inc. and others
+ * Copyright (c) 2016, 2026 Red Hat Inc. and others
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -58,4 +58,14 @@ public class UnitNode extends Node {
 		this.availableVersions = availableVersions;
 	}
 
+	@Override
+	protected Node createCopy() {
+		UnitNode copy = new UnitNode();
+		copy.setId(id);
+		copy.setVersion(version);
+		copy.setAvailableVersions(availableVersions);
+		copy.setParent(parent);
+		return copy;
+	}
+
 }
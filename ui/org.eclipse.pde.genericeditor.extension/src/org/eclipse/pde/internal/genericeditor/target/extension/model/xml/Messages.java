@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.internal.genericeditor.target.extension.model.xml;
+
+import org.eclipse.osgi.util.NLS;
+
+public class Messages extends NLS {
+	private static final String BUNDLE_NAME = "org.eclipse.pde.internal.genericeditor.target.extension.model.xml.messages"; //$NON-NLS-1$
+	public static String Parser_e_content_after_root;
+	public static String Parser_e_content_in_prolog;
+	public static String Parser_e_end_tag_mismatch;
+	public static String Parser_e_markup_after_root;
+	public static String Parser_e_markup_before_root;
+	public static String Parser_e_premature_end;
+	public static String Parser_e_unterminated_element;
+	public static String XMLTagScanner_e_attribute_duplicate;
+	public static String XMLTagScanner_e_attribute_equals;
+	public static String XMLTagScanner_e_attribute_lt;
+	public static String XMLTagScanner_e_attribute_quote;
+	public static String XMLTagScanner_e_end_tag_delimiter;
+	public static String XMLTagScanner_e_entity_not_declared;
+	public static String XMLTagScanner_e_markup_not_well_formed;
+	public static String XMLTagScanner_e_reference_delimiter;
+	public static String XMLTagScanner_e_reference_name;
+	public static String XMLTagScanner_e_tag_not_well_formed;
+	public static String XMLTagScanner_e_unterminated_markup;
+	static {
+		// initialize resource bundle
+		NLS.initializeMessages(BUNDLE_NAME, Messages.class);
+	}
+
+	private Messages() {
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2017 Red Hat Inc. and others
+ * Copyright (c) 2016, 2026 Red Hat Inc. and others
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,16 +15,14 @@
  *******************************************************************************/
 package org.eclipse.pde.internal.genericeditor.target.extension.model.xml;
 
-import java.io.ByteArrayInputStream;
-import java.util.Iterator;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
 
-import javax.xml.stream.XMLEventReader;
-import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
 
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.osgi.util.NLS;
 import org.eclipse.pde.internal.genericeditor.target.extension.model.ITargetConstants;
 import org.eclipse.pde.internal.genericeditor.target.extension.model.LocationNode;
 import org.eclipse.pde.internal.genericeditor.target.extension.model.Node;
@@ -32,31 +30,84 @@ import org.eclipse.pde.internal.genericeditor.target.extension.model.UnitNode;
 
 /**
  * Class used to parse the XML code into the model.
+ * <p>
+ * The document is read in a single pass by the {@link XMLTagScanner}, which
+ * also reports well-formedness problems. When the same document is parsed
+ * again, only the innermost element enclosing the edited region is read
+ * again and the rest of the model is copied. The model is never changed once
+ * it was returned by {@link #getRootNode()}, so it can be read by other
+ * threads while a document is parsed.
+ * </p>
  */
 public class Parser {
 
 	private static Parser instance;
 
-	private Node target;
+	private volatile Node target;
 
-	private XMLInputFactory inputFactory;
+	private WeakReference<IDocument> lastDocument = new WeakReference<>(null);
 
-	public Parser() {
-		initializeParser();
-	}
+	private String lastText;
+
+	private XMLStreamException lastError;
 
-	private void initializeParser() {
-		inputFactory = XMLInputFactory.newInstance();
+	public synchronized void parse(IDocument document) throws XMLStreamException {
+		String text = document.get();
+		if (lastDocument.get() == document && lastText != null) {
+			if (lastText.equals(text)) {
+				if (lastError != null) {
+					throw lastError;
+				}
+				return;
+			}
+			if (lastError == null && target != null && reparse(text)) {
+				lastText = text;
+				return;
+			}
+		}
+		lastDocument = new WeakReference<>(document);
+		lastText = text;
+		XMLTagScanner scanner = new XMLTagScanner(text, 0, text.length());
+		List<Node> roots = new ArrayList<>();
+		scanElements(scanner, null, roots, text.length());
+		Node newTarget = null;
+		for (Node root : roots) {
+			if (ITargetConstants.TARGET_TAG.equalsIgnoreCase(root.getNodeTag())) {
+				newTarget = root;
+			}
+		}
+		target = newTarget;
+		lastError = scanner.getError();
+		if (lastError != null) {
+			throw lastError;
+		}
 	}
 
-	public void parse(IDocument document) throws XMLStreamException {
-		target = null;
+	/**
+	 * Reads the elements of the scanned region into the model.
+	 *
+	 * @param scanner the scanner of the region
+	 * @param context the node enclosing the region or <code>null</code>
+	 * @param roots receives the outermost elements of the region
+	 * @param end end offset of the region
+	 */
+	private void scanElements(XMLTagScanner scanner, Node context, List<Node> roots, int end) {
 		Node currentParent = null;
 		Node currentNode = null;
-		Iterator<XMLElement> tagReaderIterator = createXMLTagItterator(document.get());
-		while (tagReaderIterator.hasNext()) {
-			XMLElement event = tagReaderIterator.next();
+		boolean rootSeen = false;
+		XMLElement event;
+		while ((event = scanner.next()) != null) {
+			if (currentNode == null && scanner.getTextOffset() >= 0) {
+				scanner.error(scanner.getTextOffset(),
+						rootSeen ? Messages.Parser_e_content_after_root : Messages.Parser_e_content_in_prolog);
+			}
 			if (event.isStartElement()) {
+				if (currentNode == null) {
+					if (rootSeen) {
+						scanner.error(event.getStartOffset(), Messages.Parser_e_markup_after_root);
+					}
+					rootSeen = true;
+				}
 				String name = event.getName();
 				if (ITargetConstants.UNIT_TAG.equalsIgnoreCase(name)) {
 					UnitNode unit = new UnitNode();
@@ -73,13 +124,11 @@ public class Parser {
 					currentNode = new LocationNode();
 				} else if (ITargetConstants.REPOSITORY_TAG.equalsIgnoreCase(name)) {
 					currentNode = new Node();
-					if (currentParent instanceof LocationNode) {
+					Node parent = currentParent != null ? currentParent : context;
+					if (parent instanceof LocationNode) {
 						String locationValue = event.getAttributeValueByKey(ITargetConstants.REPOSITORY_LOCATION_ATTR);
-						((LocationNode) currentParent).setRepositoryLocation(locationValue);
+						((LocationNode) parent).setRepositoryLocation(locationValue);
 					}
-				} else if (ITargetConstants.TARGET_TAG.equalsIgnoreCase(name)) {
-					target = new Node();
-					currentNode = target;
 				} else {
 					currentNode = new Node();
 				}
@@ -87,63 +136,151 @@ public class Parser {
 				currentNode.setOffsetStart(event.getStartOffset());
 				if (currentParent != null) {
 					currentParent.addChildNode(currentNode);
+				} else {
+					roots.add(currentNode);
 				}
 				currentParent = currentNode;
 			}
 
 			if (event.isEndElement()) {
 				if (currentNode != null) {
+					if (!event.isStartElement() && !currentNode.getNodeTag().equals(event.getName())) {
+						scanner.error(event.getStartOffset(),
+								NLS.bind(Messages.Parser_e_end_tag_mismatch, currentNode.getNodeTag()));
+					}
 					currentNode.setOffsetEnd(event.getEndOffset());
 					currentNode = currentNode.getParentNode();
 					currentParent = currentNode;
+				} else {
+					scanner.error(event.getStartOffset(),
+							rootSeen ? Messages.Parser_e_markup_after_root : Messages.Parser_e_markup_before_root);
 				}
 			}
 		}
-		ByteArrayInputStream inputStream = new ByteArrayInputStream(document.get().getBytes());
-		XMLEventReader eventReader = inputFactory.createXMLEventReader(inputStream);
-		while (eventReader.hasNext()) {
-			eventReader.nextEvent();
+		if (currentNode == null && scanner.getTextOffset() >= 0) {
+			scanner.error(scanner.getTextOffset(),
+					rootSeen ? Messages.Parser_e_content_after_root : Messages.Parser_e_content_in_prolog);
+		}
+		if (currentNode != null) {
+			scanner.error(end, Messages.Parser_e_unterminated_element);
+		} else if (!rootSeen) {
+			scanner.error(end, Messages.Parser_e_premature_end);
 		}
 	}
 
-	private Iterator<XMLElement> createXMLTagItterator(String document) {
-		return new Iterator<XMLElement>() {
-			private String tagRegex = "(?<tag><[\\w|/][^<]+?>)";
-			private String commentRegex = "(<!--.*?-->)";
-			private String beforeTagRegex = ".*?(?=".concat(tagRegex).concat(")");
-
-			private String text = document;
+	/**
+	 * Updates the model of the last, well-formed, text to the given text of the
+	 * same document by reading only the innermost element that encloses the
+	 * changed region again. The other nodes are copied, the new model replaces
+	 * the last one at once.
+	 *
+	 * @param text the new document text
+	 * @return <code>true</code> if the model was updated, <code>false</code> if
+	 *         the document has to be parsed again
+	 */
+	private boolean reparse(String text) {
+		int oldLength = lastText.length();
+		int newLength = text.length();
+		int limit = Math.min(oldLength, newLength);
+		int changeStart = 0;
+		while (changeStart < limit && lastText.charAt(changeStart) == text.charAt(changeStart)) {
+			changeStart++;
+		}
+		int suffix = 0;
+		while (suffix < limit - changeStart
+				&& lastText.charAt(oldLength - 1 - suffix) == text.charAt(newLength - 1 - suffix)) {
+			suffix++;
+		}
+		int changeEnd = oldLength - suffix;
+		int delta = newLength - oldLength;
 
-			private Pattern tagPattern = Pattern.compile(tagRegex, Pattern.DOTALL);
-			private Pattern commentPattern = Pattern.compile(commentRegex, Pattern.DOTALL);
-			private Pattern beforeTagPattern = Pattern.compile(beforeTagRegex, Pattern.DOTALL);
+		Node node = findEnclosingNode(target, changeStart, changeEnd);
+		if (node == null) {
+			return false;
+		}
+		int start = node.getOffsetStart();
+		int end = node.getOffsetEnd() + delta;
+		XMLTagScanner scanner = new XMLTagScanner(text, start, end);
+		List<Node> roots = new ArrayList<>(1);
+		// the scan may update the enclosing node, which is then used in the copy
+		Node parent = node.getParentNode() != null ? node.getParentNode().copy() : null;
+		scanElements(scanner, parent, roots, end);
+		if (scanner.getError() != null || roots.size() != 1) {
+			return false;
+		}
+		Node replacement = roots.get(0);
+		if (replacement.getOffsetStart() != start || replacement.getOffsetEnd() != end
+				|| !replacement.getNodeTag().equals(node.getNodeTag())) {
+			return false;
+		}
+		target = copyTree(target, node, replacement, parent, changeStart, changeEnd, delta);
+		return true;
+	}
 
-			@Override
-			public boolean hasNext() {
-				skipComments();
-				return text.length() > 0 && beforeTagPattern.matcher(text).find();
+	/**
+	 * Returns the innermost node whose tags are not touched by the changed
+	 * region, or <code>null</code> if the region is not inside the given node.
+	 */
+	private static Node findEnclosingNode(Node node, int changeStart, int changeEnd) {
+		if (!encloses(node, changeStart, changeEnd)) {
+			return null;
+		}
+		Node enclosing = node;
+		List<Node> children;
+		while ((children = enclosing.getChildNodes()) != null) {
+			// children are in document order, find the last one starting before the change
+			int low = 0;
+			int high = children.size() - 1;
+			Node child = null;
+			while (low <= high) {
+				int mid = (low + high) >>> 1;
+				if (children.get(mid).getOffsetStart() < changeStart) {
+					child = children.get(mid);
+					low = mid + 1;
+				} else {
+					high = mid - 1;
+				}
 			}
-
-			@Override
-			public XMLElement next() {
-				skipComments();
-				text = beforeTagPattern.matcher(text).replaceFirst("");
-				Matcher tag = tagPattern.matcher(text);
-				tag.find();
-				int offset = document.length() - text.length();
-				text = text.substring(tag.end());
-				return new XMLElement(tag.group("tag"), offset);
+			if (child == null || !encloses(child, changeStart, changeEnd)) {
+				break;
 			}
+			enclosing = child;
+		}
+		return enclosing;
+	}
 
-			private void skipComments() {
-				Matcher comment = commentPattern.matcher(text);
-				Matcher tag = tagPattern.matcher(text);
-				if (comment.find() && tag.find() && comment.start() < tag.start()) {
-					text = text.substring(comment.end());
-				}
+	private static boolean encloses(Node node, int changeStart, int changeEnd) {
+		return node.getOffsetStart() < changeStart && changeEnd < node.getOffsetEnd();
+	}
+
+	/**
+	 * Copies the given node and its children, putting the replacement in place
+	 * of the replaced node and moving the offsets of the other nodes by the
+	 * length difference of the changed region.
+	 *
+	 * @param parent the copy to use for the parent of the replaced node
+	 */
+	private static Node copyTree(Node node, Node replaced, Node replacement, Node parent, int changeStart,
+			int changeEnd, int delta) {
+		if (node == replaced) {
+			return replacement;
+		}
+		Node copy = node == replaced.getParentNode() ? parent : node.copy();
+		if (node.getOffsetEnd() > changeStart) {
+			if (node.getOffsetStart() >= changeEnd) {
+				copy.setOffsetStart(node.getOffsetStart() + delta);
 			}
-		};
+			copy.setOffsetEnd(node.getOffsetEnd() + delta);
+		}
+		List<Node> children = node.getChildNodes();
+		if (children != null) {
+			for (Node child : children) {
+				copy.addChildNode(copyTree(child, replaced, replacement, parent, changeStart, changeEnd, delta));
+			}
+		}
+		return copy;
 	}
+
 	public static Parser getDefault() {
 		if (instance == null) {
 			instance = new Parser();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017 Red Hat Inc. and others
+ * Copyright (c) 2017, 2026 Red Hat Inc. and others
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,46 +13,29 @@
  *******************************************************************************/
 package org.eclipse.pde.internal.genericeditor.target.extension.model.xml;
 
-import java.util.HashMap;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
+/**
+ * A start, end or empty element tag read by the {@link XMLTagScanner}.
+ */
 public class XMLElement {
-	private String element;
-	private int offset;
+	private int startOffset;
+	private int endOffset;
 	private String name;
-	private Map<String, String> attributes = new HashMap<>();
+	private Map<String, String> attributes;
 	private boolean isEndElement;
 	private boolean isStartElement;
 
-	private Pattern startElementNamePattern = Pattern.compile("<\\s*(?<name>\\w*).*", Pattern.DOTALL); //$NON-NLS-1$
-	private Pattern endElementNamePattern = Pattern.compile("</\\s*(?<name>\\w*).*", Pattern.DOTALL); //$NON-NLS-1$
-	private Pattern attributePattern = Pattern.compile("((?<key>\\w*)\\s*=\\s*\"(?<value>.*?)\")", Pattern.DOTALL);//$NON-NLS-1$
-
-	public XMLElement(String element, int offset) {
-		this.element = element;
-		this.offset = offset;
-		this.isEndElement = element.matches("</(.|\n)*|(.|\n)*/>(.|\n)*"); //$NON-NLS-1$
-		this.isStartElement = element.matches("<[^/](.|\n)*"); //$NON-NLS-1$
-
-		Pattern namePattern;
-		if (isStartElement()) {
-			namePattern = startElementNamePattern;
-		} else {
-			namePattern = endElementNamePattern;
-		}
-		Matcher nameMatcher = namePattern.matcher(element);
-		nameMatcher.matches();
-		name = nameMatcher.group("name"); //$NON-NLS-1$
-
-		Matcher attrMatcher = attributePattern.matcher(element);
-		while (attrMatcher.find()) {
-			String key = attrMatcher.group("key"); //$NON-NLS-1$
-			String value = attrMatcher.group("value"); //$NON-NLS-1$
-			attributes.put(key, value);
-		}
+	public XMLElement(String name, Map<String, String> attributes, int startOffset, int endOffset,
+			boolean isStartElement, boolean isEndElement) {
+		this.name = name;
+		this.attributes = attributes;
+		this.startOffset = startOffset;
+		this.endOffset = endOffset;
+		this.isStartElement = isStartElement;
+		this.isEndElement = isEndElement;
 	}
+
 	public boolean isEndElement() {
 		return isEndElement;
 	}
@@ -62,11 +45,11 @@ public class XMLElement {
 	}
 
 	public int getStartOffset() {
-		return offset;
+		return startOffset;
 	}
 
 	public int getEndOffset() {
-		return offset + element.length();
+		return endOffset;
 	}
 
 	public String getAttributeValueByKey(String key) {
@@ -79,6 +62,15 @@ public class XMLElement {
 
 	@Override
 	public String toString() {
-		return element;
+		StringBuilder builder = new StringBuilder("<"); //$NON-NLS-1$
+		if (!isStartElement) {
+			builder.append('/');
+		}
+		builder.append(name);
+		attributes.forEach((key, value) -> builder.append(' ').append(key).append("=\"").append(value).append('"')); //$NON-NLS-1$
+		if (isStartElement && isEndElement) {
+			builder.append('/');
+		}
+		return builder.append('>').toString();
 	}
 }
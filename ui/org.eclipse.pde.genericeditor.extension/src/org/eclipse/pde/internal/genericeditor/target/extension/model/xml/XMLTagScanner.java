@@ -0,0 +1,454 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.internal.genericeditor.target.extension.model.xml;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLStreamException;
+
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Reads the element tags of a region of a document in a single pass, working
+ * on offsets into the document text. Comments, processing instructions, CDATA
+ * sections and document type declarations are skipped, only the names of the
+ * entities declared in the internal subset are read.
+ * <p>
+ * The scanner is lenient: malformed markup is skipped the same way the tags
+ * of an incomplete document are while it is being typed. The first
+ * well-formedness problem found is remembered and can be retrieved with
+ * {@link #getError()}.
+ * </p>
+ */
+class XMLTagScanner {
+
+	private final String text;
+	private final int end;
+	private int pos;
+	private int textOffset;
+	private XMLStreamException error;
+	private Set<String> declaredEntities;
+
+	/**
+	 * @param text the document text
+	 * @param start offset of the region to scan
+	 * @param end end offset (exclusive) of the region to scan
+	 */
+	XMLTagScanner(String text, int start, int end) {
+		this.text = text;
+		this.pos = start;
+		this.end = end;
+	}
+
+	/**
+	 * Returns the next tag of the region.
+	 *
+	 * @return the next tag or <code>null</code> at the end of the region
+	 */
+	XMLElement next() {
+		textOffset = -1;
+		while (pos < end) {
+			int lt = text.indexOf('<', pos);
+			if (lt < 0 || lt >= end) {
+				scanText(pos, end);
+				pos = end;
+				return null;
+			}
+			scanText(pos, lt);
+			if (text.startsWith("<!--", lt)) { //$NON-NLS-1$
+				pos = skipTo(lt + 4, "-->"); //$NON-NLS-1$
+			} else if (text.startsWith("<![CDATA[", lt)) { //$NON-NLS-1$
+				if (textOffset < 0) {
+					textOffset = lt;
+				}
+				pos = skipTo(lt + 9, "]]>"); //$NON-NLS-1$
+			} else if (text.startsWith("<?", lt)) { //$NON-NLS-1$
+				pos = skipTo(lt + 2, "?>"); //$NON-NLS-1$
+			} else if (text.startsWith("<!", lt)) { //$NON-NLS-1$
+				pos = skipDoctype(lt + 2);
+			} else {
+				XMLElement element = scanTag(lt);
+				if (element != null) {
+					return element;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the offset of the first character that is not white space in
+	 * the text preceding the tag last returned by {@link #next()}, or in the
+	 * text at the end of the region if it returned <code>null</code>.
+	 *
+	 * @return offset of the text or <code>-1</code> if there is none
+	 */
+	int getTextOffset() {
+		return textOffset;
+	}
+
+	/**
+	 * @return the first well-formedness problem found or <code>null</code>
+	 */
+	XMLStreamException getError() {
+		return error;
+	}
+
+	/**
+	 * Records a well-formedness problem unless one was found before.
+	 *
+	 * @param offset document offset of the problem
+	 * @param message the problem message
+	 */
+	void error(int offset, String message) {
+		if (error == null) {
+			error = createError(text, offset, message);
+		}
+	}
+
+	private XMLElement scanTag(int start) {
+		int p = start + 1;
+		boolean endTag = p < end && text.charAt(p) == '/';
+		if (endTag) {
+			p++;
+		}
+		if (p >= end || !isNameStart(text.charAt(p))) {
+			error(p, Messages.XMLTagScanner_e_markup_not_well_formed);
+			pos = start + 1;
+			return null;
+		}
+		int nameStart = p;
+		while (p < end && isNameChar(text.charAt(p))) {
+			p++;
+		}
+		String name = text.substring(nameStart, p);
+		Map<String, String> attributes = Collections.emptyMap();
+		while (true) {
+			int whitespace = p;
+			p = skipWhitespace(p);
+			if (p >= end) {
+				error(p, Messages.XMLTagScanner_e_unterminated_markup);
+				pos = end;
+				return null;
+			}
+			char c = text.charAt(p);
+			if (c == '>') {
+				pos = p + 1;
+				return new XMLElement(name, attributes, start, pos, !endTag, endTag);
+			}
+			if (endTag) {
+				error(p, NLS.bind(Messages.XMLTagScanner_e_end_tag_delimiter, name));
+				return resync(name, attributes, start, p, true);
+			}
+			if (c == '/' && p + 1 < end && text.charAt(p + 1) == '>') {
+				pos = p + 2;
+				return new XMLElement(name, attributes, start, pos, true, true);
+			}
+			if (whitespace == p || !isNameStart(c)) {
+				error(p, NLS.bind(Messages.XMLTagScanner_e_tag_not_well_formed, name));
+				return resync(name, attributes, start, p, false);
+			}
+			int keyStart = p;
+			while (p < end && isNameChar(text.charAt(p))) {
+				p++;
+			}
+			String key = text.substring(keyStart, p);
+			p = skipWhitespace(p);
+			if (p >= end || text.charAt(p) != '=') {
+				error(p, NLS.bind(Messages.XMLTagScanner_e_attribute_equals, key, name));
+				return resync(name, attributes, start, p, false);
+			}
+			p = skipWhitespace(p + 1);
+			char quote = p < end ? text.charAt(p) : 0;
+			if (quote != '"' && quote != '\'') {
+				error(p, NLS.bind(Messages.XMLTagScanner_e_attribute_quote, key, name));
+				return resync(name, attributes, start, p, false);
+			}
+			int valueEnd = indexOf(quote, p + 1, end);
+			if (valueEnd < 0) {
+				error(end, Messages.XMLTagScanner_e_unterminated_markup);
+				return resync(name, attributes, start, p + 1, false);
+			}
+			int lt = indexOf('<', p + 1, valueEnd);
+			if (lt >= 0) {
+				error(lt, NLS.bind(Messages.XMLTagScanner_e_attribute_lt, key, name));
+				return resync(name, attributes, start, p + 1, false);
+			}
+			scanReferences(p + 1, valueEnd);
+			if (attributes.isEmpty()) {
+				attributes = new HashMap<>();
+			}
+			if (attributes.put(key, text.substring(p + 1, valueEnd)) != null) {
+				error(keyStart, NLS.bind(Messages.XMLTagScanner_e_attribute_duplicate, key, name));
+			}
+			p = valueEnd + 1;
+		}
+	}
+
+	/**
+	 * Continues after malformed markup inside a tag. If the tag is closed
+	 * before the next tag starts it is still returned with the attributes read
+	 * so far, otherwise it is skipped.
+	 */
+	private XMLElement resync(String name, Map<String, String> attributes, int start, int p, boolean endTag) {
+		while (p < end && text.charAt(p) != '>' && text.charAt(p) != '<') {
+			p++;
+		}
+		if (p < end && text.charAt(p) == '>') {
+			boolean empty = !endTag && text.charAt(p - 1) == '/';
+			pos = p + 1;
+			return new XMLElement(name, attributes, start, pos, !endTag, endTag || empty);
+		}
+		pos = p;
+		return null;
+	}
+
+	private void scanText(int from, int to) {
+		if (textOffset < 0) {
+			int p = skipWhitespace(from);
+			if (p < to) {
+				textOffset = p;
+			}
+		}
+		scanReferences(from, to);
+	}
+
+	private void scanReferences(int from, int to) {
+		int amp = indexOf('&', from, to);
+		while (amp >= 0) {
+			int p = amp + 1;
+			if (p < to && text.charAt(p) == '#') {
+				p++;
+				boolean hex = p < to && text.charAt(p) == 'x';
+				if (hex) {
+					p++;
+				}
+				int digits = p;
+				while (p < to && Character.digit(text.charAt(p), hex ? 16 : 10) >= 0) {
+					p++;
+				}
+				if (p == digits || p >= to || text.charAt(p) != ';') {
+					error(p, NLS.bind(Messages.XMLTagScanner_e_reference_delimiter, text.substring(amp + 1, p)));
+				}
+			} else if (p >= to || !isNameStart(text.charAt(p))) {
+				error(p, Messages.XMLTagScanner_e_reference_name);
+			} else {
+				while (p < to && isNameChar(text.charAt(p))) {
+					p++;
+				}
+				String entity = text.substring(amp + 1, p);
+				if (p >= to || text.charAt(p) != ';') {
+					error(p, NLS.bind(Messages.XMLTagScanner_e_reference_delimiter, entity));
+				} else if (!isPredefinedEntity(entity) && !isDeclaredEntity(entity)) {
+					error(amp, NLS.bind(Messages.XMLTagScanner_e_entity_not_declared, entity));
+				}
+			}
+			amp = indexOf('&', p, to);
+		}
+	}
+
+	/**
+	 * Like {@link String#indexOf(int, int)} but does not look past the given
+	 * end offset, so scanning a short range never reads the rest of the
+	 * document.
+	 */
+	private int indexOf(char c, int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (text.charAt(i) == c) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private int skipTo(int from, String delimiter) {
+		int index = text.indexOf(delimiter, from);
+		if (index < 0 || index + delimiter.length() > end) {
+			error(end, Messages.XMLTagScanner_e_unterminated_markup);
+			return end;
+		}
+		return index + delimiter.length();
+	}
+
+	private int skipDoctype(int from) {
+		// an internal subset may contain '>'
+		int gt = text.indexOf('>', from);
+		int bracket = text.indexOf('[', from);
+		if (bracket >= 0 && gt >= 0 && bracket < gt) {
+			return skipTo(bracket + 1, "]>"); //$NON-NLS-1$
+		}
+		return skipTo(from, ">"); //$NON-NLS-1$
+	}
+
+	private int skipWhitespace(int p) {
+		while (p < end && isWhitespace(text.charAt(p))) {
+			p++;
+		}
+		return p;
+	}
+
+	private static boolean isWhitespace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+	}
+
+	private static boolean isNameStart(char c) {
+		return Character.isLetter(c) || c == '_' || c == ':';
+	}
+
+	private static boolean isNameChar(char c) {
+		return Character.isLetterOrDigit(c) || c == '_' || c == ':' || c == '-' || c == '.';
+	}
+
+	private static boolean isPredefinedEntity(String name) {
+		switch (name) {
+		case "amp": //$NON-NLS-1$
+		case "lt": //$NON-NLS-1$
+		case "gt": //$NON-NLS-1$
+		case "quot": //$NON-NLS-1$
+		case "apos": //$NON-NLS-1$
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Returns whether the given entity is declared in the document type
+	 * declaration. The declaration precedes the root element, so it is read
+	 * from the start of the document even if only an element is scanned.
+	 */
+	private boolean isDeclaredEntity(String name) {
+		if (declaredEntities == null) {
+			declaredEntities = readDeclaredEntities(text);
+		}
+		return declaredEntities.contains(name);
+	}
+
+	/**
+	 * Returns the names of the general entities declared in the internal
+	 * subset of the document type declaration of the given document.
+	 */
+	static Set<String> readDeclaredEntities(String text) {
+		Set<String> entities = new HashSet<>();
+		int p = 0;
+		int subsetStart = -1;
+		while ((p = text.indexOf('<', p)) >= 0) {
+			if (text.startsWith("<!--", p)) { //$NON-NLS-1$
+				p = text.indexOf("-->", p + 4); //$NON-NLS-1$
+			} else if (text.startsWith("<?", p)) { //$NON-NLS-1$
+				p = text.indexOf("?>", p + 2); //$NON-NLS-1$
+			} else if (text.startsWith("<!DOCTYPE", p)) { //$NON-NLS-1$
+				int gt = text.indexOf('>', p);
+				int bracket = text.indexOf('[', p);
+				if (bracket >= 0 && gt >= 0 && bracket < gt) {
+					subsetStart = bracket + 1;
+				}
+				break;
+			} else {
+				// the root element, there is no document type declaration
+				break;
+			}
+			if (p < 0) {
+				break;
+			}
+		}
+		if (subsetStart < 0) {
+			return entities;
+		}
+		int subsetEnd = text.indexOf("]>", subsetStart); //$NON-NLS-1$
+		if (subsetEnd < 0) {
+			subsetEnd = text.length();
+		}
+		for (p = subsetStart; p < subsetEnd; p++) {
+			char c = text.charAt(p);
+			int close;
+			if (text.startsWith("<!--", p)) { //$NON-NLS-1$
+				close = text.indexOf("-->", p + 4); //$NON-NLS-1$
+			} else if (c == '"' || c == '\'') {
+				close = text.indexOf(c, p + 1);
+			} else if (text.startsWith("<!ENTITY", p)) { //$NON-NLS-1$
+				int nameStart = p + 8;
+				while (nameStart < subsetEnd && isWhitespace(text.charAt(nameStart))) {
+					nameStart++;
+				}
+				int nameEnd = nameStart;
+				// parameter entities start with '%' and cannot be referenced in content
+				if (nameStart < subsetEnd && isNameStart(text.charAt(nameStart))) {
+					while (nameEnd < subsetEnd && isNameChar(text.charAt(nameEnd))) {
+						nameEnd++;
+					}
+					entities.add(text.substring(nameStart, nameEnd));
+				}
+				close = nameEnd - 1;
+			} else {
+				continue;
+			}
+			if (close < 0) {
+				break;
+			}
+			p = close;
+		}
+		return entities;
+	}
+
+	/**
+	 * Creates an exception for a well-formedness problem at the given offset,
+	 * with the line and column computed from the document text.
+	 */
+	static XMLStreamException createError(String text, int offset, String message) {
+		int line = 1;
+		int lineStart = 0;
+		int limit = Math.min(offset, text.length());
+		for (int i = 0; i < limit; i++) {
+			if (text.charAt(i) == '\n') {
+				line++;
+				lineStart = i + 1;
+			}
+		}
+		int lineNumber = line;
+		int columnNumber = offset - lineStart + 1;
+		Location location = new Location() {
+			@Override
+			public int getLineNumber() {
+				return lineNumber;
+			}
+
+			@Override
+			public int getColumnNumber() {
+				return columnNumber;
+			}
+
+			@Override
+			public int getCharacterOffset() {
+				return offset;
+			}
+
+			@Override
+			public String getPublicId() {
+				return null;
+			}
+
+			@Override
+			public String getSystemId() {
+				return null;
+			}
+		};
+		return new XMLStreamException(message, location);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2017 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,10 +18,14 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.zip.ZipFile;
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.*;
@@ -31,8 +35,14 @@ import org.eclipse.jdt.core.util.IClassFileReader;
 import org.eclipse.jdt.launching.JavaRuntime;
 import org.eclipse.jdt.launching.environments.IExecutionEnvironment;
 import org.eclipse.pde.core.plugin.PluginRegistry;
+import org.eclipse.pde.internal.core.PDECore;
 import org.eclipse.pde.internal.core.exports.FeatureExportInfo;
+import org.eclipse.pde.internal.core.exports.FeatureExportOperation;
 import org.eclipse.pde.internal.core.exports.PluginExportOperation;
+import org.eclipse.pde.internal.core.exports.ProductExportOperation;
+import org.eclipse.pde.internal.core.ifeature.IFeatureModel;
+import org.eclipse.pde.internal.core.iproduct.IProduct;
+import org.eclipse.pde.internal.core.product.WorkspaceProductModel;
 import org.eclipse.pde.ui.tests.PDETestCase;
 import org.eclipse.pde.ui.tests.PDETestsPlugin;
 import org.eclipse.pde.ui.tests.runtime.TestUtils;
@@ -265,6 +275,164 @@ public class ExportBundleTests extends PDETestCase {
 		}
 	}
 
+	/**
+	 * Exports a feature for several configurations, assembling and packaging
+	 * the configurations concurrently, and validates that each configuration
+	 * got the feature and its plug-in.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testExportParallelConfigurations() throws Exception {
+		String[][] targets = new String[][] { { "linux", "gtk", "x86_64" }, { "win32", "win32", "x86_64" },
+				{ "macosx", "cocoa", "x86_64" } };
+		try {
+			ProjectUtils.createPluginProject("parallel.export", null);
+			IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject("parallel.export.feature");
+			project.create(null);
+			project.open(null);
+			createFile(project.getFile("build.properties"), "bin.includes = feature.xml\n");
+			createFile(project.getFile("feature.xml"), "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+					+ "<feature id=\"parallel.export.feature\" version=\"1.0.0\">\n"
+					+ "   <plugin id=\"parallel.export\" version=\"0.0.0\" unpack=\"false\"/>\n"
+					+ "</feature>\n");
+			TestUtils.waitForJobs(name.getMethodName(), 100, 10000);
+			IFeatureModel model = PDECore.getDefault().getFeatureModelManager().findFeatureModel("parallel.export.feature");
+			assertTrue("Feature was not created", model != null);
+
+			exportFeature(model, targets, true);
+			for (String[] target : targets) {
+				IPath path = EXPORT_PATH.append(target[0] + '.' + target[1] + '.' + target[2]);
+				assertTrue("Missing exported bundle", path.append("plugins/parallel.export_1.0.0.jar").toFile().exists());
+				assertTrue("Missing exported feature", path.append("features/parallel.export.feature_1.0.0.jar").toFile().exists());
+			}
+			deleteFolder(EXPORT_PATH.toFile());
+
+			exportFeature(model, targets, false);
+			for (String[] target : targets) {
+				File archive = EXPORT_PATH.append("parallel." + target[0] + '.' + target[1] + '.' + target[2] + ".zip").toFile();
+				assertTrue("Missing archive " + archive, archive.exists());
+				try (ZipFile zip = new ZipFile(archive)) {
+					assertTrue("Missing archived bundle", zip.stream().anyMatch(entry -> entry.getName().endsWith("plugins/parallel.export_1.0.0.jar")));
+				}
+			}
+		} finally {
+			TestUtils.waitForJobs(name.getMethodName(), 10, 5000);
+			deleteProject("parallel.export.feature");
+			deleteProject("parallel.export");
+			if (EXPORT_PATH.toFile().exists()) {
+				deleteFolder(EXPORT_PATH.toFile());
+			}
+		}
+	}
+
+	/**
+	 * Exports a product with p2 metadata for several configurations, packaging
+	 * the configurations concurrently, and validates that each configuration
+	 * got its own archive with the product's plug-in and p2 metadata.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testExportParallelProductConfigurations() throws Exception {
+		String[][] targets = new String[][] { { "linux", "gtk", "x86_64" }, { "win32", "win32", "x86_64" },
+				{ "macosx", "cocoa", "x86_64" } };
+		try {
+			IJavaProject project = ProjectUtils.createPluginProject("parallel.product", null);
+			IFile file = project.getProject().getFile("parallel.product");
+			createFile(file, "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+					+ "<?pde version=\"3.5\"?>\n"
+					+ "<product name=\"Parallel\" uid=\"parallel.product\" version=\"1.0.0\" useFeatures=\"false\" includeLaunchers=\"false\">\n"
+					+ "   <plugins>\n"
+					+ "      <plugin id=\"parallel.product\"/>\n"
+					+ "   </plugins>\n"
+					+ "</product>\n");
+			TestUtils.waitForJobs(name.getMethodName(), 100, 10000);
+			WorkspaceProductModel model = new WorkspaceProductModel(file, false);
+			model.load();
+			IProduct product = model.getProduct();
+
+			exportProduct(product, project.getProject(), targets, true);
+			for (String[] target : targets) {
+				IPath path = EXPORT_PATH.append(target[0] + '.' + target[1] + '.' + target[2]).append("parallel");
+				assertTrue("Missing exported bundle", path.append("plugins/parallel.product_1.0.0.jar").toFile().exists());
+				assertTrue("Missing p2 metadata", path.append("p2").toFile().isDirectory());
+			}
+			deleteFolder(EXPORT_PATH.toFile());
+
+			exportProduct(product, project.getProject(), targets, false);
+			for (String[] target : targets) {
+				File archive = EXPORT_PATH.append("product." + target[0] + '.' + target[1] + '.' + target[2] + ".zip").toFile();
+				assertTrue("Missing archive " + archive, archive.exists());
+				try (ZipFile zip = new ZipFile(archive)) {
+					assertTrue("Missing archived bundle", zip.stream().anyMatch(entry -> entry.getName().equals("parallel/plugins/parallel.product_1.0.0.jar")));
+					assertTrue("Missing archived p2 metadata", zip.stream().anyMatch(entry -> entry.getName().startsWith("parallel/p2/")));
+				}
+			}
+		} finally {
+			TestUtils.waitForJobs(name.getMethodName(), 10, 5000);
+			deleteProject("parallel.product");
+			if (EXPORT_PATH.toFile().exists()) {
+				deleteFolder(EXPORT_PATH.toFile());
+			}
+		}
+	}
+
+	private void createFile(IFile file, String contents) throws CoreException {
+		file.create(new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8)), true, null);
+	}
+
+	private void exportFeature(IFeatureModel model, String[][] targets, boolean toDirectory) throws Exception {
+		final FeatureExportInfo info = new FeatureExportInfo();
+		info.toDirectory = toDirectory;
+		info.useJarFormat = true;
+		info.exportSource = false;
+		info.allowBinaryCycles = false;
+		info.useWorkspaceCompiledClasses = false;
+		info.destinationDirectory = EXPORT_PATH.toOSString();
+		info.zipFileName = toDirectory ? null : "parallel.zip";
+		info.items = new Object[] { model };
+		info.targets = targets;
+		info.parallelConfigurations = targets.length;
+		info.signingInfo = null;
+		info.qualifier = "vXYZ";
+
+		FeatureExportOperation job = new FeatureExportOperation(info, "Test-Export");
+		job.schedule();
+		job.join();
+		if (job.hasAntErrors()) {
+			fail("Export job had ant errors");
+		}
+		assertTrue("Export job had errors", job.getResult().isOK());
+		TestUtils.waitForJobs(name.getMethodName(), 100, 10000);
+	}
+
+	private void exportProduct(IProduct product, IProject project, String[][] targets, boolean toDirectory) throws Exception {
+		final FeatureExportInfo info = new FeatureExportInfo();
+		info.toDirectory = toDirectory;
+		info.useJarFormat = true;
+		info.exportSource = false;
+		info.exportMetadata = true;
+		info.allowBinaryCycles = false;
+		info.useWorkspaceCompiledClasses = false;
+		info.destinationDirectory = EXPORT_PATH.toOSString();
+		info.zipFileName = toDirectory ? null : "product.zip";
+		info.items = new Object[] { PluginRegistry.findModel(project) };
+		info.targets = targets;
+		info.parallelConfigurations = targets.length;
+		info.signingInfo = null;
+		info.qualifier = "vXYZ";
+
+		ProductExportOperation job = new ProductExportOperation(info, "Test-Export", product, "parallel");
+		job.schedule();
+		job.join();
+		if (job.hasAntErrors()) {
+			fail("Export job had ant errors");
+		}
+		assertTrue("Export job had errors", job.getResult().isOK());
+		TestUtils.waitForJobs(name.getMethodName(), 100, 10000);
+	}
+
 	private void printContents(File dir) {
 		System.out.println("First 2 levels of: " + dir);
 		File[] children = dir.listFiles();
@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.ui.tests.launcher;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Dictionary;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.osgi.service.resolver.BundleDescription;
+import org.eclipse.osgi.service.resolver.StateObjectFactory;
+import org.eclipse.pde.core.plugin.IPluginModelBase;
+import org.eclipse.pde.internal.core.BundleValidationOperation;
+import org.eclipse.pde.internal.core.TargetPlatformHelper;
+import org.eclipse.pde.internal.core.plugin.ExternalPluginModel;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that validations reusing the resolved state of the last validation
+ * report the same errors as validations resolving all bundles
+ */
+public class BundleValidationOperationTest {
+
+	private Dictionary<?, ?>[] fProperties;
+	private long fNextId;
+
+	@Before
+	public void setUp() {
+		Dictionary<String, String> properties = TargetPlatformHelper.getTargetEnvironment();
+		// do not reuse the state of other validations
+		properties.put("pde.test.validation", getClass().getName() + System.nanoTime());
+		fProperties = new Dictionary[] { properties };
+	}
+
+	@Test
+	public void testAddedExporterRewiresImporters() throws Exception {
+		List<IPluginModelBase> models = new ArrayList<>();
+		models.add(createModel("a", "1.0.0", "Export-Package", "p;uses:=q", "Import-Package", "q"));
+		models.add(createModel("q1", "1.0.0", "Export-Package", "q;version=1.0.0"));
+		addUnrelatedModels(models, 6);
+		assertSameErrors(models, validate(models, true));
+
+		// a is wired to q of q1 but b can only use q of q2, a must be
+		// rewired to q2 for b to resolve
+		models.add(createModel("q2", "1.0.0", "Export-Package", "q;version=2.0.0"));
+		models.add(createModel("b", "1.0.0", "Import-Package", "p,q;version=\"[2.0.0,3.0.0)\""));
+		BundleValidationOperation operation = validate(models, true);
+		assertFalse(validate(models, false).hasErrors());
+		assertSameErrors(models, operation);
+	}
+
+	@Test
+	public void testRemovedExporter() throws Exception {
+		List<IPluginModelBase> models = new ArrayList<>();
+		IPluginModelBase exporter = createModel("q1", "1.0.0", "Export-Package", "q");
+		models.add(exporter);
+		models.add(createModel("a", "1.0.0", "Import-Package", "q"));
+		models.add(createModel("c", "1.0.0", "Require-Bundle", "a"));
+		addUnrelatedModels(models, 6);
+		validate(models, true);
+
+		models.remove(exporter);
+		assertSameErrors(models, validate(models, true));
+	}
+
+	@Test
+	public void testRejectedBundle() throws Exception {
+		List<IPluginModelBase> models = new ArrayList<>();
+		IPluginModelBase first = createModel("a", "1.0.0");
+		models.add(first);
+		// the state rejects a bundle with the id of another one
+		fNextId--;
+		models.add(createModel("b", "1.0.0"));
+		addUnrelatedModels(models, 8);
+		assertSameErrors(models, validate(models, true));
+		assertSameErrors(models, validate(models, true));
+
+		models.remove(first);
+		assertSameErrors(models, validate(models, true));
+	}
+
+	@Test
+	public void testStateIsNotShared() throws Exception {
+		List<IPluginModelBase> models = new ArrayList<>();
+		addUnrelatedModels(models, 8);
+		BundleValidationOperation operation = validate(models, true);
+		int count = operation.getState().getBundles().length;
+
+		models.add(createModel("a", "1.0.0"));
+		validate(models, true);
+		assertEquals(count, operation.getState().getBundles().length);
+	}
+
+	private void addUnrelatedModels(List<IPluginModelBase> models, int count) throws Exception {
+		for (int i = 0; i < count; i++) {
+			models.add(createModel("unrelated" + i, "1.0.0"));
+		}
+	}
+
+	private IPluginModelBase createModel(String name, String version, String... headers) throws Exception {
+		Hashtable<String, String> manifest = new Hashtable<>();
+		manifest.put("Bundle-ManifestVersion", "2");
+		manifest.put("Bundle-SymbolicName", name);
+		manifest.put("Bundle-Version", version);
+		for (int i = 0; i < headers.length; i += 2) {
+			manifest.put(headers[i], headers[i + 1]);
+		}
+		StateObjectFactory factory = Platform.getPlatformAdmin().getFactory();
+		BundleDescription description = factory.createBundleDescription(null, manifest, "/" + name, fNextId++);
+		ExternalPluginModel model = new ExternalPluginModel();
+		model.setBundleDescription(description);
+		return model;
+	}
+
+	private BundleValidationOperation validate(List<IPluginModelBase> models, boolean reuseState) throws Exception {
+		BundleValidationOperation operation = new BundleValidationOperation(models.toArray(new IPluginModelBase[models.size()]), fProperties, reuseState);
+		operation.run(null);
+		return operation;
+	}
+
+	private void assertSameErrors(List<IPluginModelBase> models, BundleValidationOperation operation) throws Exception {
+		BundleValidationOperation expected = validate(models, false);
+		assertEquals(expected.hasErrors(), operation.hasErrors());
+		assertEquals(getNames(expected.getResolverErrors().keySet()), getNames(operation.getResolverErrors().keySet()));
+		assertEquals(Arrays.stream(expected.getState().getBundles()).map(BundleDescription::getSymbolicName).sorted().collect(Collectors.toList()),
+				Arrays.stream(operation.getState().getBundles()).map(BundleDescription::getSymbolicName).sorted().collect(Collectors.toList()));
+	}
+
+	private static Set<String> getNames(Set<Object> bundles) {
+		Set<String> names = new TreeSet<>();
+		for (Object bundle : bundles) {
+			names.add(((BundleDescription) bundle).getSymbolicName());
+		}
+		return names;
+	}
+}
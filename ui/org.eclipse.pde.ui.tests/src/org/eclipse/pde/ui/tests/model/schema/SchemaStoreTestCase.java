@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.ui.tests.model.schema;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.net.URL;
+import org.eclipse.core.runtime.FileLocator;
+import org.eclipse.pde.internal.core.PDECore;
+import org.eclipse.pde.internal.core.ischema.ISchema;
+import org.eclipse.pde.internal.core.ischema.ISchemaAttribute;
+import org.eclipse.pde.internal.core.ischema.ISchemaComplexType;
+import org.eclipse.pde.internal.core.ischema.ISchemaCompositor;
+import org.eclipse.pde.internal.core.ischema.ISchemaElement;
+import org.eclipse.pde.internal.core.ischema.ISchemaEnumeration;
+import org.eclipse.pde.internal.core.ischema.ISchemaObject;
+import org.eclipse.pde.internal.core.ischema.ISchemaRestriction;
+import org.eclipse.pde.internal.core.schema.ChoiceRestriction;
+import org.eclipse.pde.internal.core.schema.Schema;
+import org.eclipse.pde.internal.core.schema.SchemaDescriptor;
+import org.eclipse.pde.internal.core.schema.SchemaElementReference;
+import org.eclipse.pde.ui.tests.PDETestsPlugin;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that schemas read from the compiled schema store are complete
+ */
+public class SchemaStoreTestCase {
+
+	private static final String SCHEMA = "/tests/performance/schema/navigatorContent.exsd";
+
+	private File fFile;
+
+	@Before
+	public void setUp() throws Exception {
+		URL url = PDETestsPlugin.getDefault().getBundle().getEntry(SCHEMA);
+		assertNotNull("missing schema " + SCHEMA, url);
+		fFile = new File(FileLocator.toFileURL(url).getPath());
+	}
+
+	@Test
+	public void testRestoreSchema() throws Exception {
+		assertRestored(false);
+	}
+
+	@Test
+	public void testRestoreAbbreviatedSchema() throws Exception {
+		assertRestored(true);
+	}
+
+	private void assertRestored(boolean abbreviated) throws Exception {
+		// the first descriptor stores the schema, the second reads it
+		new SchemaDescriptor(fFile).getSchema(abbreviated);
+		File[] stored = PDECore.getDefault().getStateLocation().append(".schemas").toFile().listFiles();
+		assertTrue("the schema should be stored", stored != null && stored.length > 0);
+		Schema restored = (Schema) new SchemaDescriptor(fFile).getSchema(abbreviated);
+		Schema parsed = new Schema(null, fFile.toURI().toURL(), abbreviated);
+		parsed.load();
+
+		assertTrue(restored.isLoaded());
+		assertEquals(parsed.getElementCount(), restored.getElementCount());
+		for (ISchemaElement element : restored.getElements()) {
+			ISchemaElement expected = parsed.findElement(element.getName());
+			assertNotNull("unexpected element " + element.getName(), expected);
+			assertSchemaObject(restored, element);
+			assertEquals(expected.getDescription(), element.getDescription());
+			assertEquals(expected.getAttributeCount(), element.getAttributeCount());
+			for (ISchemaAttribute attribute : element.getAttributes()) {
+				assertSchemaObject(restored, attribute);
+				assertSame(element, attribute.getParent());
+				assertEquals(expected.getAttribute(attribute.getName()).getDescription(), attribute.getDescription());
+				if (attribute.getType() != null) {
+					assertSame(restored, attribute.getType().getSchema());
+					ISchemaRestriction restriction = attribute.getType().getRestriction();
+					if (restriction instanceof ChoiceRestriction) {
+						assertSchemaObject(restored, restriction);
+						for (ISchemaEnumeration enumeration : ((ChoiceRestriction) restriction).getChildren()) {
+							assertSchemaObject(restored, enumeration);
+						}
+					}
+				}
+			}
+			if (element.getType() instanceof ISchemaComplexType) {
+				assertSame(restored, element.getType().getSchema());
+				ISchemaCompositor compositor = ((ISchemaComplexType) element.getType()).getCompositor();
+				if (compositor != null) {
+					assertSame(element, compositor.getParent());
+					assertCompositor(restored, compositor);
+				}
+			}
+		}
+	}
+
+	private void assertCompositor(ISchema schema, ISchemaCompositor compositor) {
+		assertSchemaObject(schema, compositor);
+		for (ISchemaObject child : compositor.getChildren()) {
+			if (child instanceof ISchemaCompositor) {
+				assertSame(compositor, child.getParent());
+				assertCompositor(schema, (ISchemaCompositor) child);
+			} else if (child instanceof SchemaElementReference) {
+				SchemaElementReference reference = (SchemaElementReference) child;
+				assertSame(compositor, reference.getParent());
+				ISchemaElement referenced = schema.findElement(reference.getReferenceName());
+				if (referenced != null) {
+					assertSame("unresolved reference " + reference.getReferenceName(), referenced, reference.getReferencedElement());
+				}
+				assertSame(schema, reference.getCompositorsSchema());
+			}
+		}
+	}
+
+	private void assertSchemaObject(ISchema schema, ISchemaObject object) {
+		assertSame("wrong schema of " + object.getName(), schema, object.getSchema());
+		// reading descriptions walks up to the schema
+		object.getDescription();
+	}
+}
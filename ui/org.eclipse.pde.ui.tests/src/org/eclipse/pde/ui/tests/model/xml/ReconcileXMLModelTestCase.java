@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.ui.tests.model.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.pde.core.plugin.IPluginExtension;
+import org.eclipse.pde.internal.core.text.IDocumentAttributeNode;
+import org.eclipse.pde.internal.core.text.IDocumentElementNode;
+import org.eclipse.pde.internal.core.text.IDocumentTextNode;
+import org.eclipse.pde.internal.core.text.plugin.PluginModel;
+import org.junit.Test;
+
+public class ReconcileXMLModelTestCase extends XMLModelTestCase {
+
+	private void setUpExtensions() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("<extension point=\"org.eclipse.pde.ui.samples\">");
+		sb.append(LF);
+		sb.append("<sample id=\"first\" name=\"First\"/>");
+		sb.append(LF);
+		sb.append("<sample id=\"second\">description</sample>");
+		sb.append(LF);
+		sb.append("</extension>");
+		sb.append(LF);
+		sb.append("<extension point=\"org.eclipse.pde.ui.newWizards\">");
+		sb.append(LF);
+		sb.append("<wizard id=\"wizard\"/>");
+		sb.append(LF);
+		sb.append("</extension>");
+		setXMLContents(sb, LF);
+		load();
+		fModel.reconciled(fDocument);
+	}
+
+	@Test
+	public void testEditAttributeValue() throws Exception {
+		setUpExtensions();
+		IPluginExtension first = fModel.getPluginBase().getExtensions()[0];
+		IPluginExtension second = fModel.getPluginBase().getExtensions()[1];
+
+		int offset = fDocument.get().indexOf("\"first\"") + 1;
+		fDocument.replace(offset, "first".length(), "renamed");
+		fModel.reconciled(fDocument);
+
+		assertSame(first, fModel.getPluginBase().getExtensions()[0]);
+		assertSame(second, fModel.getPluginBase().getExtensions()[1]);
+		assertEquals("renamed", first.getChildren()[0].getAttribute("id").getValue());
+		assertModelEquals();
+	}
+
+	@Test
+	public void testAddElement() throws Exception {
+		setUpExtensions();
+
+		int offset = fDocument.get().indexOf("</extension>");
+		fDocument.replace(offset, 0, "<sample id=\"third\"/>" + LF);
+		fModel.reconciled(fDocument);
+
+		assertEquals(3, fModel.getPluginBase().getExtensions()[0].getChildCount());
+		assertModelEquals();
+	}
+
+	@Test
+	public void testRemoveText() throws Exception {
+		setUpExtensions();
+
+		int offset = fDocument.get().indexOf("description");
+		fDocument.replace(offset, "description".length(), "");
+		fModel.reconciled(fDocument);
+
+		assertModelEquals();
+	}
+
+	@Test
+	public void testEditBetweenExtensions() throws Exception {
+		setUpExtensions();
+
+		int offset = fDocument.get().indexOf("<extension point=\"org.eclipse.pde.ui.newWizards\"");
+		fDocument.replace(offset, 0, "<extension point=\"org.eclipse.pde.ui.views\"/>" + LF);
+		fModel.reconciled(fDocument);
+
+		assertEquals(3, fModel.getPluginBase().getExtensions().length);
+		assertModelEquals();
+	}
+
+	@Test
+	public void testMalformedEdit() throws Exception {
+		setUpExtensions();
+
+		int offset = fDocument.get().indexOf("<wizard");
+		fDocument.replace(offset, 0, "<view>");
+		fModel.reconciled(fDocument);
+		assertFalse(fModel.getStatus().isOK());
+
+		fDocument.replace(offset, "<view>".length(), "");
+		fModel.reconciled(fDocument);
+		assertModelEquals();
+	}
+
+	private void assertModelEquals() throws Exception {
+		PluginModel model = new PluginModel(new Document(fDocument.get()), true);
+		model.load();
+		assertNodeEquals((IDocumentElementNode) model.getPluginBase(), (IDocumentElementNode) fModel.getPluginBase());
+	}
+
+	private void assertNodeEquals(IDocumentElementNode expected, IDocumentElementNode actual) {
+		assertNotNull(actual);
+		assertEquals(expected.getXMLTagName(), actual.getXMLTagName());
+		assertEquals(expected.getOffset(), actual.getOffset());
+		assertEquals(expected.getLength(), actual.getLength());
+		assertEquals(expected.getLineIndent(), actual.getLineIndent());
+		IDocumentAttributeNode[] expectedAttributes = expected.getNodeAttributes();
+		assertEquals(expectedAttributes.length, actual.getNodeAttributes().length);
+		for (IDocumentAttributeNode expectedAttribute : expectedAttributes) {
+			IDocumentAttributeNode actualAttribute = actual.getDocumentAttribute(expectedAttribute.getAttributeName());
+			assertNotNull(actualAttribute);
+			assertEquals(expectedAttribute.getAttributeValue(), actualAttribute.getAttributeValue());
+			assertEquals(expectedAttribute.getNameOffset(), actualAttribute.getNameOffset());
+			assertEquals(expectedAttribute.getValueOffset(), actualAttribute.getValueOffset());
+		}
+		IDocumentTextNode expectedText = expected.getTextNode();
+		IDocumentTextNode actualText = actual.getTextNode();
+		if (expectedText == null) {
+			assertEquals(null, actualText);
+		} else {
+			assertNotNull(actualText);
+			assertEquals(expectedText.getText(), actualText.getText());
+			assertEquals(expectedText.getOffset(), actualText.getOffset());
+			assertEquals(expectedText.getLength(), actualText.getLength());
+		}
+		IDocumentElementNode[] expectedChildren = expected.getChildNodes();
+		IDocumentElementNode[] actualChildren = actual.getChildNodes();
+		assertEquals(expectedChildren.length, actualChildren.length);
+		for (int i = 0; i < expectedChildren.length; i++) {
+			assertSame(actual, actualChildren[i].getParentNode());
+			assertNodeEquals(expectedChildren[i], actualChildren[i]);
+		}
+	}
+}
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.ui.tests.project;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.pde.core.plugin.IPluginModelBase;
+import org.eclipse.pde.internal.core.WorkspacePluginModelManager;
+import org.eclipse.pde.ui.tests.util.ProjectUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that reading the models of the workspace plug-in projects on several
+ * threads gives the same models as reading them one after the other.
+ */
+public class WorkspacePluginModelManagerTests {
+
+	private static final int PROJECT_COUNT = 12;
+
+	/**
+	 * Gives access to the models of a new manager
+	 */
+	static class TestModelManager extends WorkspacePluginModelManager {
+		IPluginModelBase[] getModels() {
+			return getPluginModels();
+		}
+	}
+
+	private static String getProjectName(int i) {
+		return "parallel.initialization." + i;
+	}
+
+	@Before
+	public void setUp() throws Exception {
+		for (int i = 0; i < PROJECT_COUNT; i++) {
+			ProjectUtils.createPluginProject(getProjectName(i), null);
+		}
+	}
+
+	@After
+	public void tearDown() throws CoreException {
+		for (int i = 0; i < PROJECT_COUNT; i++) {
+			IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(getProjectName(i));
+			if (project.exists()) {
+				project.delete(true, null);
+			}
+		}
+	}
+
+	@Test
+	public void testParallelInitialization() {
+		List<String> sequential = initialize(false);
+		for (int i = 0; i < PROJECT_COUNT; i++) {
+			String name = getProjectName(i);
+			assertTrue("Missing model of " + name, sequential.stream().anyMatch(model -> model.startsWith(name + ' ')));
+		}
+		assertEquals(sequential, initialize(true));
+	}
+
+	/**
+	 * Initializes a new manager with the given parallel initialization and
+	 * returns a description of its models, in the order of the manager.
+	 */
+	private List<String> initialize(boolean parallel) {
+		String previous = System.getProperty(WorkspacePluginModelManager.PARALLEL_INITIALIZATION);
+		System.setProperty(WorkspacePluginModelManager.PARALLEL_INITIALIZATION, Boolean.toString(parallel));
+		TestModelManager manager = new TestModelManager();
+		try {
+			List<String> models = new ArrayList<>();
+			for (IPluginModelBase model : manager.getModels()) {
+				models.add(model.getUnderlyingResource().getProject().getName() + ' ' + model.getClass().getName() + ' '
+						+ model.getPluginBase().getId() + ' ' + model.getPluginBase().getVersion() + ' '
+						+ model.isFragmentModel() + ' ' + model.getInstallLocation());
+			}
+			return models;
+		} finally {
+			manager.shutdown();
+			if (previous == null) {
+				System.clearProperty(WorkspacePluginModelManager.PARALLEL_INITIALIZATION);
+			} else {
+				System.setProperty(WorkspacePluginModelManager.PARALLEL_INITIALIZATION, previous);
+			}
+		}
+	}
+}
@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.ui.tests.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Currency;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.jdt.core.ToolFactory;
+import org.eclipse.jdt.core.util.IClassFileReader;
+import org.eclipse.pde.internal.ui.search.dependencies.PackageFinder;
+import org.junit.Test;
+
+/**
+ * Tests finding the types referenced by class files with the
+ * {@link PackageFinder}.
+ */
+public class PackageFinderTests {
+
+	/**
+	 * The types of the members are only referenced by their descriptors and
+	 * signatures.
+	 */
+	static abstract class Fixture<T extends Comparable<? super T>> {
+		Map<String, ? extends T> map;
+
+		abstract void primitiveParameter(int i, BitSet set);
+
+		abstract long primitiveParameters(boolean z, long j, Locale locale);
+
+		abstract void arrays(int[][] i, Currency[] currencies);
+
+		abstract <U extends T> List<U> generic(U u) throws ParseException;
+	}
+
+	private static Set<String> getSignatureTypes(String signature) {
+		Set<String> types = new HashSet<>();
+		PackageFinder.addSignatureTypes(signature.toCharArray(), types);
+		return types;
+	}
+
+	private static Set<String> setOf(String... types) {
+		return new HashSet<>(Arrays.asList(types));
+	}
+
+	@Test
+	public void testMethodDescriptors() {
+		assertEquals(setOf("org.foo.Bar"), getSignatureTypes("(ILorg/foo/Bar;)V"));
+		assertEquals(setOf("foo.X"), getSignatureTypes("(ZJLfoo/X;)V"));
+		assertEquals(setOf("foo.X", "foo.Y"), getSignatureTypes("([[IDLfoo/X;[Lfoo/Y;)V"));
+		assertEquals(setOf("org.foo.R"), getSignatureTypes("(I)Lorg/foo/R;"));
+		assertEquals(setOf(), getSignatureTypes("(IJ)[B"));
+	}
+
+	@Test
+	public void testFieldDescriptors() {
+		assertEquals(setOf("java.lang.String"), getSignatureTypes("[Ljava/lang/String;"));
+		assertEquals(setOf("org.foo.Outer"), getSignatureTypes("Lorg/foo/Outer$Inner;"));
+		assertEquals(setOf(), getSignatureTypes("[I"));
+	}
+
+	@Test
+	public void testGenericSignatures() {
+		assertEquals(setOf("org.foo.Outer", "org.foo.A", "org.foo.B"),
+				getSignatureTypes("Lorg/foo/Outer<Lorg/foo/A;>.Inner<Lorg/foo/B;>;"));
+		assertEquals(setOf("java.util.Map", "org.a.K", "org.a.V"), getSignatureTypes("Ljava/util/Map<+Lorg/a/K;-Lorg/a/V;>;"));
+		assertEquals(setOf("java.util.List"), getSignatureTypes("Ljava/util/List<*>;"));
+		assertEquals(setOf("java.lang.Object", "java.lang.Comparable", "org.foo.C", "org.foo.E"),
+				getSignatureTypes("<T:Ljava/lang/Object;U::Ljava/lang/Comparable<TT;>;>(TT;[[Lorg/foo/C;)TU;^Lorg/foo/E;^TT;"));
+		assertEquals(setOf("java.lang.Object", "java.lang.Comparable"),
+				getSignatureTypes("<T:Ljava/lang/Object;>Ljava/lang/Object;Ljava/lang/Comparable<TT;>;"));
+	}
+
+	@Test
+	public void testNoSignatures() {
+		assertEquals(setOf(), getSignatureTypes("LOGGER"));
+		assertEquals(setOf(), getSignatureTypes("Lorg/foo/Unterminated"));
+		assertEquals(setOf(), getSignatureTypes("<init>"));
+		assertEquals(setOf(), getSignatureTypes("(Lorg/foo/Bar;"));
+	}
+
+	@Test
+	public void testReferencedTypes() throws Exception {
+		IClassFileReader reader;
+		try (InputStream stream = PackageFinderTests.class.getResourceAsStream("PackageFinderTests$Fixture.class")) {
+			assertNotNull("Missing class file", stream);
+			reader = ToolFactory.createDefaultClassFileReader(stream, IClassFileReader.CONSTANT_POOL);
+		}
+		Set<String> types = new HashSet<>();
+		PackageFinder.computeReferencedTypeNames(reader.getConstantPool(), types);
+		for (Class<?> type : new Class<?>[] { BitSet.class, Locale.class, Currency.class, List.class, Map.class,
+				String.class, Comparable.class, ParseException.class, PackageFinderTests.class }) {
+			assertTrue("Missing " + type.getName(), types.contains(type.getName()));
+		}
+	}
+}
@@ -27,6 +27,7 @@ import org.junit.runners.Suite.SuiteClasses;
 		TargetDefinitionResolutionTests.class, //
 		TargetDefinitionFeatureResolutionTests.class, //
 		IUBundleContainerTests.class, //
+		ExtensionRegistryReloadTests.class, //
 		ProfileContainerTests.class })
 public class AllTargetTests {
 
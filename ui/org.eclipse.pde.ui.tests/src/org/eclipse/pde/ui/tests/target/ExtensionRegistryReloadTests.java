@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.ui.tests.target;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Set;
+import java.util.TreeSet;
+import org.eclipse.core.runtime.ContributorFactorySimple;
+import org.eclipse.core.runtime.IContributor;
+import org.eclipse.core.runtime.IExtension;
+import org.eclipse.core.runtime.IExtensionPoint;
+import org.eclipse.core.runtime.IExtensionRegistry;
+import org.eclipse.core.runtime.RegistryFactory;
+import org.eclipse.pde.core.plugin.IPluginExtension;
+import org.eclipse.pde.core.plugin.IPluginExtensionPoint;
+import org.eclipse.pde.core.plugin.IPluginModelBase;
+import org.eclipse.pde.core.plugin.PluginRegistry;
+import org.eclipse.pde.core.target.ITargetDefinition;
+import org.eclipse.pde.core.target.ITargetLocation;
+import org.eclipse.pde.internal.core.PDECore;
+import org.eclipse.pde.internal.core.PDEExtensionRegistry;
+import org.eclipse.pde.ui.tests.PDETestsPlugin;
+import org.junit.Test;
+
+/**
+ * Tests that the extension registry of PDE is updated when the target platform
+ * is reloaded with added, removed and changed bundles, the extension points
+ * and extensions must match the ones of a registry built from scratch.
+ */
+public class ExtensionRegistryReloadTests extends AbstractTargetTest {
+
+	private static final String[] POINTS = { "registry.a.point", "registry.b.point", "registry.c.point",
+			"registry.d.point" };
+
+	private static final String[] BUNDLES = { "registry.a", "registry.b", "registry.c", "registry.d" };
+
+	@Test
+	public void testReloadTarget() throws Exception {
+		File location = PDETestsPlugin.getDefault().getStateLocation().append("registry-reload").toFile();
+		delete(location);
+		try {
+			createBundle(location, "registry.a", //
+					"<extension-point id=\"point\" name=\"Point A\"/>", //
+					"<extension id=\"self\" point=\"registry.a.point\"/>");
+			createBundle(location, "registry.b", //
+					"<extension id=\"first\" point=\"registry.a.point\"/>");
+			createBundle(location, "registry.c", //
+					"<extension-point id=\"point\" name=\"Point C\"/>", //
+					"<extension id=\"c\" point=\"registry.a.point\"/>");
+			loadTarget(location);
+			PDEExtensionRegistry registry = PDECore.getDefault().getExtensionsRegistry();
+			// create the registry so that the reload reconciles it
+			assertTrue(registry.hasExtensionPoint("registry.c.point"));
+			assertRegistry(location, registry);
+			assertEquals(3, registry.findExtensions("registry.a.point", false).length);
+
+			// remove c, change b to declare a point and add d that extends it
+			delete(new File(location, "registry.c"));
+			File pluginXml = createBundle(location, "registry.b", //
+					"<extension-point id=\"point\" name=\"Point B\"/>", //
+					"<extension id=\"second\" point=\"registry.a.point\"/>");
+			pluginXml.setLastModified(pluginXml.lastModified() + 10000);
+			createBundle(location, "registry.d", //
+					"<extension id=\"d\" point=\"registry.b.point\"/>");
+			loadTarget(location);
+			assertRegistry(location, registry);
+			assertFalse(registry.hasExtensionPoint("registry.c.point"));
+			assertTrue(registry.hasExtensionPoint("registry.b.point"));
+			assertEquals(2, registry.findExtensions("registry.a.point", false).length);
+			IPluginModelBase[] plugins = registry.findExtensionPlugins("registry.b.point", false);
+			assertEquals(1, plugins.length);
+			assertEquals("registry.d", plugins[0].getPluginBase().getId());
+			assertEquals("registry.b", registry.findExtensionPointPlugin("registry.b.point").getPluginBase().getId());
+		} finally {
+			resetTargetPlatform();
+			delete(location);
+		}
+	}
+
+	private void loadTarget(File location) throws Exception {
+		ITargetDefinition target = getNewTarget();
+		ITargetLocation container = getTargetService().newDirectoryLocation(location.getAbsolutePath());
+		target.setTargetLocations(new ITargetLocation[] { container });
+		setTargetPlatform(target);
+	}
+
+	/**
+	 * Writes a directory bundle with a <code>plugin.xml</code> containing the
+	 * given elements and returns the <code>plugin.xml</code>
+	 */
+	private static File createBundle(File location, String id, String... elements) throws IOException {
+		File bundle = new File(location, id);
+		File manifest = new File(bundle, "META-INF/MANIFEST.MF");
+		manifest.getParentFile().mkdirs();
+		Files.writeString(manifest.toPath(), "Manifest-Version: 1.0\n" //
+				+ "Bundle-ManifestVersion: 2\n" //
+				+ "Bundle-SymbolicName: " + id + ";singleton:=true\n" //
+				+ "Bundle-Version: 1.0.0\n", StandardCharsets.UTF_8);
+		StringBuilder contents = new StringBuilder();
+		contents.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<?eclipse version=\"3.4\"?>\n<plugin>\n");
+		for (String element : elements) {
+			contents.append("   ").append(element).append('\n');
+		}
+		contents.append("</plugin>\n");
+		File pluginXml = new File(bundle, "plugin.xml");
+		Files.writeString(pluginXml.toPath(), contents, StandardCharsets.UTF_8);
+		return pluginXml;
+	}
+
+	/**
+	 * Asserts that the PDE registry has the extension points and extensions of
+	 * a registry built from the bundles of the given location
+	 */
+	private static void assertRegistry(File location, PDEExtensionRegistry registry) throws IOException {
+		Object key = new Object();
+		IExtensionRegistry expected = RegistryFactory.createRegistry(null, key, null);
+		try {
+			for (String id : BUNDLES) {
+				File pluginXml = new File(location, id + "/plugin.xml");
+				if (pluginXml.isFile()) {
+					try (InputStream stream = new FileInputStream(pluginXml)) {
+						IContributor contributor = ContributorFactorySimple.createContributor(id);
+						assertTrue(expected.addContribution(stream, contributor, false, id, null, key));
+					}
+				}
+			}
+			for (String pointId : POINTS) {
+				IExtensionPoint point = expected.getExtensionPoint(pointId);
+				assertEquals(pointId, point != null, registry.hasExtensionPoint(pointId));
+				if (point != null) {
+					assertEquals(pointId, describe(point.getExtensions()),
+							describe(registry.findExtensions(pointId, false)));
+				}
+			}
+			for (String id : BUNDLES) {
+				IPluginModelBase model = PluginRegistry.findModel(id);
+				if (new File(location, id).isDirectory()) {
+					assertNotNull(id, model);
+				} else if (model == null) {
+					continue;
+				}
+				IContributor contributor = ContributorFactorySimple.createContributor(id);
+				Set<String> points = new TreeSet<>();
+				for (IExtensionPoint point : expected.getExtensionPoints(contributor)) {
+					points.add(point.getUniqueIdentifier());
+				}
+				Set<String> actualPoints = new TreeSet<>();
+				for (IPluginExtensionPoint point : registry.findExtensionPointsForPlugin(model)) {
+					actualPoints.add(point.getFullId());
+				}
+				assertEquals(id, points, actualPoints);
+				Set<String> extensions = new TreeSet<>();
+				for (IExtension extension : expected.getExtensions(contributor)) {
+					extensions.add(extension.getExtensionPointUniqueIdentifier());
+				}
+				Set<String> actualExtensions = new TreeSet<>();
+				for (IPluginExtension extension : registry.findExtensionsForPlugin(model)) {
+					actualExtensions.add(extension.getPoint());
+				}
+				assertEquals(id, extensions, actualExtensions);
+			}
+		} finally {
+			expected.stop(key);
+		}
+	}
+
+	private static Set<String> describe(IExtension[] extensions) {
+		Set<String> result = new TreeSet<>();
+		for (IExtension extension : extensions) {
+			result.add(extension.getContributor().getName() + ' ' + extension.getUniqueIdentifier());
+		}
+		return result;
+	}
+}
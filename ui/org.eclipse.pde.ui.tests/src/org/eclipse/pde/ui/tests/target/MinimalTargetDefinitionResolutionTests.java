@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2017 IBM Corporation and others.
+ * Copyright (c) 2016, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,6 +20,10 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.equinox.p2.metadata.IInstallableUnit;
@@ -169,6 +173,44 @@ public class MinimalTargetDefinitionResolutionTests extends AbstractTargetTest {
 
 
 
+	/**
+	 * Tests that a directory bundle that had no manifest when its location was
+	 * resolved is found once the manifest is added.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testDirectoryBundleManifestAdded() throws Exception {
+		Path dir = Files.createTempDirectory("directoryIndex");
+		try {
+			Path bundle = Files.createDirectories(dir.resolve("plugins").resolve("d.e.f_1.0.0"));
+			Files.writeString(bundle.resolve("readme.txt"), "not a bundle yet");
+			assertEquals(0, resolveDirectory(dir).length);
+
+			Path manifest = Files.createDirectories(bundle.resolve("META-INF")).resolve("MANIFEST.MF");
+			Files.writeString(manifest, "Manifest-Version: 1.0\nBundle-ManifestVersion: 2\nBundle-SymbolicName: d.e.f\nBundle-Version: 1.0.0\n");
+			TargetBundle[] bundles = resolveDirectory(dir);
+			assertEquals(1, bundles.length);
+			assertEquals("d.e.f", bundles[0].getBundleInfo().getSymbolicName());
+			// restored from the index
+			bundles = resolveDirectory(dir);
+			assertEquals(1, bundles.length);
+			assertEquals("1.0.0", bundles[0].getBundleInfo().getVersion());
+		} finally {
+			try (Stream<Path> files = Files.walk(dir)) {
+				files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+			}
+		}
+	}
+
+	private TargetBundle[] resolveDirectory(Path dir) throws Exception {
+		ITargetDefinition definition = getNewTarget();
+		ITargetLocation container = getTargetService().newDirectoryLocation(dir.toString());
+		definition.setTargetLocations(new ITargetLocation[] { container });
+		definition.resolve(null);
+		return container.getBundles();
+	}
+
 	/**
 	 * Tests that a target definition is in synch with the target platform.
 	 *
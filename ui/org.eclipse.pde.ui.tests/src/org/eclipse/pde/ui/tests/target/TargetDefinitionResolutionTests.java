@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2017 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,10 +18,17 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.equinox.frameworkadmin.BundleInfo;
 import org.eclipse.pde.core.plugin.TargetPlatform;
 import org.eclipse.pde.core.target.*;
+import org.eclipse.pde.internal.core.ICoreConstants;
+import org.eclipse.pde.internal.core.PDECore;
+import org.eclipse.pde.internal.core.PDEPreferencesManager;
+import org.eclipse.pde.ui.tests.PDETestsPlugin;
 import org.junit.Test;
 
 public class TargetDefinitionResolutionTests extends MinimalTargetDefinitionResolutionTests {
@@ -105,6 +112,64 @@ public class TargetDefinitionResolutionTests extends MinimalTargetDefinitionReso
 		}
 	}
 
+	/**
+	 * Tests that resolving independent locations in parallel gives the same
+	 * bundles and the same statuses, in the same order, as resolving them one
+	 * after another, including the errors of locations that fail to resolve.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testParallelResolution() throws Exception {
+		File state = PDETestsPlugin.getDefault().getStateLocation().toFile();
+		String[] locations = { extractAbcdePlugins().toOSString(), new File(state, "missing-plugins-1").getPath(),
+				TargetPlatform.getDefaultLocation() + "/plugins", extractMultiVersionPlugins().toOSString(),
+				new File(state, "missing-plugins-2").getPath() };
+		PDEPreferencesManager preferences = PDECore.getDefault().getPreferencesManager();
+		try {
+			preferences.setValue(ICoreConstants.TARGET_PARALLEL_RESOLUTION, false);
+			List<String> sequential = resolve(locations);
+			preferences.setValue(ICoreConstants.TARGET_PARALLEL_RESOLUTION, true);
+			List<String> parallel = resolve(locations);
+			assertEquals(sequential, parallel);
+		} finally {
+			preferences.setToDefault(ICoreConstants.TARGET_PARALLEL_RESOLUTION);
+		}
+	}
 
-
+	/**
+	 * Resolves a new target with directory locations at the given paths and
+	 * returns a description of its status and bundles
+	 */
+	private List<String> resolve(String[] paths) {
+		ITargetDefinition definition = getNewTarget();
+		ITargetLocation[] locations = new ITargetLocation[paths.length];
+		for (int i = 0; i < paths.length; i++) {
+			locations[i] = getTargetService().newDirectoryLocation(paths[i]);
+		}
+		definition.setTargetLocations(locations);
+		IStatus status = definition.resolve(null);
+		assertTrue("Target didn't resolve", definition.isResolved());
+		assertEquals("Wrong severity", IStatus.ERROR, status.getSeverity());
+		IStatus[] children = status.getChildren();
+		assertEquals("Wrong number of statuses", 2, children.length);
+		assertTrue(children[0].getMessage(), children[0].getMessage().contains("missing-plugins-1"));
+		assertTrue(children[1].getMessage(), children[1].getMessage().contains("missing-plugins-2"));
+		List<String> result = new ArrayList<>();
+		for (IStatus child : children) {
+			result.add(child.getSeverity() + " " + child.getPlugin() + " " + child.getCode() + " " + child.getMessage());
+		}
+		for (ITargetLocation location : locations) {
+			result.add(location.getStatus().getSeverity() + " " + location.getStatus().getMessage());
+		}
+		TargetBundle[] bundles = definition.getAllBundles();
+		assertNotNull("Missing bundles", bundles);
+		assertTrue("Missing bundles", bundles.length > 4);
+		for (TargetBundle bundle : bundles) {
+			BundleInfo info = bundle.getBundleInfo();
+			result.add(info.getSymbolicName() + " " + info.getVersion() + " " + info.getLocation() + " "
+					+ bundle.getStatus().getSeverity());
+		}
+		return result;
+	}
 }
\ No newline at end of file
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2005, 2017 IBM Corporation and others.
+ *  Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -31,6 +31,19 @@ import org.eclipse.pde.internal.ui.PDEUIMessages;
 import org.eclipse.pde.internal.ui.util.TextUtil;
 import org.osgi.framework.Constants;
 
+/**
+ * Finds the required plug-ins and imported packages of a plug-in that are not
+ * referenced by its Java sources.
+ * <p>
+ * References are found with the Java search engine, which needs several
+ * queries for each dependency. Optionally the constant pools of the compiled
+ * classes of the plug-in are read first: a dependency providing a type
+ * referenced by the compiled classes is used and does not need to be
+ * searched. Only the dependencies that are not referenced by the compiled
+ * classes, because they are unused, only provide inlined constants or the
+ * classes are not built, are searched.
+ * </p>
+ */
 public class GatherUnusedDependenciesOperation implements IRunnableWithProgress {
 
 	class Requestor extends SearchRequestor {
@@ -48,9 +61,24 @@ public class GatherUnusedDependenciesOperation implements IRunnableWithProgress
 
 	private IPluginModelBase fModel;
 	private ArrayList<Object> fList;
+	private final boolean fUseClassFiles;
+	private Set<String> fReferencedTypes;
+	private Set<String> fReferencedPackages;
 
 	public GatherUnusedDependenciesOperation(IPluginModelBase model) {
+		this(model, false);
+	}
+
+	/**
+	 * @param model
+	 *            the plug-in to find the unused dependencies of
+	 * @param useClassFiles
+	 *            whether the types referenced by the compiled classes of the
+	 *            plug-in are looked up before searching its sources
+	 */
+	public GatherUnusedDependenciesOperation(IPluginModelBase model, boolean useClassFiles) {
 		fModel = model;
+		fUseClassFiles = useClassFiles;
 	}
 
 	@Override
@@ -81,7 +109,10 @@ public class GatherUnusedDependenciesOperation implements IRunnableWithProgress
 		IPluginImport[] imports = fModel.getPluginBase().getImports();
 
 		int totalWork = imports.length * 3 + (packages != null ? packages.length : 0) + 1;
-		SubMonitor subMonitor = SubMonitor.convert(monitor, totalWork);
+		SubMonitor subMonitor = SubMonitor.convert(monitor, totalWork + (fUseClassFiles ? 1 : 0));
+		if (fUseClassFiles) {
+			computeReferencedTypes(subMonitor.split(1));
+		}
 
 		HashMap<String, IPluginImport> usedPlugins = new HashMap<>();
 		fList = new ArrayList<>();
@@ -131,6 +162,27 @@ public class GatherUnusedDependenciesOperation implements IRunnableWithProgress
 		return !provideJavaClasses(pkg, monitor);
 	}
 
+	private void computeReferencedTypes(IProgressMonitor monitor) {
+		try {
+			IProject project = fModel.getUnderlyingResource().getProject();
+			if (!project.hasNature(JavaCore.NATURE_ID))
+				return;
+
+			IClassFile[] classFiles = PackageFinder.getClassFiles(JavaCore.create(project));
+			if (classFiles.length == 0) {
+				// not built, all dependencies are searched
+				return;
+			}
+			fReferencedTypes = PackageFinder.findReferencedTypes(classFiles, monitor);
+			fReferencedPackages = new HashSet<>();
+			for (String type : fReferencedTypes) {
+				fReferencedPackages.add(PackageFinder.getPackage(type));
+			}
+		} catch (CoreException e) {
+			PDEPlugin.logException(e);
+		}
+	}
+
 	private boolean provideJavaClasses(IPluginModelBase[] models, IProgressMonitor monitor) {
 		try {
 			IProject project = fModel.getUnderlyingResource().getProject();
@@ -139,6 +191,9 @@ public class GatherUnusedDependenciesOperation implements IRunnableWithProgress
 
 			IJavaProject jProject = JavaCore.create(project);
 			IPackageFragment[] packageFragments = PluginJavaSearchUtil.collectPackageFragments(models, jProject, true);
+			if (fReferencedTypes != null && provideReferencedTypes(packageFragments)) {
+				return true;
+			}
 			SearchEngine engine = new SearchEngine();
 			IJavaSearchScope searchScope = PluginJavaSearchUtil.createSeachScope(jProject);
 
@@ -164,6 +219,40 @@ public class GatherUnusedDependenciesOperation implements IRunnableWithProgress
 		return false;
 	}
 
+	/**
+	 * Returns whether one of the given package fragments contains a type
+	 * referenced by the compiled classes of the plug-in.
+	 */
+	private boolean provideReferencedTypes(IPackageFragment[] packageFragments) throws JavaModelException {
+		for (IPackageFragment pkgFragment : packageFragments) {
+			String packageName = pkgFragment.getElementName();
+			if (!fReferencedPackages.contains(packageName)) {
+				continue;
+			}
+			String prefix = packageName.isEmpty() ? "" : packageName + '.'; //$NON-NLS-1$
+			for (IJavaElement child : pkgFragment.getChildren()) {
+				if (child instanceof ICompilationUnit) {
+					for (IType type : ((ICompilationUnit) child).getTypes()) {
+						if (fReferencedTypes.contains(type.getFullyQualifiedName())) {
+							return true;
+						}
+					}
+				} else if (child instanceof IOrdinaryClassFile) {
+					// member and anonymous classes are provided by their top level type
+					String name = child.getElementName();
+					int end = name.indexOf('$');
+					if (end < 0) {
+						end = name.lastIndexOf('.');
+					}
+					if (end > 0 && fReferencedTypes.contains(prefix + name.substring(0, end))) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
 	private boolean provideJavaClasses(IPackageFragment packageFragment, SearchEngine engine, IJavaSearchScope searchScope, IProgressMonitor monitor) throws JavaModelException, CoreException {
 		Requestor requestor;
 		IJavaElement[] children = packageFragment.getChildren();
@@ -201,6 +290,9 @@ public class GatherUnusedDependenciesOperation implements IRunnableWithProgress
 			if (!project.hasNature(JavaCore.NATURE_ID))
 				return false;
 
+			if (fReferencedPackages != null && fReferencedPackages.contains(pkg.getName()))
+				return true;
+
 			SubMonitor subMonitor = SubMonitor.convert(monitor, 1);
 			IJavaProject jProject = JavaCore.create(project);
 			SearchEngine engine = new SearchEngine();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2007, 2012, 2015 IBM Corporation and others.
+ *  Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -16,8 +16,7 @@ package org.eclipse.pde.internal.ui.search.dependencies;
 
 import java.util.*;
 import org.eclipse.core.resources.*;
-import org.eclipse.core.runtime.CoreException;
-import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.*;
 import org.eclipse.jdt.core.*;
 import org.eclipse.jdt.core.util.*;
 import org.eclipse.osgi.util.ManifestElement;
@@ -147,6 +146,219 @@ public class PackageFinder {
 		packages.remove(""); // removes default package if it exists //$NON-NLS-1$
 	}
 
+	/**
+	 * Returns the fully qualified names of the top level types referenced by
+	 * the given class files. Only the constant pool of each class file is read:
+	 * besides the referenced classes, it holds the descriptors and generic
+	 * signatures of the members and the descriptors of the annotations.
+	 * References to compile time constants are inlined by the compiler and
+	 * cannot be found.
+	 */
+	public static Set<String> findReferencedTypes(IClassFile[] files, IProgressMonitor monitor) {
+		Set<String> types = new HashSet<>();
+		SubMonitor subMonitor = SubMonitor.convert(monitor, PDEUIMessages.PackageFinder_taskName, files.length);
+		for (IClassFile file : files) {
+			IClassFileReader reader = ToolFactory.createDefaultClassFileReader(file, IClassFileReader.CONSTANT_POOL);
+			if (reader != null)
+				computeReferencedTypeNames(reader.getConstantPool(), types);
+			subMonitor.worked(1);
+		}
+		return types;
+	}
+
+	/**
+	 * Adds the fully qualified names of the top level types referenced by the
+	 * given constant pool to the given set.
+	 */
+	public static void computeReferencedTypeNames(IConstantPool pool, Set<String> types) {
+		int length = pool.getConstantPoolCount();
+		// string literals may look like descriptors but don't reference types
+		boolean[] literals = new boolean[length];
+		for (int i = 1; i < length; i++) {
+			if (pool.getEntryKind(i) == IConstantPoolConstant.CONSTANT_String) {
+				literals[pool.decodeEntry(i).getStringIndex()] = true;
+			}
+		}
+		for (int i = 1; i < length; i++) {
+			switch (pool.getEntryKind(i)) {
+				case IConstantPoolConstant.CONSTANT_Class :
+					char[] className = pool.decodeEntry(i).getClassInfoName();
+					if (className.length > 0 && className[0] == '[') {
+						addSignatureTypes(className, types);
+					} else {
+						addType(className, 0, className.length, types);
+					}
+					break;
+
+				case IConstantPoolConstant.CONSTANT_Utf8 :
+					if (!literals[i]) {
+						// descriptors and signatures of members, annotations and local variables
+						char[] value = pool.decodeEntry(i).getUtf8Value();
+						if (value.length > 0 && (value[0] == '(' || value[0] == 'L' || value[0] == '[' || value[0] == '<')) {
+							addSignatureTypes(value, types);
+						}
+					}
+					break;
+			}
+		}
+	}
+
+	/**
+	 * Adds the class types of a descriptor or generic signature, like
+	 * <code>(ILjava/util/List&lt;Lorg/example/Type;&gt;;)V</code>. Nothing is
+	 * added if the value is not a descriptor or signature, like the name of a
+	 * member.
+	 */
+	public static void addSignatureTypes(char[] signature, Set<String> types) {
+		SignatureScanner scanner = new SignatureScanner(signature);
+		if (scanner.scanSignature()) {
+			types.addAll(scanner.typeNames);
+		}
+	}
+
+	/**
+	 * Reads a field, method or class descriptor or generic signature type by
+	 * type, collecting the names of the class types.
+	 */
+	private static final class SignatureScanner {
+		private final char[] signature;
+		private final Set<String> typeNames = new HashSet<>();
+		private int pos;
+
+		SignatureScanner(char[] signature) {
+			this.signature = signature;
+		}
+
+		boolean scanSignature() {
+			if (peek('<') && !scanTypeParameters())
+				return false;
+			if (peek('(')) {
+				pos++;
+				while (!peek(')')) {
+					if (!scanJavaType())
+						return false;
+				}
+				pos++;
+				if (peek('V')) {
+					pos++;
+				} else if (!scanJavaType()) {
+					return false;
+				}
+				while (peek('^')) {
+					pos++;
+					if (!scanReferenceType())
+						return false;
+				}
+			} else {
+				// a field type, or the super class and interfaces of a class
+				do {
+					if (!scanReferenceType())
+						return false;
+				} while (pos < signature.length);
+			}
+			return pos == signature.length;
+		}
+
+		private boolean scanJavaType() {
+			if (pos < signature.length && "BCDFIJSZ".indexOf(signature[pos]) >= 0) { //$NON-NLS-1$
+				pos++;
+				return true;
+			}
+			return scanReferenceType();
+		}
+
+		private boolean scanReferenceType() {
+			if (pos >= signature.length)
+				return false;
+			switch (signature[pos]) {
+				case 'L' :
+					return scanClassType();
+				case 'T' :
+					pos++;
+					return scanIdentifier(false) && expect(';');
+				case '[' :
+					pos++;
+					return scanJavaType();
+				default :
+					return false;
+			}
+		}
+
+		private boolean scanClassType() {
+			pos++;
+			int start = pos;
+			if (!scanIdentifier(true))
+				return false;
+			addType(signature, start, pos, typeNames);
+			if (peek('<') && !scanTypeArguments())
+				return false;
+			while (peek('.')) {
+				pos++;
+				if (!scanIdentifier(false) || (peek('<') && !scanTypeArguments()))
+					return false;
+			}
+			return expect(';');
+		}
+
+		private boolean scanTypeArguments() {
+			pos++;
+			while (!peek('>')) {
+				if (peek('*')) {
+					pos++;
+					continue;
+				}
+				if (peek('+') || peek('-'))
+					pos++;
+				if (!scanReferenceType())
+					return false;
+			}
+			pos++;
+			return true;
+		}
+
+		private boolean scanTypeParameters() {
+			pos++;
+			while (!peek('>')) {
+				if (!scanIdentifier(false) || !peek(':'))
+					return false;
+				while (peek(':')) {
+					pos++;
+					// the class bound may be empty
+					if (pos < signature.length && signature[pos] != ':' && !scanReferenceType())
+						return false;
+				}
+			}
+			pos++;
+			return true;
+		}
+
+		private boolean scanIdentifier(boolean qualified) {
+			int start = pos;
+			while (pos < signature.length && ".;[<>:".indexOf(signature[pos]) < 0 && (qualified || signature[pos] != '/')) { //$NON-NLS-1$
+				pos++;
+			}
+			return pos > start;
+		}
+
+		private boolean expect(char c) {
+			if (!peek(c))
+				return false;
+			pos++;
+			return true;
+		}
+
+		private boolean peek(char c) {
+			return pos < signature.length && signature[pos] == c;
+		}
+	}
+
+	private static void addType(char[] name, int start, int end, Set<String> types) {
+		String typeName = new String(name, start, end - start).replace('/', '.');
+		// member and anonymous types are provided by their top level type
+		int innerClassIndicator = typeName.indexOf('$', typeName.lastIndexOf('.') + 1);
+		types.add(innerClassIndicator > 0 ? typeName.substring(0, innerClassIndicator) : typeName);
+	}
+
 	static boolean isPrimitiveTypeSignature(String typeSig) {
 		//check for array of primitives
 		/* bug 101514 - changed >= 2 and typeSig.subString(1, typeSig.length) to incorporate multi dimensional arrays of primitives */
@@ -208,6 +420,34 @@ public class PackageFinder {
 		return classFiles.toArray(new IClassFile[classFiles.size()]);
 	}
 
+	/**
+	 * Returns the class files of the given project whose references are
+	 * searched by
+	 * {@link org.eclipse.pde.internal.core.search.PluginJavaSearchUtil#createSeachScope(IJavaProject)}:
+	 * the class files compiled from its source folders and those of the
+	 * libraries inside the project.
+	 */
+	public static IClassFile[] getClassFiles(IJavaProject project) throws JavaModelException {
+		ArrayList<IClassFile> classFiles = new ArrayList<>();
+		Set<IPath> outputLocations = new HashSet<>();
+		IWorkspaceRoot workspaceRoot = project.getProject().getWorkspace().getRoot();
+		for (IPackageFragmentRoot root : project.getPackageFragmentRoots()) {
+			IResource resource = root.getResource();
+			if (resource == null || !resource.getProject().equals(project.getProject()))
+				continue;
+			if (root.getKind() == IPackageFragmentRoot.K_SOURCE) {
+				IPath outputLocation = root.getRawClasspathEntry().getOutputLocation();
+				if (outputLocation == null)
+					outputLocation = project.getOutputLocation();
+				if (outputLocations.add(outputLocation))
+					addClassFilesFromResource(workspaceRoot.findMember(outputLocation), classFiles);
+			} else {
+				addClassFilesFromResource(resource, classFiles);
+			}
+		}
+		return classFiles.toArray(new IClassFile[classFiles.size()]);
+	}
+
 	private static void addClassFilesFromResource(IResource res, List<IClassFile> classFiles) {
 		if (res == null)
 			return;
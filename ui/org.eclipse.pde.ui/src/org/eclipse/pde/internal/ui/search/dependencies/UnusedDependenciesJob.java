@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2005, 2015 IBM Corporation and others.
+ *  Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -36,7 +36,7 @@ public class UnusedDependenciesJob extends Job {
 	@Override
 	protected IStatus run(IProgressMonitor monitor) {
 		try {
-			GatherUnusedDependenciesOperation udo = new GatherUnusedDependenciesOperation(fModel);
+			GatherUnusedDependenciesOperation udo = new GatherUnusedDependenciesOperation(fModel, true);
 			udo.run(monitor);
 			// List can contain IPluginImports or ImportPackageObjects
 			showResults(udo.getList().toArray());
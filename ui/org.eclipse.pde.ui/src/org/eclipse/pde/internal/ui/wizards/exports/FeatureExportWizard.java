@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -78,6 +78,7 @@ public class FeatureExportWizard extends AntGeneratingExportWizard {
 		info.zipFileName = fPage.getFileName();
 		if (fPage2 != null && ((FeatureExportWizardPage) fPage).doMultiPlatform())
 			info.targets = fPage2.getTargets();
+		info.parallelConfigurations = FeatureExportOperation.getDefaultParallelConfigurations();
 		info.exportMetadata = ((FeatureExportWizardPage) fPage).doExportMetadata();
 		info.items = fPage.getSelectedItems();
 		info.signingInfo = fPage.getSigningInfo();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2015 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -25,6 +25,7 @@ import org.eclipse.osgi.service.resolver.State;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.pde.internal.core.*;
 import org.eclipse.pde.internal.core.exports.FeatureExportInfo;
+import org.eclipse.pde.internal.core.exports.FeatureExportOperation;
 import org.eclipse.pde.internal.core.exports.ProductExportOperation;
 import org.eclipse.pde.internal.core.ifeature.IFeatureModel;
 import org.eclipse.pde.internal.core.iproduct.IProductFeature;
@@ -82,6 +83,7 @@ public class ProductExportWizard extends BaseExportWizard {
 		info.zipFileName = fPage.getFileName();
 		if (fPage2 != null && fPage.doMultiPlatform())
 			info.targets = fPage2.getTargets();
+		info.parallelConfigurations = FeatureExportOperation.getDefaultParallelConfigurations();
 		if (fProductModel.getProduct().useFeatures())
 			info.items = getFeatureModels();
 		else
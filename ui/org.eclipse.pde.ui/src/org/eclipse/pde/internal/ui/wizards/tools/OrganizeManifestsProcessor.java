@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -196,7 +196,7 @@ public class OrganizeManifestsProcessor extends RefactoringProcessor implements
 			subMonitor.subTask(NLS.bind(PDEUIMessages.OrganizeManifestsOperation_unusedDeps, projectName));
 			if (!subMonitor.isCanceled()) {
 				SubMonitor submon = subMonitor.split(4);
-				GatherUnusedDependenciesOperation udo = new GatherUnusedDependenciesOperation(modelBase);
+				GatherUnusedDependenciesOperation udo = new GatherUnusedDependenciesOperation(modelBase, true);
 				udo.run(submon);
 				GatherUnusedDependenciesOperation.removeDependencies(modelBase, udo.getList().toArray());
 			}